@@ -0,0 +1,37 @@
+package com.petros.bringframework.benchmarks;
+
+import com.petros.bringframework.benchmarks.beans.Candidate;
+import com.petros.bringframework.benchmarks.beans.Candidates;
+import com.petros.bringframework.beans.factory.support.DefaultBeanFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Singleton lookups by name and by type against a growing number of candidates of the same type
+ */
+@State(Scope.Benchmark)
+public class BeanLookupBenchmark {
+
+    @Param({"1", "10", "1000"})
+    private int candidates;
+
+    private DefaultBeanFactory beanFactory;
+
+    @Setup
+    public void setUp() {
+        beanFactory = BenchmarkContext.of(Candidates.of(candidates)).getDefaultBeanFactory();
+    }
+
+    @Benchmark
+    public Object getBeanByName() {
+        return beanFactory.getBean("primaryCandidate");
+    }
+
+    @Benchmark
+    public Candidate getBeanByType() {
+        return beanFactory.getBean(Candidate.class);
+    }
+}
@@ -0,0 +1,38 @@
+package com.petros.bringframework.benchmarks;
+
+import com.petros.bringframework.beans.factory.config.AutowiredAnnotationBeanPostProcessor;
+import com.petros.bringframework.beans.factory.config.InitDestroyAnnotationBeanPostProcessor;
+import com.petros.bringframework.beans.factory.support.DefaultBeanFactory;
+import com.petros.bringframework.context.annotation.AnnotationConfigApplicationContext;
+import com.petros.bringframework.context.properties.ConfigurationPropertiesBindingPostProcessor;
+
+/**
+ * An application context for benchmarks, registering the post-processors an application finds by scanning
+ * the framework packages, and exposing its bean factory
+ */
+public class BenchmarkContext extends AnnotationConfigApplicationContext {
+
+    /**
+     * The post-processors every bean of a scanned application passes through
+     */
+    public static final Class<?>[] POST_PROCESSORS = {
+            AutowiredAnnotationBeanPostProcessor.class,
+            InitDestroyAnnotationBeanPostProcessor.class,
+            ConfigurationPropertiesBindingPostProcessor.class
+    };
+
+    /**
+     * Create a context of the given component classes and the framework post-processors, and refresh it
+     */
+    public static BenchmarkContext of(Class<?>... componentClasses) {
+        BenchmarkContext context = new BenchmarkContext();
+        context.register(POST_PROCESSORS);
+        context.register(componentClasses);
+        context.refresh();
+        return context;
+    }
+
+    public DefaultBeanFactory getDefaultBeanFactory() {
+        return (DefaultBeanFactory) getBeanFactory();
+    }
+}
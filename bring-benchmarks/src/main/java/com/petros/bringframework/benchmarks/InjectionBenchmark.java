@@ -0,0 +1,50 @@
+package com.petros.bringframework.benchmarks;
+
+import com.petros.bringframework.benchmarks.beans.BenchmarkConfig;
+import com.petros.bringframework.benchmarks.beans.Clock;
+import com.petros.bringframework.benchmarks.beans.PrototypeService;
+import com.petros.bringframework.benchmarks.beans.Repository;
+import com.petros.bringframework.beans.factory.config.AutowiredAnnotationBeanPostProcessor;
+import com.petros.bringframework.beans.factory.support.DefaultBeanFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * {@code @InjectPlease} field injection into an existing instance, and calls of {@code @Bean} methods
+ * on an enhanced configuration, which the {@code BeanMethodInterceptor} answers from the bean factory
+ */
+@State(Scope.Benchmark)
+public class InjectionBenchmark {
+
+    private AutowiredAnnotationBeanPostProcessor injector;
+    private PrototypeService target;
+
+    private BenchmarkConfig config;
+
+    @Setup
+    public void setUp() {
+        DefaultBeanFactory beanFactory = BenchmarkContext.of(Repository.class, Clock.class, PrototypeService.class)
+                .getDefaultBeanFactory();
+        injector = beanFactory.getBean(AutowiredAnnotationBeanPostProcessor.class);
+        target = beanFactory.getBean(PrototypeService.class);
+
+        config = BenchmarkContext.of(BenchmarkConfig.class).getBean(BenchmarkConfig.class);
+    }
+
+    @Benchmark
+    public Object injectFields() {
+        return injector.postProcessBeforeInitialization(target, "prototypeService");
+    }
+
+    @Benchmark
+    public Repository interceptBeanMethod() {
+        return config.configRepository();
+    }
+
+    @Benchmark
+    public Clock interceptNestedBeanMethod() {
+        return config.configClock();
+    }
+}
@@ -0,0 +1,35 @@
+package com.petros.bringframework.benchmarks;
+
+import com.petros.bringframework.benchmarks.beans.Clock;
+import com.petros.bringframework.benchmarks.beans.PlainPrototype;
+import com.petros.bringframework.benchmarks.beans.PrototypeService;
+import com.petros.bringframework.benchmarks.beans.Repository;
+import com.petros.bringframework.beans.factory.support.DefaultBeanFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Prototype creation through the full post-processor chain, with and without injection points and callbacks
+ */
+@State(Scope.Benchmark)
+public class PrototypeCreationBenchmark {
+
+    private DefaultBeanFactory beanFactory;
+
+    @Setup
+    public void setUp() {
+        beanFactory = BenchmarkContext.of(Repository.class, Clock.class, PlainPrototype.class, PrototypeService.class).getDefaultBeanFactory();
+    }
+
+    @Benchmark
+    public Object createPlainPrototype() {
+        return beanFactory.getBean("plainPrototype");
+    }
+
+    @Benchmark
+    public Object createInjectedPrototype() {
+        return beanFactory.getBean("prototypeService");
+    }
+}
@@ -0,0 +1,22 @@
+package com.petros.bringframework.benchmarks.beans;
+
+import com.petros.bringframework.context.annotation.Bean;
+import com.petros.bringframework.context.annotation.Configuration;
+
+/**
+ * A configuration whose {@code @Bean} methods are intercepted once the class is enhanced
+ */
+@Configuration
+public class BenchmarkConfig {
+
+    @Bean
+    public Repository configRepository() {
+        return new Repository();
+    }
+
+    @Bean
+    public Clock configClock() {
+        configRepository();
+        return new Clock();
+    }
+}
@@ -0,0 +1,7 @@
+package com.petros.bringframework.benchmarks.beans;
+
+/**
+ * A bean type with a configurable number of implementations, used to measure lookups by type
+ */
+public class Candidate {
+}
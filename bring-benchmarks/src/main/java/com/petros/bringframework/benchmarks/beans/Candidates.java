@@ -0,0 +1,44 @@
+package com.petros.bringframework.benchmarks.beans;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generates the classes of non-primary {@link Candidate} beans, so that lookups can be measured against
+ * any number of candidates without declaring them by hand
+ */
+public final class Candidates {
+
+    private Candidates() {
+    }
+
+    /**
+     * Return {@link PrimaryCandidate} followed by {@code count - 1} generated subclasses of {@link Candidate}
+     */
+    public static Class<?>[] of(int count) {
+        List<Class<?>> classes = new ArrayList<>(count);
+        classes.add(PrimaryCandidate.class);
+        for (int i = 1; i < count; i++) {
+            classes.add(generate(i));
+        }
+        return classes.toArray(Class<?>[]::new);
+    }
+
+    private static Class<?> generate(int index) {
+        String name = Candidate.class.getName() + index;
+        ClassLoader classLoader = Candidate.class.getClassLoader();
+        try {
+            return Class.forName(name, false, classLoader);
+        } catch (ClassNotFoundException ex) {
+            return new ByteBuddy()
+                    .subclass(Candidate.class)
+                    .name(name)
+                    .make()
+                    .load(classLoader, ClassLoadingStrategy.Default.INJECTION)
+                    .getLoaded();
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.petros.bringframework.benchmarks.beans;
+
+/**
+ * A singleton dependency injected into {@link PrototypeService}
+ */
+public class Clock {
+
+    public long now() {
+        return System.nanoTime();
+    }
+}
@@ -0,0 +1,10 @@
+package com.petros.bringframework.benchmarks.beans;
+
+import com.petros.bringframework.context.annotation.Scope;
+
+/**
+ * A prototype without injection points or callbacks, the baseline cost of creating a bean
+ */
+@Scope("prototype")
+public class PlainPrototype {
+}
@@ -0,0 +1,10 @@
+package com.petros.bringframework.benchmarks.beans;
+
+import com.petros.bringframework.context.annotation.Primary;
+
+/**
+ * The candidate resolved by type when more than one {@link Candidate} is registered
+ */
+@Primary
+public class PrimaryCandidate extends Candidate {
+}
@@ -0,0 +1,33 @@
+package com.petros.bringframework.benchmarks.beans;
+
+import com.petros.bringframework.beans.factory.annotation.InitPlease;
+import com.petros.bringframework.beans.factory.annotation.InjectPlease;
+import com.petros.bringframework.context.annotation.Scope;
+
+/**
+ * A prototype with injected fields and an init callback, passing through every post-processor of the chain
+ */
+@Scope("prototype")
+public class PrototypeService {
+
+    @InjectPlease
+    private Repository repository;
+
+    @InjectPlease
+    private Clock clock;
+
+    private long createdAt;
+
+    @InitPlease
+    public void init() {
+        createdAt = clock.now();
+    }
+
+    public Repository getRepository() {
+        return repository;
+    }
+
+    public long getCreatedAt() {
+        return createdAt;
+    }
+}
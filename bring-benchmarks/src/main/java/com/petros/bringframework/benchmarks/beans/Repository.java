@@ -0,0 +1,7 @@
+package com.petros.bringframework.benchmarks.beans;
+
+/**
+ * A singleton dependency injected into {@link PrototypeService}
+ */
+public class Repository {
+}
@@ -0,0 +1,60 @@
+package com.petros.bringframework.benchmarks.startup;
+
+import java.util.Map;
+
+/**
+ * The shape of a synthetic application: how many components and configurations it has, how densely they
+ * depend on each other and how many {@code @Value} fields they declare
+ *
+ * @param packageName        the package of the generated classes
+ * @param components         the number of {@code @Component} classes
+ * @param configurations     the number of {@code @Configuration} classes
+ * @param beanMethods        the number of {@code @Bean} methods per configuration, each but the first calling
+ *                           the previous one, which goes through the enhanced configuration
+ * @param fanOut             the number of {@code @InjectPlease} dependencies per component, on components
+ *                           declared before it. Dependencies are skewed towards the first components, so that
+ *                           few components have a high fan-in, like the core services of a real application
+ * @param valuesPerComponent the number of {@code @Value} fields per component, half of them resolved from
+ *                           {@code application.properties} and half from their defaults
+ * @param seed               the seed of the dependency choice, the same seed generates the same application
+ */
+public record AppShape(String packageName, int components, int configurations, int beanMethods, int fanOut,
+                       int valuesPerComponent, long seed) {
+
+    public static final String DEFAULT_PACKAGE = "synthetic.app";
+
+    public AppShape {
+        if (components < 1 || configurations < 0 || beanMethods < 0 || fanOut < 0 || valuesPerComponent < 0) {
+            throw new IllegalArgumentException("Invalid application shape: components must be positive and " +
+                    "all other counts non-negative");
+        }
+    }
+
+    /**
+     * Read the shape from the given options, falling back to the defaults for the missing ones
+     */
+    public static AppShape of(Map<String, String> options) {
+        return new AppShape(
+                options.getOrDefault("package", DEFAULT_PACKAGE),
+                Integer.parseInt(options.getOrDefault("components", "300")),
+                Integer.parseInt(options.getOrDefault("configurations", "10")),
+                Integer.parseInt(options.getOrDefault("beans", "10")),
+                Integer.parseInt(options.getOrDefault("fan-out", "3")),
+                Integer.parseInt(options.getOrDefault("values", "1")),
+                Long.parseLong(options.getOrDefault("seed", "42")));
+    }
+
+    /**
+     * @return the number of beans of the application, the configurations included
+     */
+    public int beanCount() {
+        return components + configurations * (1 + beanMethods);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d components, %d configurations x %d @Bean methods, fan-out %d, " +
+                        "%d @Value per component (%d beans)",
+                components, configurations, beanMethods, fanOut, valuesPerComponent, beanCount());
+    }
+}
@@ -0,0 +1,80 @@
+package com.petros.bringframework.benchmarks.startup;
+
+import com.petros.bringframework.benchmarks.BenchmarkContext;
+import com.petros.bringframework.beans.factory.BeanFactory;
+import com.petros.bringframework.beans.factory.ConfigurableBeanFactory;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A context timing each phase of its startup, in nanoseconds and in the order they run:
+ * <ul>
+ *     <li>{@code scan}: finding the components of the base packages and registering their definitions</li>
+ *     <li>{@code prepare}: the standard configuration of the bean factory</li>
+ *     <li>{@code configuration}: the bean factory post-processors, i.e. parsing {@code @Configuration}
+ *     classes, registering their {@code @Bean} methods and enhancing them with ByteBuddy</li>
+ *     <li>{@code postProcessors}: creating and registering the bean post-processors</li>
+ *     <li>{@code singletons}: pre-instantiating the singletons, injection and init callbacks included</li>
+ *     <li>{@code refresh}: everything but the scan</li>
+ * </ul>
+ */
+public class PhasedContext extends BenchmarkContext {
+
+    private final Map<String, Long> phases = new LinkedHashMap<>();
+
+    /**
+     * Create a context of the framework post-processors and the components of the given packages, and refresh it
+     */
+    public static PhasedContext scanning(String... basePackages) {
+        PhasedContext context = new PhasedContext();
+        context.register(POST_PROCESSORS);
+        long start = System.nanoTime();
+        context.scan(basePackages);
+        context.phases.put("scan", System.nanoTime() - start);
+        context.refresh();
+        return context;
+    }
+
+    /**
+     * @return the duration of every phase run so far in nanoseconds, by phase name
+     */
+    public Map<String, Long> getPhases() {
+        return phases;
+    }
+
+    @Override
+    public void refresh() {
+        long start = System.nanoTime();
+        super.refresh();
+        phases.put("refresh", System.nanoTime() - start);
+    }
+
+    @Override
+    protected void prepareBeanFactory(ConfigurableBeanFactory beanFactory) {
+        long start = System.nanoTime();
+        super.prepareBeanFactory(beanFactory);
+        phases.put("prepare", System.nanoTime() - start);
+    }
+
+    @Override
+    protected void invokeBeanFactoryPostProcessors(BeanFactory beanFactory) {
+        long start = System.nanoTime();
+        super.invokeBeanFactoryPostProcessors(beanFactory);
+        phases.put("configuration", System.nanoTime() - start);
+    }
+
+    @Override
+    protected void registerBeanPostProcessors(ConfigurableBeanFactory beanFactory) {
+        long start = System.nanoTime();
+        super.registerBeanPostProcessors(beanFactory);
+        phases.put("postProcessors", System.nanoTime() - start);
+    }
+
+    @Override
+    protected void finishBeanFactoryInitialization(ConfigurableBeanFactory beanFactory) {
+        long start = System.nanoTime();
+        super.finishBeanFactoryInitialization(beanFactory);
+        phases.put("singletons", System.nanoTime() - start);
+    }
+}
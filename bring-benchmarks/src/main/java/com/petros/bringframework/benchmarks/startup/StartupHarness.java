@@ -0,0 +1,128 @@
+package com.petros.bringframework.benchmarks.startup;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Measures the startup of synthetic applications, so that scaling regressions of the context show up before
+ * they hit large services. Generates and compiles an application of the requested {@link AppShape}, then starts
+ * it in a number of fresh JVMs with the {@link StartupProbe} and reports, as the median of these forks, the cold
+ * and warm duration of every startup phase, the loaded class count and the heap and metaspace in use.
+ * <p>
+ * Run from the benchmarks jar, built with {@code mvn -Pbenchmarks install}, every option being optional:
+ * <pre>
+ * java -cp bring-benchmarks/target/benchmarks.jar com.petros.bringframework.benchmarks.startup.StartupHarness \
+ *     --components=3000 --configurations=50 --beans=20 --fan-out=4 --values=2 --seed=42 \
+ *     --forks=5 --warmup=10 --jvm-args="-Xmx1g" --directory=target/synthetic
+ * </pre>
+ * System properties of the harness starting with {@code bring.} are passed on to the forks, e.g.
+ * {@code -Dbring.scanner.metadata-reader=bytecode}
+ */
+public final class StartupHarness {
+
+    private StartupHarness() {
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Map<String, String> options = parseOptions(args);
+        AppShape shape = AppShape.of(options);
+        int forks = Integer.parseInt(options.getOrDefault("forks", "3"));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "10"));
+        Path directory = options.containsKey("directory")
+                ? Path.of(options.get("directory"))
+                : Files.createTempDirectory("bring-startup");
+
+        System.out.println("Synthetic application: " + shape);
+        String classpath = System.getProperty("java.class.path");
+        long start = System.nanoTime();
+        Path classes = new SyntheticAppGenerator(shape).generate(directory, classpath);
+        System.out.printf("Generated and compiled in %d ms into %s%n", (System.nanoTime() - start) / 1_000_000, directory);
+
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        if (options.containsKey("jvm-args")) {
+            command.addAll(Arrays.asList(options.get("jvm-args").trim().split("\\s+")));
+        }
+        System.getProperties().stringPropertyNames().stream()
+                .filter(name -> name.startsWith("bring."))
+                .forEach(name -> command.add("-D" + name + "=" + System.getProperty(name)));
+        command.addAll(List.of("-cp", classpath + File.pathSeparator + classes,
+                StartupProbe.class.getName(), shape.packageName(), String.valueOf(warmup)));
+
+        Map<String, List<Long>> results = new LinkedHashMap<>();
+        for (int fork = 1; fork <= forks; fork++) {
+            System.out.printf("Fork %d of %d%n", fork, forks);
+            fork(command).forEach((name, value) -> results.computeIfAbsent(name, n -> new ArrayList<>()).add(value));
+        }
+        report(results, forks, warmup);
+    }
+
+    private static Map<String, Long> fork(List<String> command) throws IOException, InterruptedException {
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        Map<String, Long> results = new LinkedHashMap<>();
+        StringBuilder output = new StringBuilder();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith(StartupProbe.RESULT_PREFIX)) {
+                    int separator = line.indexOf('=');
+                    results.put(line.substring(StartupProbe.RESULT_PREFIX.length(), separator),
+                            Long.parseLong(line.substring(separator + 1)));
+                } else {
+                    output.append(line).append('\n');
+                }
+            }
+        }
+        int exitCode = process.waitFor();
+        if (exitCode != 0 || results.isEmpty()) {
+            throw new IllegalStateException("Startup fork failed with exit code " + exitCode + ":\n" + output);
+        }
+        return results;
+    }
+
+    private static void report(Map<String, List<Long>> results, int forks, int warmup) {
+        System.out.printf("%nMedian of %d forks, warm times are the median of %d startups per fork%n", forks, warmup);
+        System.out.printf("%-16s %12s %12s%n", "Phase", "Cold, ms", "Warm, ms");
+        results.keySet().stream()
+                .filter(name -> name.startsWith("cold."))
+                .map(name -> name.substring("cold.".length()))
+                .forEach(phase -> System.out.printf("%-16s %12.2f %12s%n", phase,
+                        millis(results.get("cold." + phase)),
+                        results.containsKey("warm." + phase)
+                                ? String.format("%.2f", millis(results.get("warm." + phase))) : "-"));
+        System.out.println();
+        System.out.printf("%-26s %12d ms%n", "JVM uptime at startup end", StartupProbe.median(results.get("uptime")));
+        System.out.printf("%-26s %12d%n", "Loaded classes", StartupProbe.median(results.get("classes")));
+        System.out.printf("%-26s %12.1f MB%n", "Heap used", megabytes(results.get("heap")));
+        System.out.printf("%-26s %12.1f MB%n", "Metaspace used", megabytes(results.get("metaspace")));
+    }
+
+    private static double millis(List<Long> nanos) {
+        return StartupProbe.median(nanos) / 1_000_000.0;
+    }
+
+    private static double megabytes(List<Long> bytes) {
+        return StartupProbe.median(bytes) / (1024.0 * 1024.0);
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || arg.indexOf('=') < 0) {
+                throw new IllegalArgumentException("Expected an option like --components=1000, got " + arg);
+            }
+            int separator = arg.indexOf('=');
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return options;
+    }
+}
@@ -0,0 +1,73 @@
+package com.petros.bringframework.benchmarks.startup;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryUsage;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Starts the context of a synthetic application in a fresh JVM, forked by the {@link StartupHarness}.
+ * The first, cold, startup is followed by a number of warm ones in the same JVM. The results are printed to
+ * standard output as {@value #RESULT_PREFIX}{@code <name>=<value>} lines:
+ * <ul>
+ *     <li>{@code cold.<phase>} and {@code warm.<phase>}: the duration of each {@link PhasedContext} phase in
+ *     nanoseconds, the median of the warm startups for the latter</li>
+ *     <li>{@code uptime}: the JVM uptime in milliseconds once the cold startup is done</li>
+ *     <li>{@code classes}: the number of classes loaded after the cold startup</li>
+ *     <li>{@code heap} and {@code metaspace}: the bytes in use after the cold startup and a full GC</li>
+ * </ul>
+ * Arguments: the base package of the application and the number of warm startups
+ */
+public final class StartupProbe {
+
+    public static final String RESULT_PREFIX = "startup.";
+
+    private StartupProbe() {
+    }
+
+    public static void main(String[] args) {
+        String basePackage = args[0];
+        int warmStartups = Integer.parseInt(args[1]);
+
+        Map<String, Long> cold = PhasedContext.scanning(basePackage).getPhases();
+        long uptime = ManagementFactory.getRuntimeMXBean().getUptime();
+        long classes = ManagementFactory.getClassLoadingMXBean().getLoadedClassCount();
+        System.gc();
+        long heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+        long metaspace = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> "Metaspace".equals(pool.getName()))
+                .map(MemoryPoolMXBean::getUsage)
+                .mapToLong(MemoryUsage::getUsed)
+                .sum();
+
+        Map<String, List<Long>> warm = new LinkedHashMap<>();
+        for (int i = 0; i < warmStartups; i++) {
+            PhasedContext.scanning(basePackage).getPhases()
+                    .forEach((phase, nanos) -> warm.computeIfAbsent(phase, p -> new ArrayList<>()).add(nanos));
+        }
+
+        cold.forEach((phase, nanos) -> print("cold." + phase, nanos));
+        warm.forEach((phase, nanos) -> print("warm." + phase, median(nanos)));
+        print("uptime", uptime);
+        print("classes", classes);
+        print("heap", heap);
+        print("metaspace", metaspace);
+        System.out.flush();
+        // The contexts registered shutdown hooks, don't wait for the logging they do
+        Runtime.getRuntime().halt(0);
+    }
+
+    static long median(List<Long> values) {
+        List<Long> sorted = new ArrayList<>(values);
+        Collections.sort(sorted);
+        return sorted.get(sorted.size() / 2);
+    }
+
+    private static void print(String name, long value) {
+        System.out.println(RESULT_PREFIX + name + "=" + value);
+    }
+}
@@ -0,0 +1,183 @@
+package com.petros.bringframework.benchmarks.startup;
+
+import com.petros.bringframework.core.env.PropertySources;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Generates the sources of a synthetic application of the given {@link AppShape} and compiles them with the
+ * system Java compiler, so that startup can be measured on applications of any size
+ */
+public class SyntheticAppGenerator {
+
+    private final AppShape shape;
+
+    public SyntheticAppGenerator(AppShape shape) {
+        this.shape = shape;
+    }
+
+    /**
+     * Generate the application into {@code directory/src} and compile it into {@code directory/classes},
+     * along with its {@code application.properties}
+     *
+     * @param classpath the classpath to compile against, it has to contain the framework
+     * @return the directory of the compiled classes
+     */
+    public Path generate(Path directory, String classpath) throws IOException {
+        Path sourceDirectory = directory.resolve("src");
+        Path classesDirectory = directory.resolve("classes");
+        Path packageDirectory = sourceDirectory.resolve(shape.packageName().replace('.', '/'));
+        Files.createDirectories(packageDirectory);
+        Files.createDirectories(classesDirectory);
+
+        List<Path> sources = new ArrayList<>();
+        Random random = new Random(shape.seed());
+        for (int i = 0; i < shape.components(); i++) {
+            sources.add(write(packageDirectory, serviceName(i), serviceSource(i, random)));
+        }
+        for (int m = 0; m < shape.configurations(); m++) {
+            for (int k = 0; k < shape.beanMethods(); k++) {
+                sources.add(write(packageDirectory, configBeanName(m, k), configBeanSource(m, k)));
+            }
+            sources.add(write(packageDirectory, configurationName(m), configurationSource(m)));
+        }
+        Files.writeString(classesDirectory.resolve(PropertySources.APPLICATION_PROPERTIES_LOCATION), properties());
+        compile(sources, classesDirectory, classpath);
+        return classesDirectory;
+    }
+
+    private String serviceSource(int index, Random random) {
+        StringBuilder source = header()
+                .append("import com.petros.bringframework.beans.factory.annotation.InjectPlease;\n")
+                .append("import com.petros.bringframework.beans.factory.annotation.Value;\n")
+                .append("import com.petros.bringframework.context.annotation.Component;\n\n")
+                .append("@Component\n")
+                .append("public class ").append(serviceName(index)).append(" {\n");
+        int d = 0;
+        for (int dependency : dependenciesOf(index, random)) {
+            source.append("\n    @InjectPlease\n")
+                    .append("    private ").append(serviceName(dependency)).append(" dependency").append(d++).append(";\n");
+        }
+        for (int v = 0; v < shape.valuesPerComponent(); v++) {
+            boolean numeric = v % 2 == 1;
+            source.append("\n    @Value(\"${").append(propertyName(index, v)).append(':')
+                    .append(numeric ? "17" : "default").append("}\")\n")
+                    .append("    private ").append(numeric ? "int" : "String").append(" value").append(v).append(";\n");
+        }
+        return source.append("}\n").toString();
+    }
+
+    /**
+     * Choose the dependencies of a component among the components before it, favouring the first ones
+     */
+    private Set<Integer> dependenciesOf(int index, Random random) {
+        Set<Integer> dependencies = new LinkedHashSet<>();
+        int count = Math.min(shape.fanOut(), index);
+        while (dependencies.size() < count) {
+            double skewed = random.nextDouble() * random.nextDouble();
+            dependencies.add((int) (skewed * index));
+        }
+        return dependencies;
+    }
+
+    private String configBeanSource(int configuration, int index) {
+        String name = configBeanName(configuration, index);
+        StringBuilder source = header().append("public class ").append(name).append(" {\n\n");
+        if (index == 0) {
+            source.append("    public ").append(name).append("() {\n    }\n");
+        } else {
+            String previous = configBeanName(configuration, index - 1);
+            source.append("    private final ").append(previous).append(" previous;\n\n")
+                    .append("    public ").append(name).append('(').append(previous).append(" previous) {\n")
+                    .append("        this.previous = previous;\n")
+                    .append("    }\n");
+        }
+        return source.append("}\n").toString();
+    }
+
+    private String configurationSource(int configuration) {
+        StringBuilder source = header()
+                .append("import com.petros.bringframework.context.annotation.Bean;\n")
+                .append("import com.petros.bringframework.context.annotation.Configuration;\n\n")
+                .append("@Configuration\n")
+                .append("public class ").append(configurationName(configuration)).append(" {\n");
+        for (int k = 0; k < shape.beanMethods(); k++) {
+            String type = configBeanName(configuration, k);
+            source.append("\n    @Bean\n")
+                    .append("    public ").append(type).append(' ').append(beanMethodName(configuration, k)).append("() {\n")
+                    .append("        return new ").append(type).append('(')
+                    .append(k == 0 ? "" : beanMethodName(configuration, k - 1) + "()").append(");\n")
+                    .append("    }\n");
+        }
+        return source.append("}\n").toString();
+    }
+
+    private String properties() {
+        StringWriter properties = new StringWriter();
+        for (int i = 0; i < shape.components(); i++) {
+            // Every other value is left to its default
+            for (int v = 0; v < shape.valuesPerComponent(); v += 2) {
+                properties.append(propertyName(i, v)).append("=value-").append(String.valueOf(i)).append('\n');
+            }
+        }
+        return properties.toString();
+    }
+
+    private StringBuilder header() {
+        return new StringBuilder("package ").append(shape.packageName()).append(";\n\n");
+    }
+
+    private static String serviceName(int index) {
+        return "Service" + index;
+    }
+
+    private static String configurationName(int configuration) {
+        return "Config" + configuration;
+    }
+
+    private static String configBeanName(int configuration, int index) {
+        return "Config" + configuration + "Bean" + index;
+    }
+
+    private static String beanMethodName(int configuration, int index) {
+        return "config" + configuration + "Bean" + index;
+    }
+
+    private static String propertyName(int component, int value) {
+        return "synthetic.service" + component + ".value" + value;
+    }
+
+    private static Path write(Path packageDirectory, String className, String source) throws IOException {
+        Path file = packageDirectory.resolve(className + ".java");
+        Files.writeString(file, source);
+        return file;
+    }
+
+    private static void compile(List<Path> sources, Path classesDirectory, String classpath) throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) {
+            throw new IllegalStateException("No system Java compiler, the harness has to run on a JDK");
+        }
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8)) {
+            Iterable<? extends JavaFileObject> units = fileManager.getJavaFileObjectsFromPaths(sources);
+            List<String> options = List.of("-d", classesDirectory.toString(), "-cp", classpath, "-proc:none", "-nowarn");
+            StringWriter diagnostics = new StringWriter();
+            if (!compiler.getTask(diagnostics, fileManager, null, options, null, units).call()) {
+                throw new IllegalStateException("Compilation of the synthetic application failed:\n" + diagnostics);
+            }
+        }
+    }
+}
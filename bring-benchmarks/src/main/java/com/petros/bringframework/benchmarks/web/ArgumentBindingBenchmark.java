@@ -0,0 +1,52 @@
+package com.petros.bringframework.benchmarks.web;
+
+import com.petros.bringframework.web.servlet.InMemoryHttpServletRequest;
+import com.petros.bringframework.web.servlet.InMemoryHttpServletResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import javax.servlet.ServletException;
+import java.io.IOException;
+
+/**
+ * Dispatch of mappings binding request headers, request parameters and path variables
+ */
+@State(Scope.Thread)
+public class ArgumentBindingBenchmark {
+
+    private BenchmarkDispatcher dispatcher;
+    private InMemoryHttpServletRequest headerRequest;
+    private InMemoryHttpServletRequest paramRequest;
+    private InMemoryHttpServletRequest pathVariableRequest;
+    private InMemoryHttpServletResponse response;
+
+    @Setup
+    public void setUp() {
+        dispatcher = new BenchmarkDispatcher(BindingController.class);
+        headerRequest = new InMemoryHttpServletRequest("GET", "/binding/header")
+                .header("X-Request-Id", "8d2f6a9e")
+                .header("Accept-Language", "en-US");
+        paramRequest = new InMemoryHttpServletRequest("GET", "/binding/param")
+                .parameter("page", "3")
+                .parameter("size", "50");
+        pathVariableRequest = new InMemoryHttpServletRequest("GET", "/binding/users/42/orders/1337");
+        response = new InMemoryHttpServletResponse();
+    }
+
+    @Benchmark
+    public int bindHeaders() throws ServletException, IOException {
+        return dispatcher.dispatch(headerRequest, response);
+    }
+
+    @Benchmark
+    public int bindParams() throws ServletException, IOException {
+        return dispatcher.dispatch(paramRequest, response);
+    }
+
+    @Benchmark
+    public int bindPathVariables() throws ServletException, IOException {
+        return dispatcher.dispatch(pathVariableRequest, response);
+    }
+}
@@ -0,0 +1,46 @@
+package com.petros.bringframework.benchmarks.web;
+
+import com.petros.bringframework.web.context.annotation.ServletAnnotationConfigApplicationContext;
+import com.petros.bringframework.web.servlet.InMemoryHttpServletRequest;
+import com.petros.bringframework.web.servlet.InMemoryHttpServletResponse;
+import com.petros.bringframework.web.servlet.SimpleDispatcherServlet;
+import com.petros.bringframework.web.servlet.support.RequestHandlerRegistry;
+import com.petros.bringframework.web.servlet.support.mapper.JsonDataMapper;
+
+import javax.servlet.ServletException;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * The dispatcher servlet of a context of the given controllers, driven with in-memory requests and responses
+ * on the calling thread, without a container or the network
+ */
+public class BenchmarkDispatcher {
+
+    private final ServletAnnotationConfigApplicationContext context;
+    private final SimpleDispatcherServlet servlet;
+
+    public BenchmarkDispatcher(Class<?>... controllers) {
+        Class<?>[] componentClasses = Arrays.copyOf(controllers, controllers.length + 1);
+        componentClasses[controllers.length] = JsonDataMapper.class;
+        this.context = new ServletAnnotationConfigApplicationContext(componentClasses);
+        this.servlet = new SimpleDispatcherServlet(context);
+    }
+
+    public RequestHandlerRegistry getRequestHandlerRegistry() {
+        return context.getRequestHandlerRegistry();
+    }
+
+    /**
+     * Recycle the given request and response, then dispatch the request
+     *
+     * @return the status of the response
+     */
+    public int dispatch(InMemoryHttpServletRequest request, InMemoryHttpServletResponse response)
+            throws ServletException, IOException {
+        request.recycle();
+        response.recycle();
+        servlet.service(request, response);
+        return response.getStatus();
+    }
+}
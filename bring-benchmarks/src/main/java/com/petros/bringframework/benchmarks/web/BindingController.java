@@ -0,0 +1,39 @@
+package com.petros.bringframework.benchmarks.web;
+
+import com.petros.bringframework.web.context.annotation.PathVariable;
+import com.petros.bringframework.web.context.annotation.RequestBody;
+import com.petros.bringframework.web.context.annotation.RequestHeader;
+import com.petros.bringframework.web.context.annotation.RequestMapping;
+import com.petros.bringframework.web.context.annotation.RequestParam;
+import com.petros.bringframework.web.context.annotation.RestController;
+import com.petros.bringframework.web.servlet.support.common.RequestMethod;
+
+/**
+ * Mappings binding every kind of argument, and echoing a JSON body
+ */
+@RestController
+public class BindingController {
+
+    @RequestMapping(path = "/binding/header", method = RequestMethod.GET)
+    public String header(@RequestHeader(name = "X-Request-Id") String requestId,
+                         @RequestHeader(name = "Accept-Language") String language) {
+        return requestId;
+    }
+
+    @RequestMapping(path = "/binding/param", method = RequestMethod.GET)
+    public String param(@RequestParam(name = "page") String page,
+                        @RequestParam(name = "size") String size) {
+        return page;
+    }
+
+    @RequestMapping(path = "/binding/users/{userId}/orders/{orderId}", method = RequestMethod.GET)
+    public String pathVariable(@PathVariable(name = "userId") String userId,
+                               @PathVariable(name = "orderId") String orderId) {
+        return orderId;
+    }
+
+    @RequestMapping(path = "/binding/echo", method = RequestMethod.POST)
+    public Payload echo(@RequestBody Payload payload) {
+        return payload;
+    }
+}
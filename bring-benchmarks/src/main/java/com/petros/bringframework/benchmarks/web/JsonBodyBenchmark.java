@@ -0,0 +1,42 @@
+package com.petros.bringframework.benchmarks.web;
+
+import com.petros.bringframework.web.servlet.InMemoryHttpServletRequest;
+import com.petros.bringframework.web.servlet.InMemoryHttpServletResponse;
+import com.petros.bringframework.web.servlet.support.mapper.JsonDataMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import javax.servlet.ServletException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A JSON body read into a record and written back through the {@link JsonDataMapper}, at several payload sizes
+ */
+@State(Scope.Thread)
+public class JsonBodyBenchmark {
+
+    @Param({"1", "100", "10000"})
+    private int items;
+
+    private BenchmarkDispatcher dispatcher;
+    private InMemoryHttpServletRequest request;
+    private InMemoryHttpServletResponse response;
+
+    @Setup
+    public void setUp() throws IOException {
+        dispatcher = new BenchmarkDispatcher(BindingController.class);
+        byte[] body = new JsonDataMapper().writeValueAsString(Payload.of(items)).getBytes(StandardCharsets.UTF_8);
+        request = new InMemoryHttpServletRequest("POST", "/binding/echo")
+                .body(body, "application/json");
+        response = new InMemoryHttpServletResponse();
+    }
+
+    @Benchmark
+    public int roundTrip() throws ServletException, IOException {
+        return dispatcher.dispatch(request, response);
+    }
+}
@@ -0,0 +1,21 @@
+package com.petros.bringframework.benchmarks.web;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A JSON body of a configurable number of items
+ */
+public record Payload(String name, List<Item> items) {
+
+    public record Item(long id, String title, double price, boolean available) {
+    }
+
+    public static Payload of(int items) {
+        List<Item> list = new ArrayList<>(items);
+        for (int i = 0; i < items; i++) {
+            list.add(new Item(i, "Item number " + i, i * 1.5, i % 2 == 0));
+        }
+        return new Payload("payload-" + items, list);
+    }
+}
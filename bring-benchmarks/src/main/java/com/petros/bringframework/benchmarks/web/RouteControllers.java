@@ -0,0 +1,66 @@
+package com.petros.bringframework.benchmarks.web;
+
+import com.petros.bringframework.web.context.annotation.PathVariable;
+import com.petros.bringframework.web.context.annotation.RequestMapping;
+import com.petros.bringframework.web.context.annotation.RestController;
+import com.petros.bringframework.web.servlet.support.common.RequestMethod;
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.annotation.AnnotationDescription;
+import net.bytebuddy.description.modifier.Visibility;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.implementation.FixedValue;
+
+/**
+ * Generates controllers with any number of GET mappings, so that routing can be measured against route tables
+ * of realistic sizes without declaring them by hand
+ */
+public final class RouteControllers {
+
+    private RouteControllers() {
+    }
+
+    /**
+     * Return the path of the mapping with the given index, with {@code 42} for the path variable of a templated one
+     */
+    public static String pathOf(int index, boolean templated) {
+        return templated ? "/templated/route" + index + "/42/items" : "/static/route" + index + "/items";
+    }
+
+    /**
+     * Return a {@link RestController} class with {@code mappings} GET mappings, either static
+     * like {@code /static/route7/items} or templated like {@code /templated/route7/{id}/items}
+     */
+    public static Class<?> of(int mappings, boolean templated) {
+        String name = RouteControllers.class.getPackageName()
+                + (templated ? ".TemplatedRouteController" : ".StaticRouteController") + mappings;
+        ClassLoader classLoader = RouteControllers.class.getClassLoader();
+        try {
+            return Class.forName(name, false, classLoader);
+        } catch (ClassNotFoundException ex) {
+            return generate(name, mappings, templated).load(classLoader, ClassLoadingStrategy.Default.INJECTION).getLoaded();
+        }
+    }
+
+    private static DynamicType.Unloaded<Object> generate(String name, int mappings, boolean templated) {
+        DynamicType.Builder<Object> builder = new ByteBuddy()
+                .subclass(Object.class)
+                .name(name)
+                .annotateType(AnnotationDescription.Builder.ofType(RestController.class).build());
+        for (int i = 0; i < mappings; i++) {
+            AnnotationDescription mapping = AnnotationDescription.Builder.ofType(RequestMapping.class)
+                    .define("path", templated ? "/templated/route" + i + "/{id}/items" : pathOf(i, false))
+                    .define("method", RequestMethod.GET)
+                    .build();
+            var definition = builder.defineMethod("route" + i, String.class, Visibility.PUBLIC);
+            DynamicType.Builder.MethodDefinition.ImplementationDefinition<Object> method = definition;
+            if (templated) {
+                method = definition.withParameter(String.class, "id")
+                        .annotateParameter(AnnotationDescription.Builder.ofType(PathVariable.class)
+                                .define("name", "id").build());
+            }
+            builder = method.intercept(FixedValue.value("route" + i)).annotateMethod(mapping);
+        }
+        return builder.make();
+    }
+}
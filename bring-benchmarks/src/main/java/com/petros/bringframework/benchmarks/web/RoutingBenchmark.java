@@ -0,0 +1,55 @@
+package com.petros.bringframework.benchmarks.web;
+
+import com.petros.bringframework.web.servlet.InMemoryHttpServletRequest;
+import com.petros.bringframework.web.servlet.InMemoryHttpServletResponse;
+import com.petros.bringframework.web.servlet.support.RequestHandlerRegistry;
+import com.petros.bringframework.web.servlet.support.RequestResponseHandler;
+import com.petros.bringframework.web.servlet.support.common.RequestMethod;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import javax.servlet.ServletException;
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * Handler lookup and full dispatch against route tables of 10, 1k and 10k static or templated mappings
+ */
+@State(Scope.Thread)
+public class RoutingBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    private int mappings;
+
+    @Param({"static", "templated"})
+    private String kind;
+
+    private BenchmarkDispatcher dispatcher;
+    private RequestHandlerRegistry registry;
+    private String path;
+    private InMemoryHttpServletRequest request;
+    private InMemoryHttpServletResponse response;
+
+    @Setup
+    public void setUp() {
+        boolean templated = "templated".equals(kind);
+        dispatcher = new BenchmarkDispatcher(RouteControllers.of(mappings, templated));
+        registry = dispatcher.getRequestHandlerRegistry();
+        path = RouteControllers.pathOf(mappings / 2, templated);
+        request = new InMemoryHttpServletRequest("GET", path);
+        response = new InMemoryHttpServletResponse();
+    }
+
+    @Benchmark
+    public Optional<RequestResponseHandler> getHandler() {
+        return registry.getHandler(RequestMethod.GET, path);
+    }
+
+    @Benchmark
+    public int dispatch() throws ServletException, IOException {
+        return dispatcher.dispatch(request, response);
+    }
+}
@@ -0,0 +1,223 @@
+package com.petros.bringframework.index.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Annotation processor that writes a {@value #COMPONENTS_RESOURCE_LOCATION} index of the
+ * candidate components of a compilation unit, so that classpath scanning can be skipped at
+ * runtime.
+ *
+ * <p>A type is indexed when it would be picked up by the runtime scanner: it is annotated
+ * (directly, through a meta-annotation, or through a superclass or interface it inherits) with
+ * {@code com.petros.bringframework.context.annotation.Component}, or it implements
+ * {@code com.petros.bringframework.beans.factory.config.BeanPostProcessor}. Each line of the
+ * index has the form {@code binaryClassName=stereotype[,stereotype]}.
+ *
+ * <p>The index is written even when no candidate is found, which marks the classpath root
+ * as fully indexed. An incremental compilation only sees the types it recompiles, so the
+ * entries of the previous index are kept for the types that weren't recompiled and still exist.
+ */
+@SupportedAnnotationTypes("*")
+public class CandidateComponentsIndexer extends AbstractProcessor {
+
+    /**
+     * Location of the index inside the class output.
+     */
+    public static final String COMPONENTS_RESOURCE_LOCATION = "META-INF/bring.components";
+
+    static final String COMPONENT_ANNOTATION = "com.petros.bringframework.context.annotation.Component";
+
+    static final String BEAN_POST_PROCESSOR = "com.petros.bringframework.beans.factory.config.BeanPostProcessor";
+
+    private final SortedMap<String, Set<String>> entries = new TreeMap<>();
+
+    private final Set<String> processedTypes = new HashSet<>();
+
+    /**
+     * Entries of the index left by a previous compilation, read on the first round.
+     */
+    private Map<String, Set<String>> previousEntries;
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (previousEntries == null) {
+            // Read before the index is created again, the filer doesn't allow reading it afterwards
+            previousEntries = readPreviousIndex();
+        }
+        for (Element element : roundEnv.getRootElements()) {
+            collect(element);
+        }
+        if (roundEnv.processingOver()) {
+            writeIndex();
+        }
+        return false;
+    }
+
+    private void collect(Element element) {
+        if (!(element instanceof TypeElement type)) {
+            return;
+        }
+        String className = processingEnv.getElementUtils().getBinaryName(type).toString();
+        processedTypes.add(className);
+        if (isCandidateKind(type)) {
+            Set<String> stereotypes = new LinkedHashSet<>();
+            if (isComponent(type)) {
+                stereotypes.add(COMPONENT_ANNOTATION);
+            }
+            if (isBeanPostProcessor(type)) {
+                stereotypes.add(BEAN_POST_PROCESSOR);
+            }
+            if (!stereotypes.isEmpty()) {
+                entries.put(className, stereotypes);
+            }
+        }
+        for (Element enclosed : type.getEnclosedElements()) {
+            collect(enclosed);
+        }
+    }
+
+    private static boolean isCandidateKind(TypeElement type) {
+        ElementKind kind = type.getKind();
+        return kind == ElementKind.CLASS || kind == ElementKind.ENUM || kind == ElementKind.RECORD;
+    }
+
+    private boolean isComponent(TypeElement type) {
+        if (hasAnnotation(type, COMPONENT_ANNOTATION, new HashSet<>())) {
+            return true;
+        }
+        for (TypeElement supertype : supertypesOf(type)) {
+            if (hasAnnotation(supertype, COMPONENT_ANNOTATION, new HashSet<>())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean hasAnnotation(Element element, String annotationName, Set<String> visited) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            TypeElement annotationType = (TypeElement) mirror.getAnnotationType().asElement();
+            String name = annotationType.getQualifiedName().toString();
+            if (name.equals(annotationName)) {
+                return true;
+            }
+            if (!name.startsWith("java.lang.annotation.") && visited.add(name)
+                    && hasAnnotation(annotationType, annotationName, visited)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isBeanPostProcessor(TypeElement type) {
+        for (TypeElement supertype : supertypesOf(type)) {
+            if (supertype.getQualifiedName().contentEquals(BEAN_POST_PROCESSOR)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * All superclasses and interfaces of the given type, transitively.
+     */
+    private Set<TypeElement> supertypesOf(TypeElement type) {
+        Set<TypeElement> supertypes = new LinkedHashSet<>();
+        Deque<TypeMirror> toVisit = new ArrayDeque<>();
+        toVisit.add(type.asType());
+        while (!toVisit.isEmpty()) {
+            TypeMirror current = toVisit.poll();
+            for (TypeMirror supertype : processingEnv.getTypeUtils().directSupertypes(current)) {
+                if (supertype.getKind() == TypeKind.DECLARED
+                        && supertypes.add((TypeElement) ((DeclaredType) supertype).asElement())) {
+                    toVisit.add(supertype);
+                }
+            }
+        }
+        return supertypes;
+    }
+
+    private Map<String, Set<String>> readPreviousIndex() {
+        Map<String, Set<String>> previous = new TreeMap<>();
+        try {
+            FileObject file = processingEnv.getFiler()
+                    .getResource(StandardLocation.CLASS_OUTPUT, "", COMPONENTS_RESOURCE_LOCATION);
+            try (BufferedReader reader = new BufferedReader(file.openReader(true))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    int separator = line.indexOf('=');
+                    if (line.isBlank() || line.startsWith("#") || separator == -1) {
+                        continue;
+                    }
+                    previous.put(line.substring(0, separator).trim(),
+                            new LinkedHashSet<>(Arrays.asList(line.substring(separator + 1).trim().split(","))));
+                }
+            }
+        } catch (IOException | IllegalArgumentException ex) {
+            // No previous index, e.g. on a clean build
+        }
+        return previous;
+    }
+
+    /**
+     * Keep the previous entries of the types this compilation didn't see, as long as they still exist.
+     */
+    private void mergePreviousEntries() {
+        if (previousEntries == null) {
+            return;
+        }
+        for (Map.Entry<String, Set<String>> entry : previousEntries.entrySet()) {
+            String className = entry.getKey();
+            if (!processedTypes.contains(className) && !entries.containsKey(className)
+                    && processingEnv.getElementUtils().getTypeElement(className.replace('$', '.')) != null) {
+                entries.put(className, entry.getValue());
+            }
+        }
+    }
+
+    private void writeIndex() {
+        mergePreviousEntries();
+        try {
+            FileObject file = processingEnv.getFiler()
+                    .createResource(StandardLocation.CLASS_OUTPUT, "", COMPONENTS_RESOURCE_LOCATION);
+            try (Writer writer = file.openWriter()) {
+                writer.write("# Generated by " + getClass().getName() + ", do not edit\n");
+                for (Map.Entry<String, Set<String>> entry : entries.entrySet()) {
+                    writer.write(entry.getKey() + "=" + String.join(",", entry.getValue()) + "\n");
+                }
+            }
+        } catch (IOException ex) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Unable to write " + COMPONENTS_RESOURCE_LOCATION + ": " + ex.getMessage());
+        }
+    }
+}
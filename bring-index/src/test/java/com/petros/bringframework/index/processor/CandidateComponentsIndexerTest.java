@@ -0,0 +1,195 @@
+package com.petros.bringframework.index.processor;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CandidateComponentsIndexerTest {
+
+    private static final String COMPONENT = CandidateComponentsIndexer.COMPONENT_ANNOTATION;
+    private static final String BEAN_POST_PROCESSOR = CandidateComponentsIndexer.BEAN_POST_PROCESSOR;
+
+    @TempDir
+    Path sources;
+
+    @TempDir
+    Path classes;
+
+    private void source(String className, String content) throws IOException {
+        Path file = sources.resolve(className.replace('.', '/') + ".java");
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content);
+    }
+
+    private void writeFrameworkSources() throws IOException {
+        source(COMPONENT, """
+                package com.petros.bringframework.context.annotation;
+                import java.lang.annotation.*;
+                @Retention(RetentionPolicy.RUNTIME)
+                public @interface Component {
+                }
+                """);
+        source(BEAN_POST_PROCESSOR, """
+                package com.petros.bringframework.beans.factory.config;
+                public interface BeanPostProcessor {
+                }
+                """);
+    }
+
+    /**
+     * Compile the given sources, with the class output on the classpath as an incremental build has it.
+     */
+    private void compile(String... classNames) throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8)) {
+            List<Path> files = new ArrayList<>();
+            for (String className : classNames) {
+                files.add(sources.resolve(className.replace('.', '/') + ".java"));
+            }
+            Iterable<? extends JavaFileObject> units = fileManager.getJavaFileObjectsFromPaths(files);
+            List<String> options = List.of("-d", classes.toString(), "-classpath", classes.toString());
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, null, options, null, units);
+            task.setProcessors(List.of(new CandidateComponentsIndexer()));
+            assertTrue(task.call(), "compilation failed");
+        }
+    }
+
+    private Map<String, String> index() throws IOException {
+        Map<String, String> index = new TreeMap<>();
+        for (String line : Files.readAllLines(classes.resolve(CandidateComponentsIndexer.COMPONENTS_RESOURCE_LOCATION))) {
+            if (!line.startsWith("#")) {
+                index.put(line.substring(0, line.indexOf('=')), line.substring(line.indexOf('=') + 1));
+            }
+        }
+        return index;
+    }
+
+    @Test
+    void indexesAnnotatedAndInheritedStereotypes() throws IOException {
+        writeFrameworkSources();
+        source("app.Service", """
+                package app;
+                @com.petros.bringframework.context.annotation.Component
+                @java.lang.annotation.Retention(java.lang.annotation.RetentionPolicy.RUNTIME)
+                public @interface Service {
+                }
+                """);
+        source("app.Repository", """
+                package app;
+                @Service
+                public interface Repository {
+                }
+                """);
+        source("app.UserRepository", """
+                package app;
+                public interface UserRepository extends Repository {
+                }
+                """);
+        source("app.JdbcUserRepository", """
+                package app;
+                public class JdbcUserRepository implements UserRepository {
+                }
+                """);
+        source("app.BaseService", """
+                package app;
+                @Service
+                public abstract class BaseService {
+                }
+                """);
+        source("app.Components", """
+                package app;
+                public class Components {
+                    public static class OrderService extends BaseService {
+                    }
+                    public static class Plain {
+                    }
+                    public static class Processor implements com.petros.bringframework.beans.factory.config.BeanPostProcessor {
+                    }
+                }
+                """);
+
+        compile(COMPONENT, BEAN_POST_PROCESSOR, "app.Service", "app.Repository", "app.UserRepository",
+                "app.JdbcUserRepository", "app.BaseService", "app.Components");
+
+        assertEquals(Map.of(
+                "app.BaseService", COMPONENT,
+                "app.Components$OrderService", COMPONENT,
+                "app.Components$Processor", BEAN_POST_PROCESSOR,
+                "app.JdbcUserRepository", COMPONENT
+        ), index());
+    }
+
+    @Test
+    void keepsEntriesOfTypesNotRecompiled() throws IOException {
+        writeFrameworkSources();
+        source("app.First", """
+                package app;
+                @com.petros.bringframework.context.annotation.Component
+                public class First {
+                }
+                """);
+        source("app.Second", """
+                package app;
+                @com.petros.bringframework.context.annotation.Component
+                public class Second {
+                }
+                """);
+        compile(COMPONENT, BEAN_POST_PROCESSOR, "app.First", "app.Second");
+
+        source("app.Second", """
+                package app;
+                public class Second {
+                }
+                """);
+        source("app.Third", """
+                package app;
+                @com.petros.bringframework.context.annotation.Component
+                public class Third {
+                }
+                """);
+        compile("app.Second", "app.Third");
+
+        assertEquals(Map.of("app.First", COMPONENT, "app.Third", COMPONENT), index());
+    }
+
+    @Test
+    void dropsEntriesOfRemovedTypes() throws IOException {
+        writeFrameworkSources();
+        source("app.First", """
+                package app;
+                @com.petros.bringframework.context.annotation.Component
+                public class First {
+                }
+                """);
+        source("app.Second", """
+                package app;
+                @com.petros.bringframework.context.annotation.Component
+                public class Second {
+                }
+                """);
+        compile(COMPONENT, BEAN_POST_PROCESSOR, "app.First", "app.Second");
+
+        Files.delete(classes.resolve("app/First.class"));
+        compile("app.Second");
+
+        Map<String, String> index = index();
+        assertFalse(index.containsKey("app.First"));
+        assertEquals(Map.of("app.Second", COMPONENT), index);
+    }
+}
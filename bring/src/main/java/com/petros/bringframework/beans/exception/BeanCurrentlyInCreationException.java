@@ -18,6 +18,10 @@ public class BeanCurrentlyInCreationException
         super(getMsg(beanName), cause);
     }
 
+    public BeanCurrentlyInCreationException(String beanName, String msg) {
+        super(String.format("Requested bean '%s' is currently in creation: %s", beanName, msg));
+    }
+
     private static String getMsg(String beanName) {
         return String.format("Requested bean '%s' is currently in creation: Is there an unresolvable circular reference?",
                 beanName);
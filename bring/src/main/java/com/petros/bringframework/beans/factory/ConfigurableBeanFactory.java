@@ -5,6 +5,7 @@ import com.petros.bringframework.beans.factory.config.BeanFactoryPostProcessor;
 import com.petros.bringframework.beans.factory.config.BeanPostProcessor;
 import com.petros.bringframework.beans.factory.config.SingletonBeanRegistry;
 import com.petros.bringframework.beans.factory.support.NoSuchBeanDefinitionException;
+import com.petros.bringframework.core.metrics.StartupRecorder;
 
 import java.util.List;
 
@@ -55,4 +56,16 @@ public interface ConfigurableBeanFactory extends BeanFactory, SingletonBeanRegis
     List<BeanPostProcessor> getBeanPostProcessors();
 
     List<BeanFactoryPostProcessor> getBeanFactoryPostProcessors();
+
+    /**
+     * Set the recorder of the startup steps of this factory, e.g. the creation of each bean.
+     *
+     * @param startupRecorder the recorder to use
+     */
+    void setStartupRecorder(StartupRecorder startupRecorder);
+
+    /**
+     * Return the recorder of the startup steps of this factory.
+     */
+    StartupRecorder getStartupRecorder();
 }
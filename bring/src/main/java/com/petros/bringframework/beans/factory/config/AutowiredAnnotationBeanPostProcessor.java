@@ -1,27 +1,41 @@
 package com.petros.bringframework.beans.factory.config;
 
 import com.petros.bringframework.beans.BeansException;
+import com.petros.bringframework.beans.TypeConverter;
+import com.petros.bringframework.beans.exception.BeanCreationException;
+import com.petros.bringframework.beans.converter.SympleTypeConverter;
 import com.petros.bringframework.beans.factory.BeanAware;
 import com.petros.bringframework.beans.factory.BeanFactory;
 import com.petros.bringframework.beans.factory.annotation.InjectPlease;
 import com.petros.bringframework.beans.factory.support.NoSuchBeanDefinitionException;
 import com.petros.bringframework.beans.factory.support.NoUniqueBeanDefinitionException;
 import com.petros.bringframework.beans.factory.annotation.Value;
+import com.petros.bringframework.core.env.PropertyPlaceholderHelper;
+import com.petros.bringframework.core.env.PropertySources;
+import com.petros.bringframework.core.type.convert.ConversionService;
+import com.petros.bringframework.core.type.convert.TypeDescriptor;
+import com.petros.bringframework.core.type.convert.support.DefaultConversionService;
+import com.petros.bringframework.util.ClassUtils;
+import com.petros.bringframework.util.ReflectionUtils;
 import lombok.extern.log4j.Log4j2;
 
 import javax.annotation.Nullable;
-import java.io.BufferedReader;
-import java.io.FileNotFoundException;
-import java.io.FileReader;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Objects;
-import java.util.stream.Stream;
-
-import static java.util.stream.Collectors.toMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * {@link com.petros.bringframework.beans.factory.config.BeanPostProcessor BeanPostProcessor}
@@ -29,6 +43,9 @@ import static java.util.stream.Collectors.toMap;
  * {@link com.petros.bringframework.beans.factory.annotation.InjectPlease @InjectPlease}
  * and {@link Value @Value}.
  *
+ * <p>{@code @Value} fields are bound to their declared type, e.g. primitives, enums,
+ * {@link java.time.Duration}, arrays and collections, through the {@link ConversionService}.
+ *
  * @see AnnotationBeanPostProcessor
  * @see BeanAware
  * @author "Vasiuk Maryna"
@@ -36,82 +53,78 @@ import static java.util.stream.Collectors.toMap;
 @Log4j2
 public class AutowiredAnnotationBeanPostProcessor implements AnnotationBeanPostProcessor, BeanAware {
 
+    private static final MethodType FIELD_SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+    private static final MethodType METHOD_INVOKER_TYPE = MethodType.methodType(void.class, Object.class, Object[].class);
+
     private BeanFactory beanFactory;
-    private Map<String, String> propertiesMap;
+    @Nullable
+    private volatile PropertySources propertySources;
+    private volatile TypeConverter typeConverter = createTypeConverter(DefaultConversionService.getSharedInstance());
+
+    /**
+     * Injection plans per bean class. Held per post-processor, since the plans cache the names of
+     * the candidates resolved from its bean factory, and released together with it rather than
+     * attached to the bean classes.
+     */
+    private final Map<Class<?>, InjectionPlan> injectionPlans = new ConcurrentHashMap<>(64);
 
     public AutowiredAnnotationBeanPostProcessor() {}
 
     /**
-     * Reads properties from the {@code application.properties} file and injects them into fields
-     * annotated with {@code @Value}.
-     * <p>
-     * This method handles {@code FileNotFoundException} if the properties file is not found.
+     * Set the property sources to resolve {@code @Value} expressions against. By default the
+     * {@value PropertySources#PROPERTY_SOURCES_BEAN_NAME} singleton of the bean factory is used,
+     * or the {@linkplain PropertySources#standard standard} sources if there is none.
      *
-     * @return a {@code Map} containing the properties read from the file
-     * @throws IllegalStateException if the properties file cannot be accessed or read
+     * @param propertySources the property sources to use
      */
-    private Map<String, String> readProperties() {
-        String path = Objects.requireNonNull(ClassLoader.getSystemClassLoader().getResource("application.properties")).getPath();
-        Stream<String> lines = null;
-        try {
-            lines = new BufferedReader(new FileReader(path)).lines();
-        } catch (FileNotFoundException e) {
-            log.debug("File not found: {}", path, e);
+    public void setPropertySources(PropertySources propertySources) {
+        this.propertySources = propertySources;
+    }
+
+    /**
+     * Set the conversion service to convert resolved {@code @Value} expressions to the type of
+     * the field with. Defaults to the shared {@link DefaultConversionService}.
+     *
+     * @param conversionService the conversion service to use
+     */
+    public void setConversionService(ConversionService conversionService) {
+        this.typeConverter = createTypeConverter(conversionService);
+    }
+
+    private static TypeConverter createTypeConverter(ConversionService conversionService) {
+        SympleTypeConverter converter = new SympleTypeConverter();
+        converter.setConversionService(conversionService);
+        return converter;
+    }
+
+    private PropertySources getPropertySources() {
+        PropertySources sources = propertySources;
+        if (sources == null) {
+            if (beanFactory instanceof SingletonBeanRegistry registry
+                    && registry.getSingleton(PropertySources.PROPERTY_SOURCES_BEAN_NAME) instanceof PropertySources registered) {
+                sources = registered;
+            } else {
+                sources = PropertySources.standard(ClassUtils.getDefaultClassLoader());
+            }
+            propertySources = sources;
         }
-        propertiesMap = lines.map(line -> line.split("=")).collect(toMap(arr -> arr[0], arr -> arr[1]));
-        return propertiesMap;
+        return sources;
     }
 
     /**
-     * Handles autowiring of fields annotated with {@code @InjectPlease} and injects
-     * autowired candidates into these fields.
+     * Handles autowiring of fields and methods annotated with {@code @InjectPlease} and injects
+     * autowired candidates into them, including the ones declared by superclasses.
      * <p>
      * Additionally, handles property injection based on the {@code @Value} annotation,
-     * injecting properties retrieved from the {@code application.properties} file.
+     * injecting properties resolved from the {@link PropertySources} of the context.
+     * <p>
+     * The injection points of a class are introspected once, see {@link InjectionPlan}.
      *
      * @param bean the bean instance to be processed
      * @return the processed bean instance with autowired fields and properties injected
      */
     private Object postProcessPropertyValues(Object bean) {
-        for (Field field : bean.getClass().getDeclaredFields()) {
-            if (field.isAnnotationPresent(InjectPlease.class)) {
-                field.setAccessible(true);
-                Object object = findAutowireCandidate(field.getType());
-                try {
-                    field.set(bean, object);
-                } catch (IllegalAccessException e) {
-                    log.debug("IllegalAccessException occurred while setting field: {}", field.getName(), e);
-                }
-            }
-            else if (field.isAnnotationPresent(Value.class)) {
-                Value annotation = field.getAnnotation(Value.class);
-                propertiesMap = readProperties();
-                String value = propertiesMap.get(annotation.value());
-                field.setAccessible(true);
-                try {
-                    field.set(bean, value);
-                } catch (IllegalAccessException e) {
-                    log.debug("IllegalAccessException occurred while setting field: {}", field.getName(), e);
-                }
-            }
-        }
-        for (Method method : bean.getClass().getDeclaredMethods()) {
-            if (method.isAnnotationPresent(InjectPlease.class)) {
-                Class<?>[] parameterTypes = method.getParameterTypes();
-                for (Class<?> parameterType: parameterTypes) {
-                    Object beanOfParameterType = findAutowireCandidate(parameterType);
-                    method.setAccessible(true);
-                    try {
-                        method.invoke(bean, beanOfParameterType);
-                    } catch (IllegalAccessException e) {
-                        log.debug("IllegalAccessException occurred while invoking method: {}", method.getName(), e);
-                    } catch (InvocationTargetException e) {
-                        log.debug("InvocationTargetException occurred while invoking method: {}", method.getName(), e);
-                    }
-                }
-            }
-        }
-
+        injectionPlans.computeIfAbsent(bean.getClass(), this::buildInjectionPlan).inject(bean);
         return bean;
     }
 
@@ -141,6 +154,10 @@ public class AutowiredAnnotationBeanPostProcessor implements AnnotationBeanPostP
      * @throws NoUniqueBeanDefinitionException if multiple candidates are found
      */
     protected <T> T findAutowireCandidate(Class<T> type) throws BeansException {
+        return determineAutowireCandidate(type).getValue();
+    }
+
+    private <T> Map.Entry<String, T> determineAutowireCandidate(Class<T> type) throws BeansException {
         Map<String, T> candidates = new LinkedHashMap<>(4);
         candidates.putAll(beanFactory.getBeansOfType(type));
 
@@ -150,7 +167,22 @@ public class AutowiredAnnotationBeanPostProcessor implements AnnotationBeanPostP
             throw new NoUniqueBeanDefinitionException(candidates.keySet());
         }
 
-        return candidates.values().iterator().next();
+        return candidates.entrySet().iterator().next();
+    }
+
+    /**
+     * Resolve a {@code @Value} expression: an expression containing {@code ${...}} placeholders
+     * is resolved as a whole, anything else is taken as the name of a property.
+     *
+     * @throws IllegalArgumentException if a placeholder can't be resolved
+     */
+    @Nullable
+    private String resolveValue(String expression) {
+        PropertySources sources = getPropertySources();
+        if (expression.contains(PropertyPlaceholderHelper.PLACEHOLDER_PREFIX)) {
+            return sources.resolveRequiredPlaceholders(expression);
+        }
+        return sources.getProperty(expression);
     }
 
     /**
@@ -162,4 +194,218 @@ public class AutowiredAnnotationBeanPostProcessor implements AnnotationBeanPostP
     public void setBeanFactory(BeanFactory beanFactory) {
         this.beanFactory = beanFactory;
     }
+
+    private InjectionPlan buildInjectionPlan(Class<?> beanClass) {
+        Deque<List<InjectedElement>> elementsPerClass = new ArrayDeque<>();
+        Set<String> visitedMethods = new HashSet<>();
+        for (Class<?> current = beanClass; current != null && current != Object.class; current = current.getSuperclass()) {
+            List<InjectedElement> elements = new ArrayList<>();
+            for (Field field : current.getDeclaredFields()) {
+                if (field.isAnnotationPresent(InjectPlease.class)) {
+                    elements.add(new AutowiredFieldElement(field));
+                } else if (field.isAnnotationPresent(Value.class)) {
+                    elements.add(new ValueFieldElement(field, field.getAnnotation(Value.class).value()));
+                }
+            }
+            for (Method method : current.getDeclaredMethods()) {
+                if (method.isBridge() || method.isSynthetic() || method.getParameterCount() == 0
+                        || !method.isAnnotationPresent(InjectPlease.class)) {
+                    continue;
+                }
+                // An annotated override is injected once, through the most specific declaration
+                if (Modifier.isPrivate(method.getModifiers()) || visitedMethods.add(signatureOf(method))) {
+                    elements.add(new AutowiredMethodElement(method));
+                }
+            }
+            // Superclass injection points go first
+            elementsPerClass.addFirst(elements);
+        }
+        List<InjectedElement> elements = elementsPerClass.stream().flatMap(List::stream).toList();
+        if (log.isDebugEnabled() && !elements.isEmpty()) {
+            log.debug("Computed injection plan for [{}] with {} injection points", beanClass.getName(), elements.size());
+        }
+        return new InjectionPlan(elements);
+    }
+
+    private static String signatureOf(Method method) {
+        return method.getName() + Arrays.toString(method.getParameterTypes());
+    }
+
+    /**
+     * Adapt the given field to a {@code (Object bean, Object value)} setter. Fields that can't be
+     * written through a method handle, e.g. static final ones, keep the reflective setter.
+     */
+    private static MethodHandle setterFor(Field field) {
+        ReflectionUtils.makeAccessible(field);
+        MethodHandle setter;
+        try {
+            setter = MethodHandles.lookup().unreflectSetter(field);
+            if (Modifier.isStatic(field.getModifiers())) {
+                setter = MethodHandles.dropArguments(setter, 0, Object.class);
+            }
+        } catch (IllegalAccessException ex) {
+            try {
+                setter = MethodHandles.lookup()
+                        .findVirtual(Field.class, "set", MethodType.methodType(void.class, Object.class, Object.class))
+                        .bindTo(field);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Field.set is not available", e);
+            }
+        }
+        return setter.asType(FIELD_SETTER_TYPE);
+    }
+
+    /**
+     * All injection points of a bean class, superclasses first, resolved once per class.
+     */
+    private static final class InjectionPlan {
+        private final List<InjectedElement> elements;
+
+        private InjectionPlan(List<InjectedElement> elements) {
+            this.elements = elements;
+        }
+
+        void inject(Object bean) {
+            for (InjectedElement element : elements) {
+                element.inject(bean);
+            }
+        }
+    }
+
+    private interface InjectedElement {
+        void inject(Object bean);
+    }
+
+    /**
+     * A single autowired dependency. The name of the resolved candidate is cached, not the
+     * instance, so later injections skip the by-type lookup while the scope of the candidate
+     * is still honoured by {@link BeanFactory#getBean(String)}.
+     */
+    private final class DependencyDescriptor {
+        private final Class<?> type;
+        @Nullable
+        private volatile String cachedBeanName;
+
+        private DependencyDescriptor(Class<?> type) {
+            this.type = type;
+        }
+
+        Object resolve() {
+            String beanName = cachedBeanName;
+            if (beanName != null && beanFactory.containsBean(beanName)) {
+                return beanFactory.getBean(beanName);
+            }
+            Map.Entry<String, ?> candidate = determineAutowireCandidate(type);
+            cachedBeanName = candidate.getKey();
+            return candidate.getValue();
+        }
+    }
+
+    private final class AutowiredFieldElement implements InjectedElement {
+        private final Field field;
+        private final MethodHandle setter;
+        private final DependencyDescriptor dependency;
+
+        private AutowiredFieldElement(Field field) {
+            this.field = field;
+            this.setter = setterFor(field);
+            this.dependency = new DependencyDescriptor(field.getType());
+        }
+
+        @Override
+        public void inject(Object bean) {
+            setField(bean, field, setter, dependency.resolve());
+        }
+    }
+
+    /**
+     * A {@code @Value} field. The resolved text is converted to the declared type of the field,
+     * once per injection; a missing value leaves a primitive field at its default.
+     */
+    private final class ValueFieldElement implements InjectedElement {
+        private final Field field;
+        private final MethodHandle setter;
+        private final String expression;
+        private final TypeDescriptor typeDescriptor;
+
+        private ValueFieldElement(Field field, String expression) {
+            this.field = field;
+            this.setter = setterFor(field);
+            this.expression = expression;
+            this.typeDescriptor = TypeDescriptor.forField(field);
+        }
+
+        @Override
+        public void inject(Object bean) {
+            String value = resolveValue(expression);
+            if (value == null && field.getType().isPrimitive()) {
+                return;
+            }
+            setField(bean, field, setter, convert(value));
+        }
+
+        @Nullable
+        private Object convert(@Nullable String value) {
+            if (value == null || field.getType() == String.class) {
+                return value;
+            }
+            try {
+                return typeConverter.convertIfNecessary(value, field.getType(), typeDescriptor);
+            } catch (BeansException ex) {
+                throw new IllegalStateException("Could not convert @Value(\"" + expression + "\") for field '"
+                        + field.getName() + "' of " + field.getDeclaringClass().getName() + ": " + ex.getMessage(), ex);
+            }
+        }
+    }
+
+    private static void setField(Object bean, Field field, MethodHandle setter, @Nullable Object value) {
+        try {
+            setter.invokeExact(bean, value);
+        } catch (IllegalAccessException e) {
+            log.debug("IllegalAccessException occurred while setting field: {}", field.getName(), e);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("Could not set field: " + field.getName(), e);
+        }
+    }
+
+    private final class AutowiredMethodElement implements InjectedElement {
+        private final Method method;
+        private final MethodHandle invoker;
+        private final DependencyDescriptor[] dependencies;
+
+        private AutowiredMethodElement(Method method) {
+            this.method = method;
+            ReflectionUtils.makeAccessible(method);
+            try {
+                MethodHandle handle = MethodHandles.lookup().unreflect(method);
+                if (Modifier.isStatic(method.getModifiers())) {
+                    handle = MethodHandles.dropArguments(handle, 0, Object.class);
+                }
+                this.invoker = handle.asSpreader(Object[].class, method.getParameterCount()).asType(METHOD_INVOKER_TYPE);
+            } catch (IllegalAccessException ex) {
+                throw new IllegalStateException("Could not access method: " + method.getName(), ex);
+            }
+            this.dependencies = Arrays.stream(method.getParameterTypes())
+                    .map(DependencyDescriptor::new)
+                    .toArray(DependencyDescriptor[]::new);
+        }
+
+        @Override
+        public void inject(Object bean) {
+            Object[] args = new Object[dependencies.length];
+            for (int i = 0; i < dependencies.length; i++) {
+                args[i] = dependencies[i].resolve();
+            }
+            try {
+                invoker.invokeExact(bean, args);
+            } catch (BeansException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new BeanCreationException(bean.getClass(), "could not invoke @InjectPlease method: "
+                        + method.getName(), e);
+            }
+        }
+    }
 }
@@ -2,9 +2,12 @@ package com.petros.bringframework.beans.factory.config;
 
 import com.petros.bringframework.beans.factory.BeanAware;
 import com.petros.bringframework.beans.factory.BeanFactory;
+import com.petros.bringframework.beans.factory.ConfigurableBeanFactory;
 import com.petros.bringframework.beans.factory.support.BeanDefinitionRegistry;
 import com.petros.bringframework.beans.support.AbstractBeanDefinition;
 import com.petros.bringframework.context.annotation.Configuration;
+import com.petros.bringframework.core.metrics.StartupRecorder;
+import com.petros.bringframework.core.metrics.StartupStep;
 import lombok.extern.log4j.Log4j2;
 import net.bytebuddy.ByteBuddy;
 import net.bytebuddy.description.modifier.Visibility;
@@ -115,8 +118,20 @@ public class ConfigurationClassPostProcessor implements BeanDefinitionRegistryPo
 
     @Override
     public void postProcessBeanFactory(BeanFactory beanFactory) {
-        postProcessBeanDefinitionRegistry(beanFactory.getBeanDefinitionRegistry());
-        enhanceConfigurationClasses(beanFactory);
+        StartupRecorder startupRecorder = beanFactory instanceof ConfigurableBeanFactory configurableBeanFactory
+                ? configurableBeanFactory.getStartupRecorder() : StartupRecorder.NO_OP;
+        StartupStep parseStep = startupRecorder.start("context.config-classes.parse");
+        try {
+            postProcessBeanDefinitionRegistry(beanFactory.getBeanDefinitionRegistry());
+        } finally {
+            parseStep.end();
+        }
+        StartupStep enhanceStep = startupRecorder.start("context.config-classes.enhance");
+        try {
+            enhanceConfigurationClasses(beanFactory, startupRecorder);
+        } finally {
+            enhanceStep.end();
+        }
     }
 
     private boolean hasConfigurationAnnotation(BeanDefinition beanDef) {
@@ -127,7 +142,7 @@ public class ConfigurationClassPostProcessor implements BeanDefinitionRegistryPo
         return false;
     }
 
-    private void enhanceConfigurationClasses(BeanFactory beanFactory) {
+    private void enhanceConfigurationClasses(BeanFactory beanFactory, StartupRecorder startupRecorder) {
         Map<String, AbstractBeanDefinition> configBeanDefs = new LinkedHashMap<>();
         BeanDefinitionRegistry registry = beanFactory.getBeanDefinitionRegistry();
         for (String beanName : registry.getBeanDefinitionNames()) {
@@ -152,9 +167,14 @@ public class ConfigurationClassPostProcessor implements BeanDefinitionRegistryPo
             AbstractBeanDefinition beanDef = entry.getValue();
             Class<?> configClass = beanDef.getBeanClass();
 
-
-            Class<?> dynamicType = createProxy(configClass);
-            beanDef.setBeanClassName(dynamicType.getName());
+            StartupStep proxyStep = startupRecorder.start("context.config-classes.proxy")
+                    .tag("configClass", configClass.getName());
+            try {
+                Class<?> dynamicType = createProxy(configClass);
+                beanDef.setBeanClassName(dynamicType.getName());
+            } finally {
+                proxyStep.end();
+            }
         }
     }
 
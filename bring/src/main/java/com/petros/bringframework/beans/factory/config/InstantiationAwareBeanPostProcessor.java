@@ -0,0 +1,29 @@
+package com.petros.bringframework.beans.factory.config;
+
+import com.petros.bringframework.beans.BeansException;
+
+import javax.annotation.Nullable;
+
+/**
+ * Subinterface of {@link BeanPostProcessor} that adds a before-instantiation callback.
+ *
+ * <p>Typically used to create beans that can't be built through a constructor resolved by the
+ * container, e.g. immutable configuration records bound from the property sources. Aware
+ * callbacks and the initialization callbacks of all post-processors are still applied to the
+ * returned instance.
+ */
+public interface InstantiationAwareBeanPostProcessor extends BeanPostProcessor {
+
+    /**
+     * Apply this BeanPostProcessor <i>before the target bean gets instantiated</i>.
+     * @param beanClass the class of the bean to be instantiated
+     * @param beanName the name of the bean
+     * @return the bean instance to use instead of a default instance of the target bean,
+     * or {@code null} to proceed with default instantiation
+     * @throws com.petros.bringframework.beans.BeansException in case of errors
+     */
+    @Nullable
+    default Object postProcessBeforeInstantiation(Class<?> beanClass, String beanName) throws BeansException {
+        return null;
+    }
+}
@@ -8,8 +8,11 @@ import com.petros.bringframework.beans.factory.config.AnnotationBeanPostProcesso
 import com.petros.bringframework.beans.factory.config.AutowireCapableBeanFactory;
 import com.petros.bringframework.beans.factory.config.BeanDefinition;
 import com.petros.bringframework.beans.factory.config.BeanPostProcessor;
+import com.petros.bringframework.beans.factory.config.InstantiationAwareBeanPostProcessor;
 import com.petros.bringframework.beans.support.GenericBeanDefinition;
 import com.petros.bringframework.context.support.ConstructorResolver;
+import com.petros.bringframework.core.metrics.StartupRecorder;
+import com.petros.bringframework.core.metrics.StartupStep;
 import com.petros.bringframework.core.type.ResolvableType;
 import com.petros.bringframework.util.AutowireClassUtils;
 import lombok.extern.log4j.Log4j2;
@@ -41,7 +44,23 @@ public abstract class AbstractAutowireCapableBeanFactory
 
     public AbstractAutowireCapableBeanFactory(BeanDefinitionRegistry registry) {
         super(registry);
-        instantiationStrategy = new SimpleInstantiationStrategy();
+        instantiationStrategy = new MethodHandleInstantiationStrategy();
+    }
+
+    /**
+     * Set the instantiation strategy to use for creating bean instances.
+     * Default is {@link MethodHandleInstantiationStrategy}; {@link SimpleInstantiationStrategy}
+     * creates every instance reflectively.
+     */
+    public void setInstantiationStrategy(InstantiationStrategy instantiationStrategy) {
+        this.instantiationStrategy = instantiationStrategy;
+    }
+
+    /**
+     * Return the instantiation strategy to use for creating bean instances.
+     */
+    public InstantiationStrategy getInstantiationStrategy() {
+        return this.instantiationStrategy;
     }
 
 
@@ -62,17 +81,85 @@ public abstract class AbstractAutowireCapableBeanFactory
     }
 
     protected Object doCreateBean(String beanName, BeanDefinition mbd, Object[] args) {
-        BeanWrapper instanceWrapper = createBeanInstance(beanName, mbd, args);
+        BeanCreationEvent event = new BeanCreationEvent();
+        if (!event.isEnabled()) {
+            return createBeanWithSteps(beanName, mbd, args);
+        }
+        event.begin();
+        Object bean = null;
+        try {
+            bean = createBeanWithSteps(beanName, mbd, args);
+            return bean;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.beanName = beanName;
+                event.scope = mbd.getScope();
+                event.beanClass = bean != null ? bean.getClass().getName() : mbd.getBeanClassName();
+                event.commit();
+            }
+        }
+    }
 
-        Object bean = instanceWrapper.wrappedInstance();
+    private Object createBeanWithSteps(String beanName, BeanDefinition mbd, Object[] args) {
+        StartupRecorder startupRecorder = getStartupRecorder();
+        StartupStep creationStep = startupRecorder.start("beans.create").tag("beanName", beanName);
+        try {
+            BeanWrapper instanceWrapper;
+            StartupStep instantiationStep = startupRecorder.start("beans.instantiate");
+            try {
+                instanceWrapper = resolveBeforeInstantiation(beanName, mbd);
+                if (instanceWrapper == null) {
+                    instanceWrapper = createBeanInstance(beanName, mbd, args);
+                }
+            } finally {
+                instantiationStep.end();
+            }
 
-        invokeAwareMethod(bean);
+            Object bean = instanceWrapper.wrappedInstance();
 
-        configureBean(beanName, bean);
+            invokeAwareMethod(bean);
 
-        return bean;
+            configureBean(beanName, bean, startupRecorder);
+
+            return bean;
+        } finally {
+            creationStep.end();
+        }
     }
 
+    /**
+     * Give {@link InstantiationAwareBeanPostProcessor}s the chance to supply the bean instance
+     * instead of the container instantiating the bean class.
+     *
+     * @return a BeanWrapper for the supplied instance, or {@code null} if there is none
+     */
+    @Nullable
+    protected BeanWrapper resolveBeforeInstantiation(String beanName, BeanDefinition mbd) {
+        if (!hasInstantiationAwareBeanPostProcessors() || mbd.getFactoryMethodName() != null) {
+            return null;
+        }
+        Class<?> beanClass = resolveBeanClass(mbd, beanName);
+        if (beanClass == null) {
+            return null;
+        }
+        for (BeanPostProcessor beanPostProcessor : getBeanPostProcessors()) {
+            if (beanPostProcessor instanceof InstantiationAwareBeanPostProcessor processor) {
+                Object bean = processor.postProcessBeforeInstantiation(beanClass, beanName);
+                if (bean != null) {
+                    return new BeanWrapper(bean, bean.getClass());
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Return whether an {@link InstantiationAwareBeanPostProcessor} has been registered, so that
+     * beans are created without resolving their class up front when there is none.
+     */
+    protected abstract boolean hasInstantiationAwareBeanPostProcessors();
+
     /**
      * Configures the given bean before and after initialization, applying specific
      * post-processing logic if it's not a BeanPostProcessor itself.
@@ -86,7 +173,7 @@ public abstract class AbstractAutowireCapableBeanFactory
      * @throws BeanCreationException if an error occurs during post-processing
      *                              or initialization of the bean.
      */
-    private void configureBean(String beanName, Object bean) {
+    private void configureBean(String beanName, Object bean, StartupRecorder startupRecorder) {
         if (!(bean instanceof BeanPostProcessor)) {
             try {
                 List<BeanPostProcessor> annotationBeanPostProcessors = getBeanPostProcessors()
@@ -94,8 +181,18 @@ public abstract class AbstractAutowireCapableBeanFactory
                         .filter(AnnotationBeanPostProcessor.class::isInstance)
                         .toList();
 
-                annotationBeanPostProcessors.forEach(bp -> bp.postProcessBeforeInitialization(bean, beanName));
-                initializeBean(bean, beanName, annotationBeanPostProcessors);
+                StartupStep injectionStep = startupRecorder.start("beans.inject");
+                try {
+                    annotationBeanPostProcessors.forEach(bp -> bp.postProcessBeforeInitialization(bean, beanName));
+                } finally {
+                    injectionStep.end();
+                }
+                StartupStep initializationStep = startupRecorder.start("beans.init");
+                try {
+                    initializeBean(bean, beanName, annotationBeanPostProcessors);
+                } finally {
+                    initializationStep.end();
+                }
             } catch (Throwable ex) {
                 throw new BeanCreationException(beanName, "Post-processing for %s failed".formatted(beanName), ex);
             }
@@ -9,6 +9,8 @@ import com.petros.bringframework.beans.factory.ConfigurableBeanFactory;
 import com.petros.bringframework.beans.factory.config.BeanDefinition;
 import com.petros.bringframework.beans.support.AbstractBeanDefinition;
 import com.petros.bringframework.beans.support.GenericBeanDefinition;
+import com.petros.bringframework.core.AssertUtils;
+import com.petros.bringframework.core.metrics.StartupRecorder;
 import com.petros.bringframework.core.type.ResolvableType;
 import com.petros.bringframework.core.type.convert.ConversionService;
 import lombok.extern.log4j.Log4j2;
@@ -43,10 +45,23 @@ public abstract class AbstractBeanFactory extends DefaultSingletonBeanRegistry i
 
     protected final BeanDefinitionRegistry registry;
 
+    private StartupRecorder startupRecorder = StartupRecorder.getDefault();
+
     public AbstractBeanFactory(BeanDefinitionRegistry registry) {
         this.registry = registry;
     }
 
+    @Override
+    public void setStartupRecorder(StartupRecorder startupRecorder) {
+        AssertUtils.notNull(startupRecorder, "StartupRecorder must not be null");
+        this.startupRecorder = startupRecorder;
+    }
+
+    @Override
+    public StartupRecorder getStartupRecorder() {
+        return startupRecorder;
+    }
+
     @Override
     public BeanDefinitionRegistry getBeanDefinitionRegistry() {
         return registry;
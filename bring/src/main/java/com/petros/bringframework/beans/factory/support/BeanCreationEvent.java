@@ -0,0 +1,31 @@
+package com.petros.bringframework.beans.factory.support;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for a bean created by {@link AbstractAutowireCapableBeanFactory}, covering
+ * instantiation, injection and initialization.
+ *
+ * <p>Creating a bean creates its dependencies first, so the events of dependencies are nested
+ * in the event of the bean that needs them.
+ */
+@Name("bring.BeanCreation")
+@Label("Bean Creation")
+@Category({"Bring", "Beans"})
+@Description("Bean instantiated, injected and initialized by the bean factory")
+@StackTrace(false)
+class BeanCreationEvent extends jdk.jfr.Event {
+
+    @Label("Bean Name")
+    String beanName;
+
+    @Label("Scope")
+    String scope;
+
+    @Label("Bean Class")
+    String beanClass;
+}
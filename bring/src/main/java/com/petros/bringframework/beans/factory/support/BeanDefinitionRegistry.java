@@ -64,5 +64,13 @@ public interface BeanDefinitionRegistry {
 
     void registerAlias(String beanName, String alias);
 
+    /**
+     * Return the names of the bean definitions whose bean type (the bean class, or the
+     * return type of the factory method) is assignable to the given type.
+     * @param type the class or interface to match
+     * @return the names of the matching bean definitions, or an empty array if none
+     */
+    String[] getBeanNamesForType(Class<?> type);
+
     Map<String, BeanDefinition> getBeanDefinitions();
 }
@@ -0,0 +1,194 @@
+package com.petros.bringframework.beans.factory.support;
+
+import com.petros.bringframework.beans.factory.config.BeanDefinition;
+import com.petros.bringframework.beans.support.AbstractBeanDefinition;
+import com.petros.bringframework.beans.support.GenericBeanDefinition;
+import com.petros.bringframework.core.type.ResolvableType;
+
+import javax.annotation.Nullable;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Index from a type to the names of the bean definitions assignable to it, maintained by
+ * {@link SimpleBeanDefinitionRegistry} as definitions are registered and removed.
+ *
+ * <p>Every definition is indexed under its bean type and all of that type's superclasses and
+ * interfaces, so a lookup is a single hash probe. Lookup results are cached per requested type
+ * and the cached entries of the affected types are evicted whenever a definition is added or
+ * removed. Definitions whose type can't be determined yet are retried on the first lookup
+ * after the registry changed, so a definition that never resolves doesn't make every lookup
+ * take the monitor and try to load its class again.
+ */
+class BeanDefinitionTypeIndex {
+
+    private static final String[] NO_NAMES = new String[0];
+
+    private final Object monitor = new Object();
+
+    /**
+     * Type to the names of the definitions assignable to it, in registration order. Guarded by {@link #monitor}.
+     */
+    private final Map<Class<?>, Set<String>> beanNamesByType = new HashMap<>();
+
+    /**
+     * Bean name to the types it has been indexed under. Guarded by {@link #monitor}.
+     */
+    private final Map<String, Set<Class<?>>> typesByBeanName = new HashMap<>();
+
+    /**
+     * Definitions whose type couldn't be determined at registration. Guarded by {@link #monitor}.
+     */
+    private final Map<String, BeanDefinition> pendingDefinitions = new HashMap<>();
+
+    private final Map<Class<?>, String[]> lookupCache = new ConcurrentHashMap<>();
+
+    /**
+     * Whether the registry changed since the pending definitions were last tried.
+     */
+    private volatile boolean retryPendingDefinitions;
+
+    void add(String beanName, BeanDefinition beanDefinition) {
+        synchronized (monitor) {
+            doRemove(beanName);
+            // The new definition has just been tried, only the ones pending before are worth a retry
+            retryPendingDefinitions = !pendingDefinitions.isEmpty();
+            Class<?> beanType = determineBeanType(beanDefinition);
+            if (beanType == null) {
+                pendingDefinitions.put(beanName, beanDefinition);
+            } else {
+                doAdd(beanName, beanType);
+            }
+        }
+    }
+
+    void remove(String beanName) {
+        synchronized (monitor) {
+            doRemove(beanName);
+            retryPendingDefinitions = !pendingDefinitions.isEmpty();
+        }
+    }
+
+    /**
+     * Return the names of the definitions whose bean type is assignable to the given type.
+     *
+     * @param type the type to look up
+     * @return the matching bean names, in registration order; never {@code null}
+     */
+    String[] getBeanNamesForType(Class<?> type) {
+        if (retryPendingDefinitions) {
+            indexPendingDefinitions();
+        }
+        String[] beanNames = lookupCache.get(type);
+        if (beanNames == null) {
+            synchronized (monitor) {
+                Set<String> indexed = beanNamesByType.get(type);
+                beanNames = indexed != null ? indexed.toArray(NO_NAMES) : NO_NAMES;
+                lookupCache.put(type, beanNames);
+            }
+        }
+        return beanNames;
+    }
+
+    private void indexPendingDefinitions() {
+        synchronized (monitor) {
+            if (!retryPendingDefinitions) {
+                return;
+            }
+            pendingDefinitions.entrySet().removeIf(entry -> {
+                Class<?> beanType = determineBeanType(entry.getValue());
+                if (beanType != null) {
+                    doAdd(entry.getKey(), beanType);
+                    return true;
+                }
+                return false;
+            });
+            // Still unresolved ones wait for the next change of the registry
+            retryPendingDefinitions = false;
+        }
+    }
+
+    private void doAdd(String beanName, Class<?> beanType) {
+        Set<Class<?>> types = collectTypes(beanType);
+        typesByBeanName.put(beanName, types);
+        for (Class<?> type : types) {
+            beanNamesByType.computeIfAbsent(type, key -> new LinkedHashSet<>()).add(beanName);
+            lookupCache.remove(type);
+        }
+    }
+
+    private void doRemove(String beanName) {
+        pendingDefinitions.remove(beanName);
+        Set<Class<?>> types = typesByBeanName.remove(beanName);
+        if (types == null) {
+            return;
+        }
+        for (Class<?> type : types) {
+            Set<String> beanNames = beanNamesByType.get(type);
+            if (beanNames != null) {
+                beanNames.remove(beanName);
+                if (beanNames.isEmpty()) {
+                    beanNamesByType.remove(type);
+                }
+            }
+            lookupCache.remove(type);
+        }
+    }
+
+    /**
+     * Collect the given type, its superclasses and all the interfaces they implement.
+     */
+    private static Set<Class<?>> collectTypes(Class<?> beanType) {
+        Set<Class<?>> types = new LinkedHashSet<>();
+        Deque<Class<?>> toVisit = new ArrayDeque<>();
+        toVisit.add(beanType);
+        while (!toVisit.isEmpty()) {
+            Class<?> current = toVisit.poll();
+            if (types.add(current)) {
+                if (current.getSuperclass() != null) {
+                    toVisit.add(current.getSuperclass());
+                }
+                for (Class<?> implemented : current.getInterfaces()) {
+                    toVisit.add(implemented);
+                }
+            }
+        }
+        if (beanType.isInterface()) {
+            types.add(Object.class);
+        }
+        return types;
+    }
+
+    /**
+     * Determine the bean type the same way {@link AbstractBeanFactory#resolveBeanClass} does,
+     * returning {@code null} instead of failing when it isn't known (yet).
+     */
+    @Nullable
+    private static Class<?> determineBeanType(BeanDefinition beanDefinition) {
+        if (beanDefinition instanceof AbstractBeanDefinition abd && beanDefinition.getFactoryMethodName() == null) {
+            try {
+                return abd.getBeanClass();
+            } catch (IllegalStateException ex) {
+                // not resolved into a Class yet, fall through to the class name
+            }
+        }
+        String beanClassName = beanDefinition.getBeanClassName();
+        if (beanClassName != null) {
+            try {
+                return Class.forName(beanClassName);
+            } catch (ClassNotFoundException | LinkageError ex) {
+                return null;
+            }
+        }
+        if (beanDefinition.getFactoryMethodName() != null && beanDefinition instanceof GenericBeanDefinition gbd) {
+            ResolvableType targetType = gbd.getTargetType();
+            return targetType != null ? targetType.resolve() : null;
+        }
+        return null;
+    }
+}
@@ -7,6 +7,7 @@ import com.petros.bringframework.beans.factory.config.BeanDefinition;
 import com.petros.bringframework.beans.factory.config.BeanFactoryPostProcessor;
 import com.petros.bringframework.beans.factory.config.BeanPostProcessor;
 import com.petros.bringframework.beans.factory.config.DestructionAwareBeanPostProcessor;
+import com.petros.bringframework.beans.factory.config.InstantiationAwareBeanPostProcessor;
 import com.petros.bringframework.core.AssertUtils;
 import com.petros.bringframework.core.type.ResolvableType;
 import com.petros.bringframework.core.type.convert.ConversionService;
@@ -17,13 +18,12 @@ import org.apache.commons.lang3.NotImplementedException;
 import javax.annotation.Nullable;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.LinkedHashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
@@ -40,9 +40,9 @@ import static java.util.Objects.nonNull;
 public class DefaultBeanFactory extends AbstractAutowireCapableBeanFactory implements ConfigurableBeanFactory {
     private final Map<String, Object> beanCacheByName = new ConcurrentHashMap<>();
     private final Map<Class<?>, Object> beanCacheByType = new ConcurrentHashMap<>();
-    private final List<BeanFactoryPostProcessor> beanFactoryPostProcessors = Collections.synchronizedList(new LinkedList<>());
-    private final List<BeanPostProcessor> beanPostProcessors = Collections.synchronizedList(new LinkedList<>());
-    private final Map<Class<?>, String[]> allBeanNamesByType = new ConcurrentHashMap<>();
+    // Read on every bean creation and rarely written: copy-on-write lists iterate without locking
+    private final List<BeanFactoryPostProcessor> beanFactoryPostProcessors = new CopyOnWriteArrayList<>();
+    private final List<BeanPostProcessor> beanPostProcessors = new CopyOnWriteArrayList<>();
     private final Map<Class<?>, Object> resolvableDependencies = new ConcurrentHashMap<>(16);
 
     @Nullable
@@ -50,6 +50,12 @@ public class DefaultBeanFactory extends AbstractAutowireCapableBeanFactory imple
     @Nullable
     private ConversionService conversionService;
 
+    /**
+     * Whether independent non-lazy singletons are created concurrently on startup.
+     */
+    private volatile boolean parallelPreInstantiation = false;
+    private volatile boolean hasInstantiationAwareBeanPostProcessors = false;
+
     public DefaultBeanFactory(BeanDefinitionRegistry registry) {
         super(registry);
     }
@@ -301,7 +307,23 @@ public class DefaultBeanFactory extends AbstractAutowireCapableBeanFactory imple
         this.conversionService = conversionService;
     }
 
-    private String[] getBeanNamesForType(Class<?> type) {
+    /**
+     * Set whether {@link #preInstantiateSingletons()} should create independent
+     * non-lazy singletons concurrently, following the dependency graph between them.
+     * <p>Default is "false": singletons are created one after another on the calling thread.
+     *
+     * @param parallelPreInstantiation whether to enable parallel pre-instantiation
+     * @see ParallelSingletonInstantiator
+     */
+    public void setParallelPreInstantiation(boolean parallelPreInstantiation) {
+        this.parallelPreInstantiation = parallelPreInstantiation;
+    }
+
+    public boolean isParallelPreInstantiation() {
+        return this.parallelPreInstantiation;
+    }
+
+    String[] getBeanNamesForType(Class<?> type) {
         return getBeanNamesForType(type, true);
     }
 
@@ -314,50 +336,44 @@ public class DefaultBeanFactory extends AbstractAutowireCapableBeanFactory imple
         }
     }
 
+    /**
+     * Look the type up in the registry's type index and keep the definitions that can be
+     * obtained by type: singletons, and prototypes when eager init is allowed.
+     */
     private String[] getBeanNamesForType(Class<?> type, boolean allowEagerInit) {
-        final Map<Class<?>, String[]> cache = this.allBeanNamesByType;
-        String[] resolvedBeanNames = cache.get(type);
-        if (resolvedBeanNames != null) {
-            return resolvedBeanNames;
-        } else {
-            resolvedBeanNames = doGetBeanNamesForType(ResolvableType.forRawClass(type), true);
-            cache.put(type, resolvedBeanNames);
-        }
-
-        return resolvedBeanNames;
-    }
-
-    private String[] doGetBeanNamesForType(ResolvableType resolvableType, boolean allowEagerInit) {
-        List<String> result = new ArrayList<>();
-        for (Map.Entry<String, BeanDefinition> beanDefinitionEntry : registry.getBeanDefinitions().entrySet()) {
-            final String beanName = beanDefinitionEntry.getKey();
-            final BeanDefinition beanDefinition = beanDefinitionEntry.getValue();
-            boolean matchFound = false;
-            if (beanDefinition.isSingleton() || (beanDefinition.isPrototype() && allowEagerInit)) {
-                matchFound = isTypeMatch(beanName, beanDefinition, resolvableType);
-            }
-            if (matchFound) {
+        String[] candidateNames = registry.getBeanNamesForType(type);
+        List<String> result = new ArrayList<>(candidateNames.length);
+        for (String beanName : candidateNames) {
+            final BeanDefinition beanDefinition = registry.getBeanDefinitions().get(beanName);
+            if (beanDefinition != null
+                    && (beanDefinition.isSingleton() || (beanDefinition.isPrototype() && allowEagerInit))) {
                 result.add(beanName);
             }
         }
-
-        return !result.isEmpty() ? result.toArray(new String[]{}) : new String[]{};
+        return result.toArray(String[]::new);
     }
 
     @Override
     public void preInstantiateSingletons() throws BeansException {
         List<String> beanNames = new ArrayList<>(this.registry.getBeanDefinitions().keySet());
+        List<String> singletonNames = new ArrayList<>(beanNames.size());
         for (String beanName : beanNames) {
             final BeanDefinition beanDef = registry.getBeanDefinition(beanName);
             if (!beanDef.isAbstract() && beanDef.isSingleton() && !beanDef.isLazyInit()) {
                 if (isFactoryBean(beanName)) {
                     //todo implement if needed
                     throw new NotImplementedException();
-                } else {
-                    getBean(beanName);
                 }
+                singletonNames.add(beanName);
             }
         }
+
+        if (parallelPreInstantiation && singletonNames.size() > 1) {
+            new ParallelSingletonInstantiator(this, Runtime.getRuntime().availableProcessors())
+                    .instantiate(singletonNames);
+        } else {
+            singletonNames.forEach(this::getBean);
+        }
     }
 
     /**
@@ -368,12 +384,18 @@ public class DefaultBeanFactory extends AbstractAutowireCapableBeanFactory imple
     @Override
     public void addBeanPostProcessor(BeanPostProcessor beanPostProcessor) {
         AssertUtils.notNull(beanPostProcessor, "BeanPostProcessor must not be null");
-        synchronized (this.beanPostProcessors) {
-            this.beanPostProcessors.remove(beanPostProcessor);
-            this.beanPostProcessors.add(beanPostProcessor);
+        this.beanPostProcessors.remove(beanPostProcessor);
+        this.beanPostProcessors.add(beanPostProcessor);
+        if (beanPostProcessor instanceof InstantiationAwareBeanPostProcessor) {
+            this.hasInstantiationAwareBeanPostProcessors = true;
         }
     }
 
+    @Override
+    protected boolean hasInstantiationAwareBeanPostProcessors() {
+        return hasInstantiationAwareBeanPostProcessors;
+    }
+
     /**
      * Adds a BeanFactoryPostProcessor to the list of post-processors.
      *
@@ -381,9 +403,7 @@ public class DefaultBeanFactory extends AbstractAutowireCapableBeanFactory imple
      */
     @Override
     public void addBeanFactoryPostProcessor(BeanFactoryPostProcessor beanFactoryPostProcessor) {
-        synchronized (this.beanFactoryPostProcessors) {
-            this.beanFactoryPostProcessors.remove(beanFactoryPostProcessor);
-            this.beanFactoryPostProcessors.add(beanFactoryPostProcessor);
-        }
+        this.beanFactoryPostProcessors.remove(beanFactoryPostProcessor);
+        this.beanFactoryPostProcessors.add(beanFactoryPostProcessor);
     }
 }
@@ -8,32 +8,61 @@ import lombok.extern.log4j.Log4j2;
 
 import javax.annotation.Nullable;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.Iterator;
-import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
+ * Shared registry of singleton instances.
+ *
+ * <p>Completed singletons are read without locking. Creation is guarded by a
+ * {@link ReentrantLock} per bean name, so unrelated singletons can be created concurrently
+ * and threads only wait for the beans they actually need. {@code ReentrantLock} is used over
+ * {@code synchronized} as it doesn't pin virtual threads while a slow bean is initialized.
+ *
+ * <p>A bean requested again by the thread creating it is reported as a circular reference.
+ * Threads waiting for each other's beans (thread A creates X and needs Y while thread B
+ * creates Y and needs X) are detected through the wait-for graph and reported the same way
+ * instead of deadlocking.
+ *
  * @author "Maksym Oliinyk"
  */
 @Log4j2
 public class DefaultSingletonBeanRegistry implements SingletonBeanRegistry {
 
+    /**
+     * How long a thread waits for a creation lock before checking for a deadlock again.
+     */
+    private static final long DEADLOCK_CHECK_INTERVAL_MILLIS = 50;
+
     /**
      * Cache of singleton objects: bean name to bean instance.
      */
     private final Map<String, Object> singletonObjects = new ConcurrentHashMap<>(256);
 
     /**
-     * Names of beans that are currently in creation.
+     * Creation locks: bean name to the lock guarding the creation of that singleton.
+     */
+    private final Map<String, ReentrantLock> singletonCreationLocks = new ConcurrentHashMap<>(256);
+
+    /**
+     * Names of beans that are currently in creation, with the thread creating them.
      */
-    private final Set<String> singletonsCurrentlyInCreation =
-            Collections.newSetFromMap(new ConcurrentHashMap<>(16));
+    private final Map<String, Thread> singletonsCurrentlyInCreation = new ConcurrentHashMap<>(16);
+
+    /**
+     * Threads waiting for a creation lock: thread to the name of the bean it waits for.
+     */
+    private final Map<Thread, String> threadsAwaitingSingleton = new ConcurrentHashMap<>(16);
 
     /**
      * Map between dependent bean names: bean name to Set of dependent bean names.
+     * The sets are concurrent, so lookups on the request path take no monitor.
      */
     private final Map<String, Set<String>> dependentBeanMap = new ConcurrentHashMap<>(64);
 
@@ -46,37 +75,28 @@ public class DefaultSingletonBeanRegistry implements SingletonBeanRegistry {
     public void registerSingleton(String beanName, Object singletonObject) {
         AssertUtils.notNull(beanName, "'beanName' is required");
         AssertUtils.notNull(singletonObject, "'singletonObject' is required");
-        synchronized (this.singletonObjects) {
-            final Object oldObject = singletonObjects.get(beanName);
-            if (oldObject != null) {
-                throw new IllegalStateException("Could not register object [" + singletonObject +
-                        "] under bean name '" + beanName + "': there is already object [" + oldObject + "] bound");
-            }
-            addSingleton(beanName, singletonObject);
+        final Object oldObject = singletonObjects.putIfAbsent(beanName, singletonObject);
+        if (oldObject != null) {
+            throw new IllegalStateException("Could not register object [" + singletonObject +
+                    "] under bean name '" + beanName + "': there is already object [" + oldObject + "] bound");
         }
     }
 
     private void addSingleton(String beanName, Object singletonObject) {
-        synchronized (this.singletonObjects) {
-            this.singletonObjects.put(beanName, singletonObject);
-        }
+        this.singletonObjects.put(beanName, singletonObject);
     }
 
     @Nullable
     @Override
     public Object getSingleton(String beanName) {
-        Object singletonObject = this.singletonObjects.get(beanName);
-        if (singletonObject == null && isSingletonCurrentlyInCreation(beanName)) {
-            synchronized (this.singletonObjects) {
-                return this.singletonObjects.get(beanName);
-            }
-        }
-        return singletonObject;
+        return this.singletonObjects.get(beanName);
     }
 
     /**
      * Return the (raw) singleton object registered under the given name,
      * creating and registering a new one if none registered yet.
+     * <p>Only the creation of this particular bean is serialized: other threads asking for
+     * the same bean wait for it to be created, all other lookups proceed.
      *
      * @param beanName         the name of the bean
      * @param singletonFactory the SingletonFactory to lazily create the singleton
@@ -85,8 +105,14 @@ public class DefaultSingletonBeanRegistry implements SingletonBeanRegistry {
      */
     public Object getSingleton(String beanName, SingletonFactory<?> singletonFactory) {
         AssertUtils.notNull(beanName, "Bean name must not be null");
-        synchronized (this.singletonObjects) {
-            Object singletonObject = this.singletonObjects.get(beanName);
+        Object singletonObject = this.singletonObjects.get(beanName);
+        if (singletonObject != null) {
+            return singletonObject;
+        }
+        final ReentrantLock creationLock = singletonCreationLocks.computeIfAbsent(beanName, name -> new ReentrantLock());
+        acquireCreationLock(beanName, creationLock);
+        try {
+            singletonObject = this.singletonObjects.get(beanName);
             if (singletonObject == null) {
                 log.debug("Creating shared instance of singleton bean '" + beanName + "'");
                 beforeSingletonCreation(beanName);
@@ -99,12 +125,68 @@ public class DefaultSingletonBeanRegistry implements SingletonBeanRegistry {
                     afterSingletonCreation(beanName);
                 }
                 addSingleton(beanName, singletonObject);
-
             }
             return singletonObject;
+        } finally {
+            creationLock.unlock();
         }
     }
 
+    /**
+     * Acquire the creation lock of the given bean. Re-entrant acquisition by the creating thread
+     * succeeds immediately, so that {@link #beforeSingletonCreation} reports the cycle.
+     */
+    private void acquireCreationLock(String beanName, ReentrantLock creationLock) {
+        if (creationLock.tryLock()) {
+            return;
+        }
+        final Thread currentThread = Thread.currentThread();
+        threadsAwaitingSingleton.put(currentThread, beanName);
+        try {
+            while (!creationLock.tryLock(DEADLOCK_CHECK_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)) {
+                final String cycle = findCreationDeadlock(currentThread, beanName);
+                if (cycle != null) {
+                    throw new BeanCurrentlyInCreationException(beanName,
+                            "threads are waiting for each other's beans [" + cycle + "]: " +
+                                    "Is there an unresolvable circular reference?");
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new BeanCreationException(beanName,
+                    "Interrupted while waiting for the singleton to be created by another thread");
+        } finally {
+            threadsAwaitingSingleton.remove(currentThread);
+        }
+    }
+
+    /**
+     * Follow the wait-for graph from the bean the current thread waits for: the thread creating it,
+     * the bean that thread waits for and so on. Coming back to the current thread is a deadlock.
+     *
+     * @return a description of the cycle, or {@code null} if there is none
+     */
+    @Nullable
+    private String findCreationDeadlock(Thread currentThread, String awaitedBean) {
+        final StringBuilder cycle = new StringBuilder(awaitedBean);
+        final Set<Thread> visited = new HashSet<>();
+        String bean = awaitedBean;
+        while (bean != null) {
+            final Thread owner = singletonsCurrentlyInCreation.get(bean);
+            if (owner == null || !visited.add(owner)) {
+                return null;
+            }
+            if (owner == currentThread) {
+                return cycle.toString();
+            }
+            bean = threadsAwaitingSingleton.get(owner);
+            if (bean != null) {
+                cycle.append(" -> ").append(bean);
+            }
+        }
+        return null;
+    }
+
     @Override
     public boolean containsSingleton(String beanName) {
         AssertUtils.notNull(beanName, "'beanName' is required");
@@ -113,9 +195,7 @@ public class DefaultSingletonBeanRegistry implements SingletonBeanRegistry {
 
     @Override
     public String[] getSingletonNames() {
-        synchronized (this.singletonObjects) {
-            return singletonObjects.keySet().toArray(new String[0]);
-        }
+        return singletonObjects.keySet().toArray(new String[0]);
     }
 
     @Override
@@ -127,9 +207,7 @@ public class DefaultSingletonBeanRegistry implements SingletonBeanRegistry {
      * Clear all cached singleton instances in this registry.
      */
     protected void clearSingletonCache() {
-        synchronized (this.singletonObjects) {
-            this.singletonObjects.clear();
-        }
+        this.singletonObjects.clear();
     }
 
     /**
@@ -139,17 +217,18 @@ public class DefaultSingletonBeanRegistry implements SingletonBeanRegistry {
      * @return whether the bean is currently in creation
      */
     protected boolean isSingletonCurrentlyInCreation(String beanName) {
-        return this.singletonsCurrentlyInCreation.contains(beanName);
+        return this.singletonsCurrentlyInCreation.containsKey(beanName);
     }
 
     /**
      * Callback before singleton creation.
-     * <p>The default implementation register the singleton as currently in creation.
+     * <p>The default implementation register the singleton as currently in creation
+     * by the calling thread.
      *
      * @param beanName the name of the singleton about to be created
      */
     protected void beforeSingletonCreation(String beanName) {
-        if (!this.singletonsCurrentlyInCreation.add(beanName)) {
+        if (this.singletonsCurrentlyInCreation.putIfAbsent(beanName, Thread.currentThread()) != null) {
             throw new BeanCurrentlyInCreationException(beanName);
         }
     }
@@ -162,7 +241,7 @@ public class DefaultSingletonBeanRegistry implements SingletonBeanRegistry {
      * @see #isSingletonCurrentlyInCreation
      */
     protected void afterSingletonCreation(String beanName) {
-        if (!this.singletonsCurrentlyInCreation.remove(beanName)) {
+        if (this.singletonsCurrentlyInCreation.remove(beanName) == null) {
             throw new IllegalStateException("Singleton '" + beanName + "' isn't currently in creation");
         }
     }
@@ -175,12 +254,8 @@ public class DefaultSingletonBeanRegistry implements SingletonBeanRegistry {
      * @return
      */
     protected boolean isDependent(String beanName, String dependentBeanName) {
-        synchronized (this.dependentBeanMap) {
-            if (dependentBeanMap.containsKey(beanName)) {
-                return dependentBeanMap.get(beanName).contains(dependentBeanName);
-            }
-            return false;
-        }
+        Set<String> dependentBeans = dependentBeanMap.get(beanName);
+        return dependentBeans != null && dependentBeans.contains(dependentBeanName);
     }
 
     /**
@@ -191,17 +266,11 @@ public class DefaultSingletonBeanRegistry implements SingletonBeanRegistry {
      * @param dependentBeanName the name of the dependent bean
      */
     public void registerDependentBean(String dependentBeanName, String beanName) {
-        synchronized (dependentBeanMap) {
-            final Set<String> dependentBeans = dependentBeanMap.computeIfAbsent(beanName, k -> new LinkedHashSet());
-            if (!dependentBeans.add(dependentBeanName)) {
-                return;
-            }
-        }
-
-        synchronized (dependenciesForBeanMap) {
-            final Set<String> dependenciesForBean = this.dependenciesForBeanMap.computeIfAbsent(dependentBeanName, k -> new LinkedHashSet());
-            dependenciesForBean.add(beanName);
+        final Set<String> dependentBeans = dependentBeanMap.computeIfAbsent(beanName, k -> ConcurrentHashMap.newKeySet());
+        if (!dependentBeans.add(dependentBeanName)) {
+            return;
         }
+        dependenciesForBeanMap.computeIfAbsent(dependentBeanName, k -> ConcurrentHashMap.newKeySet()).add(beanName);
     }
 
     /**
@@ -210,9 +279,7 @@ public class DefaultSingletonBeanRegistry implements SingletonBeanRegistry {
      * @param beanName the name of the bean
      */
     protected void removeSingleton(String beanName) {
-        synchronized (this.singletonObjects) {
-            this.singletonObjects.remove(beanName);
-        }
+        this.singletonObjects.remove(beanName);
     }
 
     /**
@@ -222,23 +289,17 @@ public class DefaultSingletonBeanRegistry implements SingletonBeanRegistry {
      * @param beanName the name of the bean
      */
     protected void destroyBean(String beanName) {
-        synchronized (dependentBeanMap) {
-            final Set<String> dependentBeans = Optional.ofNullable(dependentBeanMap.remove(beanName))
-                    .orElse(Collections.emptySet());
+        // Removed atomically, so destruction callbacks run without holding a monitor
+        final Set<String> dependentBeans = Optional.ofNullable(dependentBeanMap.remove(beanName))
+                .orElse(Collections.emptySet());
+        dependentBeans.forEach(this::destroySingleton);
 
-            dependentBeans.forEach(dependentBeanName -> {
-                destroySingleton(dependentBeanName);
-            });
-        }
-
-        synchronized (dependenciesForBeanMap){
-            for (Iterator<Map.Entry<String, Set<String>>> it = this.dependentBeanMap.entrySet().iterator(); it.hasNext();) {
-                final Map.Entry<String, Set<String>> entry = it.next();
-                final Set<String> dependenciesToClean = entry.getValue();
-                dependenciesToClean.remove(beanName);
-                if (dependenciesToClean.isEmpty()) {
-                    it.remove();
-                }
+        for (Iterator<Map.Entry<String, Set<String>>> it = this.dependentBeanMap.entrySet().iterator(); it.hasNext();) {
+            final Map.Entry<String, Set<String>> entry = it.next();
+            final Set<String> dependenciesToClean = entry.getValue();
+            dependenciesToClean.remove(beanName);
+            if (dependenciesToClean.isEmpty()) {
+                it.remove();
             }
         }
         this.dependenciesForBeanMap.remove(beanName);
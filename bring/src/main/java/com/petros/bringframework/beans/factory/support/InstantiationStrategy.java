@@ -14,5 +14,11 @@ import java.lang.reflect.Method;
 public interface InstantiationStrategy {
     Object instantiate(GenericBeanDefinition gbd, String beanName, Constructor<?>[] ctors, Object[] explicitArgs);
 
+    /**
+     * Create an instance through the given constructor, with its arguments already resolved
+     * (e.g. autowired by the constructor resolver).
+     */
+    Object instantiate(GenericBeanDefinition gbd, String beanName, Constructor<?> ctor, Object[] args);
+
     Object instantiate(GenericBeanDefinition bd, String beanName, BeanFactory owner, Object factoryBean, Method factoryMethod, Object[] explicitArgs);
 }
@@ -0,0 +1,49 @@
+package com.petros.bringframework.beans.factory.support;
+
+import com.petros.bringframework.beans.exception.BeanInstantiationException;
+import com.petros.bringframework.beans.support.BeanInstantiator;
+import com.petros.bringframework.beans.support.GenericBeanDefinition;
+
+import javax.annotation.Nullable;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * Instantiation strategy that invokes constructors and factory methods through a
+ * {@link BeanInstantiator} cached on the bean definition instead of reflection.
+ *
+ * <p>Executables without a generated instantiator, and arguments that need reflective
+ * conversions, are handed to {@link SimpleInstantiationStrategy} unchanged. Failures are
+ * reported the same way in both cases.
+ */
+public class MethodHandleInstantiationStrategy extends SimpleInstantiationStrategy {
+
+    @Override
+    protected Object instantiateClass(GenericBeanDefinition gbd, Constructor<?> ctor, Object[] args) {
+        BeanInstantiator instantiator = BeanInstantiator.obtain(gbd, ctor);
+        if (instantiator == null || !instantiator.accepts(args)) {
+            return super.instantiateClass(gbd, ctor, args);
+        }
+        try {
+            return instantiator.instantiate(null, args);
+        } catch (Throwable ex) {
+            throw new BeanInstantiationException(ctor.getName(), "Constructor threw exception", ex);
+        }
+    }
+
+    @Override
+    protected Object invokeFactoryMethod(GenericBeanDefinition bd, @Nullable Object factoryBean,
+                                         Method factoryMethod, Object[] args) throws Exception {
+        BeanInstantiator instantiator = BeanInstantiator.obtain(bd, factoryMethod);
+        if (instantiator == null || !instantiator.accepts(args)) {
+            return super.invokeFactoryMethod(bd, factoryBean, factoryMethod, args);
+        }
+        try {
+            return instantiator.instantiate(factoryBean, args);
+        } catch (Throwable ex) {
+            // Same shape as a reflective failure
+            throw new InvocationTargetException(ex);
+        }
+    }
+}
@@ -0,0 +1,328 @@
+package com.petros.bringframework.beans.factory.support;
+
+import com.petros.bringframework.beans.exception.BeanCreationException;
+import com.petros.bringframework.beans.factory.annotation.InjectPlease;
+import com.petros.bringframework.beans.factory.config.BeanDefinition;
+import com.petros.bringframework.beans.support.AbstractBeanDefinition;
+import com.petros.bringframework.beans.support.GenericBeanDefinition;
+import lombok.extern.log4j.Log4j2;
+
+import java.lang.reflect.Executable;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Creates the non-lazy singletons of a {@link DefaultBeanFactory} concurrently.
+ *
+ * <p>A dependency graph is built from the registered bean definitions: resolved constructor
+ * parameter types, {@link InjectPlease @InjectPlease} fields and methods, explicit
+ * depends-on declarations and the factory bean (plus factory method parameters) of
+ * {@code @Bean} definitions. Every bean whose dependencies are already created is handed
+ * to a {@link ForkJoinPool}, so independent subtrees are instantiated in parallel.
+ *
+ * <p>The first failure cancels every bean that has not been started yet and is rethrown
+ * unchanged on the calling thread. Beans that take part in a dependency cycle are left to
+ * the sequential path afterwards, where the usual circular reference detection applies.
+ *
+ * @see DefaultBeanFactory#setParallelPreInstantiation
+ */
+@Log4j2
+class ParallelSingletonInstantiator {
+
+    private static final String THREAD_NAME_PREFIX = "bring-startup-";
+
+    private final DefaultBeanFactory beanFactory;
+    private final int parallelism;
+
+    ParallelSingletonInstantiator(DefaultBeanFactory beanFactory, int parallelism) {
+        this.beanFactory = beanFactory;
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    /**
+     * Instantiate the given singletons, honouring the dependencies between them.
+     *
+     * @param beanNames the names of the non-lazy singletons to create
+     */
+    void instantiate(List<String> beanNames) {
+        long startTime = System.nanoTime();
+        Map<String, Node> graph = buildGraph(beanNames);
+        List<Node> order = topologicalOrder(graph.values());
+
+        runConcurrently(order);
+
+        // Whatever is left takes part in a cycle: let the regular path create it or report it.
+        Set<Node> created = new HashSet<>(order);
+        for (Node node : graph.values()) {
+            if (!created.contains(node)) {
+                beanFactory.getBean(node.beanName);
+            }
+        }
+
+        if (log.isInfoEnabled()) {
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+            log.info("Pre-instantiated {} singletons on {} threads in {} ms; critical path: {}",
+                    graph.size(), parallelism, elapsedMillis, describeCriticalPath(order));
+        }
+    }
+
+    private void runConcurrently(List<Node> order) {
+        if (order.isEmpty()) {
+            return;
+        }
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        AtomicInteger threadCounter = new AtomicInteger();
+        ForkJoinPool pool = new ForkJoinPool(parallelism, p -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+            thread.setName(THREAD_NAME_PREFIX + threadCounter.incrementAndGet());
+            thread.setContextClassLoader(classLoader);
+            return thread;
+        }, null, false);
+
+        // Collect the roots up-front: once tasks run, they schedule their own dependents.
+        List<Node> roots = order.stream().filter(node -> node.dependencies.isEmpty()).toList();
+        Execution execution = new Execution(pool, order.size());
+        try {
+            roots.forEach(execution::submit);
+            execution.done.join();
+        } catch (CompletionException ex) {
+            rethrow(ex.getCause());
+        } finally {
+            pool.shutdownNow();
+            awaitTermination(pool);
+        }
+    }
+
+    private static void awaitTermination(ForkJoinPool pool) {
+        try {
+            // Beans already in creation can't be interrupted safely, let them finish
+            // before the caller starts destroying singletons.
+            while (!pool.awaitTermination(1, TimeUnit.SECONDS)) {
+                log.debug("Waiting for singletons still in creation to finish");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void rethrow(Throwable ex) {
+        if (ex instanceof Error error) {
+            throw error;
+        }
+        throw (RuntimeException) ex;
+    }
+
+    private Map<String, Node> buildGraph(List<String> beanNames) {
+        Map<String, Node> graph = new LinkedHashMap<>(beanNames.size());
+        for (String beanName : beanNames) {
+            graph.put(beanName, new Node(beanName));
+        }
+        for (Node node : graph.values()) {
+            for (String dependencyName : determineDependencies(node.beanName)) {
+                Node dependency = graph.get(dependencyName);
+                if (dependency != null && dependency != node) {
+                    node.dependencies.add(dependency);
+                    dependency.dependents.add(node);
+                }
+            }
+        }
+        for (Node node : graph.values()) {
+            node.pendingDependencies.set(node.dependencies.size());
+        }
+        return graph;
+    }
+
+    /**
+     * Collect the names of the beans the given bean needs before it can be created.
+     * Type-based dependencies resolving to several candidates conservatively depend on all of them.
+     */
+    private Set<String> determineDependencies(String beanName) {
+        Set<String> dependencies = new LinkedHashSet<>();
+        BeanDefinition bd = beanFactory.getBeanDefinition(beanName);
+
+        String[] dependsOn = bd.getDependsOn();
+        if (dependsOn != null) {
+            dependencies.addAll(List.of(dependsOn));
+        }
+        if (bd instanceof AbstractBeanDefinition abd && abd.getFactoryBeanName() != null) {
+            dependencies.add(abd.getFactoryBeanName());
+            addParameterDependencies(abd.getResolvedFactoryMethod(), dependencies);
+        }
+        if (bd instanceof GenericBeanDefinition gbd) {
+            addParameterDependencies(gbd.getResolvedConstructor(), dependencies);
+        }
+
+        Class<?> beanClass = beanFactory.resolveBeanClass(bd, beanName);
+        for (Class<?> current = beanClass; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                if (field.isAnnotationPresent(InjectPlease.class)) {
+                    addTypeDependency(field.getType(), dependencies);
+                }
+            }
+            for (Method method : current.getDeclaredMethods()) {
+                if (method.isAnnotationPresent(InjectPlease.class)) {
+                    addParameterDependencies(method, dependencies);
+                }
+            }
+        }
+        return dependencies;
+    }
+
+    private void addParameterDependencies(Executable executable, Set<String> dependencies) {
+        if (executable != null) {
+            for (Class<?> parameterType : executable.getParameterTypes()) {
+                addTypeDependency(parameterType, dependencies);
+            }
+        }
+    }
+
+    private void addTypeDependency(Class<?> type, Set<String> dependencies) {
+        if (!type.isPrimitive()) {
+            dependencies.addAll(List.of(beanFactory.getBeanNamesForType(type)));
+        }
+    }
+
+    /**
+     * Kahn's algorithm: nodes taking part in a cycle are left out of the result.
+     */
+    private static List<Node> topologicalOrder(Collection<Node> nodes) {
+        Map<Node, Integer> inDegree = new LinkedHashMap<>();
+        Deque<Node> ready = new ArrayDeque<>();
+        for (Node node : nodes) {
+            inDegree.put(node, node.dependencies.size());
+            if (node.dependencies.isEmpty()) {
+                ready.add(node);
+            }
+        }
+        List<Node> order = new ArrayList<>(nodes.size());
+        while (!ready.isEmpty()) {
+            Node node = ready.poll();
+            order.add(node);
+            for (Node dependent : node.dependents) {
+                if (inDegree.merge(dependent, -1, Integer::sum) == 0) {
+                    ready.add(dependent);
+                }
+            }
+        }
+        if (order.size() < nodes.size()) {
+            log.debug("{} singletons with circular dependencies will be created sequentially",
+                    nodes.size() - order.size());
+        }
+        return order;
+    }
+
+    /**
+     * Find the chain of dependent beans with the longest accumulated creation time,
+     * which bounds the startup time no matter how many threads are used.
+     */
+    private static String describeCriticalPath(List<Node> order) {
+        if (order.isEmpty()) {
+            return "none";
+        }
+        Map<Node, Long> pathNanos = new LinkedHashMap<>();
+        Map<Node, Node> predecessors = new LinkedHashMap<>();
+        Node last = null;
+        for (Node node : order) {
+            Node predecessor = null;
+            long longestDependency = 0;
+            for (Node dependency : node.dependencies) {
+                long dependencyNanos = pathNanos.getOrDefault(dependency, 0L);
+                if (predecessor == null || dependencyNanos > longestDependency) {
+                    predecessor = dependency;
+                    longestDependency = dependencyNanos;
+                }
+            }
+            if (predecessor != null) {
+                predecessors.put(node, predecessor);
+            }
+            long total = longestDependency + node.creationNanos;
+            pathNanos.put(node, total);
+            if (last == null || total > pathNanos.get(last)) {
+                last = node;
+            }
+        }
+
+        Deque<Node> path = new ArrayDeque<>();
+        for (Node node = last; node != null; node = predecessors.get(node)) {
+            path.addFirst(node);
+        }
+        return TimeUnit.NANOSECONDS.toMillis(pathNanos.get(last)) + " ms [" + path.stream()
+                .map(node -> node.beanName + " (" + TimeUnit.NANOSECONDS.toMillis(node.creationNanos) + " ms)")
+                .collect(Collectors.joining(" -> ")) + "]";
+    }
+
+    /**
+     * Tracks a single parallel run: schedules dependents as soon as their last dependency
+     * is created and completes {@link #done} once every node has been created or the first
+     * failure has occurred.
+     */
+    private final class Execution {
+        private final ForkJoinPool pool;
+        private final AtomicInteger remaining;
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        private Execution(ForkJoinPool pool, int nodeCount) {
+            this.pool = pool;
+            this.remaining = new AtomicInteger(nodeCount);
+        }
+
+        private void submit(Node node) {
+            pool.execute(() -> create(node));
+        }
+
+        private void create(Node node) {
+            if (done.isDone()) {
+                return;
+            }
+            try {
+                long start = System.nanoTime();
+                beanFactory.getBean(node.beanName);
+                node.creationNanos = System.nanoTime() - start;
+            } catch (RuntimeException | Error ex) {
+                done.completeExceptionally(ex);
+                return;
+            } catch (Throwable ex) {
+                done.completeExceptionally(
+                        new BeanCreationException(node.beanName, " Unexpected exception during bean creation", ex));
+                return;
+            }
+            for (Node dependent : node.dependents) {
+                if (dependent.pendingDependencies.decrementAndGet() == 0) {
+                    submit(dependent);
+                }
+            }
+            if (remaining.decrementAndGet() == 0) {
+                done.complete(null);
+            }
+        }
+    }
+
+    private static final class Node {
+        private final String beanName;
+        private final Set<Node> dependencies = new LinkedHashSet<>();
+        private final Set<Node> dependents = new LinkedHashSet<>();
+        private final AtomicInteger pendingDependencies = new AtomicInteger();
+        private volatile long creationNanos;
+
+        private Node(String beanName) {
+            this.beanName = beanName;
+        }
+    }
+}
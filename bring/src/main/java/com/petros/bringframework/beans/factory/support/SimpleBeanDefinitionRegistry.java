@@ -4,6 +4,7 @@ import com.petros.bringframework.beans.factory.BeanDefinitionStoreException;
 import com.petros.bringframework.beans.factory.config.BeanDefinition;
 import lombok.extern.log4j.Log4j2;
 
+import java.util.Collections;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -21,13 +22,18 @@ import static java.util.Objects.requireNonNull;
 public class SimpleBeanDefinitionRegistry implements BeanDefinitionRegistry {
 
     private final Map<String, BeanDefinition> beanDefinitions;
+    private final BeanDefinitionTypeIndex typeIndex = new BeanDefinitionTypeIndex();
 
     public SimpleBeanDefinitionRegistry() {
         beanDefinitions = new ConcurrentHashMap<>();
     }
 
+    /**
+     * Return a read-only view of the registered definitions; use
+     * {@link #registerBeanDefinition} and {@link #removeBeanDefinition} to keep the type index in sync.
+     */
     public Map<String, BeanDefinition> getBeanDefinitions() {
-        return beanDefinitions;
+        return Collections.unmodifiableMap(beanDefinitions);
     }
 
     @Override
@@ -38,6 +44,7 @@ public class SimpleBeanDefinitionRegistry implements BeanDefinitionRegistry {
         if (nonNull(beanDefinitions.put(beanName, beanDefinition))) {
             log.info("BeanDefinition with name {} was registered", beanName);
         }
+        typeIndex.add(beanName, beanDefinition);
     }
 
     @Override
@@ -48,6 +55,13 @@ public class SimpleBeanDefinitionRegistry implements BeanDefinitionRegistry {
             }
             throw new NoSuchBeanDefinitionException(beanName);
         }
+        typeIndex.remove(beanName);
+    }
+
+    @Override
+    public String[] getBeanNamesForType(Class<?> type) {
+        requireNonNull(type, "'type' is required");
+        return typeIndex.getBeanNamesForType(type);
     }
 
     @Override
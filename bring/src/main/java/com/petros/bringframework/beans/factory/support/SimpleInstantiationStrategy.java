@@ -12,6 +12,7 @@ import javax.annotation.Nullable;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 
 /**
  * Simple object instantiation strategy for use in a BeanFactory.
@@ -59,16 +60,39 @@ public class SimpleInstantiationStrategy implements InstantiationStrategy {
             argsWithDefaultValues[i] = getDefaultValue(param);
         }
 
+        return instantiateClass(gbd, ctorToUse, argsWithDefaultValues);
+    }
+
+    @Override
+    public Object instantiate(GenericBeanDefinition gbd, String beanName, Constructor<?> ctor, Object[] args) {
+        return instantiateClass(gbd, ctor, args);
+    }
+
+    /**
+     * Invoke the given constructor. Subclasses may use a faster mechanism and fall back to this one.
+     * <p>Non-public constructors are not used. A public constructor of a nested or package-private
+     * class is, as it was when the constructor resolver invoked it.
+     *
+     * @param gbd  the bean definition
+     * @param ctor the resolved constructor
+     * @param args the constructor arguments
+     * @return the new instance
+     */
+    protected Object instantiateClass(GenericBeanDefinition gbd, Constructor<?> ctor, Object[] args) {
         try {
-            return ctorToUse.newInstance(argsWithDefaultValues);
+            if (!Modifier.isPublic(ctor.getModifiers())) {
+                throw new IllegalAccessException("Constructor " + ctor + " is not public");
+            }
+            ReflectionUtils.makeAccessible(ctor);
+            return ctor.newInstance(args);
         } catch (InstantiationException ex) {
-            throw new BeanInstantiationException(ctorToUse.getName(), "Is it an abstract class?", ex);
+            throw new BeanInstantiationException(ctor.getName(), "Is it an abstract class?", ex);
         } catch (IllegalAccessException ex) {
-            throw new BeanInstantiationException(ctorToUse.getName(), "Is the constructor accessible?", ex);
+            throw new BeanInstantiationException(ctor.getName(), "Is the constructor accessible?", ex);
         } catch (IllegalArgumentException ex) {
-            throw new BeanInstantiationException(ctorToUse.getName(), "Illegal arguments for constructor", ex);
+            throw new BeanInstantiationException(ctor.getName(), "Illegal arguments for constructor", ex);
         } catch (InvocationTargetException ex) {
-            throw new BeanInstantiationException(ctorToUse.getName(), "Constructor threw exception", ex.getTargetException());
+            throw new BeanInstantiationException(ctor.getName(), "Constructor threw exception", ex.getTargetException());
         }
     }
 
@@ -84,12 +108,10 @@ public class SimpleInstantiationStrategy implements InstantiationStrategy {
                               final Method factoryMethod, Object[] explicitArgs) {
 
         try {
-            ReflectionUtils.makeAccessible(factoryMethod);
-
             Method priorInvokedFactoryMethod = currentlyInvokedFactoryMethod.get();
             try {
                 currentlyInvokedFactoryMethod.set(factoryMethod);
-                Object result = factoryMethod.invoke(factoryBean, explicitArgs);
+                Object result = invokeFactoryMethod(bd, factoryBean, factoryMethod, explicitArgs);
                 if (result == null) {
                     result = new NullBean();
                 }
@@ -107,4 +129,20 @@ public class SimpleInstantiationStrategy implements InstantiationStrategy {
             throw new RuntimeException(ex);
         }
     }
+
+    /**
+     * Invoke the given factory method. Called while the method is exposed through
+     * {@link #getCurrentlyInvokedFactoryMethod()}.
+     *
+     * @param bd            the bean definition
+     * @param factoryBean   the factory bean instance, {@code null} for a static factory method
+     * @param factoryMethod the factory method to invoke
+     * @param args          the factory method arguments
+     * @return whatever the factory method returned
+     */
+    protected Object invokeFactoryMethod(GenericBeanDefinition bd, @Nullable Object factoryBean,
+                                         Method factoryMethod, Object[] args) throws Exception {
+        ReflectionUtils.makeAccessible(factoryMethod);
+        return factoryMethod.invoke(factoryBean, args);
+    }
 }
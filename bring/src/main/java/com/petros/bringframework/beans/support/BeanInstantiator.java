@@ -0,0 +1,227 @@
+package com.petros.bringframework.beans.support;
+
+import com.petros.bringframework.util.ClassUtils;
+import lombok.extern.log4j.Log4j2;
+import net.bytebuddy.jar.asm.ClassWriter;
+import net.bytebuddy.jar.asm.ConstantDynamic;
+import net.bytebuddy.jar.asm.Handle;
+import net.bytebuddy.jar.asm.MethodVisitor;
+import net.bytebuddy.jar.asm.Opcodes;
+import net.bytebuddy.jar.asm.Type;
+
+import javax.annotation.Nullable;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * Generated factory for a resolved constructor or factory method, used instead of
+ * {@link Constructor#newInstance} and {@link Method#invoke} on the hot path.
+ *
+ * <p>The executable is unreflected and adapted to a spreading {@link MethodHandle}. Only public
+ * constructors of public classes get one, the others keep failing the accessibility check of
+ * reflection; factory methods are unreflected through a private lookup in their declaring class,
+ * just as reflection makes them accessible. That handle becomes the class data of a small hidden class
+ * loading it as a dynamic constant: unlike a handle kept in a field, the JIT sees a constant and
+ * inlines the call down to the constructor or factory method. Instantiators are built once per
+ * executable and cached on the {@link GenericBeanDefinition}, see {@link #obtain}.
+ *
+ * <p>An executable that can't be unreflected (abstract class, non-public constructor, package not
+ * open to this module) gets no instantiator, so callers keep using reflection and its usual error
+ * reporting for it.
+ */
+@Log4j2
+public final class BeanInstantiator {
+
+    private static final MethodType INVOKER_TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final Object[] NO_ARGS = new Object[0];
+
+    private final Executable executable;
+    private final Class<?>[] parameterTypes;
+    @Nullable
+    private final Invoker invoker;
+
+    private BeanInstantiator(Executable executable, @Nullable Invoker invoker) {
+        this.executable = executable;
+        this.parameterTypes = executable.getParameterTypes();
+        this.invoker = invoker;
+    }
+
+    /**
+     * Return the instantiator for the given constructor or factory method of a bean definition,
+     * building and caching it on first use.
+     *
+     * @param bd         the bean definition to cache the instantiator on
+     * @param executable the resolved constructor or factory method
+     * @return the instantiator, or {@code null} if reflection has to be used for the executable
+     */
+    @Nullable
+    public static BeanInstantiator obtain(GenericBeanDefinition bd, Executable executable) {
+        BeanInstantiator instantiator = bd.getResolvedInstantiator();
+        if (instantiator == null || !instantiator.executable.equals(executable)) {
+            instantiator = create(executable);
+            bd.setResolvedInstantiator(instantiator);
+        }
+        return instantiator.isGenerated() ? instantiator : null;
+    }
+
+    static BeanInstantiator create(Executable executable) {
+        try {
+            MethodHandle handle = executable instanceof Constructor<?> ctor
+                    ? constructorHandle(ctor) : factoryMethodHandle((Method) executable);
+            return new BeanInstantiator(executable, handle != null ? defineInvoker(handle) : null);
+        } catch (Throwable ex) {
+            if (ex instanceof Error error && !(ex instanceof LinkageError)) {
+                throw error;
+            }
+            log.debug("Falling back to reflection for [{}]: {}", executable, ex.toString());
+            return new BeanInstantiator(executable, null);
+        }
+    }
+
+    /**
+     * Adapt the constructor to {@code (Object ignored, Object[] args) -> Object}, or return
+     * {@code null} for an abstract class or a constructor that isn't public.
+     */
+    @Nullable
+    private static MethodHandle constructorHandle(Constructor<?> ctor) throws IllegalAccessException {
+        Class<?> declaringClass = ctor.getDeclaringClass();
+        if (Modifier.isAbstract(declaringClass.getModifiers())
+                || !Modifier.isPublic(ctor.getModifiers()) || !Modifier.isPublic(declaringClass.getModifiers())) {
+            return null;
+        }
+        MethodHandle handle = LOOKUP.unreflectConstructor(ctor);
+        handle = handle.asSpreader(Object[].class, ctor.getParameterCount());
+        return MethodHandles.dropArguments(handle, 0, Object.class).asType(INVOKER_TYPE);
+    }
+
+    /**
+     * Adapt the factory method to {@code (Object factoryBean, Object[] args) -> Object}. Instance
+     * methods keep virtual dispatch, so an enhanced configuration class still intercepts them.
+     */
+    private static MethodHandle factoryMethodHandle(Method factoryMethod) throws IllegalAccessException {
+        MethodHandle handle = MethodHandles.privateLookupIn(factoryMethod.getDeclaringClass(), LOOKUP)
+                .unreflect(factoryMethod);
+        if (Modifier.isStatic(factoryMethod.getModifiers())) {
+            handle = MethodHandles.dropArguments(handle, 0, Object.class);
+        }
+        return handle.asSpreader(Object[].class, factoryMethod.getParameterCount()).asType(INVOKER_TYPE);
+    }
+
+    /**
+     * Define a hidden class invoking the given handle as a constant. The class refers to nothing
+     * but the handle, so it lives next to this class whatever loader the bean class comes from.
+     */
+    private static Invoker defineInvoker(MethodHandle handle) throws Throwable {
+        MethodHandles.Lookup invokerLookup = LOOKUP.defineHiddenClassWithClassData(InvokerTemplate.BYTES, handle, true);
+        return (Invoker) invokerLookup.findConstructor(invokerLookup.lookupClass(), MethodType.methodType(void.class))
+                .invoke();
+    }
+
+    /**
+     * Return the constructor or factory method this instantiator invokes.
+     */
+    public Executable getExecutable() {
+        return executable;
+    }
+
+    /**
+     * Whether a generated factory is available; otherwise reflection has to be used.
+     */
+    public boolean isGenerated() {
+        return invoker != null;
+    }
+
+    /**
+     * Whether the given arguments match the parameter types without conversions. Arguments that
+     * only reflection would accept (e.g. widening of primitives) have to go through reflection,
+     * which also reports mismatches the usual way.
+     */
+    public boolean accepts(@Nullable Object[] args) {
+        int argCount = args != null ? args.length : 0;
+        if (argCount != parameterTypes.length) {
+            return false;
+        }
+        for (int i = 0; i < argCount; i++) {
+            if (!ClassUtils.isAssignableValue(parameterTypes[i], args[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Create the bean instance. Exceptions thrown by the constructor or factory method are
+     * propagated as they are, not wrapped into an {@link java.lang.reflect.InvocationTargetException}.
+     *
+     * @param factoryBean the factory bean for an instance factory method, {@code null} otherwise
+     * @param args        arguments {@link #accepts accepted} by this instantiator
+     * @return the new instance, or whatever the factory method returned
+     */
+    public Object instantiate(@Nullable Object factoryBean, @Nullable Object[] args) throws Throwable {
+        if (invoker == null) {
+            throw new IllegalStateException("No generated instantiator for " + executable);
+        }
+        return invoker.invoke(factoryBean, args != null ? args : NO_ARGS);
+    }
+
+    /**
+     * Implemented by the generated hidden classes.
+     */
+    interface Invoker {
+        Object invoke(@Nullable Object factoryBean, Object[] args) throws Throwable;
+    }
+
+    /**
+     * Bytecode shared by all invokers, each definition of it gets its own handle as class data:
+     * <pre>{@code
+     * Object invoke(Object factoryBean, Object[] args) {
+     *     return ((MethodHandle) MethodHandles.classData(...)).invokeExact(factoryBean, args);
+     * }
+     * }</pre>
+     */
+    private static final class InvokerTemplate {
+
+        static final byte[] BYTES = generate();
+
+        private static byte[] generate() {
+            String objectName = Type.getInternalName(Object.class);
+            String methodHandleName = Type.getInternalName(MethodHandle.class);
+            ClassWriter writer = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+            writer.visit(Opcodes.V11, Opcodes.ACC_FINAL | Opcodes.ACC_SUPER,
+                    Type.getInternalName(BeanInstantiator.class) + "$GeneratedInvoker", null, objectName,
+                    new String[]{Type.getInternalName(Invoker.class)});
+
+            MethodVisitor ctor = writer.visitMethod(0, "<init>", "()V", null, null);
+            ctor.visitCode();
+            ctor.visitVarInsn(Opcodes.ALOAD, 0);
+            ctor.visitMethodInsn(Opcodes.INVOKESPECIAL, objectName, "<init>", "()V", false);
+            ctor.visitInsn(Opcodes.RETURN);
+            ctor.visitMaxs(0, 0);
+            ctor.visitEnd();
+
+            Handle classData = new Handle(Opcodes.H_INVOKESTATIC, Type.getInternalName(MethodHandles.class),
+                    "classData", MethodType.methodType(Object.class, MethodHandles.Lookup.class, String.class,
+                    Class.class).toMethodDescriptorString(), false);
+            MethodVisitor invoke = writer.visitMethod(Opcodes.ACC_PUBLIC, "invoke",
+                    INVOKER_TYPE.toMethodDescriptorString(), null, new String[]{Type.getInternalName(Throwable.class)});
+            invoke.visitCode();
+            invoke.visitLdcInsn(new ConstantDynamic("_", Type.getDescriptor(MethodHandle.class), classData));
+            invoke.visitVarInsn(Opcodes.ALOAD, 1);
+            invoke.visitVarInsn(Opcodes.ALOAD, 2);
+            invoke.visitMethodInsn(Opcodes.INVOKEVIRTUAL, methodHandleName, "invokeExact",
+                    INVOKER_TYPE.toMethodDescriptorString(), false);
+            invoke.visitInsn(Opcodes.ARETURN);
+            invoke.visitMaxs(0, 0);
+            invoke.visitEnd();
+
+            writer.visitEnd();
+            return writer.toByteArray();
+        }
+    }
+}
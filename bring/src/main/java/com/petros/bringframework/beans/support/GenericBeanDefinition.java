@@ -26,6 +26,10 @@ public abstract class GenericBeanDefinition extends AbstractBeanDefinition {
     @Nullable
     protected Executable resolvedConstructor;
 
+    /** Generated factory for the resolved constructor or factory method, see {@link BeanInstantiator}. */
+    @Nullable
+    private volatile BeanInstantiator resolvedInstantiator;
+
     /** Package-visible field that marks the autowired constructor arguments as resolved. */
     protected boolean autowiredConstructorArgumentsResolved = false;
 
@@ -4,7 +4,7 @@ import com.petros.bringframework.beans.factory.config.AnnotatedBeanDefinition;
 import com.petros.bringframework.beans.factory.config.AnnotationMetadata;
 import com.petros.bringframework.beans.factory.config.MethodMetadata;
 import com.petros.bringframework.core.AssertUtils;
-import com.petros.bringframework.type.reading.ReflectionMetadataReader;
+import com.petros.bringframework.type.reading.MetadataReader;
 
 import javax.annotation.Nullable;
 
@@ -23,7 +23,7 @@ public class ReflectionBeanDefinition extends GenericBeanDefinition implements A
      *
      * @param metadataReader the MetadataReader for the scanned target class
      */
-    public ReflectionBeanDefinition(ReflectionMetadataReader metadataReader) {
+    public ReflectionBeanDefinition(MetadataReader metadataReader) {
         AssertUtils.notNull(metadataReader, "MetadataReader must not be null");
         this.metadata = metadataReader.getAnnotationMetadata();
         setBeanClassName(this.metadata.getClassName());
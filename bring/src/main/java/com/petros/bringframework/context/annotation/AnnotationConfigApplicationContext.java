@@ -8,6 +8,7 @@ import com.petros.bringframework.beans.factory.support.DefaultBeanFactory;
 import com.petros.bringframework.beans.factory.support.SimpleBeanDefinitionRegistry;
 import com.petros.bringframework.context.support.AbstractApplicationContext;
 import com.petros.bringframework.core.AssertUtils;
+import com.petros.bringframework.core.metrics.StartupStep;
 
 /**
  * {@code AnnotationConfigApplicationContext} is a concrete implementation of
@@ -81,8 +82,15 @@ public class AnnotationConfigApplicationContext extends AbstractApplicationConte
     @Override
     protected void invokeBeanFactoryPostProcessors(BeanFactory beanFactory) {
         AbstractAutowireCapableBeanFactory factory = (AbstractAutowireCapableBeanFactory) beanFactory;
-        factory.getBeanFactoryPostProcessors().forEach(factoryPostProcessor ->
-                factoryPostProcessor.postProcessBeanFactory(beanFactory));
+        factory.getBeanFactoryPostProcessors().forEach(factoryPostProcessor -> {
+            StartupStep step = getStartupRecorder().start("context.beanFactory.postProcess")
+                    .tag("postProcessor", factoryPostProcessor.getClass().getName());
+            try {
+                factoryPostProcessor.postProcessBeanFactory(beanFactory);
+            } finally {
+                step.end();
+            }
+        });
     }
 
     @Override
@@ -124,7 +132,25 @@ public class AnnotationConfigApplicationContext extends AbstractApplicationConte
      */
     public void scan(String... packages) {
         AssertUtils.notEmpty(packages, "At least one package must be specified");
-        this.scanner.scan(packages);
+        StartupStep step = getStartupRecorder().start("context.scan").tag("packages", String.join(",", packages));
+        try {
+            this.scanner.scan(packages);
+        } finally {
+            step.end();
+        }
+    }
+
+    /**
+     * Set whether independent non-lazy singletons should be created concurrently
+     * when the context is {@linkplain #refresh() refreshed}.
+     * <p>Has to be called before {@link #refresh()}, i.e. together with the no-arg
+     * constructor and {@link #register(Class...)} or {@link #scan(String...)} calls.
+     *
+     * @param parallelPreInstantiation whether to enable parallel pre-instantiation
+     * @see DefaultBeanFactory#setParallelPreInstantiation(boolean)
+     */
+    public void setParallelPreInstantiation(boolean parallelPreInstantiation) {
+        this.beanFactory.setParallelPreInstantiation(parallelPreInstantiation);
     }
 
     public <T> T getBean(Class<T> type) {
@@ -1,38 +1,111 @@
 package com.petros.bringframework.context.annotation;
 
 import com.petros.bringframework.beans.factory.config.AnnotatedBeanDefinition;
+import com.petros.bringframework.beans.factory.config.AnnotationMetadata;
 import com.petros.bringframework.beans.factory.config.BeanDefinition;
 import com.petros.bringframework.beans.factory.config.BeanDefinitionHolder;
 import com.petros.bringframework.beans.factory.config.BeanPostProcessor;
+import com.petros.bringframework.beans.factory.config.ClassMetadata;
 import com.petros.bringframework.beans.factory.support.AnnotationBeanNameGenerator;
 import com.petros.bringframework.beans.factory.support.BeanDefinitionRegistry;
 import com.petros.bringframework.beans.factory.support.BeanNameGenerator;
 import com.petros.bringframework.beans.support.ReflectionBeanDefinition;
+import com.petros.bringframework.context.index.CandidateComponentsIndex;
+import com.petros.bringframework.context.index.CandidateComponentsIndexLoader;
 import com.petros.bringframework.core.AssertUtils;
+import com.petros.bringframework.type.reading.BytecodeMetadataReader;
+import com.petros.bringframework.type.reading.BytecodeMetadataReaderFactory;
+import com.petros.bringframework.type.reading.MetadataReader;
+import com.petros.bringframework.type.reading.MetadataReaderFactory;
 import com.petros.bringframework.type.reading.ReflectionMetadataReader;
+import com.petros.bringframework.type.reading.ReflectionMetadataReaderFactory;
+import com.petros.bringframework.util.ClassUtils;
+import lombok.extern.log4j.Log4j2;
 import org.reflections.Reflections;
+import org.reflections.scanners.Scanners;
 
+import javax.annotation.Nullable;
+import java.io.File;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Enumeration;
+import java.util.HashSet;
 import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Stream;
 
 /**
  * Scans a given set of base packages in the classpath for classes annotated with
  * {@link com.petros.bringframework.context.annotation.Component} and its subtypes, registering them
  * as bean definitions in the provided {@link BeanDefinitionRegistry}.
  *
+ * <p>When a build-time {@link CandidateComponentsIndex} covers a base package, the candidates
+ * are read from the index instead of scanning the classpath.
+ *
+ * <p>Candidate metadata is read through a {@link MetadataReaderFactory}, see
+ * {@link #setMetadataReaderFactory}.
+ *
  * @author "Viktor Basanets"
  * @author "Maksym Oliinyk"
  * @see AnnotationConfigApplicationContext#scan
  * @see Component
  */
+@Log4j2
 public class SimpleClassPathBeanDefinitionScanner {
 
+    /**
+     * System property selecting the default metadata reader: {@value #BYTECODE_METADATA_READER}
+     * or {@code reflection} (the default).
+     */
+    public static final String METADATA_READER_PROPERTY = "bring.scanner.metadata-reader";
+    public static final String BYTECODE_METADATA_READER = "bytecode";
+
+    private static final String COMPONENT_NAME = Component.class.getName();
+    private static final String BEAN_POST_PROCESSOR_NAME = BeanPostProcessor.class.getName();
+    private static final String CLASS_FILE_SUFFIX = ".class";
+
     private final BeanDefinitionRegistry registry;
     private final BeanNameGenerator nameGenerator = AnnotationBeanNameGenerator.INSTANCE;
     private final ScopeMetadataResolver scopeMetadataResolver = new AnnotationScopeMetadataResolver();
+    private final ClassLoader classLoader;
+    @Nullable
+    private final CandidateComponentsIndex componentsIndex;
+    private MetadataReaderFactory metadataReaderFactory;
 
     public SimpleClassPathBeanDefinitionScanner(BeanDefinitionRegistry registry) {
         this.registry = registry;
+        this.classLoader = ClassUtils.getDefaultClassLoader();
+        this.componentsIndex = CandidateComponentsIndexLoader.loadIndex(classLoader);
+        this.metadataReaderFactory = BYTECODE_METADATA_READER.equalsIgnoreCase(System.getProperty(METADATA_READER_PROPERTY))
+                ? new BytecodeMetadataReaderFactory(classLoader)
+                : new ReflectionMetadataReaderFactory(classLoader);
+    }
+
+    /**
+     * Sets the factory used to read the metadata of candidate classes. With a
+     * {@link BytecodeMetadataReaderFactory}, class files are parsed and only the classes that
+     * turn out to be components get loaded; the default {@link ReflectionMetadataReaderFactory}
+     * loads every scanned class.
+     *
+     * @param metadataReaderFactory the factory to use
+     */
+    public void setMetadataReaderFactory(MetadataReaderFactory metadataReaderFactory) {
+        AssertUtils.notNull(metadataReaderFactory, "MetadataReaderFactory must not be null");
+        this.metadataReaderFactory = metadataReaderFactory;
     }
 
     /**
@@ -43,8 +116,15 @@ public class SimpleClassPathBeanDefinitionScanner {
      * @return The count of bean definitions registered during the scan.
      */
     public int scan(String... basePackages) {
-        final Set<BeanDefinitionHolder> candidates = doScan(basePackages);
-        return candidates.size();
+        try {
+            final Set<BeanDefinitionHolder> candidates = doScan(basePackages);
+            return candidates.size();
+        } finally {
+            // The parsed class files are only needed while scanning
+            if (metadataReaderFactory instanceof BytecodeMetadataReaderFactory bytecodeReaderFactory) {
+                bytecodeReaderFactory.clearCache();
+            }
+        }
     }
 
     /**
@@ -66,6 +146,9 @@ public class SimpleClassPathBeanDefinitionScanner {
             if (beanDef instanceof AnnotatedBeanDefinition annotatedBeanDefinition) {
                 AnnotationConfigUtils.processCommonDefinitionAnnotations(annotatedBeanDefinition);
             }
+            if (!checkCandidate(beanName, beanDef)) {
+                continue;
+            }
             var definitionHolder = new BeanDefinitionHolder(beanDef, beanName);
             beanDefinitions.add(definitionHolder);
             registerBeanDefinition(definitionHolder);
@@ -83,14 +166,11 @@ public class SimpleClassPathBeanDefinitionScanner {
     protected Set<BeanDefinition> findCandidateComponents(String... basePackages) {
         final Set<BeanDefinition> candidates = new LinkedHashSet<>();
         for (String basePackage : basePackages) {
-            Reflections scanner = new Reflections(basePackage);
-            final Set<Class<?>> sources = scanner.getTypesAnnotatedWith(Component.class);
-            sources.addAll(scanner.getSubTypesOf(BeanPostProcessor.class));
-            for (Class<?> source : sources) {
-                if (source.isAnnotation() || source.isInterface()) {
+            for (MetadataReader metadataReader : findCandidateReaders(basePackage)) {
+                final ClassMetadata classMetadata = metadataReader.getClassMetadata();
+                if (classMetadata.isAnnotation() || classMetadata.isInterface()) {
                     continue;
                 }
-                ReflectionMetadataReader metadataReader = new ReflectionMetadataReader(source);
                 ReflectionBeanDefinition sbd = new ReflectionBeanDefinition(metadataReader);
                 candidates.add(sbd);
             }
@@ -98,6 +178,185 @@ public class SimpleClassPathBeanDefinitionScanner {
         return candidates;
     }
 
+    /**
+     * Finds the candidate types of a single base package, reading them from the components index
+     * when it covers the package and scanning the classpath otherwise.
+     *
+     * @param basePackage The base package to look into.
+     * @return The metadata of the candidate types, annotations and interfaces not filtered out yet.
+     */
+    private Set<MetadataReader> findCandidateReaders(String basePackage) {
+        final Set<MetadataReader> readers = new LinkedHashSet<>();
+        if (componentsIndex != null && componentsIndex.isComplete(basePackage)) {
+            log.debug("Using candidate components index for package '{}'", basePackage);
+            for (String typeName : componentsIndex.getCandidateTypes(basePackage)) {
+                try {
+                    readers.add(metadataReaderFactory.getMetadataReader(typeName));
+                } catch (IOException ex) {
+                    log.debug("Skipping indexed type [{}] that can't be read: {}", typeName, ex.toString());
+                }
+            }
+            return readers;
+        }
+        if (metadataReaderFactory instanceof BytecodeMetadataReaderFactory bytecodeReaderFactory) {
+            for (String className : findClassNames(basePackage)) {
+                try {
+                    BytecodeMetadataReader metadataReader = bytecodeReaderFactory.getMetadataReader(className);
+                    if (isCandidateComponent(metadataReader.getAnnotationMetadata(), bytecodeReaderFactory)) {
+                        readers.add(metadataReader);
+                    }
+                } catch (IOException | RuntimeException ex) {
+                    log.debug("Skipping class [{}] that can't be read: {}", className, ex.toString());
+                }
+            }
+            return readers;
+        }
+        Reflections scanner = new Reflections(basePackage);
+        final Set<Class<?>> sources = new LinkedHashSet<>();
+        for (Class<? extends Annotation> stereotype : findStereotypes(scanner)) {
+            sources.addAll(scanner.getTypesAnnotatedWith(stereotype));
+        }
+        sources.addAll(scanner.getSubTypesOf(BeanPostProcessor.class));
+        for (Class<?> source : sources) {
+            readers.add(new ReflectionMetadataReader(source));
+        }
+        return readers;
+    }
+
+    /**
+     * Finds the annotations used in the scanned package that are {@link Component} or
+     * (meta-)annotated with it, such as {@link Configuration}. Reflections only follows the
+     * meta-annotations of the annotation types it scanned itself, so types annotated with a
+     * stereotype declared outside the base package would otherwise be missed, unlike with the
+     * components index and the bytecode scan.
+     */
+    private Set<Class<? extends Annotation>> findStereotypes(Reflections scanner) {
+        final Set<Class<? extends Annotation>> stereotypes = new LinkedHashSet<>();
+        stereotypes.add(Component.class);
+        for (String annotationName : scanner.getStore().getOrDefault(Scanners.TypesAnnotated.index(), Map.of()).keySet()) {
+            try {
+                Class<?> type = ClassUtils.forName(annotationName, classLoader);
+                if (type.isAnnotation() && isStereotype(type.asSubclass(Annotation.class), new HashSet<>())) {
+                    stereotypes.add(type.asSubclass(Annotation.class));
+                }
+            } catch (ClassNotFoundException | LinkageError ex) {
+                log.debug("Skipping annotation [{}] that can't be loaded: {}", annotationName, ex.toString());
+            }
+        }
+        return stereotypes;
+    }
+
+    private static boolean isStereotype(Class<? extends Annotation> annotationType, Set<Class<?>> visited) {
+        if (annotationType == Component.class) {
+            return true;
+        }
+        for (Annotation metaAnnotation : annotationType.getDeclaredAnnotations()) {
+            Class<? extends Annotation> metaAnnotationType = metaAnnotation.annotationType();
+            if (!metaAnnotationType.getName().startsWith("java.lang.annotation.") && visited.add(metaAnnotationType)
+                    && isStereotype(metaAnnotationType, visited)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Determines from bytecode alone whether the type, one of its superclasses or interfaces is
+     * (meta-)annotated with {@link Component} or whether the type is a {@link BeanPostProcessor}.
+     */
+    private boolean isCandidateComponent(AnnotationMetadata metadata, BytecodeMetadataReaderFactory readerFactory) {
+        Deque<AnnotationMetadata> toVisit = new ArrayDeque<>();
+        Set<String> visited = new HashSet<>();
+        toVisit.add(metadata);
+        while (!toVisit.isEmpty()) {
+            AnnotationMetadata current = toVisit.poll();
+            if (BEAN_POST_PROCESSOR_NAME.equals(current.getClassName())
+                    || current.hasAnnotation(COMPONENT_NAME) || current.hasMetaAnnotation(COMPONENT_NAME)) {
+                return true;
+            }
+            List<String> supertypes = new ArrayList<>(List.of(current.getInterfaceNames()));
+            if (current.getSuperClassName() != null) {
+                supertypes.add(current.getSuperClassName());
+            }
+            for (String supertype : supertypes) {
+                if (supertype.startsWith("java.") || !visited.add(supertype)) {
+                    continue;
+                }
+                try {
+                    toVisit.add(readerFactory.getMetadataReader(supertype).getAnnotationMetadata());
+                } catch (IOException ex) {
+                    log.debug("Could not read supertype [{}] of [{}]", supertype, metadata.getClassName());
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Lists the names of the classes found in the given package and its sub-packages,
+     * across every classpath root, without loading them.
+     */
+    private Set<String> findClassNames(String basePackage) {
+        final String packagePath = basePackage.replace('.', '/');
+        final Set<String> classNames = new LinkedHashSet<>();
+        try {
+            Enumeration<URL> roots = classLoader.getResources(packagePath);
+            while (roots.hasMoreElements()) {
+                URL root = roots.nextElement();
+                if ("file".equals(root.getProtocol())) {
+                    Path directory = Paths.get(root.toURI());
+                    try (Stream<Path> files = Files.walk(directory)) {
+                        files.map(directory::relativize)
+                                .map(Path::toString)
+                                .map(path -> packagePath + "/" + path.replace(File.separatorChar, '/'))
+                                .forEach(path -> addClassName(path, classNames));
+                    }
+                } else if (root.openConnection() instanceof JarURLConnection connection) {
+                    connection.setUseCaches(false);
+                    try (JarFile jarFile = connection.getJarFile()) {
+                        jarFile.stream()
+                                .map(JarEntry::getName)
+                                .filter(name -> name.startsWith(packagePath + "/"))
+                                .forEach(name -> addClassName(name, classNames));
+                    }
+                } else {
+                    log.warn("Unsupported classpath root [{}] for package '{}'", root, basePackage);
+                }
+            }
+        } catch (IOException | URISyntaxException ex) {
+            throw new IllegalStateException("Failed to scan package '" + basePackage + "'", ex);
+        }
+        return classNames;
+    }
+
+    private static void addClassName(String resourcePath, Set<String> classNames) {
+        if (resourcePath.endsWith(CLASS_FILE_SUFFIX) && !resourcePath.contains("-")) {
+            classNames.add(resourcePath.substring(0, resourcePath.length() - CLASS_FILE_SUFFIX.length())
+                    .replace('/', '.'));
+        }
+    }
+
+    /**
+     * Checks whether the scanned candidate still needs to be registered. A class registered under
+     * the same name before, e.g. a configuration class passed to the context that scans its own
+     * package, is not registered a second time.
+     *
+     * @param beanName The name generated for the candidate.
+     * @param beanDef  The scanned candidate.
+     * @return true if the candidate should be registered.
+     */
+    private boolean checkCandidate(String beanName, BeanDefinition beanDef) {
+        if (!registry.containsBeanDefinition(beanName)) {
+            return true;
+        }
+        BeanDefinition existingDef = registry.getBeanDefinition(beanName);
+        if (Objects.equals(existingDef.getBeanClassName(), beanDef.getBeanClassName())) {
+            log.debug("Skipping scanned [{}], already registered as '{}'", beanDef.getBeanClassName(), beanName);
+            return false;
+        }
+        return true;
+    }
+
     /**
      * Registers the provided BeanDefinitionHolder in the BeanDefinitionRegistry.
      *
@@ -0,0 +1,87 @@
+package com.petros.bringframework.context.index;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Candidate components written at build time by the {@code bring-index} annotation processor.
+ *
+ * <p>An index only covers the classpath roots it was generated for, so before the scanner can
+ * rely on it for a base package, every classpath root contributing to that package has to
+ * carry its own index. See {@link #isComplete(String)}.
+ *
+ * @see CandidateComponentsIndexLoader
+ */
+public class CandidateComponentsIndex {
+
+    private final ClassLoader classLoader;
+    private final Set<String> indexedRoots;
+    private final Map<String, Set<String>> stereotypesByType;
+
+    CandidateComponentsIndex(ClassLoader classLoader, Set<String> indexedRoots,
+                             Map<String, Set<String>> stereotypesByType) {
+        this.classLoader = classLoader;
+        this.indexedRoots = indexedRoots;
+        this.stereotypesByType = stereotypesByType;
+    }
+
+    /**
+     * Whether every classpath root containing the given package has been indexed.
+     * When this returns {@code false} the package has to be scanned the regular way.
+     * A package for which no classpath root is found, e.g. in a jar without directory
+     * entries, is not considered complete either.
+     *
+     * @param basePackage the package to check
+     * @return {@code true} if {@link #getCandidateTypes(String)} is exhaustive for the package
+     */
+    public boolean isComplete(String basePackage) {
+        String packagePath = basePackage.replace('.', '/');
+        try {
+            Enumeration<URL> urls = classLoader.getResources(packagePath);
+            boolean rootFound = false;
+            while (urls.hasMoreElements()) {
+                String root = CandidateComponentsIndexLoader.rootOf(urls.nextElement(), packagePath);
+                if (root == null || !indexedRoots.contains(root)) {
+                    return false;
+                }
+                rootFound = true;
+            }
+            return rootFound;
+        } catch (IOException ex) {
+            return false;
+        }
+    }
+
+    /**
+     * Return the names of the indexed types living in the given package or one of its sub-packages.
+     *
+     * @param basePackage the package to look into
+     * @return the binary names of the candidate types
+     */
+    public Set<String> getCandidateTypes(String basePackage) {
+        String prefix = basePackage + ".";
+        Set<String> candidates = new LinkedHashSet<>();
+        for (String typeName : stereotypesByType.keySet()) {
+            if (typeName.startsWith(prefix)) {
+                candidates.add(typeName);
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * Return the stereotypes recorded for the given type.
+     *
+     * @param typeName the binary name of the type
+     * @return the fully qualified names of the stereotypes, empty if the type isn't indexed
+     */
+    public Set<String> getStereotypes(String typeName) {
+        return stereotypesByType.getOrDefault(typeName, Collections.emptySet());
+    }
+
+}
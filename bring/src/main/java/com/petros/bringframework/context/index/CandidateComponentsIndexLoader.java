@@ -0,0 +1,129 @@
+package com.petros.bringframework.context.index;
+
+import lombok.extern.log4j.Log4j2;
+
+import javax.annotation.Nullable;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Loads the {@value #COMPONENTS_RESOURCE_LOCATION} files found on the classpath into a
+ * {@link CandidateComponentsIndex}. The result is cached per class loader.
+ *
+ * <p>Setting the {@value #IGNORE_INDEX} system property to {@code true} disables the index
+ * and makes the scanner fall back to classpath scanning.
+ */
+@Log4j2
+public final class CandidateComponentsIndexLoader {
+
+    /**
+     * Location of the index files generated by the {@code bring-index} annotation processor.
+     */
+    public static final String COMPONENTS_RESOURCE_LOCATION = "META-INF/bring.components";
+
+    /**
+     * System property instructing to ignore the index.
+     */
+    public static final String IGNORE_INDEX = "bring.index.ignore";
+
+    private static final ConcurrentMap<ClassLoader, Object> cache = new ConcurrentHashMap<>();
+
+    private static final Object NO_INDEX = new Object();
+
+    private CandidateComponentsIndexLoader() {
+    }
+
+    /**
+     * Load the candidate components index of the given class loader.
+     *
+     * @param classLoader the class loader to load the index from
+     * @return the index, or {@code null} if no index is available or the index is ignored
+     */
+    @Nullable
+    public static CandidateComponentsIndex loadIndex(ClassLoader classLoader) {
+        if (Boolean.getBoolean(IGNORE_INDEX)) {
+            return null;
+        }
+        Object index = cache.computeIfAbsent(classLoader, CandidateComponentsIndexLoader::doLoadIndex);
+        return index instanceof CandidateComponentsIndex candidateComponentsIndex ? candidateComponentsIndex : null;
+    }
+
+    private static Object doLoadIndex(ClassLoader classLoader) {
+        try {
+            Enumeration<URL> urls = classLoader.getResources(COMPONENTS_RESOURCE_LOCATION);
+            if (!urls.hasMoreElements()) {
+                return NO_INDEX;
+            }
+            Set<String> indexedRoots = new HashSet<>();
+            Map<String, Set<String>> stereotypesByType = new HashMap<>();
+            while (urls.hasMoreElements()) {
+                URL url = urls.nextElement();
+                String root = rootOf(url, COMPONENTS_RESOURCE_LOCATION);
+                if (root != null) {
+                    indexedRoots.add(root);
+                }
+                readIndex(url, stereotypesByType);
+            }
+            log.debug("Loaded candidate components index with {} entries from {} classpath roots",
+                    stereotypesByType.size(), indexedRoots.size());
+            return new CandidateComponentsIndex(classLoader, Collections.unmodifiableSet(indexedRoots),
+                    Collections.unmodifiableMap(stereotypesByType));
+        } catch (IOException ex) {
+            log.warn("Unable to load candidate components index from [{}], falling back to classpath scanning",
+                    COMPONENTS_RESOURCE_LOCATION, ex);
+            return NO_INDEX;
+        }
+    }
+
+    private static void readIndex(URL url, Map<String, Set<String>> stereotypesByType) throws IOException {
+        try (InputStream is = url.openStream();
+             BufferedReader reader = new BufferedReader(new InputStreamReader(is, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                int separator = line.indexOf('=');
+                String typeName = separator == -1 ? line : line.substring(0, separator).trim();
+                Set<String> stereotypes = stereotypesByType.computeIfAbsent(typeName, name -> new LinkedHashSet<>());
+                if (separator != -1) {
+                    for (String stereotype : line.substring(separator + 1).split(",")) {
+                        if (!stereotype.isBlank()) {
+                            stereotypes.add(stereotype.trim());
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Strip the given resource path from the resource URL, leaving the classpath root it was found in.
+     */
+    @Nullable
+    static String rootOf(URL url, String resourcePath) {
+        String location = url.toExternalForm();
+        if (location.endsWith("/")) {
+            location = location.substring(0, location.length() - 1);
+        }
+        if (!location.endsWith(resourcePath)) {
+            return null;
+        }
+        return location.substring(0, location.length() - resourcePath.length());
+    }
+
+}
@@ -0,0 +1,34 @@
+package com.petros.bringframework.context.properties;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Annotation for externalized configuration. Marks a component whose properties are bound from
+ * the property sources of the context under a common prefix, converted to their declared types.
+ *
+ * <p>Records are bound through their canonical constructor, which makes immutable configuration
+ * possible; other classes get their fields set. Property names are matched in kebab case
+ * ({@code max-connections}) as well as as declared ({@code maxConnections}).
+ *
+ * @see ConfigurationPropertiesBinder
+ * @see ConfigurationPropertiesBindingPostProcessor
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ConfigurationProperties {
+
+    /**
+     * Alias for {@link #prefix()}.
+     */
+    String value() default "";
+
+    /**
+     * The prefix of the properties to bind, e.g. {@code app.http}.
+     */
+    String prefix() default "";
+}
@@ -0,0 +1,325 @@
+package com.petros.bringframework.context.properties;
+
+import com.petros.bringframework.beans.BeansException;
+import com.petros.bringframework.beans.TypeConverter;
+import com.petros.bringframework.beans.converter.SympleTypeConverter;
+import com.petros.bringframework.core.AssertUtils;
+import com.petros.bringframework.core.env.PropertySources;
+import com.petros.bringframework.core.type.convert.ConversionService;
+import com.petros.bringframework.core.type.convert.TypeDescriptor;
+import com.petros.bringframework.core.type.convert.support.DefaultConversionService;
+import com.petros.bringframework.util.BeanUtils;
+import com.petros.bringframework.util.ReflectionUtils;
+
+import javax.annotation.Nullable;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.RecordComponent;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Binds {@link PropertySources} to {@link ConfigurationProperties @ConfigurationProperties}
+ * types: records through their canonical constructor, other classes through their fields.
+ *
+ * <p>The properties of a type, their candidate names, type descriptors and the method handles
+ * to create and populate instances are introspected once per class into a binding plan. Values
+ * are converted to the declared types through the {@link ConversionService} at bind time, so
+ * consumers receive ready-to-use values. Nested records and {@code @ConfigurationProperties}
+ * types are bound recursively from {@code prefix.property}.
+ *
+ * <p>A property missing from the sources leaves a record component {@code null} (or the default
+ * of a primitive) and keeps the initial value of a field.
+ */
+public class ConfigurationPropertiesBinder {
+
+    private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class, Object[].class);
+    private static final MethodType FIELD_SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final PropertySources propertySources;
+    private final TypeConverter typeConverter;
+
+    /**
+     * Binding plans per bound class, built on the first bind. A plan reads this binder's property
+     * sources and converts with its type converter, so it can't be shared between binders. The
+     * map holds the few {@code @ConfigurationProperties} types of one context.
+     */
+    private final Map<Class<?>, BindingPlan> bindingPlans = new ConcurrentHashMap<>(16);
+
+    public ConfigurationPropertiesBinder(PropertySources propertySources) {
+        this(propertySources, DefaultConversionService.getSharedInstance());
+    }
+
+    public ConfigurationPropertiesBinder(PropertySources propertySources, ConversionService conversionService) {
+        AssertUtils.notNull(propertySources, "PropertySources must not be null");
+        AssertUtils.notNull(conversionService, "ConversionService must not be null");
+        SympleTypeConverter converter = new SympleTypeConverter();
+        converter.setConversionService(conversionService);
+        this.propertySources = propertySources;
+        this.typeConverter = converter;
+    }
+
+    /**
+     * Create an instance of the given type bound from the prefix declared by its
+     * {@link ConfigurationProperties @ConfigurationProperties} annotation.
+     *
+     * @throws IllegalArgumentException if the type is not annotated
+     * @throws IllegalStateException    if a property can't be bound
+     */
+    public <T> T bind(Class<T> type) {
+        return bind(getPrefix(type), type);
+    }
+
+    /**
+     * Create an instance of the given type bound from the properties under the given prefix.
+     *
+     * @param prefix the prefix of the properties, may be empty
+     * @param type   a record, or a class with a no-arg constructor
+     * @throws IllegalStateException if the type can't be instantiated or a property can't be bound
+     */
+    public <T> T bind(String prefix, Class<T> type) {
+        return type.cast(bindingPlanFor(type).create(normalize(prefix)));
+    }
+
+    /**
+     * Bind the properties under the given prefix to the fields of an existing instance.
+     *
+     * @throws IllegalArgumentException if the instance is a record
+     * @throws IllegalStateException    if a property can't be bound
+     */
+    public <T> T bind(String prefix, T target) {
+        AssertUtils.notNull(target, "Target must not be null");
+        AssertUtils.isTrue(!target.getClass().isRecord(), "Records can't be bound to after instantiation");
+        bindingPlanFor(target.getClass()).populate(normalize(prefix), target);
+        return target;
+    }
+
+    /**
+     * Return the prefix declared by the {@link ConfigurationProperties @ConfigurationProperties}
+     * annotation of the given type.
+     *
+     * @throws IllegalArgumentException if the type is not annotated
+     */
+    public static String getPrefix(Class<?> type) {
+        ConfigurationProperties annotation = type.getAnnotation(ConfigurationProperties.class);
+        AssertUtils.notNull(annotation, "No @ConfigurationProperties on " + type.getName());
+        return annotation.prefix().isEmpty() ? annotation.value() : annotation.prefix();
+    }
+
+    private static String normalize(String prefix) {
+        String trimmed = prefix.trim();
+        return trimmed.endsWith(".") ? trimmed.substring(0, trimmed.length() - 1) : trimmed;
+    }
+
+    private BindingPlan bindingPlanFor(Class<?> type) {
+        return bindingPlans.computeIfAbsent(type, this::buildBindingPlan);
+    }
+
+    private BindingPlan buildBindingPlan(Class<?> type) {
+        List<BoundProperty> properties = new ArrayList<>();
+        if (type.isRecord()) {
+            for (RecordComponent component : type.getRecordComponents()) {
+                properties.add(new BoundProperty(fieldOf(type, component.getName()), null));
+            }
+            Class<?>[] parameterTypes = Arrays.stream(type.getRecordComponents())
+                    .map(RecordComponent::getType)
+                    .toArray(Class<?>[]::new);
+            return new BindingPlan(type, constructorHandle(type, parameterTypes), properties);
+        }
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                int modifiers = field.getModifiers();
+                if (!Modifier.isStatic(modifiers) && !Modifier.isFinal(modifiers) && !field.isSynthetic()) {
+                    properties.add(new BoundProperty(field, setterFor(field)));
+                }
+            }
+        }
+        return new BindingPlan(type, null, properties);
+    }
+
+    private static Field fieldOf(Class<?> recordType, String componentName) {
+        try {
+            return recordType.getDeclaredField(componentName);
+        } catch (NoSuchFieldException ex) {
+            throw new IllegalStateException("No field for record component " + componentName, ex);
+        }
+    }
+
+    private static MethodHandle constructorHandle(Class<?> type, Class<?>[] parameterTypes) {
+        try {
+            Constructor<?> ctor = type.getDeclaredConstructor(parameterTypes);
+            ReflectionUtils.makeAccessible(ctor);
+            return MethodHandles.lookup().unreflectConstructor(ctor)
+                    .asSpreader(Object[].class, parameterTypes.length)
+                    .asType(CONSTRUCTOR_TYPE);
+        } catch (NoSuchMethodException | IllegalAccessException ex) {
+            throw new IllegalStateException("No accessible constructor to bind " + type.getName(), ex);
+        }
+    }
+
+    private static MethodHandle setterFor(Field field) {
+        ReflectionUtils.makeAccessible(field);
+        try {
+            return MethodHandles.lookup().unreflectSetter(field).asType(FIELD_SETTER_TYPE);
+        } catch (IllegalAccessException ex) {
+            throw new IllegalStateException("Could not access field " + field.getName(), ex);
+        }
+    }
+
+    private static String qualify(String prefix, String key) {
+        return prefix.isEmpty() ? key : prefix + "." + key;
+    }
+
+    private static boolean isNested(Class<?> type) {
+        return type.isRecord() || type.isAnnotationPresent(ConfigurationProperties.class);
+    }
+
+    /**
+     * Kebab case name of a property, e.g. {@code max-connections} for {@code maxConnections}.
+     */
+    static String toKebabCase(String name) {
+        StringBuilder result = new StringBuilder(name.length() + 4);
+        for (int i = 0; i < name.length(); i++) {
+            char ch = name.charAt(i);
+            if (Character.isUpperCase(ch)) {
+                if (i > 0) {
+                    result.append('-');
+                }
+                result.append(Character.toLowerCase(ch));
+            } else {
+                result.append(ch);
+            }
+        }
+        return result.toString();
+    }
+
+    /**
+     * Everything needed to bind one class, computed once.
+     */
+    private final class BindingPlan {
+        private final Class<?> type;
+        @Nullable
+        private final MethodHandle canonicalConstructor;
+        private final List<BoundProperty> properties;
+
+        private BindingPlan(Class<?> type, @Nullable MethodHandle canonicalConstructor, List<BoundProperty> properties) {
+            this.type = type;
+            this.canonicalConstructor = canonicalConstructor;
+            this.properties = properties;
+        }
+
+        Object create(String prefix) {
+            if (canonicalConstructor == null) {
+                return populate(prefix, BeanUtils.instantiateClass(noArgConstructor()));
+            }
+            Object[] args = new Object[properties.size()];
+            for (int i = 0; i < args.length; i++) {
+                BoundProperty property = properties.get(i);
+                Object value = property.resolve(prefix);
+                args[i] = value == null && property.type.isPrimitive()
+                        ? BeanUtils.DEFAULT_TYPE_VALUES.get(property.type) : value;
+            }
+            try {
+                return (Object) canonicalConstructor.invokeExact(args);
+            } catch (RuntimeException ex) {
+                // e.g. a compact constructor rejecting a bound value
+                throw new IllegalStateException("Could not create " + type.getName() + " bound to '" + prefix + "'", ex);
+            } catch (Error ex) {
+                throw ex;
+            } catch (Throwable ex) {
+                // A canonical constructor can't declare checked exceptions
+                throw new UndeclaredThrowableException(ex);
+            }
+        }
+
+        Object populate(String prefix, Object target) {
+            for (BoundProperty property : properties) {
+                Object value = property.resolve(prefix);
+                if (value != null) {
+                    property.set(target, value);
+                }
+            }
+            return target;
+        }
+
+        private Constructor<?> noArgConstructor() {
+            try {
+                Constructor<?> ctor = type.getDeclaredConstructor();
+                ReflectionUtils.makeAccessible(ctor);
+                return ctor;
+            } catch (NoSuchMethodException ex) {
+                throw new IllegalStateException("No no-arg constructor to bind " + type.getName(), ex);
+            }
+        }
+    }
+
+    /**
+     * A bound record component or field.
+     */
+    private final class BoundProperty {
+        private final String name;
+        private final String[] keys;
+        private final Class<?> type;
+        private final TypeDescriptor typeDescriptor;
+        @Nullable
+        private final MethodHandle setter;
+
+        private BoundProperty(Field field, @Nullable MethodHandle setter) {
+            this.name = field.getName();
+            String kebabCaseName = toKebabCase(name);
+            this.keys = kebabCaseName.equals(name) ? new String[]{name} : new String[]{kebabCaseName, name};
+            this.type = field.getType();
+            this.typeDescriptor = TypeDescriptor.forField(field);
+            this.setter = setter;
+        }
+
+        @Nullable
+        Object resolve(String prefix) {
+            if (isNested(type)) {
+                return bind(qualify(prefix, keys[0]), type);
+            }
+            for (String key : keys) {
+                String qualifiedKey = qualify(prefix, key);
+                String value = propertySources.getProperty(qualifiedKey);
+                if (value != null) {
+                    return convert(qualifiedKey, value);
+                }
+            }
+            return null;
+        }
+
+        @Nullable
+        private Object convert(String key, String value) {
+            if (type == String.class) {
+                return value;
+            }
+            try {
+                return typeConverter.convertIfNecessary(value, type, typeDescriptor);
+            } catch (BeansException ex) {
+                throw new IllegalStateException("Failed to bind property '" + key + "' to "
+                        + type.getName() + ": " + ex.getMessage(), ex);
+            }
+        }
+
+        void set(Object target, Object value) {
+            try {
+                setter.invokeExact(target, value);
+            } catch (ClassCastException ex) {
+                throw new IllegalStateException("Could not set field '" + name + "' of " + target.getClass().getName(), ex);
+            } catch (RuntimeException | Error ex) {
+                throw ex;
+            } catch (Throwable ex) {
+                // A field setter doesn't throw checked exceptions
+                throw new UndeclaredThrowableException(ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.petros.bringframework.context.properties;
+
+import com.petros.bringframework.beans.factory.BeanAware;
+import com.petros.bringframework.beans.factory.BeanFactory;
+import com.petros.bringframework.beans.factory.config.InstantiationAwareBeanPostProcessor;
+import com.petros.bringframework.beans.factory.config.SingletonBeanRegistry;
+import com.petros.bringframework.core.env.PropertySources;
+import com.petros.bringframework.util.ClassUtils;
+
+import javax.annotation.Nullable;
+
+/**
+ * {@link InstantiationAwareBeanPostProcessor} that binds beans annotated with
+ * {@link ConfigurationProperties @ConfigurationProperties} through a
+ * {@link ConfigurationPropertiesBinder}.
+ *
+ * <p>Records are created by the binder instead of the container, other classes are bound
+ * before initialization. Properties are taken from the
+ * {@value PropertySources#PROPERTY_SOURCES_BEAN_NAME} singleton of the bean factory, or from the
+ * {@linkplain PropertySources#standard standard} sources if there is none.
+ */
+public class ConfigurationPropertiesBindingPostProcessor implements InstantiationAwareBeanPostProcessor, BeanAware {
+
+    private BeanFactory beanFactory;
+    @Nullable
+    private volatile ConfigurationPropertiesBinder binder;
+
+    public ConfigurationPropertiesBindingPostProcessor() {}
+
+    /**
+     * Set the binder to use instead of one created for the property sources of the bean factory.
+     */
+    public void setBinder(ConfigurationPropertiesBinder binder) {
+        this.binder = binder;
+    }
+
+    @Nullable
+    @Override
+    public Object postProcessBeforeInstantiation(Class<?> beanClass, String beanName) {
+        if (beanClass.isRecord() && beanClass.isAnnotationPresent(ConfigurationProperties.class)) {
+            return getBinder().bind(beanClass);
+        }
+        return null;
+    }
+
+    @Nullable
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        Class<?> beanClass = bean.getClass();
+        if (!beanClass.isRecord() && beanClass.isAnnotationPresent(ConfigurationProperties.class)) {
+            getBinder().bind(ConfigurationPropertiesBinder.getPrefix(beanClass), bean);
+        }
+        return bean;
+    }
+
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) {
+        this.beanFactory = beanFactory;
+    }
+
+    private ConfigurationPropertiesBinder getBinder() {
+        ConfigurationPropertiesBinder current = binder;
+        if (current == null) {
+            PropertySources propertySources;
+            if (beanFactory instanceof SingletonBeanRegistry registry
+                    && registry.getSingleton(PropertySources.PROPERTY_SOURCES_BEAN_NAME) instanceof PropertySources registered) {
+                propertySources = registered;
+            } else {
+                propertySources = PropertySources.standard(ClassUtils.getDefaultClassLoader());
+            }
+            current = new ConfigurationPropertiesBinder(propertySources);
+            binder = current;
+        }
+        return current;
+    }
+}
@@ -7,7 +7,13 @@ import com.petros.bringframework.beans.factory.config.BeanPostProcessor;
 import com.petros.bringframework.beans.factory.config.ConfigurationClassPostProcessor;
 import com.petros.bringframework.beans.factory.config.SimpleBeanFactoryPostProcessor;
 import com.petros.bringframework.context.ConfigurableApplicationContext;
+import com.petros.bringframework.context.properties.ConfigurationPropertiesBindingPostProcessor;
+import com.petros.bringframework.core.AssertUtils;
+import com.petros.bringframework.core.env.PropertySources;
+import com.petros.bringframework.core.metrics.StartupRecorder;
+import com.petros.bringframework.core.metrics.StartupStep;
 import com.petros.bringframework.core.type.ResolvableType;
+import com.petros.bringframework.util.ClassUtils;
 import com.petros.bringframework.util.ReflectionUtils;
 import lombok.extern.log4j.Log4j2;
 import org.apache.commons.lang3.AnnotationUtils;
@@ -52,6 +58,13 @@ public abstract class AbstractApplicationContext implements ConfigurableApplicat
      */
     String SHUTDOWN_HOOK_THREAD_NAME = "BringContextShutdownHook";
 
+    /** Property sources exposed to the beans of this context, created on first access. */
+    @Nullable
+    private PropertySources propertySources;
+
+    /** Recorder of the startup steps, the default one unless set. */
+    private StartupRecorder startupRecorder = StartupRecorder.getDefault();
+
     @Override
     public void init()
             throws BeansException, IllegalStateException {
@@ -81,6 +94,7 @@ public abstract class AbstractApplicationContext implements ConfigurableApplicat
      */
     @Override
     public void refresh() throws BeansException, IllegalStateException {
+        StartupStep refreshStep = startupRecorder.start("context.refresh");
         ConfigurableBeanFactory beanFactory = obtainFreshBeanFactory();
 
         prepareBeanFactory(beanFactory);
@@ -90,9 +104,19 @@ public abstract class AbstractApplicationContext implements ConfigurableApplicat
 
             invokeBeanFactoryPostProcessors(beanFactory);
 
-            registerBeanPostProcessors(beanFactory);
+            StartupStep postProcessorsStep = startupRecorder.start("context.beanPostProcessors.register");
+            try {
+                registerBeanPostProcessors(beanFactory);
+            } finally {
+                postProcessorsStep.end();
+            }
 
-            finishBeanFactoryInitialization(beanFactory);
+            StartupStep singletonsStep = startupRecorder.start("context.singletons.preInstantiate");
+            try {
+                finishBeanFactoryInitialization(beanFactory);
+            } finally {
+                singletonsStep.end();
+            }
 
         } catch (BeansException ex) {
             if (log.isDebugEnabled()) {
@@ -105,6 +129,7 @@ public abstract class AbstractApplicationContext implements ConfigurableApplicat
             throw ex;
         } finally {
             resetCommonCaches();
+            refreshStep.end();
         }
     }
 
@@ -168,6 +193,13 @@ public abstract class AbstractApplicationContext implements ConfigurableApplicat
     protected void registerBeanPostProcessors(ConfigurableBeanFactory beanFactory) {
         beanFactory.getBeansOfType(BeanPostProcessor.class).values()
                    .forEach(beanFactory::addBeanPostProcessor);
+        // @ConfigurationProperties beans are bound whether or not the framework packages are scanned
+        if (beanFactory.getBeanPostProcessors().stream()
+                       .noneMatch(ConfigurationPropertiesBindingPostProcessor.class::isInstance)) {
+            ConfigurationPropertiesBindingPostProcessor processor = new ConfigurationPropertiesBindingPostProcessor();
+            processor.setBeanFactory(beanFactory);
+            beanFactory.addBeanPostProcessor(processor);
+        }
     }
 
     /**
@@ -176,6 +208,10 @@ public abstract class AbstractApplicationContext implements ConfigurableApplicat
      * @param beanFactory the bean factory used by the application context
      */
     protected void prepareBeanFactory(final ConfigurableBeanFactory beanFactory) {
+        beanFactory.setStartupRecorder(startupRecorder);
+        if (!beanFactory.containsSingleton(PropertySources.PROPERTY_SOURCES_BEAN_NAME)) {
+            beanFactory.registerSingleton(PropertySources.PROPERTY_SOURCES_BEAN_NAME, getPropertySources());
+        }
         beanFactory.addBeanFactoryPostProcessor(new ConfigurationClassPostProcessor());
         beanFactory.addBeanFactoryPostProcessor(new SimpleBeanFactoryPostProcessor(beanFactory));
     }
@@ -194,6 +230,42 @@ public abstract class AbstractApplicationContext implements ConfigurableApplicat
         // For subclasses: do nothing by default.
     }
 
+    /**
+     * Return the property sources of this context, by default the
+     * {@linkplain PropertySources#standard standard} ones. Sources may be added
+     * before the context is {@linkplain #refresh() refreshed}.
+     */
+    public PropertySources getPropertySources() {
+        if (propertySources == null) {
+            propertySources = PropertySources.standard(ClassUtils.getDefaultClassLoader());
+        }
+        return propertySources;
+    }
+
+    /**
+     * Replace the property sources of this context. Has to be called before {@link #refresh()}.
+     */
+    public void setPropertySources(PropertySources propertySources) {
+        this.propertySources = propertySources;
+    }
+
+    /**
+     * Return the recorder of the startup steps of this context, by default the
+     * {@linkplain StartupRecorder#getDefault() default} one.
+     */
+    public StartupRecorder getStartupRecorder() {
+        return startupRecorder;
+    }
+
+    /**
+     * Replace the recorder of the startup steps of this context. Has to be called before
+     * {@link #refresh()}, and before scanning to record the scan.
+     */
+    public void setStartupRecorder(StartupRecorder startupRecorder) {
+        AssertUtils.notNull(startupRecorder, "StartupRecorder must not be null");
+        this.startupRecorder = startupRecorder;
+    }
+
     protected ConfigurableBeanFactory obtainFreshBeanFactory() {
         return getBeanFactory();
     }
@@ -1,7 +1,6 @@
 package com.petros.bringframework.context.support;
 
 import com.petros.bringframework.beans.exception.BeanCreationException;
-import com.petros.bringframework.beans.exception.BeanInstantiationException;
 import com.petros.bringframework.beans.exception.ImplicitlyAppearedSingletonException;
 import com.petros.bringframework.beans.factory.BeanDefinitionStoreException;
 import com.petros.bringframework.beans.factory.support.AbstractAutowireCapableBeanFactory;
@@ -10,7 +9,6 @@ import com.petros.bringframework.beans.support.GenericBeanDefinition;
 import com.petros.bringframework.util.BeanUtils;
 
 import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
 import java.util.List;
 
 /**
@@ -59,19 +57,9 @@ public class ConstructorResolver {
             }
         }
 
-        try {
-            final Object o = ctorToUse.newInstance(argsWithDefaultValues);
-            return new BeanWrapper(o,
-                    o.getClass());
-        } catch (InstantiationException ex) {
-            throw new BeanInstantiationException(ctorToUse.getName(), "Is it an abstract class?", ex);
-        } catch (IllegalAccessException ex) {
-            throw new BeanInstantiationException(ctorToUse.getName(), "Is the constructor accessible?", ex);
-        } catch (IllegalArgumentException ex) {
-            throw new BeanInstantiationException(ctorToUse.getName(), "Illegal arguments for constructor", ex);
-        } catch (InvocationTargetException ex) {
-            throw new BeanInstantiationException(ctorToUse.getName(), "Constructor threw exception", ex.getTargetException());
-        }
+        final Object o = beanFactory.getInstantiationStrategy()
+                                    .instantiate(mbd, beanName, ctorToUse, argsWithDefaultValues);
+        return new BeanWrapper(o, o.getClass());
     }
 
     public BeanWrapper instantiateUsingFactoryMethod(String beanName, GenericBeanDefinition mbd, Object[] explicitArgs) {
@@ -0,0 +1,25 @@
+package com.petros.bringframework.core.env;
+
+import javax.annotation.Nullable;
+import java.util.Map;
+
+/**
+ * {@link PropertySource} reading from a {@code Map}.
+ */
+public class MapPropertySource extends PropertySource<Map<String, Object>> {
+
+    public MapPropertySource(String name, Map<String, Object> source) {
+        super(name, source);
+    }
+
+    @Nullable
+    @Override
+    public Object getProperty(String key) {
+        return source.get(key);
+    }
+
+    @Override
+    public boolean containsProperty(String key) {
+        return source.containsKey(key);
+    }
+}
@@ -0,0 +1,48 @@
+package com.petros.bringframework.core.env;
+
+import com.petros.bringframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * {@link PropertySource} backed by the entries of a {@link Properties} object.
+ * The entries are copied once into a plain map, so lookups don't contend on the
+ * synchronized {@code Properties} table.
+ */
+public class PropertiesPropertySource extends MapPropertySource {
+
+    public PropertiesPropertySource(String name, Properties properties) {
+        super(name, toMap(properties));
+    }
+
+    /**
+     * Parse the given resource with {@link Properties#load(InputStream)}, once.
+     *
+     * @param name     the name of the property source
+     * @param resource a resource in properties format
+     * @throws IOException if the resource can't be read
+     */
+    public PropertiesPropertySource(String name, Resource resource) throws IOException {
+        this(name, loadProperties(resource));
+    }
+
+    private static Properties loadProperties(Resource resource) throws IOException {
+        Properties properties = new Properties();
+        try (InputStream is = resource.getInputStream()) {
+            properties.load(is);
+        }
+        return properties;
+    }
+
+    private static Map<String, Object> toMap(Properties properties) {
+        Map<String, Object> map = new HashMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            map.put(key, properties.getProperty(key));
+        }
+        return map;
+    }
+}
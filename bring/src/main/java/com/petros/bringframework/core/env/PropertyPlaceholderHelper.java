@@ -0,0 +1,124 @@
+package com.petros.bringframework.core.env;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Replaces {@code ${name}} placeholders in a string with values from a resolver function.
+ *
+ * <p>A placeholder may carry a default value after a colon, {@code ${name:default}}.
+ * Placeholders may be nested, {@code ${db.${env}.url}}, and resolved values are resolved
+ * again, with circular references being rejected.
+ */
+public class PropertyPlaceholderHelper {
+
+    public static final String PLACEHOLDER_PREFIX = "${";
+    public static final String PLACEHOLDER_SUFFIX = "}";
+    public static final String VALUE_SEPARATOR = ":";
+
+    private final boolean ignoreUnresolvablePlaceholders;
+
+    /**
+     * @param ignoreUnresolvablePlaceholders whether placeholders without a value and without a
+     *                                       default are left as they are instead of failing
+     */
+    public PropertyPlaceholderHelper(boolean ignoreUnresolvablePlaceholders) {
+        this.ignoreUnresolvablePlaceholders = ignoreUnresolvablePlaceholders;
+    }
+
+    /**
+     * Replace all placeholders in the given text.
+     *
+     * @param text     the text containing placeholders
+     * @param resolver returns the raw value of a placeholder name, or {@code null}
+     * @return the text with the placeholders replaced
+     * @throws IllegalArgumentException on an unresolvable placeholder (unless ignored)
+     *                                  or a circular reference
+     */
+    public String replacePlaceholders(String text, Function<String, String> resolver) {
+        if (!text.contains(PLACEHOLDER_PREFIX)) {
+            return text;
+        }
+        return parseStringValue(text, resolver, new HashSet<>());
+    }
+
+    private String parseStringValue(String value, Function<String, String> resolver, Set<String> visitedPlaceholders) {
+        int startIndex = value.indexOf(PLACEHOLDER_PREFIX);
+        if (startIndex == -1) {
+            return value;
+        }
+        StringBuilder result = new StringBuilder(value);
+        while (startIndex != -1) {
+            int endIndex = findPlaceholderEndIndex(result, startIndex);
+            if (endIndex == -1) {
+                break;
+            }
+            String placeholder = result.substring(startIndex + PLACEHOLDER_PREFIX.length(), endIndex);
+            String originalPlaceholder = placeholder;
+            if (!visitedPlaceholders.add(originalPlaceholder)) {
+                throw new IllegalArgumentException(
+                        "Circular placeholder reference '" + originalPlaceholder + "' in property definitions");
+            }
+            // Nested placeholders within the key come first
+            placeholder = parseStringValue(placeholder, resolver, visitedPlaceholders);
+            String propVal = resolver.apply(placeholder);
+            if (propVal == null) {
+                int separatorIndex = placeholder.indexOf(VALUE_SEPARATOR);
+                if (separatorIndex != -1) {
+                    String actualPlaceholder = placeholder.substring(0, separatorIndex);
+                    propVal = resolver.apply(actualPlaceholder);
+                    if (propVal == null) {
+                        propVal = placeholder.substring(separatorIndex + VALUE_SEPARATOR.length());
+                    }
+                }
+            }
+            if (propVal != null) {
+                // The value may contain placeholders itself
+                propVal = parseStringValue(propVal, resolver, visitedPlaceholders);
+                result.replace(startIndex, endIndex + PLACEHOLDER_SUFFIX.length(), propVal);
+                startIndex = result.indexOf(PLACEHOLDER_PREFIX, startIndex + propVal.length());
+            } else if (ignoreUnresolvablePlaceholders) {
+                startIndex = result.indexOf(PLACEHOLDER_PREFIX, endIndex + PLACEHOLDER_SUFFIX.length());
+            } else {
+                throw new IllegalArgumentException(
+                        "Could not resolve placeholder '" + placeholder + "' in value \"" + value + "\"");
+            }
+            visitedPlaceholders.remove(originalPlaceholder);
+        }
+        return result.toString();
+    }
+
+    private static int findPlaceholderEndIndex(CharSequence buf, int startIndex) {
+        int index = startIndex + PLACEHOLDER_PREFIX.length();
+        int withinNestedPlaceholder = 0;
+        while (index < buf.length()) {
+            if (startsWith(buf, index, PLACEHOLDER_SUFFIX)) {
+                if (withinNestedPlaceholder > 0) {
+                    withinNestedPlaceholder--;
+                    index += PLACEHOLDER_SUFFIX.length();
+                } else {
+                    return index;
+                }
+            } else if (startsWith(buf, index, PLACEHOLDER_PREFIX)) {
+                withinNestedPlaceholder++;
+                index += PLACEHOLDER_PREFIX.length();
+            } else {
+                index++;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean startsWith(CharSequence buf, int index, String prefix) {
+        if (index + prefix.length() > buf.length()) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length(); i++) {
+            if (buf.charAt(index + i) != prefix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,54 @@
+package com.petros.bringframework.core.env;
+
+import com.petros.bringframework.core.AssertUtils;
+
+import javax.annotation.Nullable;
+
+/**
+ * A named source of key/value properties, e.g. a properties file, the system properties
+ * or the environment variables. Sources are combined and queried through {@link PropertySources}.
+ *
+ * @param <T> the type of the underlying source
+ */
+public abstract class PropertySource<T> {
+
+    protected final String name;
+
+    protected final T source;
+
+    protected PropertySource(String name, T source) {
+        AssertUtils.hasText(name, "Property source name must contain at least one character");
+        AssertUtils.notNull(source, "Property source must not be null");
+        this.name = name;
+        this.source = source;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public T getSource() {
+        return source;
+    }
+
+    /**
+     * Return whether this source contains the given property.
+     */
+    public boolean containsProperty(String key) {
+        return getProperty(key) != null;
+    }
+
+    /**
+     * Return the value of the given property, or {@code null} if it is not present.
+     * Placeholders in the value are not resolved at this level.
+     *
+     * @param key the property to look up
+     */
+    @Nullable
+    public abstract Object getProperty(String key);
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " {name='" + name + "'}";
+    }
+}
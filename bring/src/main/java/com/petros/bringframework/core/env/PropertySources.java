@@ -0,0 +1,182 @@
+package com.petros.bringframework.core.env;
+
+import com.petros.bringframework.core.AssertUtils;
+import com.petros.bringframework.core.io.ClassPathResource;
+import lombok.extern.log4j.Log4j2;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Ordered set of {@link PropertySource property sources}, the first source containing a
+ * property wins. Values are returned with their {@code ${...}} placeholders resolved against
+ * the same sources, see {@link PropertyPlaceholderHelper}.
+ *
+ * <p>The {@link #standard standard} layout, registered in every application context under
+ * {@value #PROPERTY_SOURCES_BEAN_NAME}, consists of the system properties, the environment
+ * variables and {@value #APPLICATION_PROPERTIES_LOCATION}, in that order. Every source is
+ * a hash lookup and files are parsed once, so a lookup doesn't depend on the number of
+ * properties.
+ */
+@Log4j2
+public class PropertySources implements Iterable<PropertySource<?>> {
+
+    /**
+     * Name of the {@code PropertySources} singleton in an application context.
+     */
+    public static final String PROPERTY_SOURCES_BEAN_NAME = "propertySources";
+
+    public static final String SYSTEM_PROPERTIES_PROPERTY_SOURCE_NAME = "systemProperties";
+
+    public static final String SYSTEM_ENVIRONMENT_PROPERTY_SOURCE_NAME = "systemEnvironment";
+
+    public static final String APPLICATION_PROPERTIES_LOCATION = "application.properties";
+
+    private final List<PropertySource<?>> propertySources = new CopyOnWriteArrayList<>();
+
+    private final PropertyPlaceholderHelper nonStrictHelper = new PropertyPlaceholderHelper(true);
+
+    private final PropertyPlaceholderHelper strictHelper = new PropertyPlaceholderHelper(false);
+
+    /**
+     * Create the standard property sources: system properties, environment variables and,
+     * if present, {@value #APPLICATION_PROPERTIES_LOCATION} from the given class loader.
+     *
+     * @param classLoader the class loader to read the properties file from, or {@code null}
+     *                    for the default class loader
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static PropertySources standard(@Nullable ClassLoader classLoader) {
+        PropertySources propertySources = new PropertySources();
+        // Live view, system properties may still be set after the context is created
+        propertySources.addLast(new MapPropertySource(SYSTEM_PROPERTIES_PROPERTY_SOURCE_NAME, (Map) System.getProperties()));
+        propertySources.addLast(new SystemEnvironmentPropertySource(SYSTEM_ENVIRONMENT_PROPERTY_SOURCE_NAME, System.getenv()));
+        ClassPathResource resource = new ClassPathResource(APPLICATION_PROPERTIES_LOCATION, classLoader);
+        if (resource.exists()) {
+            try {
+                propertySources.addLast(new PropertiesPropertySource(APPLICATION_PROPERTIES_LOCATION, resource));
+            } catch (IOException ex) {
+                throw new IllegalStateException("Could not load " + APPLICATION_PROPERTIES_LOCATION, ex);
+            }
+        } else {
+            log.debug("No {} found on the classpath", APPLICATION_PROPERTIES_LOCATION);
+        }
+        return propertySources;
+    }
+
+    /**
+     * Add the given source with the highest precedence, replacing a source of the same name.
+     */
+    public void addFirst(PropertySource<?> propertySource) {
+        remove(propertySource.getName());
+        propertySources.add(0, propertySource);
+    }
+
+    /**
+     * Add the given source with the lowest precedence, replacing a source of the same name.
+     */
+    public void addLast(PropertySource<?> propertySource) {
+        remove(propertySource.getName());
+        propertySources.add(propertySource);
+    }
+
+    @Nullable
+    public PropertySource<?> get(String name) {
+        for (PropertySource<?> propertySource : propertySources) {
+            if (propertySource.getName().equals(name)) {
+                return propertySource;
+            }
+        }
+        return null;
+    }
+
+    @Nullable
+    public PropertySource<?> remove(String name) {
+        PropertySource<?> propertySource = get(name);
+        if (propertySource != null) {
+            propertySources.remove(propertySource);
+        }
+        return propertySource;
+    }
+
+    public boolean contains(String name) {
+        return get(name) != null;
+    }
+
+    @Override
+    public Iterator<PropertySource<?>> iterator() {
+        return propertySources.iterator();
+    }
+
+    public boolean containsProperty(String key) {
+        for (PropertySource<?> propertySource : propertySources) {
+            if (propertySource.containsProperty(key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Return the value of the given property with its placeholders resolved,
+     * or {@code null} if no source contains it.
+     *
+     * @param key the property to look up
+     * @throws IllegalArgumentException if the value has an unresolvable placeholder
+     */
+    @Nullable
+    public String getProperty(String key) {
+        Object value = getRawProperty(key);
+        if (value == null) {
+            return null;
+        }
+        return strictHelper.replacePlaceholders(value.toString(), this::getRawPropertyAsString);
+    }
+
+    public String getProperty(String key, String defaultValue) {
+        String value = getProperty(key);
+        return value != null ? value : defaultValue;
+    }
+
+    /**
+     * Resolve the placeholders in the given text, leaving unresolvable ones untouched.
+     */
+    public String resolvePlaceholders(String text) {
+        return nonStrictHelper.replacePlaceholders(text, this::getRawPropertyAsString);
+    }
+
+    /**
+     * Resolve the placeholders in the given text.
+     *
+     * @throws IllegalArgumentException if a placeholder has neither a value nor a default
+     */
+    public String resolveRequiredPlaceholders(String text) {
+        return strictHelper.replacePlaceholders(text, this::getRawPropertyAsString);
+    }
+
+    @Nullable
+    private Object getRawProperty(String key) {
+        for (PropertySource<?> propertySource : propertySources) {
+            Object value = propertySource.getProperty(key);
+            if (value != null) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    @Nullable
+    private String getRawPropertyAsString(String key) {
+        Object value = getRawProperty(key);
+        return value != null ? value.toString() : null;
+    }
+
+    @Override
+    public String toString() {
+        return propertySources.toString();
+    }
+}
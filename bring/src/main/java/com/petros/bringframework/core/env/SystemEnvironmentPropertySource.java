@@ -0,0 +1,41 @@
+package com.petros.bringframework.core.env;
+
+import javax.annotation.Nullable;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * {@link PropertySource} for the environment variables. Besides the exact key, a property
+ * such as {@code api.key} is also found as {@code api_key}, {@code API.KEY} or {@code API_KEY},
+ * since most shells don't allow dots in variable names.
+ */
+public class SystemEnvironmentPropertySource extends PropertySource<Map<String, String>> {
+
+    public SystemEnvironmentPropertySource(String name, Map<String, String> source) {
+        super(name, source);
+    }
+
+    @Nullable
+    @Override
+    public Object getProperty(String key) {
+        String value = source.get(key);
+        if (value != null) {
+            return value;
+        }
+        String underscored = key.replace('.', '_').replace('-', '_');
+        if (!underscored.equals(key)) {
+            value = source.get(underscored);
+            if (value != null) {
+                return value;
+            }
+        }
+        String upperCase = key.toUpperCase(Locale.ROOT);
+        if (!upperCase.equals(key)) {
+            value = source.get(upperCase);
+            if (value != null) {
+                return value;
+            }
+        }
+        return source.get(underscored.toUpperCase(Locale.ROOT));
+    }
+}
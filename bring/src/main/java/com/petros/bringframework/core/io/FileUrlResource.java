@@ -1,16 +1,20 @@
 package com.petros.bringframework.core.io;
 
+import com.petros.bringframework.util.ResourceUtils;
 import lombok.SneakyThrows;
 
 import javax.annotation.Nullable;
 import java.io.File;
+import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.MalformedURLException;
 import java.net.URI;
+import java.net.URISyntaxException;
 import java.net.URL;
 import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.channels.WritableByteChannel;
 import java.nio.file.Files;
 import java.nio.file.Paths;
@@ -29,12 +33,21 @@ public class FileUrlResource extends AbstractResource implements Resource {
 
     @Override
     public URL getURL() throws IOException {
-        return null;
+        return url;
     }
 
     @Override
     public URI getURI() throws IOException {
-        return null;
+        try {
+            return ResourceUtils.toURI(url);
+        } catch (URISyntaxException ex) {
+            throw new IOException("Invalid URI [" + url + "]", ex);
+        }
+    }
+
+    @Override
+    public boolean isFile() {
+        return ResourceUtils.isFileURL(url);
     }
 
     @Override
@@ -43,11 +56,27 @@ public class FileUrlResource extends AbstractResource implements Resource {
         if (file != null) {
             return file;
         }
-        file = getFile();
+        file = ResourceUtils.getFile(url, getDescription());
         this.file = file;
         return file;
     }
 
+    @Override
+    public ReadableByteChannel readableChannel() throws IOException {
+        return FileChannel.open(getFile().toPath(), StandardOpenOption.READ);
+    }
+
+    @Override
+    public long contentLength() throws IOException {
+        var file = getFile();
+        long length = file.length();
+        if (length == 0L && !file.exists()) {
+            throw new FileNotFoundException(getDescription() +
+                    " cannot be resolved in the file system for checking its content length");
+        }
+        return length;
+    }
+
     public boolean isWritable() {
         try {
             File file = getFile();
@@ -79,7 +108,7 @@ public class FileUrlResource extends AbstractResource implements Resource {
 
     @Override
     public String getDescription() {
-        return file.getAbsolutePath();
+        return nonNull(file) ? file.getAbsolutePath() : "URL [" + url + "]";
     }
 
     @SneakyThrows
@@ -95,6 +124,6 @@ public class FileUrlResource extends AbstractResource implements Resource {
 
     @Override
     public InputStream getInputStream() throws IOException {
-        return null;
+        return Files.newInputStream(getFile().toPath());
     }
 }
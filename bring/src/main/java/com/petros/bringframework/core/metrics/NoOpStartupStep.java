@@ -0,0 +1,39 @@
+package com.petros.bringframework.core.metrics;
+
+import javax.annotation.Nullable;
+
+/**
+ * The step of the {@link StartupRecorder#NO_OP} recorder, recording nothing.
+ */
+final class NoOpStartupStep implements StartupStep {
+
+    static final NoOpStartupStep INSTANCE = new NoOpStartupStep();
+
+    private NoOpStartupStep() {
+    }
+
+    @Override
+    public String getName() {
+        return "";
+    }
+
+    @Override
+    public long getId() {
+        return 0;
+    }
+
+    @Nullable
+    @Override
+    public Long getParentId() {
+        return null;
+    }
+
+    @Override
+    public StartupStep tag(String key, String value) {
+        return this;
+    }
+
+    @Override
+    public void end() {
+    }
+}
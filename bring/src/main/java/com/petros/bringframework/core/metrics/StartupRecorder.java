@@ -0,0 +1,61 @@
+package com.petros.bringframework.core.metrics;
+
+/**
+ * Records the {@linkplain StartupStep steps} of the startup of application contexts, so that slow phases and
+ * beans can be told apart without a profiler.
+ * <p>Contexts record through the {@link #getDefault() default} recorder unless another one is set, see
+ * {@link com.petros.bringframework.context.support.AbstractApplicationContext#setStartupRecorder}.
+ * Implementations may be registered as services under
+ * {@code META-INF/services/com.petros.bringframework.core.metrics.StartupRecorder}; the first one found
+ * becomes the default. Otherwise, {@value #RECORDER_PROPERTY}{@code =timeline} selects a
+ * {@link TimelineStartupRecorder}, and by default nothing is recorded.
+ * <p>Recorded steps:
+ * <ul>
+ *     <li>{@code context.scan}: scanning base packages for components</li>
+ *     <li>{@code context.refresh}: the whole refresh of a context, the parent of the following steps</li>
+ *     <li>{@code context.beanFactory.postProcess}: each bean factory post-processor</li>
+ *     <li>{@code context.config-classes.parse} and {@code context.config-classes.enhance}: parsing
+ *     {@code @Configuration} classes and generating their proxies, {@code context.config-classes.proxy}
+ *     for each of them</li>
+ *     <li>{@code context.beanPostProcessors.register}: creating and registering the bean post-processors</li>
+ *     <li>{@code context.singletons.preInstantiate}: creating the non-lazy singletons</li>
+ *     <li>{@code beans.create}: the creation of each bean, with the {@code beans.instantiate},
+ *     {@code beans.inject} and {@code beans.init} steps as children, and the creation of the beans it
+ *     depends on nested within</li>
+ * </ul>
+ * Recorders are used by any number of threads, e.g. on parallel pre-instantiation of singletons.
+ *
+ * @see StartupStep
+ */
+public interface StartupRecorder {
+
+    /**
+     * System property selecting the default recorder when none is registered as a service:
+     * {@value #TIMELINE_RECORDER} for a {@link TimelineStartupRecorder}.
+     */
+    String RECORDER_PROPERTY = "bring.startup.recorder";
+
+    String TIMELINE_RECORDER = "timeline";
+
+    /**
+     * A recorder recording nothing.
+     */
+    StartupRecorder NO_OP = name -> NoOpStartupStep.INSTANCE;
+
+    /**
+     * Start a new step with the given name. The step is a child of the step of the current thread that has
+     * been started last and not ended yet, if any.
+     *
+     * @param name the name of the step, e.g. {@code "beans.create"}
+     * @return the started step, to be ended by the caller
+     */
+    StartupStep start(String name);
+
+    /**
+     * Return the default recorder: the first one registered as a service, the one selected by the
+     * {@value #RECORDER_PROPERTY} system property, or the {@link #NO_OP} one. Resolved once per JVM.
+     */
+    static StartupRecorder getDefault() {
+        return StartupRecorders.DEFAULT;
+    }
+}
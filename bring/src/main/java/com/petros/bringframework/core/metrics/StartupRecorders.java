@@ -0,0 +1,24 @@
+package com.petros.bringframework.core.metrics;
+
+import java.util.ServiceLoader;
+
+/**
+ * Resolves the {@linkplain StartupRecorder#getDefault() default} startup recorder.
+ */
+final class StartupRecorders {
+
+    static final StartupRecorder DEFAULT = load();
+
+    private StartupRecorders() {
+    }
+
+    private static StartupRecorder load() {
+        for (StartupRecorder recorder : ServiceLoader.load(StartupRecorder.class)) {
+            return recorder;
+        }
+        if (StartupRecorder.TIMELINE_RECORDER.equals(System.getProperty(StartupRecorder.RECORDER_PROPERTY))) {
+            return TimelineStartupRecorder.fromSystemProperties();
+        }
+        return StartupRecorder.NO_OP;
+    }
+}
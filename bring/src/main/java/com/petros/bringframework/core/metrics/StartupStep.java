@@ -0,0 +1,59 @@
+package com.petros.bringframework.core.metrics;
+
+import javax.annotation.Nullable;
+
+/**
+ * A step of the startup of an application context, started by a {@link StartupRecorder} and ended once done.
+ * Steps started on the same thread before this one ends are its children, e.g. the creation of a bean
+ * triggered by the injection into another one.
+ * <p>Steps are cheap to use when nothing is recorded. A step is ended in a {@code finally} block, so that
+ * a failure doesn't leave it open:
+ * <pre class="code">
+ * StartupStep step = recorder.start("beans.create").tag("beanName", beanName);
+ * try {
+ *     ...
+ * } finally {
+ *     step.end();
+ * }
+ * </pre>
+ *
+ * @see StartupRecorder
+ */
+public interface StartupStep extends AutoCloseable {
+
+    /**
+     * Return the name of the step, e.g. {@code "beans.create"}.
+     */
+    String getName();
+
+    /**
+     * Return the id of the step, unique within its recorder.
+     */
+    long getId();
+
+    /**
+     * Return the id of the step this one was started within, if any.
+     */
+    @Nullable
+    Long getParentId();
+
+    /**
+     * Attach a key/value tag to the step, e.g. the name of the bean it creates.
+     *
+     * @return this step
+     */
+    StartupStep tag(String key, String value);
+
+    /**
+     * Record the end of the step. Has no effect when called again.
+     */
+    void end();
+
+    /**
+     * Same as {@link #end()}.
+     */
+    @Override
+    default void close() {
+        end();
+    }
+}
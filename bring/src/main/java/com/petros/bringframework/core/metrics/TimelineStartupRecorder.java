@@ -0,0 +1,377 @@
+package com.petros.bringframework.core.metrics;
+
+import com.petros.bringframework.core.AssertUtils;
+import lombok.extern.log4j.Log4j2;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link StartupRecorder} keeping every ended step in memory, as a timeline that can be exported in the
+ * Chrome trace event format, e.g. for {@code chrome://tracing} or Perfetto, and summed up as the slowest
+ * beans of the startup.
+ * <p>When the refresh of a context ends, the {@linkplain #setSlowestBeansToLog slowest beans} of that refresh
+ * are logged and, if a {@linkplain #setTraceFile trace file} is set, the whole timeline is written to it.
+ * The time of a bean is its own: the creation of the beans it depends on is nested in its step and
+ * subtracted. Beans created on other threads than the refresh, on parallel pre-instantiation, are listed
+ * without the beans depending on them.
+ * <p>Prototypes keep being created after the startup, so at most {@linkplain #setCapacity capacity} steps are
+ * kept, later ones are dropped.
+ */
+@Log4j2
+public class TimelineStartupRecorder implements StartupRecorder {
+
+    /**
+     * System property with the file to write the Chrome trace to at the end of every context refresh.
+     */
+    public static final String TRACE_FILE_PROPERTY = "bring.startup.trace-file";
+
+    /**
+     * System property with the number of slowest beans to log at the end of every context refresh.
+     */
+    public static final String SLOWEST_BEANS_PROPERTY = "bring.startup.slowest-beans";
+
+    public static final int DEFAULT_SLOWEST_BEANS = 20;
+
+    public static final int DEFAULT_CAPACITY = 100_000;
+
+    static final String REFRESH_STEP = "context.refresh";
+    static final String BEAN_CREATION_STEP = "beans.create";
+    static final String BEAN_NAME_TAG = "beanName";
+
+    private final long origin = System.nanoTime();
+    private final AtomicLong ids = new AtomicLong();
+    private final ThreadLocal<Step> current = new ThreadLocal<>();
+    private final Queue<RecordedStep> steps = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+
+    private volatile int capacity = DEFAULT_CAPACITY;
+
+    @Nullable
+    private volatile Path traceFile;
+    private volatile int slowestBeansToLog = DEFAULT_SLOWEST_BEANS;
+
+    /**
+     * Create a recorder configured with the {@value #TRACE_FILE_PROPERTY} and {@value #SLOWEST_BEANS_PROPERTY}
+     * system properties.
+     */
+    public static TimelineStartupRecorder fromSystemProperties() {
+        TimelineStartupRecorder recorder = new TimelineStartupRecorder();
+        String traceFile = System.getProperty(TRACE_FILE_PROPERTY);
+        if (traceFile != null && !traceFile.isBlank()) {
+            recorder.setTraceFile(Path.of(traceFile));
+        }
+        recorder.setSlowestBeansToLog(Integer.getInteger(SLOWEST_BEANS_PROPERTY, DEFAULT_SLOWEST_BEANS));
+        return recorder;
+    }
+
+    /**
+     * Set the file to write the Chrome trace of all steps recorded so far to, whenever a context refresh ends.
+     * Default is none.
+     */
+    public void setTraceFile(@Nullable Path traceFile) {
+        this.traceFile = traceFile;
+    }
+
+    /**
+     * Set the number of slowest beans to log whenever a context refresh ends, zero for none.
+     * Default is {@value #DEFAULT_SLOWEST_BEANS}.
+     */
+    public void setSlowestBeansToLog(int slowestBeansToLog) {
+        AssertUtils.isTrue(slowestBeansToLog >= 0, "The number of beans must not be negative");
+        this.slowestBeansToLog = slowestBeansToLog;
+    }
+
+    /**
+     * Set the maximum number of steps to keep, later steps are dropped. Default is {@value #DEFAULT_CAPACITY}.
+     */
+    public void setCapacity(int capacity) {
+        AssertUtils.isTrue(capacity > 0, "The capacity must be positive");
+        this.capacity = capacity;
+    }
+
+    @Override
+    public StartupStep start(String name) {
+        Step step = new Step(ids.incrementAndGet(), name, current.get(), System.nanoTime() - origin);
+        current.set(step);
+        return step;
+    }
+
+    /**
+     * Return the steps ended so far, ordered by their start.
+     */
+    public List<RecordedStep> getSteps() {
+        List<RecordedStep> list = new ArrayList<>(steps);
+        list.sort(Comparator.comparingLong(RecordedStep::startNanos).thenComparingLong(RecordedStep::id));
+        return list;
+    }
+
+    /**
+     * Forget the steps recorded so far.
+     */
+    public void clear() {
+        steps.clear();
+        size.set(0);
+    }
+
+    /**
+     * Return the beans with the longest own creation time among the given steps.
+     *
+     * @param steps the steps to look at, e.g. the ones of a single refresh
+     * @param limit the maximum number of beans to return
+     */
+    public static List<BeanCreation> getSlowestBeans(List<RecordedStep> steps, int limit) {
+        Map<Long, RecordedStep> byId = new HashMap<>();
+        steps.forEach(step -> byId.put(step.id(), step));
+        Map<Long, Long> nestedNanos = new HashMap<>();
+        List<RecordedStep> creations = new ArrayList<>();
+        for (RecordedStep step : steps) {
+            if (BEAN_CREATION_STEP.equals(step.name())) {
+                creations.add(step);
+                RecordedStep requiring = requiringCreation(step, byId);
+                if (requiring != null) {
+                    nestedNanos.merge(requiring.id(), step.durationNanos(), Long::sum);
+                }
+            }
+        }
+        return creations.stream()
+                .map(step -> new BeanCreation(step.tags().getOrDefault(BEAN_NAME_TAG, "?"),
+                        step.durationNanos() - nestedNanos.getOrDefault(step.id(), 0L),
+                        step.durationNanos(), requiredBy(step, byId)))
+                .sorted(Comparator.comparingLong(BeanCreation::selfNanos).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * Write all steps recorded so far in the Chrome trace event format.
+     */
+    public void writeChromeTrace(Writer writer) throws IOException {
+        long pid = ProcessHandle.current().pid();
+        List<RecordedStep> list = getSteps();
+        writer.write("{\"traceEvents\":[");
+        Map<Long, String> threads = new LinkedHashMap<>();
+        boolean first = true;
+        for (RecordedStep step : list) {
+            threads.putIfAbsent(step.threadId(), step.threadName());
+            writer.write(first ? "\n" : ",\n");
+            first = false;
+            writer.write("{\"name\":");
+            writeString(writer, step.name());
+            writer.write(",\"cat\":\"bring\",\"ph\":\"X\",\"ts\":" + micros(step.startNanos())
+                    + ",\"dur\":" + micros(step.durationNanos()) + ",\"pid\":" + pid + ",\"tid\":" + step.threadId()
+                    + ",\"args\":{\"id\":" + step.id());
+            if (step.parentId() != null) {
+                writer.write(",\"parentId\":" + step.parentId());
+            }
+            for (Map.Entry<String, String> tag : step.tags().entrySet()) {
+                writer.write(',');
+                writeString(writer, tag.getKey());
+                writer.write(':');
+                writeString(writer, tag.getValue());
+            }
+            writer.write("}}");
+        }
+        for (Map.Entry<Long, String> thread : threads.entrySet()) {
+            writer.write(first ? "\n" : ",\n");
+            first = false;
+            writer.write("{\"name\":\"thread_name\",\"ph\":\"M\",\"pid\":" + pid + ",\"tid\":" + thread.getKey()
+                    + ",\"args\":{\"name\":");
+            writeString(writer, thread.getValue());
+            writer.write("}}");
+        }
+        writer.write("\n]}\n");
+    }
+
+    /**
+     * Write all steps recorded so far in the Chrome trace event format to the given file.
+     */
+    public void writeChromeTrace(Path file) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writeChromeTrace(writer);
+        }
+    }
+
+    /**
+     * Called when the refresh of a context ends.
+     *
+     * @param refresh the step of the refresh
+     */
+    protected void onRefreshEnd(RecordedStep refresh) {
+        int limit = slowestBeansToLog;
+        if (limit > 0 && log.isInfoEnabled()) {
+            long end = refresh.startNanos() + refresh.durationNanos();
+            List<RecordedStep> refreshSteps = steps.stream()
+                    .filter(step -> step.startNanos() >= refresh.startNanos() && step.startNanos() <= end)
+                    .toList();
+            List<BeanCreation> slowest = getSlowestBeans(refreshSteps, limit);
+            if (!slowest.isEmpty()) {
+                StringBuilder message = new StringBuilder()
+                        .append(String.format("Context refreshed in %.2f ms, slowest %d beans by own creation time:",
+                                refresh.durationNanos() / 1_000_000.0, slowest.size()))
+                        .append(String.format("%n%10s %10s  %s", "self, ms", "total, ms", "bean <- required by"));
+                for (BeanCreation bean : slowest) {
+                    message.append(String.format("%n%10.2f %10.2f  %s", bean.selfNanos() / 1_000_000.0,
+                            bean.totalNanos() / 1_000_000.0, bean.beanName()));
+                    bean.requiredBy().forEach(name -> message.append(" <- ").append(name));
+                }
+                log.info(message);
+            }
+        }
+        Path file = traceFile;
+        if (file != null) {
+            try {
+                writeChromeTrace(file);
+                log.info("Startup trace written to {}", file);
+            } catch (IOException ex) {
+                log.warn("Couldn't write the startup trace to {}: {}", file, ex.getMessage(), ex);
+            }
+        }
+    }
+
+    @Nullable
+    private static RecordedStep requiringCreation(RecordedStep step, Map<Long, RecordedStep> byId) {
+        RecordedStep parent = step.parentId() != null ? byId.get(step.parentId()) : null;
+        while (parent != null && !BEAN_CREATION_STEP.equals(parent.name())) {
+            parent = parent.parentId() != null ? byId.get(parent.parentId()) : null;
+        }
+        return parent;
+    }
+
+    private static List<String> requiredBy(RecordedStep step, Map<Long, RecordedStep> byId) {
+        List<String> chain = new ArrayList<>();
+        for (RecordedStep requiring = requiringCreation(step, byId); requiring != null;
+             requiring = requiringCreation(requiring, byId)) {
+            chain.add(requiring.tags().getOrDefault(BEAN_NAME_TAG, "?"));
+        }
+        return chain;
+    }
+
+    private static String micros(long nanos) {
+        return String.valueOf(nanos / 1000) + '.' + String.format("%03d", nanos % 1000);
+    }
+
+    private static void writeString(Writer writer, String value) throws IOException {
+        writer.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> writer.write("\\\"");
+                case '\\' -> writer.write("\\\\");
+                case '\n' -> writer.write("\\n");
+                case '\r' -> writer.write("\\r");
+                case '\t' -> writer.write("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        writer.write(String.format("\\u%04x", (int) c));
+                    } else {
+                        writer.write(c);
+                    }
+                }
+            }
+        }
+        writer.write('"');
+    }
+
+    /**
+     * An ended step.
+     *
+     * @param startNanos    the start of the step, relative to the creation of the recorder
+     * @param durationNanos the time between the start and the end of the step
+     */
+    public record RecordedStep(long id, @Nullable Long parentId, String name, long threadId, String threadName,
+                               long startNanos, long durationNanos, Map<String, String> tags) {
+    }
+
+    /**
+     * The creation of a bean.
+     *
+     * @param selfNanos  the creation time of the bean, without the creation of the beans it depends on
+     * @param totalNanos the creation time of the bean, including the creation of the beans it depends on
+     * @param requiredBy the beans whose creation triggered the creation of this one, the closest first
+     */
+    public record BeanCreation(String beanName, long selfNanos, long totalNanos, List<String> requiredBy) {
+    }
+
+    private class Step implements StartupStep {
+        private final long id;
+        private final String name;
+        @Nullable
+        private final Step parent;
+        private final long startNanos;
+        private final Thread thread = Thread.currentThread();
+        private Map<String, String> tags = Collections.emptyMap();
+        private boolean ended;
+
+        Step(long id, String name, @Nullable Step parent, long startNanos) {
+            this.id = id;
+            this.name = name;
+            this.parent = parent;
+            this.startNanos = startNanos;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public long getId() {
+            return id;
+        }
+
+        @Nullable
+        @Override
+        public Long getParentId() {
+            return parent != null ? parent.id : null;
+        }
+
+        @Override
+        public StartupStep tag(String key, String value) {
+            if (tags.isEmpty()) {
+                tags = new LinkedHashMap<>(4);
+            }
+            tags.put(key, value);
+            return this;
+        }
+
+        @Override
+        public void end() {
+            if (ended) {
+                return;
+            }
+            ended = true;
+            long durationNanos = System.nanoTime() - origin - startNanos;
+            // Children left open, e.g. by an exception, stop being current along with their parent
+            for (Step step = current.get(); step != null; step = step.parent) {
+                if (step == this) {
+                    current.set(parent);
+                    break;
+                }
+            }
+            RecordedStep recorded = new RecordedStep(id, getParentId(), name, thread.getId(), thread.getName(),
+                    startNanos, durationNanos, tags);
+            if (size.get() < capacity && size.incrementAndGet() <= capacity) {
+                steps.add(recorded);
+            }
+            if (parent == null && REFRESH_STEP.equals(name)) {
+                onRefreshEnd(recorded);
+            }
+        }
+    }
+}
@@ -216,6 +216,17 @@ public class ResolvableType implements Serializable {
         return resolveType().getComponentType();
     }
 
+    /**
+     * Return a {@link ResolvableType} for the given {@link Type}, e.g. the generic type
+     * of a field, keeping its type arguments available through {@link #getType()}.
+     *
+     * @param type the source type (potentially {@code null})
+     * @return a {@link ResolvableType} for the specified {@link Type}, or {@link #NONE}
+     */
+    public static ResolvableType forType(@Nullable Type type) {
+        return forType(type, null, null);
+    }
+
     /**
      * Resolve this type by a single level, returning the resolved value or {@link #NONE}.
      * <p>Note: The returned {@link ResolvableType} should only be used as an intermediary
@@ -9,6 +9,7 @@ import javax.annotation.Nullable;
 import java.io.Serializable;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Field;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
@@ -73,6 +74,16 @@ public class TypeDescriptor implements Serializable {
         return new TypeDescriptor(ResolvableType.forRawClass(type), null, null);
     }
 
+    /**
+     * Create a new type descriptor for a field, including its generic type and annotations,
+     * e.g. to convert into the element type of a {@code List<Integer>} field.
+     * @param field the field
+     * @return the type descriptor
+     */
+    public static TypeDescriptor forField(Field field) {
+        return new TypeDescriptor(ResolvableType.forType(field.getGenericType()), field.getType(), field.getAnnotations());
+    }
+
     /**
      * Create a new type descriptor for an object.
      * <p>Use this factory method to introspect a source object before asking the
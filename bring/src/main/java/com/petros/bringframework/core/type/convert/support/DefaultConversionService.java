@@ -1,9 +1,45 @@
 package com.petros.bringframework.core.type.convert.support;
 
+import com.petros.bringframework.core.type.convert.ConversionFailedException;
 import com.petros.bringframework.core.type.convert.ConversionService;
+import com.petros.bringframework.core.type.convert.ConverterNotFoundException;
 import com.petros.bringframework.core.type.convert.TypeDescriptor;
+import com.petros.bringframework.util.ClassUtils;
+import com.petros.bringframework.util.StringUtils;
 
 import javax.annotation.Nullable;
+import java.io.File;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URI;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Period;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import static java.util.Objects.isNull;
 
@@ -11,11 +47,52 @@ import static java.util.Objects.isNull;
  * A specialization of {@link ConversionService} configured by default
  * with converters appropriate for most environments.
  *
+ * <p>Converts text, typically configuration values, into primitives and their wrappers,
+ * {@code BigInteger}/{@code BigDecimal}, enums, {@link Duration} (ISO-8601 such as
+ * {@code PT30S} or simple such as {@code 500ms}, {@code 30s}, {@code 5m}), {@link Period},
+ * {@link Charset}, {@link Locale}, {@link UUID}, {@link URI}, {@link Path}, {@link File},
+ * {@link ZoneId}, {@link Pattern} and {@code Class}. Comma-delimited text converts into
+ * arrays and collections of any of those, using the declared element type, and values are
+ * wrapped into {@link Optional} if required.
+ *
  * @author Viktor Basanets
  */
 
 public class DefaultConversionService implements ConversionService {
 
+    private static final Pattern SIMPLE_DURATION = Pattern.compile("^([+-]?\\d+)([a-zA-Z]{0,2})$");
+
+    private static final Map<String, ChronoUnit> DURATION_UNITS = Map.of(
+            "ns", ChronoUnit.NANOS, "us", ChronoUnit.MICROS, "ms", ChronoUnit.MILLIS,
+            "s", ChronoUnit.SECONDS, "m", ChronoUnit.MINUTES, "h", ChronoUnit.HOURS, "d", ChronoUnit.DAYS);
+
+    private static final Map<Class<?>, Function<String, Object>> STRING_CONVERTERS = new HashMap<>(32);
+
+    static {
+        STRING_CONVERTERS.put(Boolean.class, DefaultConversionService::toBoolean);
+        STRING_CONVERTERS.put(Character.class, DefaultConversionService::toCharacter);
+        STRING_CONVERTERS.put(Byte.class, text -> isHexNumber(text) ? Byte.decode(text) : Byte.valueOf(text));
+        STRING_CONVERTERS.put(Short.class, text -> isHexNumber(text) ? Short.decode(text) : Short.valueOf(text));
+        STRING_CONVERTERS.put(Integer.class, text -> isHexNumber(text) ? Integer.decode(text) : Integer.valueOf(text));
+        STRING_CONVERTERS.put(Long.class, text -> isHexNumber(text) ? Long.decode(text) : Long.valueOf(text));
+        STRING_CONVERTERS.put(Float.class, Float::valueOf);
+        STRING_CONVERTERS.put(Double.class, Double::valueOf);
+        STRING_CONVERTERS.put(BigInteger.class, BigInteger::new);
+        STRING_CONVERTERS.put(BigDecimal.class, BigDecimal::new);
+        STRING_CONVERTERS.put(Number.class, BigDecimal::new);
+        STRING_CONVERTERS.put(Duration.class, DefaultConversionService::toDuration);
+        STRING_CONVERTERS.put(Period.class, Period::parse);
+        STRING_CONVERTERS.put(Charset.class, Charset::forName);
+        STRING_CONVERTERS.put(Locale.class, text -> Locale.forLanguageTag(text.replace('_', '-')));
+        STRING_CONVERTERS.put(UUID.class, UUID::fromString);
+        STRING_CONVERTERS.put(URI.class, URI::create);
+        STRING_CONVERTERS.put(Path.class, Path::of);
+        STRING_CONVERTERS.put(File.class, File::new);
+        STRING_CONVERTERS.put(ZoneId.class, ZoneId::of);
+        STRING_CONVERTERS.put(Pattern.class, Pattern::compile);
+        STRING_CONVERTERS.put(Class.class, DefaultConversionService::toClass);
+    }
+
     @Nullable
     private static volatile DefaultConversionService sharedInstance;
 
@@ -32,14 +109,247 @@ public class DefaultConversionService implements ConversionService {
 
     @Override
     public boolean canConvert(@Nullable TypeDescriptor sourceType, TypeDescriptor targetType) {
-        //todo: implement method
-        return false;
+        if (targetType == null) {
+            throw new IllegalArgumentException("Target type to convert to cannot be null");
+        }
+        if (sourceType == null) {
+            return true;
+        }
+        return canConvert(sourceType.getType(), targetType.getType(), targetType.getResolvableType().getType());
+    }
+
+    private boolean canConvert(Class<?> sourceClass, Class<?> targetClass, Type genericTarget) {
+        Class<?> target = ClassUtils.resolvePrimitiveIfNecessary(targetClass);
+        if (target == Optional.class) {
+            Class<?> element = elementClass(genericTarget, 0);
+            return element == null || canConvert(sourceClass, element, element);
+        }
+        if (target.isArray() || Collection.class.isAssignableFrom(target)) {
+            Class<?> element = target.isArray() ? target.getComponentType() : elementClass(genericTarget, 0);
+            if (sourceClass.isArray() || Collection.class.isAssignableFrom(sourceClass)) {
+                return element == null || canConvert(Object.class, element, element) || canConvert(String.class, element, element);
+            }
+            return sourceClass == String.class && (element == null || canConvert(String.class, element, element));
+        }
+        if (target.isAssignableFrom(ClassUtils.resolvePrimitiveIfNecessary(sourceClass))) {
+            return true;
+        }
+        if (sourceClass == String.class) {
+            return STRING_CONVERTERS.containsKey(target) || target.isEnum();
+        }
+        return target == String.class && (ClassUtils.isPrimitiveOrWrapper(sourceClass)
+                || STRING_CONVERTERS.containsKey(sourceClass) || sourceClass.isEnum());
     }
 
     @Nullable
     @Override
     public Object convert(@Nullable Object source, @Nullable TypeDescriptor sourceType, TypeDescriptor targetType) {
-        //todo: implement method
-        return source;
+        if (targetType == null) {
+            throw new IllegalArgumentException("Target type to convert to cannot be null");
+        }
+        if (source != null && sourceType == null) {
+            throw new IllegalArgumentException("Source type must not be null for a non-null source");
+        }
+        if (source != null && !canConvert(sourceType, targetType)) {
+            throw new ConverterNotFoundException(sourceType, targetType);
+        }
+        try {
+            return convertValue(source, targetType.getType(), targetType.getResolvableType().getType());
+        } catch (ConversionFailedException ex) {
+            throw ex;
+        } catch (RuntimeException ex) {
+            throw new ConversionFailedException(sourceType, targetType, source, ex);
+        }
+    }
+
+    @Nullable
+    private Object convertValue(@Nullable Object source, Class<?> targetClass, Type genericTarget) {
+        Class<?> target = ClassUtils.resolvePrimitiveIfNecessary(targetClass);
+        if (target == Optional.class) {
+            Class<?> element = elementClass(genericTarget, 0);
+            Object value = element != null ? convertValue(source, element, elementType(genericTarget)) : source;
+            return Optional.ofNullable(value);
+        }
+        if (source == null) {
+            return null;
+        }
+        if (target.isArray()) {
+            List<?> elements = toElements(source);
+            Class<?> componentType = target.getComponentType();
+            Object array = Array.newInstance(componentType, elements.size());
+            for (int i = 0; i < elements.size(); i++) {
+                Array.set(array, i, convertValue(elements.get(i), componentType, componentType));
+            }
+            return array;
+        }
+        if (Collection.class.isAssignableFrom(target)) {
+            Class<?> element = elementClass(genericTarget, 0);
+            Collection<Object> collection = createCollection(target);
+            for (Object item : toElements(source)) {
+                collection.add(element != null ? convertValue(item, element, elementType(genericTarget)) : item);
+            }
+            return collection;
+        }
+        if (target.isInstance(source)) {
+            return source;
+        }
+        if (source instanceof String text) {
+            String trimmed = text.trim();
+            if (trimmed.isEmpty() && target != Character.class) {
+                return null;
+            }
+            if (target.isEnum()) {
+                return toEnum(trimmed, target);
+            }
+            Function<String, Object> converter = STRING_CONVERTERS.get(target);
+            if (converter != null) {
+                return converter.apply(target == Character.class ? text : trimmed);
+            }
+        }
+        if (target == String.class) {
+            return source instanceof Enum<?> enumValue ? enumValue.name() : source.toString();
+        }
+        throw new IllegalArgumentException("No conversion from " + source.getClass().getName() + " to " + target.getName());
+    }
+
+    private static List<?> toElements(Object source) {
+        if (source instanceof Collection<?> collection) {
+            return new ArrayList<>(collection);
+        }
+        if (source.getClass().isArray()) {
+            List<Object> elements = new ArrayList<>(Array.getLength(source));
+            for (int i = 0; i < Array.getLength(source); i++) {
+                elements.add(Array.get(source, i));
+            }
+            return elements;
+        }
+        if (source instanceof String text) {
+            List<String> elements = new ArrayList<>();
+            for (String element : StringUtils.commaDelimitedListToStringArray(text)) {
+                String trimmed = element.trim();
+                if (!trimmed.isEmpty()) {
+                    elements.add(trimmed);
+                }
+            }
+            return elements;
+        }
+        return List.of(source);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Collection<Object> createCollection(Class<?> collectionType) {
+        if (!collectionType.isInterface() && !Modifier.isAbstract(collectionType.getModifiers())) {
+            try {
+                Constructor<?> ctor = collectionType.getDeclaredConstructor();
+                return (Collection<Object>) ctor.newInstance();
+            } catch (ReflectiveOperationException ex) {
+                throw new IllegalArgumentException("Could not instantiate collection type " + collectionType.getName(), ex);
+            }
+        }
+        if (SortedSet.class == collectionType || NavigableSet.class == collectionType) {
+            return new TreeSet<>();
+        }
+        if (Set.class.isAssignableFrom(collectionType)) {
+            return new LinkedHashSet<>();
+        }
+        return new ArrayList<>();
+    }
+
+    /**
+     * The raw class of the given type argument of a parameterized type, {@code null} if not declared.
+     */
+    @Nullable
+    private static Class<?> elementClass(Type genericType, int index) {
+        Type argument = typeArgument(genericType, index);
+        if (argument instanceof Class<?> clazz) {
+            return clazz;
+        }
+        if (argument instanceof ParameterizedType parameterizedType && parameterizedType.getRawType() instanceof Class<?> raw) {
+            return raw;
+        }
+        return null;
+    }
+
+    private static Type elementType(Type genericType) {
+        Type argument = typeArgument(genericType, 0);
+        return argument != null ? argument : Object.class;
+    }
+
+    @Nullable
+    private static Type typeArgument(Type genericType, int index) {
+        if (!(genericType instanceof ParameterizedType parameterizedType)) {
+            return null;
+        }
+        Type[] arguments = parameterizedType.getActualTypeArguments();
+        if (index >= arguments.length) {
+            return null;
+        }
+        Type argument = arguments[index];
+        if (argument instanceof WildcardType wildcardType) {
+            Type[] upperBounds = wildcardType.getUpperBounds();
+            argument = upperBounds.length > 0 ? upperBounds[0] : Object.class;
+        }
+        return argument;
+    }
+
+    private static Boolean toBoolean(String text) {
+        return switch (text.toLowerCase(Locale.ROOT)) {
+            case "true", "on", "yes", "1" -> Boolean.TRUE;
+            case "false", "off", "no", "0" -> Boolean.FALSE;
+            default -> throw new IllegalArgumentException("Invalid boolean value '" + text + "'");
+        };
+    }
+
+    /**
+     * Whether the text has an explicit hex prefix, {@code 0x}, {@code 0X} or {@code #}. Any other
+     * integer text is read as decimal, so that a leading zero isn't taken for an octal number.
+     */
+    private static boolean isHexNumber(String text) {
+        int index = text.startsWith("-") || text.startsWith("+") ? 1 : 0;
+        return text.startsWith("0x", index) || text.startsWith("0X", index) || text.startsWith("#", index);
+    }
+
+    private static Character toCharacter(String text) {
+        if (text.length() != 1) {
+            throw new IllegalArgumentException("Can only convert a String of length 1 to a Character: '" + text + "'");
+        }
+        return text.charAt(0);
+    }
+
+    private static Duration toDuration(String text) {
+        Matcher matcher = SIMPLE_DURATION.matcher(text);
+        if (!matcher.matches()) {
+            return Duration.parse(text);
+        }
+        String unit = matcher.group(2).toLowerCase(Locale.ROOT);
+        ChronoUnit chronoUnit = unit.isEmpty() ? ChronoUnit.MILLIS : DURATION_UNITS.get(unit);
+        if (chronoUnit == null) {
+            throw new IllegalArgumentException("Unknown duration unit '" + unit + "' in '" + text + "'");
+        }
+        return Duration.of(Long.parseLong(matcher.group(1)), chronoUnit);
+    }
+
+    private static Class<?> toClass(String text) {
+        try {
+            return ClassUtils.forName(text, ClassUtils.getDefaultClassLoader());
+        } catch (ClassNotFoundException ex) {
+            throw new IllegalArgumentException("Class not found: " + text, ex);
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Object toEnum(String text, Class<?> enumType) {
+        try {
+            return Enum.valueOf((Class<? extends Enum>) enumType, text);
+        } catch (IllegalArgumentException ex) {
+            // Relaxed match, e.g. "read-only" for READ_ONLY
+            String relaxed = text.replace('-', '_');
+            for (Object constant : enumType.getEnumConstants()) {
+                if (((Enum<?>) constant).name().equalsIgnoreCase(relaxed)) {
+                    return constant;
+                }
+            }
+            throw ex;
+        }
     }
 }
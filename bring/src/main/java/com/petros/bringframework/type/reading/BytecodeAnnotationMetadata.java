@@ -0,0 +1,335 @@
+package com.petros.bringframework.type.reading;
+
+import com.petros.bringframework.beans.factory.config.AnnotationMetadata;
+import com.petros.bringframework.beans.factory.config.MethodMetadata;
+import com.petros.bringframework.beans.factory.config.ReflectionMethodMetadata;
+import com.petros.bringframework.type.reading.ClassMetadataReadingVisitor.EnumValue;
+import com.petros.bringframework.util.ClassUtils;
+import lombok.extern.log4j.Log4j2;
+import net.bytebuddy.jar.asm.Opcodes;
+import net.bytebuddy.jar.asm.Type;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * {@link AnnotationMetadata} read from a class file, see {@link BytecodeMetadataReader}.
+ *
+ * <p>Class metadata, annotation types, meta-annotations and annotation attributes are answered
+ * from the bytecode of the class and of its annotation types, without defining the class.
+ * Attribute values are converted to what reflection would return, so class literals and enum
+ * constants resolve the referenced types. Nested annotations are exposed as attribute maps.
+ *
+ * <p>{@link #getAnnotations()}, {@link #getDeclaredMethods()} and {@link #getAnnotatedMethods}
+ * hand out reflective objects and therefore load the class on first use.
+ */
+@Log4j2
+public class BytecodeAnnotationMetadata implements AnnotationMetadata {
+
+    private static final String JAVA_LANG_ANNOTATION_PACKAGE = "java.lang.annotation.";
+
+    private final String className;
+    private final int access;
+    @Nullable
+    private final String superClassName;
+    private final String[] interfaceNames;
+    @Nullable
+    private final String enclosingClassName;
+    private final boolean independentInnerClass;
+    private final String[] memberClassNames;
+    private final Map<String, Map<String, Object>> annotations;
+    private final Set<String> methodAnnotationTypes;
+    private final Map<String, Type> attributeTypes;
+    private final Map<String, Object> attributeDefaults;
+    private final BytecodeMetadataReaderFactory readerFactory;
+
+    @Nullable
+    private volatile Class<?> introspectedClass;
+
+    BytecodeAnnotationMetadata(ClassMetadataReadingVisitor visitor, BytecodeMetadataReaderFactory readerFactory) {
+        this.className = visitor.className;
+        this.access = visitor.access;
+        this.superClassName = visitor.superClassName;
+        this.interfaceNames = visitor.interfaceNames;
+        this.enclosingClassName = visitor.enclosingClassName;
+        this.independentInnerClass = visitor.independentInnerClass;
+        this.memberClassNames = visitor.memberClassNames.toArray(String[]::new);
+        this.annotations = visitor.annotations;
+        this.methodAnnotationTypes = visitor.methodAnnotationTypes;
+        this.attributeTypes = visitor.attributeTypes;
+        this.attributeDefaults = visitor.attributeDefaults;
+        this.readerFactory = readerFactory;
+    }
+
+    @Override
+    public String getClassName() {
+        return className;
+    }
+
+    @Override
+    public boolean isInterface() {
+        return (access & Opcodes.ACC_INTERFACE) != 0;
+    }
+
+    @Override
+    public boolean isAnnotation() {
+        return (access & Opcodes.ACC_ANNOTATION) != 0;
+    }
+
+    @Override
+    public boolean isAbstract() {
+        return (access & Opcodes.ACC_ABSTRACT) != 0;
+    }
+
+    @Override
+    public boolean isFinal() {
+        return (access & Opcodes.ACC_FINAL) != 0;
+    }
+
+    @Override
+    public boolean isIndependent() {
+        return enclosingClassName == null || independentInnerClass;
+    }
+
+    @Nullable
+    @Override
+    public String getEnclosingClassName() {
+        return enclosingClassName;
+    }
+
+    @Nullable
+    @Override
+    public String getSuperClassName() {
+        return superClassName;
+    }
+
+    @Override
+    public String[] getInterfaceNames() {
+        return interfaceNames.clone();
+    }
+
+    @Override
+    public String[] getMemberClassNames() {
+        return memberClassNames.clone();
+    }
+
+    @Override
+    public Set<String> getAnnotationTypes() {
+        return new LinkedHashSet<>(annotations.keySet());
+    }
+
+    @Override
+    public Set<String> getMetaAnnotationTypes(String annotationName) {
+        if (!annotations.containsKey(annotationName)) {
+            return new LinkedHashSet<>();
+        }
+        BytecodeAnnotationMetadata annotationType = readAnnotationType(annotationName);
+        return annotationType != null ? annotationType.getAnnotationTypes() : new LinkedHashSet<>();
+    }
+
+    @Override
+    public boolean hasAnnotation(String annotationName) {
+        return annotations.containsKey(annotationName);
+    }
+
+    @Override
+    public boolean isAnnotated(String annotationName) {
+        return hasAnnotation(annotationName);
+    }
+
+    /**
+     * Checks the meta-annotations of the present annotations, at any depth.
+     */
+    @Override
+    public boolean hasMetaAnnotation(String metaAnnotationName) {
+        Set<String> visited = new HashSet<>();
+        for (String annotationName : annotations.keySet()) {
+            if (isMetaAnnotated(annotationName, metaAnnotationName, visited)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isMetaAnnotated(String annotationName, String metaAnnotationName, Set<String> visited) {
+        if (annotationName.startsWith(JAVA_LANG_ANNOTATION_PACKAGE) || !visited.add(annotationName)) {
+            return false;
+        }
+        BytecodeAnnotationMetadata annotationType = readAnnotationType(annotationName);
+        if (annotationType == null) {
+            return false;
+        }
+        for (String metaAnnotation : annotationType.annotations.keySet()) {
+            if (metaAnnotation.equals(metaAnnotationName)
+                    || isMetaAnnotated(metaAnnotation, metaAnnotationName, visited)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean hasAnnotatedMethods(String annotationName) {
+        return methodAnnotationTypes.contains(annotationName);
+    }
+
+    @Override
+    public Set<MethodMetadata> getAnnotatedMethods(String annotationName) {
+        if (!hasAnnotatedMethods(annotationName)) {
+            return new HashSet<>();
+        }
+        return getDeclaredMethods().stream()
+                .filter(methodMetadata -> methodMetadata.isAnnotated(annotationName))
+                .collect(Collectors.toSet());
+    }
+
+    @Override
+    public Set<MethodMetadata> getDeclaredMethods() {
+        return Arrays.stream(getIntrospectedClass().getDeclaredMethods())
+                .map(ReflectionMethodMetadata::new)
+                .collect(Collectors.toSet());
+    }
+
+    @Override
+    public Set<Annotation> getAnnotations() {
+        return Arrays.stream(getIntrospectedClass().getDeclaredAnnotations()).collect(Collectors.toSet());
+    }
+
+    /**
+     * Retrieves the attributes of the given annotation, with defaults taken from the class file
+     * of the annotation type.
+     *
+     * @param annotationName the name of the annotation to retrieve attributes for
+     * @return a map containing the attributes of the specified annotation, or null if not present
+     */
+    @Nullable
+    @Override
+    public Map<String, Object> getAnnotationAttributes(String annotationName) {
+        Map<String, Object> declared = annotations.get(annotationName);
+        if (declared == null) {
+            return null;
+        }
+        BytecodeAnnotationMetadata annotationType = readAnnotationType(annotationName);
+        Map<String, Type> types = annotationType != null ? annotationType.attributeTypes : Collections.emptyMap();
+        Map<String, Object> merged = new LinkedHashMap<>();
+        if (annotationType != null) {
+            merged.putAll(annotationType.attributeDefaults);
+        }
+        merged.putAll(declared);
+
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        merged.forEach((name, value) -> {
+            Object converted = convert(value, types.get(name));
+            if (converted != null) {
+                attributes.put(name, converted);
+            }
+        });
+        return attributes;
+    }
+
+    private Class<?> getIntrospectedClass() {
+        Class<?> clazz = introspectedClass;
+        if (clazz == null) {
+            try {
+                clazz = ClassUtils.forName(className, readerFactory.getClassLoader());
+            } catch (ClassNotFoundException ex) {
+                throw new IllegalStateException("Could not load class [" + className + "]", ex);
+            }
+            introspectedClass = clazz;
+        }
+        return clazz;
+    }
+
+    @Nullable
+    private BytecodeAnnotationMetadata readAnnotationType(String annotationName) {
+        try {
+            return readerFactory.getMetadataReader(annotationName).getAnnotationMetadata();
+        } catch (IOException ex) {
+            log.debug("Could not read annotation type [{}]: {}", annotationName, ex.getMessage());
+            return null;
+        }
+    }
+
+    @Nullable
+    @SuppressWarnings("unchecked")
+    private Object convert(Object value, @Nullable Type expectedType) {
+        if (value instanceof Type type) {
+            return resolveClass(type.getClassName(), type.getClassName());
+        }
+        if (value instanceof EnumValue enumValue) {
+            return resolveEnum(enumValue);
+        }
+        if (value instanceof List<?> elements) {
+            Type elementType = expectedType != null && expectedType.getSort() == Type.ARRAY
+                    ? expectedType.getElementType() : null;
+            Class<?> componentType = resolveComponentType(elementType);
+            Object array = Array.newInstance(componentType, elements.size());
+            try {
+                for (int i = 0; i < elements.size(); i++) {
+                    Array.set(array, i, convert(elements.get(i), elementType));
+                }
+            } catch (IllegalArgumentException ex) {
+                // An element couldn't be resolved to the declared type, e.g. a missing class
+                return elements.stream().map(element -> convert(element, elementType)).toArray();
+            }
+            return array;
+        }
+        if (value instanceof Map<?, ?> nested) {
+            Map<String, Object> nestedAttributes = new LinkedHashMap<>();
+            ((Map<String, Object>) nested).forEach((name, nestedValue) ->
+                    nestedAttributes.put(name, convert(nestedValue, null)));
+            return nestedAttributes;
+        }
+        return value;
+    }
+
+    private Object resolveClass(String name, Object fallback) {
+        try {
+            return ClassUtils.forName(name, readerFactory.getClassLoader());
+        } catch (ClassNotFoundException | LinkageError ex) {
+            log.debug("Could not resolve class [{}] referenced by annotation on [{}]", name, className);
+            return fallback;
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Object resolveEnum(EnumValue enumValue) {
+        Object enumClass = resolveClass(enumValue.enumClassName(), null);
+        if (enumClass instanceof Class<?> clazz && clazz.isEnum()) {
+            return Enum.valueOf((Class<? extends Enum>) clazz, enumValue.constantName());
+        }
+        return enumValue.constantName();
+    }
+
+    private Class<?> resolveComponentType(@Nullable Type elementType) {
+        if (elementType == null) {
+            return Object.class;
+        }
+        return switch (elementType.getSort()) {
+            case Type.BOOLEAN -> boolean.class;
+            case Type.CHAR -> char.class;
+            case Type.BYTE -> byte.class;
+            case Type.SHORT -> short.class;
+            case Type.INT -> int.class;
+            case Type.FLOAT -> float.class;
+            case Type.LONG -> long.class;
+            case Type.DOUBLE -> double.class;
+            default -> {
+                Object resolved = resolveClass(elementType.getClassName(), Object.class);
+                Class<?> clazz = (Class<?>) resolved;
+                yield clazz.isAnnotation() ? Map.class : clazz;
+            }
+        };
+    }
+}
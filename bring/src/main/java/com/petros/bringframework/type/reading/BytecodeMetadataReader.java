@@ -0,0 +1,33 @@
+package com.petros.bringframework.type.reading;
+
+import com.petros.bringframework.beans.factory.config.ClassMetadata;
+import net.bytebuddy.jar.asm.ClassReader;
+
+/**
+ * {@link MetadataReader} implementation parsing the class file with ASM (as bundled with
+ * ByteBuddy), so that metadata can be inspected without defining the class.
+ *
+ * @see BytecodeMetadataReaderFactory
+ * @see BytecodeAnnotationMetadata
+ */
+public class BytecodeMetadataReader implements MetadataReader {
+
+    private final BytecodeAnnotationMetadata annotationMetadata;
+
+    BytecodeMetadataReader(byte[] classFile, BytecodeMetadataReaderFactory readerFactory) {
+        ClassMetadataReadingVisitor visitor = new ClassMetadataReadingVisitor();
+        new ClassReader(classFile).accept(visitor,
+                ClassReader.SKIP_CODE | ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
+        this.annotationMetadata = new BytecodeAnnotationMetadata(visitor, readerFactory);
+    }
+
+    @Override
+    public ClassMetadata getClassMetadata() {
+        return annotationMetadata;
+    }
+
+    @Override
+    public BytecodeAnnotationMetadata getAnnotationMetadata() {
+        return annotationMetadata;
+    }
+}
@@ -0,0 +1,69 @@
+package com.petros.bringframework.type.reading;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link MetadataReaderFactory} parsing ".class" files found through a {@link ClassLoader}
+ * without defining the classes they describe.
+ *
+ * <p>Readers are cached, which matters since annotation types are looked up over and over
+ * while resolving meta-annotations and attribute defaults. The cache is unbounded, so it has
+ * to be {@linkplain #clearCache() cleared} once reading is over, as the scanner does after
+ * each scan.
+ *
+ * @see BytecodeMetadataReader
+ */
+public class BytecodeMetadataReaderFactory implements MetadataReaderFactory {
+
+    private static final String CLASS_FILE_SUFFIX = ".class";
+
+    private final ClassLoader classLoader;
+    private final Map<String, BytecodeMetadataReader> cache = new ConcurrentHashMap<>();
+
+    public BytecodeMetadataReaderFactory(ClassLoader classLoader) {
+        this.classLoader = classLoader;
+    }
+
+    /**
+     * Return the ClassLoader used to find class files and to resolve attribute values.
+     */
+    public ClassLoader getClassLoader() {
+        return classLoader;
+    }
+
+    @Override
+    public BytecodeMetadataReader getMetadataReader(String className) throws IOException {
+        BytecodeMetadataReader reader = cache.get(className);
+        if (reader == null) {
+            reader = readClassFile(className);
+            BytecodeMetadataReader existing = cache.putIfAbsent(className, reader);
+            if (existing != null) {
+                reader = existing;
+            }
+        }
+        return reader;
+    }
+
+    private BytecodeMetadataReader readClassFile(String className) throws IOException {
+        String resourcePath = className.replace('.', '/') + CLASS_FILE_SUFFIX;
+        try (InputStream is = classLoader.getResourceAsStream(resourcePath)) {
+            if (is == null) {
+                throw new FileNotFoundException("Class file [" + resourcePath + "] not found");
+            }
+            return new BytecodeMetadataReader(is.readAllBytes(), this);
+        }
+    }
+
+    /**
+     * Remove all cached readers, e.g. once scanning is over.
+     *
+     * @see com.petros.bringframework.context.annotation.SimpleClassPathBeanDefinitionScanner#scan
+     */
+    public void clearCache() {
+        cache.clear();
+    }
+}
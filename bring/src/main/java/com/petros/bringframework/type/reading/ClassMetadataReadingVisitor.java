@@ -0,0 +1,183 @@
+package com.petros.bringframework.type.reading;
+
+import net.bytebuddy.jar.asm.AnnotationVisitor;
+import net.bytebuddy.jar.asm.ClassVisitor;
+import net.bytebuddy.jar.asm.MethodVisitor;
+import net.bytebuddy.jar.asm.Opcodes;
+import net.bytebuddy.jar.asm.Type;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * ASM class visitor collecting the class level metadata exposed by {@link BytecodeAnnotationMetadata}.
+ *
+ * <p>Only runtime-visible annotations are recorded, mirroring what reflection would see.
+ * Attribute values are kept as read from the class file: boxed primitives, strings,
+ * {@link Type} for class literals, {@link EnumValue} for enum constants, {@link List}
+ * for arrays and nested {@link Map maps} for annotations.
+ */
+class ClassMetadataReadingVisitor extends ClassVisitor {
+
+    String className = "";
+    int access;
+    String superClassName;
+    String[] interfaceNames = new String[0];
+    String enclosingClassName;
+    boolean independentInnerClass;
+    final Set<String> memberClassNames = new LinkedHashSet<>();
+    final Map<String, Map<String, Object>> annotations = new LinkedHashMap<>();
+    final Set<String> methodAnnotationTypes = new LinkedHashSet<>();
+    /**
+     * Attribute name to return type, populated for annotation types only.
+     */
+    final Map<String, Type> attributeTypes = new LinkedHashMap<>();
+    /**
+     * Attribute name to default value, populated for annotation types only.
+     */
+    final Map<String, Object> attributeDefaults = new LinkedHashMap<>();
+
+    ClassMetadataReadingVisitor() {
+        super(Opcodes.ASM9);
+    }
+
+    @Override
+    public void visit(int version, int access, String name, String signature,
+                      String superName, String[] interfaces) {
+        this.className = toClassName(name);
+        this.access = access;
+        if (superName != null && (access & Opcodes.ACC_INTERFACE) == 0) {
+            this.superClassName = toClassName(superName);
+        }
+        this.interfaceNames = new String[interfaces.length];
+        for (int i = 0; i < interfaces.length; i++) {
+            this.interfaceNames[i] = toClassName(interfaces[i]);
+        }
+    }
+
+    @Override
+    public void visitOuterClass(String owner, String name, String descriptor) {
+        this.enclosingClassName = toClassName(owner);
+    }
+
+    @Override
+    public void visitInnerClass(String name, String outerName, String innerName, int access) {
+        if (outerName == null) {
+            return;
+        }
+        String innerClassName = toClassName(name);
+        String outerClassName = toClassName(outerName);
+        if (className.equals(innerClassName)) {
+            this.enclosingClassName = outerClassName;
+            this.independentInnerClass = (access & Opcodes.ACC_STATIC) != 0;
+        } else if (className.equals(outerClassName)) {
+            this.memberClassNames.add(innerClassName);
+        }
+    }
+
+    @Override
+    public AnnotationVisitor visitAnnotation(String descriptor, boolean visible) {
+        if (!visible) {
+            return null;
+        }
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        annotations.put(Type.getType(descriptor).getClassName(), attributes);
+        return new AttributesVisitor(attributes::put);
+    }
+
+    @Override
+    public MethodVisitor visitMethod(int access, String name, String descriptor,
+                                     String signature, String[] exceptions) {
+        if ((access & Opcodes.ACC_SYNTHETIC) != 0 || (access & Opcodes.ACC_BRIDGE) != 0) {
+            return null;
+        }
+        boolean annotationAttribute = (this.access & Opcodes.ACC_ANNOTATION) != 0
+                && (access & Opcodes.ACC_ABSTRACT) != 0;
+        if (annotationAttribute) {
+            attributeTypes.put(name, Type.getReturnType(descriptor));
+        }
+        return new MethodVisitor(Opcodes.ASM9) {
+            @Override
+            public AnnotationVisitor visitAnnotation(String annotationDescriptor, boolean visible) {
+                if (visible) {
+                    methodAnnotationTypes.add(Type.getType(annotationDescriptor).getClassName());
+                }
+                return null;
+            }
+
+            @Override
+            public AnnotationVisitor visitAnnotationDefault() {
+                return annotationAttribute
+                        ? new AttributesVisitor((attributeName, value) -> attributeDefaults.put(name, value))
+                        : null;
+            }
+        };
+    }
+
+    static String toClassName(String internalName) {
+        return internalName.replace('/', '.');
+    }
+
+    /**
+     * Enum constant read from an annotation attribute.
+     */
+    record EnumValue(String enumClassName, String constantName) {
+    }
+
+    /**
+     * Collects annotation attribute values; used for annotations, nested annotations,
+     * arrays (where names are {@code null}) and annotation defaults.
+     */
+    private static class AttributesVisitor extends AnnotationVisitor {
+
+        private final Sink sink;
+
+        AttributesVisitor(Sink sink) {
+            super(Opcodes.ASM9);
+            this.sink = sink;
+        }
+
+        @Override
+        public void visit(String name, Object value) {
+            if (value != null && value.getClass().isArray()) {
+                // Primitive arrays are reported at once
+                int length = Array.getLength(value);
+                List<Object> elements = new ArrayList<>(length);
+                for (int i = 0; i < length; i++) {
+                    elements.add(Array.get(value, i));
+                }
+                value = elements;
+            }
+            sink.accept(name, value);
+        }
+
+        @Override
+        public void visitEnum(String name, String descriptor, String value) {
+            sink.accept(name, new EnumValue(Type.getType(descriptor).getClassName(), value));
+        }
+
+        @Override
+        public AnnotationVisitor visitAnnotation(String name, String descriptor) {
+            Map<String, Object> nested = new LinkedHashMap<>();
+            sink.accept(name, nested);
+            return new AttributesVisitor(nested::put);
+        }
+
+        @Override
+        public AnnotationVisitor visitArray(String name) {
+            List<Object> elements = new ArrayList<>();
+            sink.accept(name, elements);
+            return new AttributesVisitor((elementName, value) -> elements.add(value));
+        }
+    }
+
+    @FunctionalInterface
+    private interface Sink {
+        void accept(String name, Object value);
+    }
+}
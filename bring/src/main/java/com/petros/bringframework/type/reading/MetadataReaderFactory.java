@@ -0,0 +1,22 @@
+package com.petros.bringframework.type.reading;
+
+import java.io.IOException;
+
+/**
+ * Factory interface for {@link MetadataReader} instances.
+ *
+ * @see ReflectionMetadataReaderFactory
+ * @see BytecodeMetadataReaderFactory
+ */
+public interface MetadataReaderFactory {
+
+    /**
+     * Obtain a MetadataReader for the given class name.
+     *
+     * @param className the class name (to be resolved to a ".class" file or a loaded class)
+     * @return a holder for the ClassReader instance (never {@code null})
+     * @throws IOException in case of an I/O failure or if the class can't be found
+     */
+    MetadataReader getMetadataReader(String className) throws IOException;
+
+}
@@ -0,0 +1,32 @@
+package com.petros.bringframework.type.reading;
+
+import com.petros.bringframework.util.ClassUtils;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+
+/**
+ * {@link MetadataReaderFactory} loading the requested class and introspecting it
+ * through reflection.
+ *
+ * @see ReflectionMetadataReader
+ */
+public class ReflectionMetadataReaderFactory implements MetadataReaderFactory {
+
+    private final ClassLoader classLoader;
+
+    public ReflectionMetadataReaderFactory(ClassLoader classLoader) {
+        this.classLoader = classLoader;
+    }
+
+    @Override
+    public MetadataReader getMetadataReader(String className) throws IOException {
+        try {
+            return new ReflectionMetadataReader(ClassUtils.forName(className, classLoader));
+        } catch (ClassNotFoundException | LinkageError ex) {
+            FileNotFoundException notFound = new FileNotFoundException("Class [" + className + "] can't be loaded");
+            notFound.initCause(ex);
+            throw notFound;
+        }
+    }
+}
@@ -243,6 +243,17 @@ public abstract class ClassUtils {
         return clazz.getTypeName();
     }
 
+    /**
+     * Resolve the given class if it is a primitive class,
+     * returning the corresponding primitive wrapper type instead.
+     * @param clazz the class to check
+     * @return the original class, or a primitive wrapper for the original primitive type
+     */
+    public static Class<?> resolvePrimitiveIfNecessary(Class<?> clazz) {
+        notNull(clazz, "Class must not be null");
+        return (clazz.isPrimitive() && clazz != void.class ? primitiveTypeToWrapperMap.get(clazz) : clazz);
+    }
+
     /**
      * Check if the given class represents a primitive (i.e. boolean, byte,
      * char, short, int, long, float, or double), {@code void}, or a wrapper for
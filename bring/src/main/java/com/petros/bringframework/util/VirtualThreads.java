@@ -0,0 +1,65 @@
+package com.petros.bringframework.util;
+
+import lombok.extern.log4j.Log4j2;
+
+import javax.annotation.Nullable;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Access to virtual threads while the framework is still compiled for Java 17.
+ *
+ * <p>The executor factory of JDK 21 is looked up reflectively once, so the same build runs on
+ * older JDKs, where virtual threads are simply reported as unsupported.
+ */
+@Log4j2
+public abstract class VirtualThreads {
+
+    private static final int FIRST_FINAL_RELEASE = 21;
+
+    @Nullable
+    private static final MethodHandle NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR = findExecutorFactory();
+
+    @Nullable
+    private static MethodHandle findExecutorFactory() {
+        // A preview feature before 21, unusable without --enable-preview
+        if (Runtime.version().feature() < FIRST_FINAL_RELEASE) {
+            return null;
+        }
+        try {
+            return MethodHandles.publicLookup().findStatic(Executors.class, "newVirtualThreadPerTaskExecutor",
+                    MethodType.methodType(ExecutorService.class));
+        } catch (NoSuchMethodException | IllegalAccessException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Whether the running JDK supports virtual threads.
+     */
+    public static boolean isSupported() {
+        return NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR != null;
+    }
+
+    /**
+     * Create an executor that starts a new virtual thread for each task.
+     *
+     * @return the executor, or {@code null} if the running JDK doesn't support virtual threads
+     */
+    @Nullable
+    public static ExecutorService newVirtualThreadPerTaskExecutor() {
+        if (NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR == null) {
+            log.warn("Virtual threads require Java {}+, running on {}", FIRST_FINAL_RELEASE, Runtime.version());
+            return null;
+        }
+        try {
+            return (ExecutorService) NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR.invokeExact();
+        } catch (Throwable ex) {
+            log.warn("Could not create a virtual thread executor: {}", ex.toString());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.petros.bringframework.web.context.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Annotation that indicates the responses of a GET handler method are cached in memory by the dispatcher.
+ * Responses are cached per path, query string and the declared request headers, and carry a strong ETag,
+ * so a request with a matching {@code If-None-Match} is answered with 304. The controller isn't invoked
+ * while a cached response is fresh, only its status 200, content type and body are cached.
+ *
+ * @see com.petros.bringframework.web.servlet.support.cache.ResponseCache
+ * @Project: bring-framework
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface CacheResponse {
+
+    /**
+     * How long a cached response is fresh, in {@link #timeUnit()}.
+     *
+     * @return the time to live
+     */
+    long ttl() default 60;
+
+    /**
+     * The unit of {@link #ttl()}.
+     *
+     * @return the time unit
+     */
+    TimeUnit timeUnit() default TimeUnit.SECONDS;
+
+    /**
+     * The request headers responses vary by, e.g. {@code Accept-Language}.
+     *
+     * @return the header names
+     */
+    String[] varyHeaders() default {};
+}
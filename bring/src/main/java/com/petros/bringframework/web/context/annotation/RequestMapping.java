@@ -1,5 +1,6 @@
 package com.petros.bringframework.web.context.annotation;
 
+import com.petros.bringframework.web.servlet.support.common.Compression;
 import com.petros.bringframework.web.servlet.support.common.RequestMethod;
 
 import java.lang.annotation.ElementType;
@@ -32,4 +33,19 @@ public @interface RequestMapping {
      * @return the HTTP request method
      */
     RequestMethod method();
+
+    /**
+     * Whether responses of the annotated method are compressed. By default as configured for the dispatcher.
+     *
+     * @return the response compression
+     */
+    Compression compression() default Compression.DEFAULT;
+
+    /**
+     * The minimum size in bytes of a response body to compress. Negative, the default, for the size configured
+     * for the dispatcher.
+     *
+     * @return the minimum size to compress
+     */
+    int compressionMinSize() default -1;
 }
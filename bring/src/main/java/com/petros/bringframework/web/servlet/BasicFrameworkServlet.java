@@ -2,25 +2,65 @@ package com.petros.bringframework.web.servlet;
 
 import com.petros.bringframework.web.context.WebAppContext;
 import com.petros.bringframework.web.context.annotation.ServletAnnotationConfigApplicationContext;
+import com.petros.bringframework.web.servlet.support.RequestResponseHandler;
+import com.petros.bringframework.web.servlet.support.body.BufferPool;
+import com.petros.bringframework.web.servlet.support.body.BufferedRequestBody;
+import com.petros.bringframework.web.servlet.support.body.RequestBodyReader;
+import com.petros.bringframework.web.servlet.support.cache.ResponseCache;
 import com.petros.bringframework.web.servlet.support.common.RequestMethod;
+import com.petros.bringframework.web.servlet.support.compress.ResponseCompressor;
 import com.petros.bringframework.web.servlet.support.mapper.DataMapper;
+import com.petros.bringframework.web.servlet.support.resource.ResourceHandler;
 import com.petros.bringframework.web.servlet.support.utils.Http;
+import lombok.extern.log4j.Log4j2;
 
 import javax.annotation.Nullable;
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
 import javax.servlet.ServletContext;
 import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 /** The basic abstract implementation of a HttpServlet abstract class and is used to specify the flow sequence
  * @author Viktor Basanets
  * @author Serhii Dorodko
  * @Project: bring-framework
  */
+@Log4j2
 public abstract class BasicFrameworkServlet extends HttpServlet {
 
+    public static final long DEFAULT_MAX_BODY_SIZE = 10 * 1024 * 1024;
+
     protected WebAppContext webAppContext;
 
+    private long asyncTimeout = -1;
+
+    @Nullable
+    private Executor dispatchExecutor;
+
+    private boolean nonBlockingBodyReading;
+
+    private long maxBodySize = DEFAULT_MAX_BODY_SIZE;
+
+    private BufferPool bufferPool = BufferPool.getSharedInstance();
+
+    private ResponseCompressor responseCompressor = new ResponseCompressor();
+
+    @Nullable
+    private ResponseCache responseCache = new ResponseCache();
+
+    private final List<ResourceHandler> resourceHandlers = new CopyOnWriteArrayList<>();
+
     /**
      * Create a new {@code FrameworkServlet} with the given web application context. This
      * constructor is useful in Servlet environments where instance-based registration
@@ -31,13 +71,291 @@ public abstract class BasicFrameworkServlet extends HttpServlet {
         this.webAppContext = webAppContext;
     }
 
-    protected void handleRequest(HttpServletRequest req, HttpServletResponse resp, RequestMethod method){
+    /**
+     * Set the timeout in milliseconds for requests handled asynchronously, i.e. by controller methods
+     * returning a {@link java.util.concurrent.CompletionStage}. Zero means no timeout, a negative value
+     * (the default) keeps the timeout of the container. A timed out request is answered with 503
+     */
+    public void setAsyncTimeout(long asyncTimeout) {
+        this.asyncTimeout = asyncTimeout;
+    }
+
+    public long getAsyncTimeout() {
+        return asyncTimeout;
+    }
+
+    /**
+     * Set the executor to run controller invocations on, e.g. one starting a virtual thread per task.
+     * The request is put into asynchronous mode and the container thread is released while the controller
+     * runs, so blocking calls in controllers don't hold container threads. The async timeout applies, a negative
+     * one keeps the timeout of the container. A request timed out is answered with 503 and whatever the controller
+     * still writes is dropped. Requires async support, requests are handled on the container thread otherwise.
+     * An {@link ExecutorService} is shut down with the servlet
+     * @see com.petros.bringframework.util.VirtualThreads#newVirtualThreadPerTaskExecutor()
+     */
+    public void setDispatchExecutor(@Nullable Executor dispatchExecutor) {
+        this.dispatchExecutor = dispatchExecutor;
+    }
+
+    @Nullable
+    public Executor getDispatchExecutor() {
+        return dispatchExecutor;
+    }
+
+    /**
+     * Set whether request bodies mapped to controller arguments are read without blocking before the controller is
+     * invoked, see {@link RequestBodyReader}. A slow upload then doesn't hold a container thread. Requires async
+     * support. Default is {@code false}: the body is read with blocking I/O when the arguments are bound
+     */
+    public void setNonBlockingBodyReading(boolean nonBlockingBodyReading) {
+        this.nonBlockingBodyReading = nonBlockingBodyReading;
+    }
+
+    public boolean isNonBlockingBodyReading() {
+        return nonBlockingBodyReading;
+    }
+
+    /**
+     * Set the maximum size in bytes of a body read without blocking, larger bodies are answered with 413.
+     * Default is 10 MB
+     */
+    public void setMaxBodySize(long maxBodySize) {
+        this.maxBodySize = maxBodySize;
+    }
+
+    public long getMaxBodySize() {
+        return maxBodySize;
+    }
+
+    /**
+     * Set the pool of the buffers bodies are read into. Default is {@link BufferPool#getSharedInstance()}
+     */
+    public void setBufferPool(BufferPool bufferPool) {
+        this.bufferPool = bufferPool;
+    }
+
+    /**
+     * Set the response compression stage. Default is a {@link ResponseCompressor} with compression disabled,
+     * which still compresses the responses of mappings declaring {@code compression = ENABLED}
+     */
+    public void setResponseCompressor(ResponseCompressor responseCompressor) {
+        this.responseCompressor = responseCompressor;
+    }
+
+    public ResponseCompressor getResponseCompressor() {
+        return responseCompressor;
+    }
+
+    /**
+     * Set the cache of the responses of handlers annotated with
+     * {@link com.petros.bringframework.web.context.annotation.CacheResponse}, {@code null} to invoke them
+     * on every request. Default is a {@link ResponseCache} with default bounds
+     */
+    public void setResponseCache(@Nullable ResponseCache responseCache) {
+        this.responseCache = responseCache;
+    }
+
+    @Nullable
+    public ResponseCache getResponseCache() {
+        return responseCache;
+    }
+
+    /**
+     * Add a handler of static files, which serves GET and HEAD requests no controller method is mapped to
+     */
+    public void addResourceHandler(ResourceHandler resourceHandler) {
+        resourceHandlers.add(resourceHandler);
+    }
+
+    public List<ResourceHandler> getResourceHandlers() {
+        return List.copyOf(resourceHandlers);
+    }
+
+    @Override
+    public void destroy() {
+        if (dispatchExecutor instanceof ExecutorService executorService) {
+            executorService.shutdown();
+        }
+        super.destroy();
+    }
+
+    protected void handleRequest(HttpServletRequest req, HttpServletResponse resp, RequestMethod method) {
+        if (nonBlockingBodyReading && readBodyAhead(req, resp, method)) {
+            // Handled on the async dispatch once the body is read
+            return;
+        }
+        var executor = dispatchExecutor;
+        if (executor != null && req.isAsyncSupported() && !req.isAsyncStarted()) {
+            dispatch(executor, req, resp, method);
+            return;
+        }
+        doHandleRequest(req, resp, method);
+    }
+
+    private boolean readBodyAhead(HttpServletRequest req, HttpServletResponse resp, RequestMethod method) {
+        if (!req.isAsyncSupported() || req.isAsyncStarted() || BufferedRequestBody.from(req) != null
+                || !RequestBodyReader.hasBody(req)) {
+            return false;
+        }
+        var handlerRegistry = ((ServletAnnotationConfigApplicationContext) webAppContext).getRequestHandlerRegistry();
+        var handler = handlerRegistry.getHandler(method, req.getServletPath());
+        if (handler.isEmpty() || !handler.get().readsRequestBody()) {
+            return false;
+        }
+        try {
+            RequestBodyReader.readThenDispatch(req, resp, bufferPool, maxBodySize, asyncTimeout);
+        } catch (IOException e) {
+            log.debug("An exception occurred while reading the request body: {}", e.getMessage(), e);
+            throw new RuntimeException(e);
+        }
+        return true;
+    }
+
+    private void dispatch(Executor executor, HttpServletRequest req, HttpServletResponse resp, RequestMethod method) {
+        AsyncContext asyncContext = req.startAsync(req, resp);
+        if (asyncTimeout >= 0)
+            asyncContext.setTimeout(asyncTimeout);
+        // Whoever gets here first finishes the response: the controller, the timeout or a container error.
+        // The controller writes through a guard, which drops what it writes once someone else has finished
+        var dispatchedResponse = new DispatchedResponse(resp);
+        AtomicBoolean responded = new AtomicBoolean();
+        AtomicReference<Thread> worker = new AtomicReference<>();
+        asyncContext.addListener(new AsyncListener() {
+            @Override
+            public void onTimeout(AsyncEvent event) {
+                if (responded.compareAndSet(false, true)) {
+                    log.debug("Dispatched request {} {} timed out", method, req.getServletPath());
+                    var thread = worker.get();
+                    if (thread != null)
+                        thread.interrupt();
+                    dispatchedResponse.close(() -> Http.sendError(resp, HttpServletResponse.SC_SERVICE_UNAVAILABLE));
+                    asyncContext.complete();
+                }
+            }
+
+            @Override
+            public void onError(AsyncEvent event) {
+                responded.set(true);
+                dispatchedResponse.close();
+                log.debug("Dispatched request {} {} failed: {}", method, req.getServletPath(), String.valueOf(event.getThrowable()));
+            }
+
+            @Override
+            public void onComplete(AsyncEvent event) {}
+
+            @Override
+            public void onStartAsync(AsyncEvent event) {}
+        });
+
+        try {
+            executor.execute(() -> {
+                worker.set(Thread.currentThread());
+                try {
+                    doHandleRequest(req, dispatchedResponse, method);
+                } catch (RuntimeException e) {
+                    log.debug("Exception occurred while handling request {} {}: {}", method, req.getServletPath(), e.getMessage(), e);
+                    if (!responded.get())
+                        Http.sendError(dispatchedResponse, HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+                } finally {
+                    worker.set(null);
+                    if (responded.compareAndSet(false, true))
+                        asyncContext.complete();
+                    else
+                        Thread.interrupted(); // an interrupt by the timeout must not leak into the next task
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.debug("Dispatch executor rejected request {} {}", method, req.getServletPath());
+            if (responded.compareAndSet(false, true)) {
+                Http.sendError(resp, HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+                asyncContext.complete();
+            }
+        }
+    }
+
+    private void doHandleRequest(HttpServletRequest req, HttpServletResponse resp, RequestMethod method) {
+        var event = new RequestDispatchEvent();
+        if (!event.isEnabled()) {
+            dispatch(req, resp, method, null);
+            return;
+        }
+        event.begin();
+        try {
+            dispatch(req, resp, method, event);
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.method = method.name();
+                event.path = req.getServletPath();
+                event.status = resp.getStatus();
+                event.async = req.isAsyncStarted();
+                event.commit();
+            }
+        }
+    }
+
+    private void dispatch(HttpServletRequest req, HttpServletResponse resp, RequestMethod method,
+                          @Nullable RequestDispatchEvent event) {
         var ctx = (ServletAnnotationConfigApplicationContext) webAppContext;
         var servletPath = req.getServletPath();
         var handlerRegistry = ctx.getRequestHandlerRegistry();
-        handlerRegistry.setMapper(ctx.getBean(DataMapper.class));
-        var methodHandler = handlerRegistry.getHandler(method, servletPath);
+        if (handlerRegistry.getMapper() == null)
+            handlerRegistry.setMapper(ctx.getBean(DataMapper.class));
+        var match = handlerRegistry.route(method, servletPath);
+        if (event != null && match.isFound())
+            event.route = match.factory().getRequestMapping();
+        if (match.isMethodNotAllowed()) {
+            Http.sendMethodNotAllowed(resp, match.allowedMethods());
+            return;
+        }
+        var methodHandler = handlerRegistry.getHandler(match);
+        if (methodHandler.isEmpty() && handleResource(req, resp, method))
+            return;
+
+        try {
+            methodHandler.ifPresentOrElse(
+                    handler -> invoke(handler, req, resp, match.pathVariables(), handlerRegistry.getMapper()),
+                    () -> Http.sendNotFound(resp));
+        } finally {
+            var bufferedBody = BufferedRequestBody.from(req);
+            if (bufferedBody != null)
+                bufferedBody.release();
+        }
+    }
+
+    private boolean handleResource(HttpServletRequest req, HttpServletResponse resp, RequestMethod method) {
+        try {
+            for (var resourceHandler : resourceHandlers) {
+                if (resourceHandler.handle(req, resp, method))
+                    return true;
+            }
+        } catch (IOException e) {
+            log.debug("An exception occurred while serving static resource {}: {}", req.getServletPath(), e.getMessage(), e);
+            throw new RuntimeException(e);
+        }
+        return false;
+    }
 
-        methodHandler.ifPresentOrElse(handler -> handler.invoke(req, resp), () -> Http.sendNotFound(resp));
+    private void invoke(RequestResponseHandler handler, HttpServletRequest req, HttpServletResponse resp,
+                        List<String> pathVariables, DataMapper mapper) {
+        var compressedResponse = responseCompressor.wrap(req, resp, handler.getCompression(), handler.getCompressionMinSize());
+        var response = compressedResponse;
+        var asyncBefore = req.isAsyncStarted();
+        try {
+            var cachePolicy = handler.getCachePolicy();
+            var cache = responseCache;
+            if (cachePolicy != null && cache != null) {
+                response = cache.lookup(req, compressedResponse, cachePolicy);
+                if (response == null)
+                    return; // answered from the cache
+            }
+            handler.invoke(req, response, pathVariables, mapper, asyncTimeout);
+        } finally {
+            // Unless the response is completed asynchronously by the handler
+            if (asyncBefore || !req.isAsyncStarted()) {
+                ResponseCache.finish(response);
+                ResponseCompressor.finish(compressedResponse);
+            }
+        }
     }
 }
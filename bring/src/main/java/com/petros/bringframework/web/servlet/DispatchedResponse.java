@@ -0,0 +1,320 @@
+package com.petros.bringframework.web.servlet;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.Locale;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The response handed to a controller running on the dispatch executor. Once the request is answered by someone
+ * else, e.g. with 503 on timeout, the container recycles the response while the controller may still be running,
+ * so everything the controller writes after that is dropped. Stream writes fail with an {@link IOException}
+ * to stop the controller early, everything else is ignored. A lock rather than {@code synchronized} guards the
+ * response, so a virtual thread blocked in a write doesn't pin its carrier
+ */
+class DispatchedResponse extends HttpServletResponseWrapper {
+    private final ReentrantLock responseLock = new ReentrantLock();
+    private boolean closed;
+    private ServletOutputStream outputStream;
+    private PrintWriter writer;
+
+    DispatchedResponse(HttpServletResponse response) {
+        super(response);
+    }
+
+    /**
+     * Stop passing anything through to the response, waiting for a write in progress to finish, then run the
+     * final action on the response, e.g. sending an error, before anything else can get to it
+     */
+    void close(Runnable finalAction) {
+        responseLock.lock();
+        try {
+            closed = true;
+            finalAction.run();
+        } finally {
+            responseLock.unlock();
+        }
+    }
+
+    void close() {
+        close(() -> {});
+    }
+
+    private void guard(Runnable action) {
+        responseLock.lock();
+        try {
+            if (!closed)
+                action.run();
+        } finally {
+            responseLock.unlock();
+        }
+    }
+
+    private interface IOAction {
+        void run() throws IOException;
+    }
+
+    private void guardIO(IOAction action) throws IOException {
+        responseLock.lock();
+        try {
+            if (!closed)
+                action.run();
+        } finally {
+            responseLock.unlock();
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed)
+            throw new IOException("Response already completed, the request has timed out");
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        responseLock.lock();
+        try {
+            ensureOpen();
+            if (outputStream == null)
+                outputStream = new GuardedOutputStream(super.getOutputStream());
+            return outputStream;
+        } finally {
+            responseLock.unlock();
+        }
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        responseLock.lock();
+        try {
+            ensureOpen();
+            if (writer == null)
+                writer = new PrintWriter(new GuardedWriter(super.getWriter()));
+            return writer;
+        } finally {
+            responseLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean isCommitted() {
+        responseLock.lock();
+        try {
+            return closed || super.isCommitted();
+        } finally {
+            responseLock.unlock();
+        }
+    }
+
+    @Override
+    public void sendError(int sc, String msg) throws IOException {
+        guardIO(() -> super.sendError(sc, msg));
+    }
+
+    @Override
+    public void sendError(int sc) throws IOException {
+        guardIO(() -> super.sendError(sc));
+    }
+
+    @Override
+    public void sendRedirect(String location) throws IOException {
+        guardIO(() -> super.sendRedirect(location));
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        guardIO(super::flushBuffer);
+    }
+
+    @Override
+    public void setStatus(int sc) {
+        guard(() -> super.setStatus(sc));
+    }
+
+    @Override
+    public void setHeader(String name, String value) {
+        guard(() -> super.setHeader(name, value));
+    }
+
+    @Override
+    public void addHeader(String name, String value) {
+        guard(() -> super.addHeader(name, value));
+    }
+
+    @Override
+    public void setDateHeader(String name, long date) {
+        guard(() -> super.setDateHeader(name, date));
+    }
+
+    @Override
+    public void addDateHeader(String name, long date) {
+        guard(() -> super.addDateHeader(name, date));
+    }
+
+    @Override
+    public void setIntHeader(String name, int value) {
+        guard(() -> super.setIntHeader(name, value));
+    }
+
+    @Override
+    public void addIntHeader(String name, int value) {
+        guard(() -> super.addIntHeader(name, value));
+    }
+
+    @Override
+    public void addCookie(Cookie cookie) {
+        guard(() -> super.addCookie(cookie));
+    }
+
+    @Override
+    public void setContentType(String type) {
+        guard(() -> super.setContentType(type));
+    }
+
+    @Override
+    public void setCharacterEncoding(String charset) {
+        guard(() -> super.setCharacterEncoding(charset));
+    }
+
+    @Override
+    public void setContentLength(int len) {
+        guard(() -> super.setContentLength(len));
+    }
+
+    @Override
+    public void setContentLengthLong(long len) {
+        guard(() -> super.setContentLengthLong(len));
+    }
+
+    @Override
+    public void setBufferSize(int size) {
+        guard(() -> super.setBufferSize(size));
+    }
+
+    @Override
+    public void setLocale(Locale loc) {
+        guard(() -> super.setLocale(loc));
+    }
+
+    @Override
+    public void reset() {
+        guard(super::reset);
+    }
+
+    @Override
+    public void resetBuffer() {
+        guard(super::resetBuffer);
+    }
+
+    private class GuardedOutputStream extends ServletOutputStream {
+        private final ServletOutputStream out;
+
+        GuardedOutputStream(ServletOutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            responseLock.lock();
+            try {
+                ensureOpen();
+                out.write(b);
+            } finally {
+                responseLock.unlock();
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            responseLock.lock();
+            try {
+                ensureOpen();
+                out.write(b, off, len);
+            } finally {
+                responseLock.unlock();
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            responseLock.lock();
+            try {
+                ensureOpen();
+                out.flush();
+            } finally {
+                responseLock.unlock();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            guardIO(out::close);
+        }
+
+        @Override
+        public boolean isReady() {
+            responseLock.lock();
+            try {
+                return !closed && out.isReady();
+            } finally {
+                responseLock.unlock();
+            }
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            guard(() -> out.setWriteListener(writeListener));
+        }
+    }
+
+    private class GuardedWriter extends Writer {
+        private final Writer out;
+
+        GuardedWriter(Writer out) {
+            this.out = out;
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) throws IOException {
+            responseLock.lock();
+            try {
+                ensureOpen();
+                out.write(cbuf, off, len);
+            } finally {
+                responseLock.unlock();
+            }
+        }
+
+        @Override
+        public void write(String str, int off, int len) throws IOException {
+            responseLock.lock();
+            try {
+                ensureOpen();
+                out.write(str, off, len);
+            } finally {
+                responseLock.unlock();
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            responseLock.lock();
+            try {
+                ensureOpen();
+                out.flush();
+            } finally {
+                responseLock.unlock();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            guardIO(out::close);
+        }
+    }
+}
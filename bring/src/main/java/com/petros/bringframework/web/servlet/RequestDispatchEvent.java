@@ -0,0 +1,34 @@
+package com.petros.bringframework.web.servlet;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for a request dispatched by the framework servlet, from routing to the handler returning
+ */
+@Name("bring.RequestDispatch")
+@Label("Request Dispatch")
+@Category({"Bring", "Web"})
+@Description("Request routed and handled by the framework servlet")
+@StackTrace(false)
+class RequestDispatchEvent extends jdk.jfr.Event {
+    @Label("Method")
+    String method;
+
+    @Label("Route")
+    @Description("Request mapping template of the matched handler, null when no handler matched")
+    String route;
+
+    @Label("Path")
+    String path;
+
+    @Label("Status")
+    int status;
+
+    @Label("Async")
+    @Description("The handler started async processing, the status is not final yet")
+    boolean async;
+}
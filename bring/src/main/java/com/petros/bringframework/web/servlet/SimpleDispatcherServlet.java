@@ -40,4 +40,14 @@ public class SimpleDispatcherServlet extends BasicFrameworkServlet {
     protected void doPost(HttpServletRequest req, HttpServletResponse resp) {
         handleRequest(req, resp, RequestMethod.POST);
     }
+
+    @Override
+    protected void doPut(HttpServletRequest req, HttpServletResponse resp) {
+        handleRequest(req, resp, RequestMethod.PUT);
+    }
+
+    @Override
+    protected void doDelete(HttpServletRequest req, HttpServletResponse resp) {
+        handleRequest(req, resp, RequestMethod.DELETE);
+    }
 }
@@ -6,12 +6,14 @@ import com.petros.bringframework.web.context.WebAppContext;
 import com.petros.bringframework.web.context.annotation.ServletAnnotationConfigApplicationContext;
 import com.petros.bringframework.web.servlet.BasicFrameworkServlet;
 import com.petros.bringframework.web.servlet.SimpleDispatcherServlet;
+import com.petros.bringframework.web.servlet.support.resource.ResourceHandler;
 import lombok.extern.log4j.Log4j2;
 
 import javax.annotation.Nullable;
 import javax.servlet.*;
 import java.util.EnumSet;
 import java.util.Optional;
+import java.util.concurrent.Executor;
 
 import static com.petros.bringframework.core.AssertUtils.hasText;
 import static com.petros.bringframework.core.AssertUtils.notNull;
@@ -69,6 +71,13 @@ public abstract class AbstractDispatcherServletInitializer implements WebAppInit
 
         var dispatcherServlet = createDispatcherServlet(servletAppContext);
         notNull(dispatcherServlet, "createDispatcherServlet(WebAppContext) must not return null");
+        dispatcherServlet.setAsyncTimeout(getAsyncTimeout());
+        dispatcherServlet.setDispatchExecutor(getDispatchExecutor());
+        dispatcherServlet.setNonBlockingBodyReading(isNonBlockingBodyReading());
+        dispatcherServlet.getResponseCompressor().setEnabled(isCompressionEnabled());
+        for (var resourceHandler : getResourceHandlers()) {
+            dispatcherServlet.addResourceHandler(resourceHandler);
+        }
 
         var registration = servletContext.addServlet(servletName, dispatcherServlet);
         if (isNull(registration)) {
@@ -154,7 +163,59 @@ public abstract class AbstractDispatcherServletInitializer implements WebAppInit
                 EnumSet.of(DispatcherType.REQUEST, DispatcherType.FORWARD, DispatcherType.INCLUDE);
     }
 
+    /**
+     * Whether the {@code SimpleDispatcherServlet} and its filters support asynchronous processing, which
+     * controller methods returning a {@link java.util.concurrent.CompletionStage} rely on to release the
+     * container thread while waiting. Default is {@code true}
+     */
     protected boolean isAsyncSupported() {
+        return true;
+    }
+
+    /**
+     * Specify the timeout of asynchronously handled requests in milliseconds, zero for none.
+     * Default is negative, which keeps the timeout of the servlet container
+     * @see BasicFrameworkServlet#setAsyncTimeout(long)
+     */
+    protected long getAsyncTimeout() {
+        return -1;
+    }
+
+    /**
+     * Specify the executor to run controller invocations on, e.g.
+     * {@link com.petros.bringframework.util.VirtualThreads#newVirtualThreadPerTaskExecutor()}
+     * to handle each request on its own virtual thread. Default is {@code null}: controllers run on
+     * the container thread. Only used if {@link #isAsyncSupported()}
+     * @see BasicFrameworkServlet#setDispatchExecutor(Executor)
+     */
+    @Nullable
+    protected Executor getDispatchExecutor() {
+        return null;
+    }
+
+    /**
+     * Whether request bodies are read without blocking before the controller is invoked. Default is {@code false}.
+     * Only used if {@link #isAsyncSupported()}
+     * @see BasicFrameworkServlet#setNonBlockingBodyReading(boolean)
+     */
+    protected boolean isNonBlockingBodyReading() {
         return false;
     }
+
+    /**
+     * Whether responses are compressed, unless their mapping declares otherwise. Default is {@code false}
+     * @see com.petros.bringframework.web.servlet.support.compress.ResponseCompressor
+     */
+    protected boolean isCompressionEnabled() {
+        return false;
+    }
+
+    /**
+     * Specify the handlers of static files, e.g. {@code new ResourceHandler("/static/", "classpath:static/")}.
+     * Default is none
+     * @see BasicFrameworkServlet#addResourceHandler(ResourceHandler)
+     */
+    protected ResourceHandler[] getResourceHandlers() {
+        return new ResourceHandler[0];
+    }
 }
@@ -0,0 +1,92 @@
+package com.petros.bringframework.web.servlet.support;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Flight Recorder event for reading a request body or writing a response body with a data mapper.
+ * Streams are only wrapped for counting while the event is enabled
+ */
+@Name("bring.DataMapping")
+@Label("Data Mapping")
+@Category({"Bring", "Web"})
+@Description("Request body deserialization or response body serialization")
+@StackTrace(false)
+class DataMappingEvent extends jdk.jfr.Event {
+    static final String READ = "read";
+    static final String WRITE = "write";
+
+    @Label("Direction")
+    String direction;
+
+    @Label("Type")
+    String type;
+
+    @Label("Bytes")
+    @DataAmount
+    long bytes;
+
+    static class CountingInputStream extends FilterInputStream {
+        long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = in.read();
+            if (b != -1) count++;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = in.read(b, off, len);
+            if (n > 0) count += n;
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = in.skip(n);
+            count += skipped;
+            return skipped;
+        }
+    }
+
+    static class CountingOutputStream extends FilterOutputStream {
+        long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+
+        @Override
+        public void close() {
+            // The servlet stream is flushed and closed by the caller
+        }
+    }
+}
@@ -34,6 +34,10 @@ public class MethodParameters {
         return pathVariablesMapping.get(mappingPosition);
     }
 
+    public Map<Integer, Integer> getPathVariablesMapping() {
+        return pathVariablesMapping;
+    }
+
     public Map<String, Integer> getRequestHeaderToPosition() {
         return requestHeaderToPosition;
     }
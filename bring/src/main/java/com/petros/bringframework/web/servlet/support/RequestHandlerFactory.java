@@ -7,39 +7,30 @@ import com.petros.bringframework.web.context.annotation.RequestMapping;
 import com.petros.bringframework.web.context.annotation.RequestParam;
 import com.petros.bringframework.web.servlet.support.common.RequestMethod;
 import com.petros.bringframework.web.servlet.support.exception.UnsupportedRequestBodyTypeException;
-import com.petros.bringframework.web.servlet.support.mapper.DataMapper;
 import com.petros.bringframework.web.servlet.support.utils.RequestMappingParser;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.lang.reflect.Method;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
- * Represents a method within the Controller that processes a particular RequestMapping
+ * Represents a method within the Controller that processes a particular RequestMapping.
+ * Requests are matched to it by the {@link RequestRouter}
  *
  * @author Serhii Dorodko
  */
 public class RequestHandlerFactory {
-    private final Method controllerMethod;
-    private final Object controllerBean;
     private final RequestMethod requestMethod;
     private final String requestMapping;
-    private final Pattern pattern;
     private final MethodParameters methodParameters = new MethodParameters();
+    private final RequestResponseHandler handler;
 
     public RequestHandlerFactory(Method controllerMethod, Object controllerBean) {
         if (!controllerMethod.isAnnotationPresent(RequestMapping.class)) throw new IllegalArgumentException();
         var methodAnnotation = controllerMethod.getAnnotation(RequestMapping.class);
 
         this.requestMethod = methodAnnotation.method();
-        this.controllerBean = controllerBean;
         this.requestMapping = methodAnnotation.path();
-        this.controllerMethod = controllerMethod;
-        this.pattern = Pattern.compile(RequestMappingParser.replacePlaceHolders(requestMapping));
 
         var params = controllerMethod.getParameters();
         var placeHolders = RequestMappingParser.getPlaceHolders(methodAnnotation.path());
@@ -63,6 +54,7 @@ public class RequestHandlerFactory {
             else continue;
             // TODO consider adding responseBody params(low priority due to having returning the response body through the method return value)
         }
+        this.handler = new RequestResponseHandler(controllerMethod, methodParameters, controllerBean);
     }
 
     @Override
@@ -83,27 +75,18 @@ public class RequestHandlerFactory {
         return result;
     }
 
-    public boolean isMatching(RequestMethod requestMethod, String path) {
-        Matcher matcher = pattern.matcher(path);
-        return requestMethod == this.requestMethod && matcher.matches();
+    /**
+     * @return the handler compiled for this RequestMapping on registration
+     */
+    public RequestResponseHandler getHandler() {
+        return handler;
     }
 
-    public RequestResponseHandler getHandler(String path, DataMapper mapper) {
-        return new RequestResponseHandler(controllerMethod, methodParameters, extractPathVariables(path), controllerBean, mapper);
+    public RequestMethod getRequestMethod() {
+        return requestMethod;
     }
 
     public String getRequestMapping() {
         return requestMapping;
     }
-
-    private List<String> extractPathVariables(String path) {
-        Matcher matcher = pattern.matcher(path);
-        List<String> pathVariables = new ArrayList<>();
-        if (matcher.find()) {
-            for (int i = 1; i <= matcher.groupCount(); i++) {
-                pathVariables.add(matcher.group(i));
-            }
-        }
-        return pathVariables;
-    }
 }
@@ -1,41 +1,50 @@
 package com.petros.bringframework.web.servlet.support;
 
+import com.petros.bringframework.web.servlet.support.RequestRouter.RouteMatch;
 import com.petros.bringframework.web.servlet.support.common.RequestMethod;
 import com.petros.bringframework.web.servlet.support.mapper.DataMapper;
-import com.petros.bringframework.web.servlet.support.mapper.JsonDataMapper;
 
 import java.lang.reflect.Method;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
-import java.util.Set;
 
 /**
  * Registry of all RequestHandlerFactories each per requestMapping
- * Finds needed handler for request method and path
+ * Finds needed handler for request method and path through a {@link RequestRouter}
  *
  * @author Serhii Dorodko
  */
 public class RequestHandlerRegistry {
-    private final Set<RequestHandlerFactory> factorySet = new HashSet<>();
-    private DataMapper mapper;
+    private final RequestRouter router = new RequestRouter();
+    private volatile DataMapper mapper;
 
     public void setMapper(DataMapper mapper) {
         if (mapper != null)
             this.mapper = mapper;
     }
 
+    public DataMapper getMapper() {
+        return mapper;
+    }
+
     public void registerHandlerList(List<Method> methodList, Object controllerBean) {
         for (Method method : methodList) {
-            if (!factorySet.add(new RequestHandlerFactory(method, controllerBean)))
-                throw new DuplicatedMappingException();
+            router.register(new RequestHandlerFactory(method, controllerBean));
         }
     }
 
+    /**
+     * Route the request, telling apart an unmapped path from a path mapped for other methods only.
+     */
+    public RouteMatch route(RequestMethod requestMethod, String path) {
+        return router.route(requestMethod, path);
+    }
+
     public Optional<RequestResponseHandler> getHandler(RequestMethod requestMethod, String path) {
-        return factorySet.stream()
-                .filter(factory -> factory.isMatching(requestMethod, path))
-                .findFirst()
-                .map(handler -> handler.getHandler(path, mapper));
+        return getHandler(route(requestMethod, path));
+    }
+
+    public Optional<RequestResponseHandler> getHandler(RouteMatch match) {
+        return Optional.ofNullable(match.factory()).map(RequestHandlerFactory::getHandler);
     }
 }
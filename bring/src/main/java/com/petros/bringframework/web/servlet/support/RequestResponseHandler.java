@@ -1,103 +1,420 @@
 package com.petros.bringframework.web.servlet.support;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.petros.bringframework.util.ClassUtils;
+import com.petros.bringframework.util.ReflectionUtils;
+import com.petros.bringframework.web.context.annotation.CacheResponse;
+import com.petros.bringframework.web.context.annotation.RequestMapping;
+import com.petros.bringframework.web.servlet.support.body.BufferPool;
+import com.petros.bringframework.web.servlet.support.body.BufferedRequestBody;
+import com.petros.bringframework.web.servlet.support.body.RequestBodyPublisher;
+import com.petros.bringframework.web.servlet.support.cache.CachePolicy;
+import com.petros.bringframework.web.servlet.support.common.Compression;
+import com.petros.bringframework.web.servlet.support.common.RequestMethod;
 import com.petros.bringframework.web.servlet.support.mapper.DataMapper;
+import com.petros.bringframework.web.servlet.support.resource.ContentResponseWriter;
+import com.petros.bringframework.web.servlet.support.stream.StreamingResponseWriter;
 import com.petros.bringframework.web.servlet.support.utils.Http;
 import lombok.extern.log4j.Log4j2;
 
+import javax.annotation.Nullable;
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
-import java.lang.reflect.InvocationTargetException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 /**
- * Produced by RequestHandlerFactory and is aimed to invoke corresponding method with arguments extracted from the web request
+ * Invokes the controller method of a RequestMapping with arguments extracted from the web request.
+ * <p>
+ * Created once per RequestMapping by RequestHandlerFactory: the method is compiled to a method handle
+ * bound to the controller bean, and the parameters to a flat binding plan (argument position -> source -> name),
+ * so that handling a request only reads the values and makes one direct call
  *
  * @author Serhii Dorodko
  */
 @Log4j2
 public class RequestResponseHandler {
-    private final DataMapper mapper;
-    private final Object controllerBean;
+    private static final MethodType INVOKER_TYPE = MethodType.methodType(Object.class, Object[].class);
+
     private final Method method;
-    private final Object[] invocationArguments;
-    private final MethodParameters parameters;
-
-    public RequestResponseHandler(Method method,
-                                  MethodParameters parameters,
-                                  List<String> pathVariables,
-                                  Object controllerBean,
-                                  DataMapper mapper) {
-        this.mapper = mapper;
-        this.controllerBean = controllerBean;
-        this.method = method;
-        this.parameters = parameters;
-        this.invocationArguments = new Object[method.getParameterCount()];
-        for (int i = 0; i < pathVariables.size(); i++) {
-            if (parameters.getPathVariableParamPosition(i) != null)
-                invocationArguments[parameters.getPathVariableParamPosition(i)] = pathVariables.get(i);
-        }
-    }
+    private final MethodHandle invoker;
+    private final Class<?>[] parameterTypes;
+    private final Type[] genericParameterTypes;
+    private final ArgumentSource[] argumentSources;
+    // request header or parameter name per argument position
+    private final String[] argumentNames;
+    // order of the path variable in the mapping per argument position
+    private final int[] pathVariableOrders;
+    private final boolean publishesRequestBody;
+    private final Compression compression;
+    private final int compressionMinSize;
+    @Nullable
+    private final CachePolicy cachePolicy;
 
-    public void invoke(HttpServletRequest req, HttpServletResponse resp) {
+    public RequestResponseHandler(Method method, MethodParameters parameters, Object controllerBean) {
+        this.method = method;
+        this.invoker = compileInvoker(method, controllerBean);
+        this.parameterTypes = method.getParameterTypes();
+        this.genericParameterTypes = method.getGenericParameterTypes();
+        this.argumentSources = new ArgumentSource[parameterTypes.length];
+        this.argumentNames = new String[parameterTypes.length];
+        this.pathVariableOrders = new int[parameterTypes.length];
 
+        Arrays.fill(argumentSources, ArgumentSource.NONE);
         for (Map.Entry<String, Integer> entry : parameters.getRequestHeaderToPosition().entrySet()) {
-            var header = req.getHeader(entry.getKey());
-            invocationArguments[entry.getValue()] = header;
+            argumentSources[entry.getValue()] = ArgumentSource.REQUEST_HEADER;
+            argumentNames[entry.getValue()] = entry.getKey();
         }
-
         for (Map.Entry<String, Integer> entry : parameters.getRequestParamsToPosition().entrySet()) {
-            var param = req.getParameter(entry.getKey());
-            invocationArguments[entry.getValue()] = param;
+            argumentSources[entry.getValue()] = ArgumentSource.REQUEST_PARAM;
+            argumentNames[entry.getValue()] = entry.getKey();
+        }
+        for (Map.Entry<Integer, Integer> entry : parameters.getPathVariablesMapping().entrySet()) {
+            if (entry.getKey() != null) {
+                argumentSources[entry.getValue()] = ArgumentSource.PATH_VARIABLE;
+                pathVariableOrders[entry.getValue()] = entry.getKey();
+            }
         }
-
         if (parameters.getRequestBodyParamPosition() != null) {
-            handleRequestBody(req, resp);
+            int position = parameters.getRequestBodyParamPosition();
+            argumentSources[position] = parameterTypes[position] == Flow.Publisher.class
+                    ? ArgumentSource.REQUEST_BODY_PUBLISHER : ArgumentSource.REQUEST_BODY;
         }
-
         if (parameters.getServletRequestPosition() != null)
-            invocationArguments[parameters.getServletRequestPosition()] = req;
-
+            argumentSources[parameters.getServletRequestPosition()] = ArgumentSource.SERVLET_REQUEST;
         if (parameters.getServletResponsePosition() != null)
-            invocationArguments[parameters.getServletResponsePosition()] = resp;
+            argumentSources[parameters.getServletResponsePosition()] = ArgumentSource.SERVLET_RESPONSE;
+        this.publishesRequestBody = Arrays.asList(argumentSources).contains(ArgumentSource.REQUEST_BODY_PUBLISHER);
+
+        RequestMapping mapping = method.getAnnotation(RequestMapping.class);
+        this.compression = mapping != null ? mapping.compression() : Compression.DEFAULT;
+        this.compressionMinSize = mapping != null ? mapping.compressionMinSize() : -1;
+        this.cachePolicy = cachePolicyOf(method, mapping);
+    }
+
+    @Nullable
+    private static CachePolicy cachePolicyOf(Method method, @Nullable RequestMapping mapping) {
+        CacheResponse cacheResponse = method.getAnnotation(CacheResponse.class);
+        if (cacheResponse == null) {
+            return null;
+        }
+        if (mapping == null || mapping.method() != RequestMethod.GET) {
+            log.warn("Ignoring @CacheResponse on {}: only GET responses are cached", method);
+            return null;
+        }
+        Class<?> returnType = method.getReturnType();
+        if (Flow.Publisher.class.isAssignableFrom(returnType) || Stream.class.isAssignableFrom(returnType)) {
+            log.warn("Ignoring @CacheResponse on {}: streamed responses are not cached", method);
+            return null;
+        }
+        return CachePolicy.of(cacheResponse);
+    }
+
+    private static MethodHandle compileInvoker(Method method, Object controllerBean) {
+        ReflectionUtils.makeAccessible(method);
+        try {
+            MethodHandle handle = MethodHandles.lookup().unreflect(method);
+            if (!Modifier.isStatic(method.getModifiers())) {
+                handle = handle.bindTo(controllerBean);
+            }
+            return handle.asSpreader(Object[].class, method.getParameterCount()).asType(INVOKER_TYPE);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Could not access controller method: " + method, e);
+        }
+    }
+
+    /**
+     * Whether the controller method takes the request body mapped to a value, which can be read ahead
+     * of the invocation, see {@link com.petros.bringframework.web.servlet.support.body.RequestBodyReader}
+     */
+    public boolean readsRequestBody() {
+        return Arrays.asList(argumentSources).contains(ArgumentSource.REQUEST_BODY);
+    }
+
+    /**
+     * @return the response compression declared by the RequestMapping
+     */
+    public Compression getCompression() {
+        return compression;
+    }
+
+    /**
+     * @return the minimum size of a response to compress declared by the RequestMapping, negative if not declared
+     */
+    public int getCompressionMinSize() {
+        return compressionMinSize;
+    }
+
+    /**
+     * @return how responses are cached as declared by {@link CacheResponse}, {@code null} if they are not
+     */
+    @Nullable
+    public CachePolicy getCachePolicy() {
+        return cachePolicy;
+    }
+
+    /**
+     * Handle the request with this RequestMapping
+     *
+     * @param pathVariables the path variables of the request, in the order of declaration in the mapping
+     * @param mapper        the mapper for request and response bodies
+     */
+    public void invoke(HttpServletRequest req, HttpServletResponse resp, List<String> pathVariables, DataMapper mapper) {
+        invoke(req, resp, pathVariables, mapper, -1);
+    }
+
+    /**
+     * Handle the request with this RequestMapping. A {@link CompletionStage} returned by the controller method
+     * is handled asynchronously: the request is put into asynchronous mode, the container thread is released,
+     * and the response is written when the stage completes. A {@link java.util.concurrent.Flow.Publisher},
+     * {@link java.util.stream.Stream} or {@link com.petros.bringframework.web.servlet.support.stream.SseEmitter}
+     * is streamed element by element, see {@link StreamingResponseWriter}. An {@link java.io.InputStream},
+     * {@link java.nio.file.Path}, {@link com.petros.bringframework.core.io.Resource} or
+     * {@link java.nio.channels.ReadableByteChannel} is copied through a pooled buffer, with {@code Range} support,
+     * see {@link ContentResponseWriter}
+     *
+     * @param pathVariables the path variables of the request, in the order of declaration in the mapping
+     * @param mapper        the mapper for request and response bodies
+     * @param asyncTimeout  the timeout of asynchronous requests in milliseconds, zero for none,
+     *                      negative for the container default
+     */
+    public void invoke(HttpServletRequest req, HttpServletResponse resp, List<String> pathVariables, DataMapper mapper,
+                       long asyncTimeout) {
+        Object[] invocationArguments = new Object[argumentSources.length];
+        for (int position = 0; position < argumentSources.length; position++) {
+            Object argument;
+            switch (argumentSources[position]) {
+                case PATH_VARIABLE -> argument = pathVariableOrders[position] < pathVariables.size()
+                        ? pathVariables.get(pathVariableOrders[position]) : null;
+                case REQUEST_PARAM -> argument = req.getParameter(argumentNames[position]);
+                case REQUEST_HEADER -> argument = req.getHeader(argumentNames[position]);
+                case SERVLET_REQUEST -> argument = req;
+                case SERVLET_RESPONSE -> argument = resp;
+                case REQUEST_BODY -> {
+                    try {
+                        argument = readRequestBody(req, position, mapper);
+                    } catch (JsonProcessingException e) {
+                        Http.sendBadRequest(resp);
+                        return;
+                    } catch (IOException e) {
+                        log.debug("An exception occurred while reading the request body: {}", e.getMessage(), e);
+                        throw new RuntimeException(e);
+                    }
+                }
+                case REQUEST_BODY_PUBLISHER -> argument = new RequestBodyPublisher(req, BufferPool.getSharedInstance());
+                default -> argument = null;
+            }
+            // What Method.invoke would reject as an illegal argument
+            if (!ClassUtils.isAssignableValue(parameterTypes[position], argument)) {
+                Http.sendBadRequest(resp);
+                return;
+            }
+            invocationArguments[position] = argument;
+        }
+
+        // A body publisher reads the body after the invocation, which needs the request in async mode
+        AsyncContext asyncContext = null;
+        if (publishesRequestBody && req.isAsyncSupported() && !req.isAsyncStarted()) {
+            asyncContext = req.startAsync(req, resp);
+            if (asyncTimeout >= 0)
+                asyncContext.setTimeout(asyncTimeout);
+        }
 
         Object invocationResult;
         try {
-            invocationResult = method.invoke(controllerBean, invocationArguments);
-        } catch (IllegalArgumentException e) {
-            Http.sendBadRequest(resp);
+            invocationResult = (Object) invoker.invokeExact(invocationArguments);
+        } catch (Throwable e) {
+            log.debug("Exception occurred while invoking method {}: {}", method.getName(), e.getMessage(), e);
+            if (asyncContext != null) {
+                Http.sendError(resp, HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+                asyncContext.complete();
+                return;
+            }
+            throw new RuntimeException(e);
+        }
+        if (invocationResult instanceof CompletionStage<?> stage) {
+            handleAsyncResult(stage, req, resp, mapper, asyncTimeout, asyncContext);
+            return;
+        }
+        if (invocationResult != null && StreamingResponseWriter.isStreaming(invocationResult)) {
+            handleStreamingResult(invocationResult, req, resp, mapper, asyncTimeout, asyncContext);
             return;
-        } catch (IllegalAccessException | InvocationTargetException e) {
-            log.debug("Exception occurred while invoking method: {}", e.getMessage(), e);
+        }
+        try {
+            if (invocationResult != null)
+                handleInvocationResult(invocationResult, req, resp, mapper);
+        } finally {
+            if (asyncContext != null)
+                asyncContext.complete();
+        }
+    }
+
+    private void handleAsyncResult(CompletionStage<?> stage, HttpServletRequest req, HttpServletResponse resp,
+                                   DataMapper mapper, long asyncTimeout, @Nullable AsyncContext startedContext) {
+        if (startedContext == null && (stage instanceof CompletableFuture<?> future && future.isDone()
+                || !req.isAsyncSupported() || req.isAsyncStarted())) {
+            // Nothing to wait for, no way to release the container thread, or already dispatched
+            // off the container thread, e.g. to a virtual thread that can just wait
+            awaitAsyncResult(stage, req, resp, mapper);
+            return;
+        }
+
+        AsyncContext asyncContext = startedContext != null ? startedContext : req.startAsync(req, resp);
+        if (startedContext == null && asyncTimeout >= 0)
+            asyncContext.setTimeout(asyncTimeout);
+        // Whoever gets here first writes the response: the stage, the timeout or a container error
+        AtomicBoolean responded = new AtomicBoolean();
+        asyncContext.addListener(new AsyncListener() {
+            @Override
+            public void onTimeout(AsyncEvent event) {
+                if (responded.compareAndSet(false, true)) {
+                    log.debug("Async request timed out for method {}", method.getName());
+                    cancel(stage);
+                    Http.sendError(resp, HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+                    asyncContext.complete();
+                }
+            }
+
+            @Override
+            public void onError(AsyncEvent event) {
+                responded.set(true);
+                log.debug("Async request failed for method {}: {}", method.getName(), String.valueOf(event.getThrowable()));
+            }
+
+            @Override
+            public void onComplete(AsyncEvent event) {}
+
+            @Override
+            public void onStartAsync(AsyncEvent event) {}
+        });
+
+        stage.whenComplete((result, failure) -> {
+            if (!responded.compareAndSet(false, true))
+                return;
+            try {
+                if (failure != null)
+                    handleAsyncFailure(failure, resp);
+                else if (result != null)
+                    handleInvocationResult(result, req, resp, mapper);
+            } catch (RuntimeException e) {
+                log.debug("Exception occurred while writing the async result of method {}: {}", method.getName(), e.getMessage(), e);
+                Http.sendError(resp, HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+            } finally {
+                asyncContext.complete();
+            }
+        });
+    }
+
+    private void handleStreamingResult(Object result, HttpServletRequest req, HttpServletResponse resp,
+                                       DataMapper mapper, long asyncTimeout, @Nullable AsyncContext startedContext) {
+        try {
+            StreamingResponseWriter.write(result, req, resp, mapper, asyncTimeout, startedContext);
+        } catch (IOException e) {
+            log.debug("An exception occurred while streaming the result of method {}: {}", method.getName(), e.getMessage(), e);
             throw new RuntimeException(e);
         }
-        if (invocationResult != null) handleInvocationResult(invocationResult, resp);
     }
 
-    private Class<?> getReqBodyClass(Method method) {
-        return method.getParameterTypes()[parameters.getRequestBodyParamPosition()];
+    private void awaitAsyncResult(CompletionStage<?> stage, HttpServletRequest req, HttpServletResponse resp, DataMapper mapper) {
+        CompletableFuture<?> future = asFuture(stage);
+        Object result;
+        try {
+            result = future.get();
+        } catch (ExecutionException | CancellationException e) {
+            handleAsyncFailure(e, resp);
+            return;
+        } catch (InterruptedException e) {
+            // The request timed out and has been answered already
+            cancel(stage);
+            Thread.currentThread().interrupt();
+            return;
+        }
+        if (result != null) handleInvocationResult(result, req, resp, mapper);
     }
 
-    private void handleRequestBody(HttpServletRequest req, HttpServletResponse resp) {
-        Class<?> requestBodyType = getReqBodyClass(method);
-        String reqBody = Http.getBodyAsString(req);
-        var argumentPosition = parameters.getRequestBodyParamPosition();
-        Object argument = null;
-        if (requestBodyType.isInstance(String.class))
-            argument = reqBody;
-        else {
-            try {
-                argument = mapper.readValue(reqBody, requestBodyType);
-            } catch (JsonProcessingException e) {
-                Http.sendBadRequest(resp);
+    // toCompletableFuture() is optional for other implementations of CompletionStage
+    private static CompletableFuture<?> asFuture(CompletionStage<?> stage) {
+        if (stage instanceof CompletableFuture<?> future)
+            return future;
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        stage.whenComplete((result, failure) -> {
+            if (failure != null)
+                future.completeExceptionally(failure);
+            else
+                future.complete(result);
+        });
+        return future;
+    }
+
+    // A stage that isn't a Future can't be cancelled, it is just no longer waited for
+    private static void cancel(CompletionStage<?> stage) {
+        if (stage instanceof Future<?> future)
+            future.cancel(false);
+    }
+
+    private void handleAsyncFailure(Throwable failure, HttpServletResponse resp) {
+        Throwable cause = (failure instanceof CompletionException || failure instanceof ExecutionException)
+                && failure.getCause() != null ? failure.getCause() : failure;
+        log.debug("Async result of method {} completed exceptionally: {}", method.getName(), cause.getMessage(), cause);
+        Http.sendError(resp, HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+    }
+
+    private Object readRequestBody(HttpServletRequest req, int position, DataMapper mapper) throws IOException {
+        BufferedRequestBody bufferedBody = BufferedRequestBody.from(req);
+        if (bufferedBody != null) {
+            // Read ahead without blocking, mapped from memory
+            if (parameterTypes[position] == String.class)
+                return bufferedBody.asString(Http.getCharset(req));
+            return readValue(bufferedBody.getInputStream(), position, mapper);
+        }
+        if (parameterTypes[position] == String.class)
+            return Http.getBodyAsString(req);
+        // Parsed straight from the servlet stream, no copy of the payload
+        return readValue(req.getInputStream(), position, mapper);
+    }
+
+    private Object readValue(InputStream in, int position, DataMapper mapper) throws IOException {
+        var event = new DataMappingEvent();
+        if (!event.isEnabled())
+            return mapper.readValue(in, genericParameterTypes[position]);
+        var counting = new DataMappingEvent.CountingInputStream(in);
+        event.begin();
+        try {
+            return mapper.readValue(counting, genericParameterTypes[position]);
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.direction = DataMappingEvent.READ;
+                event.type = genericParameterTypes[position].getTypeName();
+                event.bytes = counting.count;
+                event.commit();
             }
         }
-        invocationArguments[argumentPosition] = argument;
     }
 
-    private void handleInvocationResult(Object invocationResult, HttpServletResponse resp) {
+    private void handleInvocationResult(Object invocationResult, HttpServletRequest req, HttpServletResponse resp,
+                                        DataMapper mapper) {
         if (invocationResult instanceof String str) {
             Http.writeResult(str, resp);
             return;
@@ -113,14 +430,42 @@ public class RequestResponseHandler {
             return;
         }
 
-        var clazz = invocationResult.getClass();
-        String json;
+        if (ContentResponseWriter.isContent(invocationResult)) {
+            try {
+                ContentResponseWriter.write(invocationResult, req, resp);
+            } catch (IOException e) {
+                log.debug("An exception occurred while writing the content returned by method {}: {}", method.getName(), e.getMessage(), e);
+                throw new RuntimeException(e);
+            }
+            return;
+        }
+
+        writeValue(invocationResult, resp, mapper);
+    }
+
+    private void writeValue(Object value, HttpServletResponse resp, DataMapper mapper) {
+        var event = new DataMappingEvent();
+        if (!event.isEnabled()) {
+            Http.writeValue(value, mapper, resp);
+            return;
+        }
+        var counting = new DataMappingEvent.CountingOutputStream[1];
+        event.begin();
         try {
-            json = mapper.writeValueAsString(clazz.cast(invocationResult));
-        } catch (JsonProcessingException e) {
-            log.debug("Error while writing controller method invocation result to response body.");
-            throw new RuntimeException(e);
+            Http.writeValue(value, mapper, resp, out -> counting[0] = new DataMappingEvent.CountingOutputStream(out));
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.direction = DataMappingEvent.WRITE;
+                event.type = value.getClass().getName();
+                event.bytes = counting[0] != null ? counting[0].count : 0;
+                event.commit();
+            }
         }
-        Http.writeResult(json, resp);
+    }
+
+    private enum ArgumentSource {
+        NONE, PATH_VARIABLE, REQUEST_PARAM, REQUEST_HEADER, REQUEST_BODY, REQUEST_BODY_PUBLISHER, SERVLET_REQUEST,
+        SERVLET_RESPONSE
     }
 }
@@ -0,0 +1,227 @@
+package com.petros.bringframework.web.servlet.support;
+
+import com.petros.bringframework.web.servlet.support.common.RequestMethod;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Segment-based radix tree of request mappings.
+ *
+ * <p>Each node of the tree stands for one path segment. Static segments are looked up by exact
+ * match in a hash map. {@code {var}} segments, optionally with a literal prefix and suffix
+ * such as {@code {name}.json}, match any non-empty segment and capture the part between prefix
+ * and suffix, without regular expressions. The node reached by the full path holds the
+ * handlers of that mapping per {@link RequestMethod}.
+ *
+ * <p>Matching is deterministic and independent of registration order: at every segment a static
+ * segment wins over a {@code {var}} segment with literals (longest literals first), which wins over
+ * a plain {@code {var}} segment. If the more specific branch does not lead to a handler for the
+ * request method, the less specific ones are tried. A path that only matches mappings of other
+ * methods is reported with those methods, so callers can answer 405 instead of 404.
+ *
+ * <p>Mappings are registered on context startup, lookups are safe from any number of threads
+ * afterwards.
+ */
+public class RequestRouter {
+
+    private static final Comparator<Node> PATTERN_ORDER = Comparator
+            .comparingInt((Node node) -> node.prefix.length() + node.suffix.length()).reversed()
+            .thenComparing(node -> node.prefix)
+            .thenComparing(node -> node.suffix);
+
+    private final Node root = new Node("", "");
+    private int size;
+
+    /**
+     * Register the given handler factory under its request method and mapping.
+     *
+     * @throws DuplicatedMappingException if a mapping of the same shape is already registered for
+     *                                    the method, e.g. {@code /user/{id}} and {@code /user/{name}}
+     * @throws IllegalArgumentException   if a segment of the mapping declares more than one variable
+     */
+    public void register(RequestHandlerFactory factory) {
+        String mapping = factory.getRequestMapping();
+        Node node = root;
+        for (String segment : segmentsOf(mapping)) {
+            node = node.child(segment, mapping);
+        }
+        if (node.handlers.putIfAbsent(factory.getRequestMethod(), factory) != null) {
+            throw new DuplicatedMappingException();
+        }
+        size++;
+    }
+
+    /**
+     * Return the number of registered mappings.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Find the most specific handler for the given request method and path.
+     *
+     * @param requestMethod the method of the request
+     * @param path          the path of the request, e.g. the servlet path
+     * @return the match; never {@code null}
+     */
+    public RouteMatch route(RequestMethod requestMethod, String path) {
+        String pathToUse = path.startsWith("/") ? path.substring(1) : path;
+        List<String> pathVariables = new ArrayList<>(4);
+        Set<RequestMethod> allowedMethods = EnumSet.noneOf(RequestMethod.class);
+        RequestHandlerFactory factory = match(root, pathToUse, 0, requestMethod, pathVariables, allowedMethods);
+        if (factory != null) {
+            return new RouteMatch(factory, pathVariables, Collections.emptySet());
+        }
+        return new RouteMatch(null, Collections.emptyList(), allowedMethods);
+    }
+
+    @Nullable
+    private RequestHandlerFactory match(Node node, String path, int start, RequestMethod requestMethod,
+                                        List<String> pathVariables, Set<RequestMethod> allowedMethods) {
+        int end = path.indexOf('/', start);
+        boolean lastSegment = end < 0;
+        if (lastSegment) {
+            end = path.length();
+        }
+        String segment = path.substring(start, end);
+
+        Node staticChild = node.staticChildren.get(segment);
+        if (staticChild != null) {
+            RequestHandlerFactory factory = descend(staticChild, path, end, lastSegment, requestMethod, pathVariables, allowedMethods);
+            if (factory != null) {
+                return factory;
+            }
+        }
+        if (segment.isEmpty()) {
+            return null;
+        }
+        for (Node patternChild : node.patternChildren) {
+            if (patternChild.matches(segment)) {
+                RequestHandlerFactory factory = capture(patternChild, segment, path, end, lastSegment,
+                        requestMethod, pathVariables, allowedMethods);
+                if (factory != null) {
+                    return factory;
+                }
+            }
+        }
+        if (node.variableChild != null) {
+            return capture(node.variableChild, segment, path, end, lastSegment, requestMethod, pathVariables, allowedMethods);
+        }
+        return null;
+    }
+
+    @Nullable
+    private RequestHandlerFactory capture(Node child, String segment, String path, int end, boolean lastSegment,
+                                          RequestMethod requestMethod, List<String> pathVariables,
+                                          Set<RequestMethod> allowedMethods) {
+        pathVariables.add(segment.substring(child.prefix.length(), segment.length() - child.suffix.length()));
+        RequestHandlerFactory factory = descend(child, path, end, lastSegment, requestMethod, pathVariables, allowedMethods);
+        if (factory == null) {
+            pathVariables.remove(pathVariables.size() - 1);
+        }
+        return factory;
+    }
+
+    @Nullable
+    private RequestHandlerFactory descend(Node child, String path, int end, boolean lastSegment,
+                                          RequestMethod requestMethod, List<String> pathVariables,
+                                          Set<RequestMethod> allowedMethods) {
+        if (!lastSegment) {
+            return match(child, path, end + 1, requestMethod, pathVariables, allowedMethods);
+        }
+        RequestHandlerFactory factory = child.handlers.get(requestMethod);
+        if (factory == null) {
+            allowedMethods.addAll(child.handlers.keySet());
+        }
+        return factory;
+    }
+
+    private static String[] segmentsOf(String mapping) {
+        String mappingToUse = mapping.startsWith("/") ? mapping.substring(1) : mapping;
+        return mappingToUse.split("/", -1);
+    }
+
+    /**
+     * The result of routing a request.
+     *
+     * @param factory        the handler factory, {@code null} if no mapping matched
+     * @param pathVariables  the captured path variables in the order of their declaration
+     * @param allowedMethods the methods mapped to the path if none is mapped for the request method
+     */
+    public record RouteMatch(@Nullable RequestHandlerFactory factory, List<String> pathVariables,
+                             Set<RequestMethod> allowedMethods) {
+
+        /**
+         * Whether a handler for the request method was found.
+         */
+        public boolean isFound() {
+            return factory != null;
+        }
+
+        /**
+         * Whether the path is mapped, but not for the request method.
+         */
+        public boolean isMethodNotAllowed() {
+            return factory == null && !allowedMethods.isEmpty();
+        }
+    }
+
+    private static final class Node {
+        private final String prefix;
+        private final String suffix;
+        private final Map<String, Node> staticChildren = new HashMap<>();
+        private final List<Node> patternChildren = new ArrayList<>();
+        @Nullable
+        private Node variableChild;
+        private final Map<RequestMethod, RequestHandlerFactory> handlers = new EnumMap<>(RequestMethod.class);
+
+        private Node(String prefix, String suffix) {
+            this.prefix = prefix;
+            this.suffix = suffix;
+        }
+
+        private boolean matches(String segment) {
+            return segment.length() > prefix.length() + suffix.length()
+                    && segment.startsWith(prefix) && segment.endsWith(suffix);
+        }
+
+        private Node child(String segment, String mapping) {
+            int open = segment.indexOf('{');
+            if (open < 0) {
+                return staticChildren.computeIfAbsent(segment, key -> new Node("", ""));
+            }
+            int close = segment.indexOf('}', open);
+            if (close < 0 || segment.indexOf('{', close) >= 0) {
+                throw new IllegalArgumentException("Invalid segment '" + segment + "' in request mapping '"
+                        + mapping + "': a segment can declare one path variable");
+            }
+            String literalPrefix = segment.substring(0, open);
+            String literalSuffix = segment.substring(close + 1);
+            if (literalPrefix.isEmpty() && literalSuffix.isEmpty()) {
+                if (variableChild == null) {
+                    variableChild = new Node("", "");
+                }
+                return variableChild;
+            }
+            for (Node patternChild : patternChildren) {
+                if (patternChild.prefix.equals(literalPrefix) && patternChild.suffix.equals(literalSuffix)) {
+                    return patternChild;
+                }
+            }
+            Node patternChild = new Node(literalPrefix, literalSuffix);
+            patternChildren.add(patternChild);
+            patternChildren.sort(PATTERN_ORDER);
+            return patternChild;
+        }
+    }
+}
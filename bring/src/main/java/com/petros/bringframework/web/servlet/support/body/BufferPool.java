@@ -0,0 +1,75 @@
+package com.petros.bringframework.web.servlet.support.body;
+
+import com.petros.bringframework.core.AssertUtils;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A bounded pool of equally sized byte buffers, so request bodies are read into recycled memory
+ * instead of fresh arrays per request. Buffers beyond the capacity of the pool are left to the garbage collector
+ */
+public class BufferPool {
+    public static final int DEFAULT_BUFFER_SIZE = 8 * 1024;
+    public static final int DEFAULT_CAPACITY = 256;
+
+    private static final BufferPool SHARED_INSTANCE = new BufferPool();
+
+    private final int bufferSize;
+    private final int capacity;
+    private final Queue<byte[]> buffers = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pooled = new AtomicInteger();
+
+    public BufferPool() {
+        this(DEFAULT_BUFFER_SIZE, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param bufferSize the size of each buffer in bytes
+     * @param capacity   how many free buffers the pool keeps at most
+     */
+    public BufferPool(int bufferSize, int capacity) {
+        AssertUtils.isTrue(bufferSize > 0, "Buffer size must be positive");
+        AssertUtils.isTrue(capacity >= 0, "Capacity must not be negative");
+        this.bufferSize = bufferSize;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Return the pool shared by the framework, with buffers of {@link #DEFAULT_BUFFER_SIZE}
+     */
+    public static BufferPool getSharedInstance() {
+        return SHARED_INSTANCE;
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    /**
+     * Take a buffer from the pool, or allocate one if the pool is empty
+     */
+    public byte[] acquire() {
+        byte[] buffer = buffers.poll();
+        if (buffer == null) {
+            return new byte[bufferSize];
+        }
+        pooled.decrementAndGet();
+        return buffer;
+    }
+
+    /**
+     * Return a buffer taken by {@link #acquire()} to the pool
+     */
+    public void release(byte[] buffer) {
+        if (buffer.length != bufferSize) {
+            return;
+        }
+        if (pooled.incrementAndGet() <= capacity) {
+            buffers.offer(buffer);
+        } else {
+            pooled.decrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.petros.bringframework.web.servlet.support.body;
+
+import javax.annotation.Nullable;
+import javax.servlet.ServletRequest;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A request body read ahead of the controller invocation into buffers of a {@link BufferPool}.
+ * It is attached to the request, so the invocation reads the body from memory instead of the servlet stream.
+ * The buffers go back to the pool on {@link #release()}
+ */
+public final class BufferedRequestBody {
+    private static final String ATTRIBUTE = BufferedRequestBody.class.getName();
+
+    private final BufferPool pool;
+    private final List<byte[]> chunks = new ArrayList<>();
+    // bytes used in the last chunk
+    private int position;
+    private long size;
+    private boolean released;
+
+    BufferedRequestBody(BufferPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Return the body read ahead for the given request, {@code null} if the body wasn't read ahead
+     */
+    @Nullable
+    public static BufferedRequestBody from(ServletRequest request) {
+        return (BufferedRequestBody) request.getAttribute(ATTRIBUTE);
+    }
+
+    void attachTo(ServletRequest request) {
+        request.setAttribute(ATTRIBUTE, this);
+    }
+
+    /**
+     * Return the chunk to read the next bytes into, with room from {@link #position()} to its end
+     */
+    byte[] writableChunk() {
+        if (chunks.isEmpty() || position == pool.getBufferSize()) {
+            chunks.add(pool.acquire());
+            position = 0;
+        }
+        return chunks.get(chunks.size() - 1);
+    }
+
+    int position() {
+        return position;
+    }
+
+    void advance(int count) {
+        position += count;
+        size += count;
+    }
+
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Return a stream over the body. The stream must not be used after {@link #release()}
+     */
+    public InputStream getInputStream() {
+        return new ChunksInputStream();
+    }
+
+    public String asString(Charset charset) {
+        byte[] bytes = new byte[Math.toIntExact(size)];
+        int offset = 0;
+        for (int i = 0; i < chunks.size(); i++) {
+            int length = chunkLength(i);
+            System.arraycopy(chunks.get(i), 0, bytes, offset, length);
+            offset += length;
+        }
+        return new String(bytes, charset);
+    }
+
+    /**
+     * Return the buffers to the pool. Called once the body is mapped to the controller arguments
+     */
+    public void release() {
+        if (released) return;
+        released = true;
+        chunks.forEach(pool::release);
+        chunks.clear();
+    }
+
+    private int chunkLength(int index) {
+        return index == chunks.size() - 1 ? position : pool.getBufferSize();
+    }
+
+    private final class ChunksInputStream extends InputStream {
+        private int chunk;
+        private int offset;
+
+        @Override
+        public int read() {
+            if (!skipExhaustedChunks()) return -1;
+            return chunks.get(chunk)[offset++] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] target, int targetOffset, int length) {
+            if (length == 0) return 0;
+            if (!skipExhaustedChunks()) return -1;
+            int count = Math.min(length, chunkLength(chunk) - offset);
+            System.arraycopy(chunks.get(chunk), offset, target, targetOffset, count);
+            offset += count;
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return chunk < chunks.size() ? chunkLength(chunk) - offset : 0;
+        }
+
+        private boolean skipExhaustedChunks() {
+            while (chunk < chunks.size() && offset == chunkLength(chunk)) {
+                chunk++;
+                offset = 0;
+            }
+            return chunk < chunks.size();
+        }
+    }
+}
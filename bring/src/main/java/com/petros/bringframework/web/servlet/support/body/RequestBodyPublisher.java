@@ -0,0 +1,179 @@
+package com.petros.bringframework.web.servlet.support.body;
+
+import lombok.extern.log4j.Log4j2;
+
+import javax.annotation.Nullable;
+import javax.servlet.ReadListener;
+import javax.servlet.ServletInputStream;
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The request body as chunks, for a {@code @RequestBody Flow.Publisher<ByteBuffer>} controller parameter
+ * <p>
+ * The body is read with a non-blocking {@link ReadListener} as the subscriber demands chunks, so an upload is
+ * consumed at the pace of its processing and never held in memory as a whole. Each chunk is a new buffer owned by
+ * the subscriber. The request must be in asynchronous mode until the body is consumed, which the framework takes
+ * care of when the controller method returns a {@link java.util.concurrent.CompletionStage}
+ */
+@Log4j2
+public final class RequestBodyPublisher implements Flow.Publisher<ByteBuffer> {
+    private final HttpServletRequest req;
+    private final BufferPool bufferPool;
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+
+    public RequestBodyPublisher(HttpServletRequest req, BufferPool bufferPool) {
+        this.req = req;
+        this.bufferPool = bufferPool;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super ByteBuffer> subscriber) {
+        BodySubscription subscription = new BodySubscription(subscriber);
+        subscriber.onSubscribe(subscription);
+        if (!subscribed.compareAndSet(false, true)) {
+            subscription.fail(new IllegalStateException("The request body can be subscribed to only once"));
+        } else if (!req.isAsyncStarted()) {
+            subscription.fail(new IllegalStateException("The request body can be published only in async mode"));
+        } else {
+            subscription.start();
+        }
+    }
+
+    private final class BodySubscription implements Flow.Subscription, ReadListener {
+        private final Flow.Subscriber<? super ByteBuffer> subscriber;
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+        private volatile boolean started;
+        private volatile boolean allDataRead;
+        private volatile boolean cancelled;
+        @Nullable
+        private volatile Throwable failure;
+
+        // Accessed by the draining thread only
+        private ServletInputStream in;
+        private byte[] scratch;
+        private boolean terminated;
+
+        private BodySubscription(Flow.Subscriber<? super ByteBuffer> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        private void start() {
+            try {
+                ServletInputStream input = req.getInputStream();
+                // Becomes visible to the draining thread through the volatile write below
+                in = input;
+                started = true;
+                input.setReadListener(this);
+            } catch (IOException | RuntimeException e) {
+                fail(e);
+            }
+        }
+
+        private void fail(Throwable throwable) {
+            failure = throwable;
+            drain();
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                fail(new IllegalArgumentException("Demand must be positive: " + n));
+                return;
+            }
+            demand.getAndAccumulate(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            drain();
+        }
+
+        @Override
+        public void onDataAvailable() {
+            drain();
+        }
+
+        @Override
+        public void onAllDataRead() {
+            allDataRead = true;
+            drain();
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            fail(throwable);
+        }
+
+        // Reads and emits in one thread at a time, whichever signal triggered it
+        private void drain() {
+            if (wip.getAndIncrement() != 0) return;
+            int missed = 1;
+            do {
+                if (!terminated) {
+                    try {
+                        emit();
+                    } catch (IOException e) {
+                        failure = e;
+                        emitTerminal();
+                    }
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void emit() throws IOException {
+            if (cancelled) {
+                terminate();
+                return;
+            }
+            if (failure != null) {
+                emitTerminal();
+                return;
+            }
+            if (!started) return;
+            // Reading stops without demand; isReady() turning false makes the container call onDataAvailable
+            while (!cancelled && demand.get() > 0 && !in.isFinished() && in.isReady()) {
+                if (scratch == null) scratch = bufferPool.acquire();
+                int count = in.read(scratch);
+                if (count < 0) break;
+                if (count == 0) continue;
+                demand.decrementAndGet();
+                subscriber.onNext(ByteBuffer.wrap(Arrays.copyOf(scratch, count)));
+            }
+            if (cancelled) {
+                terminate();
+            } else if (allDataRead || in.isFinished()) {
+                emitTerminal();
+            }
+        }
+
+        private void emitTerminal() {
+            terminate();
+            Throwable error = failure;
+            if (error != null) {
+                log.debug("Reading the request body failed: {}", String.valueOf(error));
+                subscriber.onError(error);
+            } else {
+                subscriber.onComplete();
+            }
+        }
+
+        private void terminate() {
+            terminated = true;
+            if (scratch != null) {
+                bufferPool.release(scratch);
+                scratch = null;
+            }
+        }
+    }
+}
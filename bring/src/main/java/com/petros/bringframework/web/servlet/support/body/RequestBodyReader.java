@@ -0,0 +1,121 @@
+package com.petros.bringframework.web.servlet.support.body;
+
+import com.petros.bringframework.web.servlet.support.utils.Http;
+import lombok.extern.log4j.Log4j2;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.ReadListener;
+import javax.servlet.ServletInputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Reads a request body with a non-blocking {@link ReadListener} into pooled buffers, then dispatches the request
+ * again to the servlet with the body attached as {@link BufferedRequestBody}
+ * <p>
+ * No thread waits for a slow client while the body is uploaded: the container thread is released, and bytes are
+ * read as they arrive. The controller is invoked on the async dispatch, only once the body is complete
+ */
+@Log4j2
+public final class RequestBodyReader implements ReadListener, AsyncListener {
+    private final HttpServletResponse resp;
+    private final ServletInputStream in;
+    private final AsyncContext asyncContext;
+    private final BufferedRequestBody body;
+    private final long maxBodySize;
+    private final AtomicBoolean done = new AtomicBoolean();
+
+    private RequestBodyReader(HttpServletRequest req, HttpServletResponse resp, AsyncContext asyncContext,
+                              BufferPool bufferPool, long maxBodySize) throws IOException {
+        this.resp = resp;
+        this.in = req.getInputStream();
+        this.asyncContext = asyncContext;
+        this.body = new BufferedRequestBody(bufferPool);
+        this.maxBodySize = maxBodySize;
+    }
+
+    /**
+     * Whether the request announces a body, with a content length or chunked
+     */
+    public static boolean hasBody(HttpServletRequest req) {
+        return req.getContentLengthLong() > 0 || req.getHeader("Transfer-Encoding") != null;
+    }
+
+    /**
+     * Start reading the body of the request and dispatch the request again once it is complete.
+     * A body larger than the maximum is answered with 413, a body not complete within the timeout with 408
+     *
+     * @param maxBodySize  the maximum size of the body in bytes
+     * @param asyncTimeout the timeout of the upload in milliseconds, zero for none, negative for the container default
+     */
+    public static void readThenDispatch(HttpServletRequest req, HttpServletResponse resp, BufferPool bufferPool,
+                                        long maxBodySize, long asyncTimeout) throws IOException {
+        if (req.getContentLengthLong() > maxBodySize) {
+            Http.sendError(resp, HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE);
+            return;
+        }
+        AsyncContext asyncContext = req.startAsync(req, resp);
+        if (asyncTimeout >= 0)
+            asyncContext.setTimeout(asyncTimeout);
+        RequestBodyReader reader = new RequestBodyReader(req, resp, asyncContext, bufferPool, maxBodySize);
+        asyncContext.addListener(reader);
+        reader.in.setReadListener(reader);
+    }
+
+    @Override
+    public void onDataAvailable() throws IOException {
+        while (!done.get() && in.isReady()) {
+            byte[] chunk = body.writableChunk();
+            int count = in.read(chunk, body.position(), chunk.length - body.position());
+            if (count < 0) return;
+            body.advance(count);
+            if (body.size() > maxBodySize) {
+                fail(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE);
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void onAllDataRead() {
+        if (done.compareAndSet(false, true)) {
+            body.attachTo(asyncContext.getRequest());
+            asyncContext.dispatch();
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        log.debug("Reading the request body failed: {}", String.valueOf(throwable));
+        fail(HttpServletResponse.SC_BAD_REQUEST);
+    }
+
+    @Override
+    public void onTimeout(AsyncEvent event) {
+        log.debug("Reading the request body timed out after {} bytes", body.size());
+        fail(HttpServletResponse.SC_REQUEST_TIMEOUT);
+    }
+
+    @Override
+    public void onError(AsyncEvent event) {
+        onError(event.getThrowable());
+    }
+
+    @Override
+    public void onComplete(AsyncEvent event) {}
+
+    @Override
+    public void onStartAsync(AsyncEvent event) {}
+
+    private void fail(int status) {
+        if (done.compareAndSet(false, true)) {
+            body.release();
+            Http.sendError(resp, status);
+            asyncContext.complete();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.petros.bringframework.web.servlet.support.cache;
+
+import com.petros.bringframework.web.context.annotation.CacheResponse;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.List;
+
+/**
+ * How the responses of a handler are cached, as declared by {@link CacheResponse}
+ *
+ * @param ttlNanos    how long a cached response is fresh
+ * @param varyHeaders the request headers responses vary by
+ */
+public record CachePolicy(long ttlNanos, List<String> varyHeaders) {
+
+    public static CachePolicy of(CacheResponse annotation) {
+        return new CachePolicy(annotation.timeUnit().toNanos(annotation.ttl()), List.of(annotation.varyHeaders()));
+    }
+
+    /**
+     * Return the key of the cached response of the request: its path, query string and varying headers
+     */
+    public String keyOf(HttpServletRequest req) {
+        var key = new StringBuilder(req.getServletPath());
+        var query = req.getQueryString();
+        if (query != null) key.append('?').append(query);
+        for (String header : varyHeaders) {
+            var value = req.getHeader(header);
+            key.append('\n').append(header).append(':').append(value != null ? value : "");
+        }
+        return key.toString();
+    }
+}
@@ -0,0 +1,64 @@
+package com.petros.bringframework.web.servlet.support.cache;
+
+import javax.annotation.Nullable;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * A response body in the {@link ResponseCache}, with its content type and ETag
+ */
+public final class CachedResponse {
+    @Nullable
+    private final String contentType;
+    private final byte[] body;
+    private final String etag;
+    private final long expiresAt;
+
+    /**
+     * @param expiresAt the {@link System#nanoTime()} the response stops being fresh at
+     */
+    public CachedResponse(@Nullable String contentType, byte[] body, String etag, long expiresAt) {
+        this.contentType = contentType;
+        this.body = body;
+        this.etag = etag;
+        this.expiresAt = expiresAt;
+    }
+
+    @Nullable
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+
+    public int size() {
+        return body.length;
+    }
+
+    public boolean isExpired(long now) {
+        return now - expiresAt >= 0;
+    }
+
+    /**
+     * Write the cached response with its ETag and length
+     */
+    public void writeTo(HttpServletResponse resp) throws IOException {
+        resp.setHeader("ETag", etag);
+        if (contentType != null) resp.setContentType(contentType);
+        resp.setContentLength(body.length);
+        ServletOutputStream out = resp.getOutputStream();
+        out.write(body);
+        out.close();
+    }
+
+    /**
+     * Answer with 304 Not Modified and the ETag
+     */
+    public void writeNotModifiedTo(HttpServletResponse resp) {
+        resp.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+        resp.setHeader("ETag", etag);
+    }
+}
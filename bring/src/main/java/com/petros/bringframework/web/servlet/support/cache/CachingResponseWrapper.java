@@ -0,0 +1,209 @@
+package com.petros.bringframework.web.servlet.support.cache;
+
+import com.petros.bringframework.web.servlet.support.utils.EntityTags;
+import lombok.extern.log4j.Log4j2;
+
+import javax.annotation.Nullable;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.Arrays;
+
+/**
+ * A response whose body is captured for the {@link ResponseCache}
+ * <p>
+ * The body is held in memory until it is closed, then cached with its ETag if the status is 200, and written.
+ * A body larger than the maximum entry size, an error or a non-blocking write is passed through uncached
+ */
+@Log4j2
+class CachingResponseWrapper extends HttpServletResponseWrapper {
+    private static final int INITIAL_BUFFER_SIZE = 1024;
+
+    private final HttpServletRequest request;
+    private final ResponseCache cache;
+    private final String key;
+    private final CachePolicy policy;
+    @Nullable
+    private CapturingOutputStream outputStream;
+    @Nullable
+    private PrintWriter writer;
+    private State state = State.CAPTURING;
+    // A length set while the body is captured, for the body passed through instead
+    private long pendingContentLength = -1;
+
+    CachingResponseWrapper(HttpServletRequest request, HttpServletResponse response, ResponseCache cache,
+                           String key, CachePolicy policy) {
+        super(response);
+        this.request = request;
+        this.cache = cache;
+        this.key = key;
+        this.policy = policy;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (writer != null) throw new IllegalStateException("getWriter() has already been called");
+        if (outputStream == null) outputStream = new CapturingOutputStream(super.getOutputStream());
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            if (outputStream != null) throw new IllegalStateException("getOutputStream() has already been called");
+            outputStream = new CapturingOutputStream(super.getOutputStream());
+            writer = new PrintWriter(new OutputStreamWriter(outputStream, getCharacterEncoding()));
+        }
+        return writer;
+    }
+
+    @Override
+    public void setContentLength(int len) {
+        setContentLengthLong(len);
+    }
+
+    @Override
+    public void setContentLengthLong(long len) {
+        if (state == State.CAPTURING) pendingContentLength = len;
+        else super.setContentLengthLong(len);
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (writer != null) writer.flush();
+        if (state != State.CAPTURING) super.flushBuffer();
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        if (outputStream != null) outputStream.count = 0;
+        pendingContentLength = -1;
+    }
+
+    @Override
+    public void resetBuffer() {
+        super.resetBuffer();
+        if (outputStream != null) outputStream.count = 0;
+    }
+
+    @Override
+    public void sendError(int sc) throws IOException {
+        state = State.PASSTHROUGH;
+        super.sendError(sc);
+    }
+
+    @Override
+    public void sendError(int sc, String msg) throws IOException {
+        state = State.PASSTHROUGH;
+        super.sendError(sc, msg);
+    }
+
+    /**
+     * Complete the body, unless it is already closed
+     */
+    void finish() {
+        try {
+            if (writer != null) writer.flush();
+            if (state == State.CAPTURING) complete(outputStream);
+        } catch (IOException e) {
+            log.debug("An exception occurred while completing the cached response: {}", e.getMessage(), e);
+        }
+    }
+
+    private void complete(@Nullable CapturingOutputStream captured) throws IOException {
+        state = State.COMPLETED;
+        byte[] body = captured != null ? Arrays.copyOf(captured.buffer, captured.count) : new byte[0];
+        if (captured != null) captured.buffer = null;
+        if (getStatus() != SC_OK) {
+            super.setContentLength(body.length);
+            ServletOutputStream out = super.getOutputStream();
+            out.write(body);
+            out.close();
+            return;
+        }
+        var response = new CachedResponse(getContentType(), body, EntityTags.of(body), System.nanoTime() + policy.ttlNanos());
+        cache.put(key, response);
+        if (EntityTags.matches(request.getHeader("If-None-Match"), response.getEtag())) {
+            response.writeNotModifiedTo((HttpServletResponse) getResponse());
+        } else {
+            response.writeTo((HttpServletResponse) getResponse());
+        }
+    }
+
+    private enum State {CAPTURING, PASSTHROUGH, COMPLETED}
+
+    private final class CapturingOutputStream extends ServletOutputStream {
+        private final ServletOutputStream delegate;
+        private byte[] buffer = new byte[INITIAL_BUFFER_SIZE];
+        private int count;
+
+        private CapturingOutputStream(ServletOutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            switch (state) {
+                case CAPTURING -> {
+                    if (count + len > cache.getMaxEntrySize()) {
+                        // Too large to cache, send what is captured and the rest as it comes
+                        passThrough();
+                        delegate.write(buffer, 0, count);
+                        buffer = null;
+                        delegate.write(b, off, len);
+                        return;
+                    }
+                    if (count + len > buffer.length)
+                        buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, count + len));
+                    System.arraycopy(b, off, buffer, count, len);
+                    count += len;
+                }
+                case PASSTHROUGH -> delegate.write(b, off, len);
+                default -> throw new IOException("The response body is already closed");
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            // A captured body is written once closed
+            if (state == State.PASSTHROUGH) delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (state == State.CAPTURING) complete(this);
+            else if (state == State.PASSTHROUGH) delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            // Non-blocking writes are streamed as they are
+            if (state == State.CAPTURING) {
+                passThrough();
+                buffer = null;
+            }
+            delegate.setWriteListener(writeListener);
+        }
+
+        private void passThrough() {
+            state = State.PASSTHROUGH;
+            if (pendingContentLength >= 0) CachingResponseWrapper.super.setContentLengthLong(pendingContentLength);
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.petros.bringframework.web.servlet.support.cache;
+
+import com.petros.bringframework.core.AssertUtils;
+import com.petros.bringframework.web.servlet.support.utils.EntityTags;
+import lombok.extern.log4j.Log4j2;
+
+import javax.annotation.Nullable;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A bounded in-memory cache of the responses of handlers annotated with
+ * {@link com.petros.bringframework.web.context.annotation.CacheResponse}
+ * <p>
+ * Entries are evicted least recently used first once there are more than {@link #setMaxEntries(int) the maximum
+ * entries} or their bodies take more than {@link #setMaxSize(long) the maximum size}, and dropped when they expire.
+ * A fresh entry is served without invoking the controller, and a request whose {@code If-None-Match} matches its
+ * ETag is answered with 304. A lock guards the entries rather than {@code synchronized}, so a virtual thread
+ * waiting for it doesn't pin its carrier
+ */
+@Log4j2
+public class ResponseCache {
+    public static final int DEFAULT_MAX_ENTRIES = 1024;
+    public static final long DEFAULT_MAX_SIZE = 32 * 1024 * 1024;
+    public static final int DEFAULT_MAX_ENTRY_SIZE = 1024 * 1024;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    // in access order, least recently used first
+    private final LinkedHashMap<String, CachedResponse> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long size;
+    private int maxEntries = DEFAULT_MAX_ENTRIES;
+    private long maxSize = DEFAULT_MAX_SIZE;
+    private int maxEntrySize = DEFAULT_MAX_ENTRY_SIZE;
+
+    /**
+     * Set how many responses are cached at most. Default is 1024
+     */
+    public void setMaxEntries(int maxEntries) {
+        AssertUtils.isTrue(maxEntries > 0, "Maximum entries must be positive");
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Set the maximum size in bytes of all cached bodies. Default is 32 MB
+     */
+    public void setMaxSize(long maxSize) {
+        AssertUtils.isTrue(maxSize > 0, "Maximum size must be positive");
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Set the maximum size in bytes of a body to cache, larger ones are sent without caching. Default is 1 MB
+     */
+    public void setMaxEntrySize(int maxEntrySize) {
+        AssertUtils.isTrue(maxEntrySize > 0, "Maximum entry size must be positive");
+        this.maxEntrySize = maxEntrySize;
+    }
+
+    public int getMaxEntrySize() {
+        return maxEntrySize;
+    }
+
+    /**
+     * Answer the request from the cache if a fresh response is cached for it
+     *
+     * @return the response to invoke the controller with, wrapped to cache what it writes, or {@code null}
+     * if the request is answered already
+     */
+    @Nullable
+    public HttpServletResponse lookup(HttpServletRequest req, HttpServletResponse resp, CachePolicy policy) {
+        String key = policy.keyOf(req);
+        CachedResponse cached = get(key);
+        if (cached == null) {
+            return new CachingResponseWrapper(req, resp, this, key, policy);
+        }
+        if (EntityTags.matches(req.getHeader("If-None-Match"), cached.getEtag())) {
+            cached.writeNotModifiedTo(resp);
+            return null;
+        }
+        try {
+            cached.writeTo(resp);
+        } catch (IOException e) {
+            log.debug("An exception occurred while writing the cached response: {}", e.getMessage(), e);
+            throw new RuntimeException(e);
+        }
+        return null;
+    }
+
+    /**
+     * Complete the response, if it was wrapped for caching and its body isn't closed yet
+     */
+    public static void finish(@Nullable HttpServletResponse resp) {
+        if (resp instanceof CachingResponseWrapper wrapper) {
+            wrapper.finish();
+        }
+    }
+
+    @Nullable
+    public CachedResponse get(String key) {
+        lock.lock();
+        try {
+            CachedResponse cached = entries.get(key);
+            if (cached != null && cached.isExpired(System.nanoTime())) {
+                entries.remove(key);
+                size -= cached.size();
+                return null;
+            }
+            return cached;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void put(String key, CachedResponse response) {
+        if (response.size() > maxEntrySize) {
+            return;
+        }
+        lock.lock();
+        try {
+            CachedResponse previous = entries.put(key, response);
+            size += response.size() - (previous != null ? previous.size() : 0);
+            Iterator<Map.Entry<String, CachedResponse>> eldest = entries.entrySet().iterator();
+            while ((entries.size() > maxEntries || size > maxSize) && eldest.hasNext()) {
+                size -= eldest.next().getValue().size();
+                eldest.remove();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void evict(String key) {
+        lock.lock();
+        try {
+            CachedResponse removed = entries.remove(key);
+            if (removed != null) size -= removed.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void clear() {
+        lock.lock();
+        try {
+            entries.clear();
+            size = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.petros.bringframework.web.servlet.support.common;
+
+/**
+ * Response compression of a request mapping
+ */
+public enum Compression {
+    /**
+     * As configured for the dispatcher
+     */
+    DEFAULT,
+    /**
+     * Compressed if the client accepts it, whatever is configured for the dispatcher
+     */
+    ENABLED,
+    /**
+     * Never compressed
+     */
+    DISABLED
+}
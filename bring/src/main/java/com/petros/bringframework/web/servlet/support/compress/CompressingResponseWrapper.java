@@ -0,0 +1,315 @@
+package com.petros.bringframework.web.servlet.support.compress;
+
+import com.petros.bringframework.web.servlet.support.body.BufferPool;
+import com.petros.bringframework.web.servlet.support.utils.EntityTags;
+import lombok.extern.log4j.Log4j2;
+
+import javax.annotation.Nullable;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * A response whose body is compressed by the {@link ResponseCompressor}
+ * <p>
+ * Whether to compress is decided on the first write, when the content type is known. A compressible body is
+ * buffered up to the minimum size: a smaller body is written as it is once closed, a larger one is deflated
+ * from then on
+ */
+@Log4j2
+class CompressingResponseWrapper extends HttpServletResponseWrapper {
+    private static final byte[] GZIP_HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+
+    private static final int INITIAL_BUFFER_SIZE = 2048;
+
+    private final ResponseCompressor compressor;
+    @Nullable
+    private final ContentCoding coding;
+    private final int minSize;
+    @Nullable
+    private CompressingOutputStream outputStream;
+    @Nullable
+    private PrintWriter writer;
+    // A length set before the body decided whether it is compressed
+    private long pendingContentLength = -1;
+
+    CompressingResponseWrapper(HttpServletResponse response, ResponseCompressor compressor,
+                               @Nullable ContentCoding coding, int minSize) {
+        super(response);
+        this.compressor = compressor;
+        this.coding = coding;
+        this.minSize = minSize;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (writer != null) throw new IllegalStateException("getWriter() has already been called");
+        if (outputStream == null) outputStream = new CompressingOutputStream(super.getOutputStream());
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            if (outputStream != null) throw new IllegalStateException("getOutputStream() has already been called");
+            outputStream = new CompressingOutputStream(super.getOutputStream());
+            writer = new PrintWriter(new OutputStreamWriter(outputStream, getCharacterEncoding()));
+        }
+        return writer;
+    }
+
+    @Override
+    public void setContentLength(int len) {
+        setContentLengthLong(len);
+    }
+
+    @Override
+    public void setContentLengthLong(long len) {
+        if (outputStream == null || outputStream.state == State.UNDECIDED) {
+            pendingContentLength = len;
+        } else if (outputStream.state == State.PASSTHROUGH) {
+            super.setContentLengthLong(len);
+        }
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (writer != null) writer.flush();
+        else if (outputStream != null) outputStream.flush();
+        super.flushBuffer();
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        if (outputStream != null) {
+            outputStream.release();
+            outputStream.state = State.UNDECIDED;
+        }
+        pendingContentLength = -1;
+    }
+
+    @Override
+    public void resetBuffer() {
+        super.resetBuffer();
+        if (outputStream != null && outputStream.state == State.BUFFERING) outputStream.buffered = 0;
+    }
+
+    @Override
+    public void sendError(int sc) throws IOException {
+        discard();
+        super.sendError(sc);
+    }
+
+    @Override
+    public void sendError(int sc, String msg) throws IOException {
+        discard();
+        super.sendError(sc, msg);
+    }
+
+    /**
+     * Complete the body, unless it is already closed
+     */
+    void finish() {
+        try {
+            if (writer != null) writer.flush();
+            if (outputStream != null) outputStream.finish();
+        } catch (IOException e) {
+            log.debug("An exception occurred while completing the compressed response: {}", e.getMessage(), e);
+        }
+    }
+
+    // The body is replaced by the container, release what was taken for it
+    private void discard() {
+        if (outputStream != null) {
+            outputStream.release();
+            outputStream.state = State.FINISHED;
+        }
+    }
+
+    private enum State {UNDECIDED, BUFFERING, PASSTHROUGH, COMPRESSING, FINISHED}
+
+    private final class CompressingOutputStream extends ServletOutputStream {
+        private final ServletOutputStream delegate;
+        private State state = State.UNDECIDED;
+        private byte[] buffer;
+        private int buffered;
+        private boolean nonBlocking;
+        private DeflaterPool deflaterPool;
+        private Deflater deflater;
+        private byte[] deflated;
+        private final CRC32 crc = new CRC32();
+
+        private CompressingOutputStream(ServletOutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (len == 0) return;
+            if (state == State.UNDECIDED) decide();
+            switch (state) {
+                case PASSTHROUGH -> delegate.write(b, off, len);
+                case BUFFERING -> {
+                    if (buffered + len < minSize) {
+                        if (buffered + len > buffer.length)
+                            buffer = Arrays.copyOf(buffer, Math.min(minSize, Math.max(buffer.length * 2, buffered + len)));
+                        System.arraycopy(b, off, buffer, buffered, len);
+                        buffered += len;
+                    } else {
+                        startCompressing();
+                        deflate(b, off, len);
+                    }
+                }
+                case COMPRESSING -> deflate(b, off, len);
+                default -> throw new IOException("The response body is already closed");
+            }
+        }
+
+        private void decide() {
+            String contentType = getContentType();
+            // Non-blocking writes are streamed as they are
+            boolean compressible = !nonBlocking && compressor.isCompressible(contentType)
+                    && getHeader("Content-Encoding") == null
+                    && getStatus() != SC_NO_CONTENT && getStatus() != SC_NOT_MODIFIED
+                    // Ranges are of the uncompressed content
+                    && getStatus() != SC_PARTIAL_CONTENT && getHeader("Content-Range") == null;
+            if (compressible)
+                addVary();
+            if (compressible && coding != null) {
+                state = State.BUFFERING;
+                buffer = new byte[Math.min(Math.max(minSize, 1), INITIAL_BUFFER_SIZE)];
+            } else {
+                state = State.PASSTHROUGH;
+                applyPendingContentLength();
+            }
+        }
+
+        private void addVary() {
+            String vary = getHeader("Vary");
+            if (vary == null) setHeader("Vary", "Accept-Encoding");
+            else if (!vary.toLowerCase().contains("accept-encoding")) setHeader("Vary", vary + ", Accept-Encoding");
+        }
+
+        private void applyPendingContentLength() {
+            if (pendingContentLength >= 0) CompressingResponseWrapper.super.setContentLengthLong(pendingContentLength);
+        }
+
+        private void startCompressing() throws IOException {
+            state = State.COMPRESSING;
+            setHeader("Content-Encoding", coding.getToken());
+            // The compressed bytes differ from the ones the tag was computed for
+            String etag = getHeader("ETag");
+            if (etag != null) setHeader("ETag", EntityTags.weaken(etag));
+            CompressingResponseWrapper.super.setContentLengthLong(-1);
+            deflaterPool = compressor.deflatersFor(coding);
+            deflater = deflaterPool.acquire();
+            deflated = BufferPool.getSharedInstance().acquire();
+            if (coding == ContentCoding.GZIP) delegate.write(GZIP_HEADER);
+            byte[] pending = buffer;
+            int pendingLength = buffered;
+            buffer = null;
+            buffered = 0;
+            if (pendingLength > 0) deflate(pending, 0, pendingLength);
+        }
+
+        private void deflate(byte[] b, int off, int len) throws IOException {
+            if (coding == ContentCoding.GZIP) crc.update(b, off, len);
+            deflater.setInput(b, off, len);
+            while (!deflater.needsInput()) {
+                writeDeflated();
+            }
+        }
+
+        private void writeDeflated() throws IOException {
+            int count = deflater.deflate(deflated, 0, deflated.length, Deflater.NO_FLUSH);
+            if (count > 0) delegate.write(deflated, 0, count);
+        }
+
+        void finish() throws IOException {
+            switch (state) {
+                case BUFFERING -> {
+                    // Too small to be worth compressing
+                    state = State.FINISHED;
+                    CompressingResponseWrapper.super.setContentLengthLong(buffered);
+                    delegate.write(buffer, 0, buffered);
+                    buffer = null;
+                }
+                case COMPRESSING -> {
+                    state = State.FINISHED;
+                    try {
+                        deflater.finish();
+                        while (!deflater.finished()) {
+                            writeDeflated();
+                        }
+                        if (coding == ContentCoding.GZIP) writeGzipTrailer();
+                    } finally {
+                        release();
+                    }
+                }
+                case UNDECIDED -> {
+                    state = State.FINISHED;
+                    applyPendingContentLength();
+                }
+                default -> {
+                }
+            }
+        }
+
+        private void writeGzipTrailer() throws IOException {
+            long checksum = crc.getValue();
+            long size = deflater.getBytesRead();
+            delegate.write(new byte[]{
+                    (byte) checksum, (byte) (checksum >> 8), (byte) (checksum >> 16), (byte) (checksum >> 24),
+                    (byte) size, (byte) (size >> 8), (byte) (size >> 16), (byte) (size >> 24)});
+        }
+
+        void release() {
+            if (deflater != null) {
+                deflaterPool.release(deflater);
+                deflater = null;
+            }
+            if (deflated != null) {
+                BufferPool.getSharedInstance().release(deflated);
+                deflated = null;
+            }
+            buffer = null;
+            buffered = 0;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            // A buffered body stays buffered until it is closed or large enough to compress
+            if (state == State.PASSTHROUGH || state == State.COMPRESSING) delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            finish();
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            nonBlocking = true;
+            delegate.setWriteListener(writeListener);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.petros.bringframework.web.servlet.support.compress;
+
+import javax.annotation.Nullable;
+import java.util.Locale;
+
+/**
+ * Content codings the dispatcher can compress responses with
+ */
+public enum ContentCoding {
+    GZIP("gzip"),
+    DEFLATE("deflate");
+
+    private final String token;
+
+    ContentCoding(String token) {
+        this.token = token;
+    }
+
+    /**
+     * The value of the {@code Content-Encoding} header
+     */
+    public String getToken() {
+        return token;
+    }
+
+    /**
+     * Pick the coding to compress with from an {@code Accept-Encoding} header: the supported coding with the
+     * highest quality, gzip on a tie. Codings not listed are acceptable only through {@code *}
+     *
+     * @return the coding, {@code null} if the client accepts none of them
+     */
+    @Nullable
+    public static ContentCoding negotiate(@Nullable String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isBlank()) {
+            return null;
+        }
+        double gzip = -1;
+        double deflate = -1;
+        double any = -1;
+        for (String element : acceptEncoding.split(",")) {
+            int parameters = element.indexOf(';');
+            String coding = (parameters < 0 ? element : element.substring(0, parameters)).trim().toLowerCase(Locale.ROOT);
+            double quality = parameters < 0 ? 1 : qualityOf(element.substring(parameters + 1));
+            switch (coding) {
+                case "gzip", "x-gzip" -> gzip = Math.max(gzip, quality);
+                case "deflate" -> deflate = Math.max(deflate, quality);
+                case "*" -> any = quality;
+                default -> {
+                }
+            }
+        }
+        if (gzip < 0) gzip = any;
+        if (deflate < 0) deflate = any;
+        if (gzip <= 0 && deflate <= 0) {
+            return null;
+        }
+        return gzip >= deflate ? GZIP : DEFLATE;
+    }
+
+    private static double qualityOf(String parameters) {
+        for (String parameter : parameters.split(";")) {
+            String trimmed = parameter.trim();
+            if (trimmed.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(trimmed.substring(2).trim());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+}
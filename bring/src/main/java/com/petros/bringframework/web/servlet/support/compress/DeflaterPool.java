@@ -0,0 +1,62 @@
+package com.petros.bringframework.web.servlet.support.compress;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.Deflater;
+
+/**
+ * A bounded pool of {@link Deflater}s of one compression level and format
+ * <p>
+ * A Deflater holds native memory, so creating one per response is costly. Pooled instances are reset and reused.
+ * The pool is shared rather than per thread, which works the same with a few container threads or a virtual
+ * thread per request. Deflaters beyond the capacity are ended instead of pooled
+ */
+public class DeflaterPool {
+    private final int level;
+    private final boolean nowrap;
+    private final int capacity;
+    private final Queue<Deflater> deflaters = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pooled = new AtomicInteger();
+
+    /**
+     * @param level    the compression level
+     * @param nowrap   {@code true} for raw deflate data as wrapped by gzip, {@code false} for the zlib format
+     * @param capacity how many free deflaters the pool keeps at most
+     */
+    public DeflaterPool(int level, boolean nowrap, int capacity) {
+        this.level = level;
+        this.nowrap = nowrap;
+        this.capacity = capacity;
+    }
+
+    public Deflater acquire() {
+        Deflater deflater = deflaters.poll();
+        if (deflater == null) {
+            return new Deflater(level, nowrap);
+        }
+        pooled.decrementAndGet();
+        return deflater;
+    }
+
+    public void release(Deflater deflater) {
+        if (pooled.incrementAndGet() <= capacity) {
+            deflater.reset();
+            deflaters.offer(deflater);
+        } else {
+            pooled.decrementAndGet();
+            deflater.end();
+        }
+    }
+
+    /**
+     * End the pooled deflaters, releasing their native memory
+     */
+    public void clear() {
+        Deflater deflater;
+        while ((deflater = deflaters.poll()) != null) {
+            pooled.decrementAndGet();
+            deflater.end();
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.petros.bringframework.web.servlet.support.compress;
+
+import com.petros.bringframework.core.AssertUtils;
+import com.petros.bringframework.web.servlet.support.common.Compression;
+
+import javax.annotation.Nullable;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.Deflater;
+
+/**
+ * The response compression stage of the dispatcher
+ * <p>
+ * Wraps the response of a request, so its body is gzip or deflate encoded as negotiated through
+ * {@code Accept-Encoding}. Only bodies of compressible content types (text, JSON, XML, JavaScript) and at least
+ * {@link #setMinSize(int) the minimum size} are compressed; a smaller body is sent as it is, with its length.
+ * Images, archives, streams and responses with a {@code Content-Encoding} of their own pass through untouched.
+ * Deflaters are taken from pools, so compressing doesn't allocate native memory per response
+ */
+public class ResponseCompressor {
+    public static final int DEFAULT_MIN_SIZE = 1024;
+    public static final int DEFAULT_POOL_CAPACITY = 64;
+    public static final List<String> DEFAULT_COMPRESSIBLE_TYPES = List.of("text/", "application/json",
+            "application/javascript", "application/xml", "+json", "+xml");
+
+    private static final String EVENT_STREAM_TYPE = "text/event-stream";
+
+    private boolean enabled;
+    private int minSize = DEFAULT_MIN_SIZE;
+    private List<String> compressibleTypes = DEFAULT_COMPRESSIBLE_TYPES;
+    private volatile DeflaterPool gzipDeflaters;
+    private volatile DeflaterPool deflateDeflaters;
+
+    public ResponseCompressor() {
+        setLevel(Deflater.DEFAULT_COMPRESSION);
+    }
+
+    /**
+     * Set whether responses are compressed, unless their mapping declares otherwise. Default is {@code false}
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Set the minimum size in bytes of a body to compress, unless its mapping declares otherwise. Default is 1024
+     */
+    public void setMinSize(int minSize) {
+        AssertUtils.isTrue(minSize >= 0, "Minimum size must not be negative");
+        this.minSize = minSize;
+    }
+
+    public int getMinSize() {
+        return minSize;
+    }
+
+    /**
+     * Set the compression level, from 1 (fastest) to 9 (smallest). Default is the zlib default, 6
+     */
+    public void setLevel(int level) {
+        AssertUtils.isTrue(level == Deflater.DEFAULT_COMPRESSION || level >= 0 && level <= 9,
+                "Compression level must be in the range 0 to 9");
+        DeflaterPool previousGzip = gzipDeflaters;
+        DeflaterPool previousDeflate = deflateDeflaters;
+        this.gzipDeflaters = new DeflaterPool(level, true, DEFAULT_POOL_CAPACITY);
+        this.deflateDeflaters = new DeflaterPool(level, false, DEFAULT_POOL_CAPACITY);
+        if (previousGzip != null) previousGzip.clear();
+        if (previousDeflate != null) previousDeflate.clear();
+    }
+
+    /**
+     * Set the compressible content types: a type matches an entry it starts with, or ends with if the entry
+     * starts with {@code +}, ignoring parameters. Default is {@link #DEFAULT_COMPRESSIBLE_TYPES}
+     */
+    public void setCompressibleTypes(List<String> compressibleTypes) {
+        AssertUtils.notNull(compressibleTypes, "Compressible types must not be null");
+        this.compressibleTypes = List.copyOf(compressibleTypes);
+    }
+
+    /**
+     * Wrap the response for compression as configured for the mapping
+     *
+     * @param compression the compression declared by the mapping
+     * @param minSize     the minimum size declared by the mapping, negative for the configured one
+     * @return the wrapped response, or the given one if it is not compressed
+     */
+    public HttpServletResponse wrap(HttpServletRequest req, HttpServletResponse resp, Compression compression, int minSize) {
+        boolean compress = compression == Compression.DEFAULT ? enabled : compression == Compression.ENABLED;
+        if (!compress || "HEAD".equals(req.getMethod())) {
+            return resp;
+        }
+        return new CompressingResponseWrapper(resp, this, ContentCoding.negotiate(req.getHeader("Accept-Encoding")),
+                minSize >= 0 ? minSize : this.minSize);
+    }
+
+    /**
+     * Complete the compressed body, if the response was wrapped and its body isn't closed yet
+     */
+    public static void finish(HttpServletResponse resp) {
+        if (resp instanceof CompressingResponseWrapper wrapper) {
+            wrapper.finish();
+        }
+    }
+
+    boolean isCompressible(@Nullable String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        int parameters = contentType.indexOf(';');
+        String mimeType = (parameters < 0 ? contentType : contentType.substring(0, parameters)).trim().toLowerCase(Locale.ROOT);
+        if (mimeType.equals(EVENT_STREAM_TYPE)) {
+            // Events must reach the client as they are written
+            return false;
+        }
+        for (String type : compressibleTypes) {
+            if (type.startsWith("+") ? mimeType.endsWith(type) : mimeType.startsWith(type)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    DeflaterPool deflatersFor(ContentCoding coding) {
+        return coding == ContentCoding.GZIP ? gzipDeflaters : deflateDeflaters;
+    }
+}
@@ -2,12 +2,51 @@ package com.petros.bringframework.web.servlet.support.mapper;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+
 /**
  * Implement this interface to configure data mapper for custom typed request/response body within controller
+ * <p>
+ * Request and response bodies are read from and written to the servlet streams through
+ * {@link #readValue(InputStream, Type)} and {@link #writeValue(OutputStream, Object)}. Their default implementations
+ * go through the String based methods; override them to map the streams directly, without copies of the payload
  *
  * @author Serhii Dorodko
  */
 public interface DataMapper {
     <T> T readValue(String content, Class<T> valueType) throws JsonProcessingException;
     String writeValueAsString(Object value) throws JsonProcessingException;
+
+    /**
+     * Read a value of the given type, possibly generic like {@code List<Dto>}, from the UTF-8 encoded content.
+     * The default implementation reads plain classes through {@link #readValue(String, Class)}, which can't
+     * express the type arguments of a generic type; override it to read generic types
+     *
+     * @throws JsonProcessingException  if the content can't be mapped
+     * @throws IOException              if the content can't be read
+     * @throws IllegalArgumentException if the type is generic and this method isn't overridden
+     */
+    @SuppressWarnings("unchecked")
+    default <T> T readValue(InputStream content, Type valueType) throws IOException {
+        if (!(valueType instanceof Class<?> valueClass)) {
+            // Falling back to the raw class would silently map the elements of List<Dto> to something else than Dto
+            throw new IllegalArgumentException("Generic type " + valueType.getTypeName() + " is not supported by "
+                    + getClass().getName() + ", override readValue(InputStream, Type) to read it");
+        }
+        return (T) readValue(new String(content.readAllBytes(), StandardCharsets.UTF_8), valueClass);
+    }
+
+    /**
+     * Write the value UTF-8 encoded to the given stream. The stream is left open
+     *
+     * @throws JsonProcessingException if the value can't be mapped
+     * @throws IOException             if the content can't be written
+     */
+    default void writeValue(OutputStream out, Object value) throws IOException {
+        out.write(writeValueAsString(value).getBytes(StandardCharsets.UTF_8));
+    }
 }
@@ -1,17 +1,24 @@
 package com.petros.bringframework.web.servlet.support.mapper;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.petros.bringframework.context.annotation.Component;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+
 /**
- * Default data mapper
+ * Default data mapper. Streams are parsed and generated by Jackson directly
  *
  * @author Serhii Dorodko
  */
 @Component
 public class JsonDataMapper implements DataMapper {
-    private final ObjectMapper jsonMapper = new ObjectMapper();
+    private final ObjectMapper jsonMapper = new ObjectMapper()
+            .configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
 
     @Override
     public <T> T readValue(String content, Class<T> valueType) throws JsonProcessingException {
@@ -22,4 +29,14 @@ public class JsonDataMapper implements DataMapper {
     public String writeValueAsString(Object value) throws JsonProcessingException {
         return jsonMapper.writeValueAsString(value);
     }
-}
\ No newline at end of file
+
+    @Override
+    public <T> T readValue(InputStream content, Type valueType) throws IOException {
+        return jsonMapper.readValue(content, jsonMapper.constructType(valueType));
+    }
+
+    @Override
+    public void writeValue(OutputStream out, Object value) throws IOException {
+        jsonMapper.writeValue(out, value);
+    }
+}
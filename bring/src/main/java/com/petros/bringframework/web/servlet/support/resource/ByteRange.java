@@ -0,0 +1,90 @@
+package com.petros.bringframework.web.servlet.support.resource;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A range of bytes requested by a {@code Range} header, from the first to the last position, both inclusive
+ */
+public record ByteRange(long start, long end) {
+    /**
+     * How many ranges a request may ask for, more are answered with the whole content
+     */
+    public static final int MAX_RANGES = 16;
+
+    private static final String BYTES_UNIT = "bytes=";
+
+    public long length() {
+        return end - start + 1;
+    }
+
+    public String toContentRange(long contentLength) {
+        return "bytes " + start + "-" + end + "/" + contentLength;
+    }
+
+    /**
+     * Parse a {@code Range} header for content of the given length. Unsatisfiable ranges are left out
+     *
+     * @return the satisfiable ranges, empty if there are none, {@code null} if the header is invalid
+     * or asks for too many or overlapping ranges, so the whole content is sent
+     */
+    @Nullable
+    public static List<ByteRange> parse(String header, long contentLength) {
+        if (!header.regionMatches(true, 0, BYTES_UNIT, 0, BYTES_UNIT.length())) {
+            return null;
+        }
+        String[] specs = header.substring(BYTES_UNIT.length()).split(",");
+        if (specs.length > MAX_RANGES) {
+            return null;
+        }
+        List<ByteRange> ranges = new ArrayList<>(specs.length);
+        for (String spec : specs) {
+            String trimmed = spec.trim();
+            int dash = trimmed.indexOf('-');
+            if (dash < 0) {
+                return null;
+            }
+            long start;
+            long end;
+            try {
+                if (dash == 0) {
+                    // The last bytes
+                    long suffix = parsePosition(trimmed.substring(1));
+                    if (suffix <= 0) continue;
+                    start = Math.max(contentLength - suffix, 0);
+                    end = contentLength - 1;
+                } else {
+                    start = parsePosition(trimmed.substring(0, dash));
+                    long lastPosition = dash == trimmed.length() - 1 ? Long.MAX_VALUE
+                            : parsePosition(trimmed.substring(dash + 1));
+                    if (lastPosition < start) return null;
+                    end = Math.min(lastPosition, contentLength - 1);
+                }
+            } catch (NumberFormatException e) {
+                return null;
+            }
+            if (start < contentLength && start <= end) {
+                ranges.add(new ByteRange(start, end));
+            }
+        }
+        for (int i = 0; i < ranges.size(); i++) {
+            for (int j = i + 1; j < ranges.size(); j++) {
+                ByteRange a = ranges.get(i);
+                ByteRange b = ranges.get(j);
+                if (a.start() <= b.end() && b.start() <= a.end()) {
+                    return null;
+                }
+            }
+        }
+        return ranges;
+    }
+
+    // Digits only, which Long.parseLong alone doesn't check for
+    private static long parsePosition(String value) {
+        if (value.isEmpty() || !value.chars().allMatch(c -> c >= '0' && c <= '9')) {
+            throw new NumberFormatException("Not a byte position: " + value);
+        }
+        return Long.parseLong(value);
+    }
+}
@@ -0,0 +1,261 @@
+package com.petros.bringframework.web.servlet.support.resource;
+
+import com.petros.bringframework.core.io.Resource;
+import com.petros.bringframework.util.ResourceUtils;
+import com.petros.bringframework.web.servlet.support.body.BufferPool;
+
+import javax.annotation.Nullable;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Writes content returned by a controller method: an {@link InputStream}, {@link Path}, {@link Resource} or
+ * {@link ReadableByteChannel}
+ * <p>
+ * The content is copied through one pooled buffer, so a download takes the same memory whatever its size, and its
+ * source is closed once written. The length of files and seekable channels is sent, and their {@code Range}
+ * requests are answered with 206 Partial Content, as {@code multipart/byteranges} for several ranges.
+ * Streams are sent whole, with the length the controller set, if any
+ */
+public final class ContentResponseWriter {
+    private static final String DEFAULT_CONTENT_TYPE = "application/octet-stream";
+
+    private ContentResponseWriter() {
+    }
+
+    public static boolean isContent(Object result) {
+        return result instanceof InputStream || result instanceof Path || result instanceof Resource
+                || result instanceof ReadableByteChannel;
+    }
+
+    /**
+     * Write the given content as the response body
+     */
+    public static void write(Object result, HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        if (result instanceof Path path) {
+            writeFile(path, req, resp);
+        } else if (result instanceof Resource resource) {
+            File file = fileOf(resource);
+            if (file != null) {
+                writeFile(file.toPath(), req, resp);
+            } else {
+                setContentType(req, resp, resource.getFilename());
+                writeStream(resource.getInputStream(), resp);
+            }
+        } else if (result instanceof SeekableByteChannel channel) {
+            try (channel) {
+                setContentType(req, resp, null);
+                writeSeekable(channel, channel.size(), 0, req, resp);
+            }
+        } else if (result instanceof ReadableByteChannel channel) {
+            try (channel) {
+                setContentType(req, resp, null);
+                ServletOutputStream out = resp.getOutputStream();
+                copy(channel, out);
+                out.close();
+            }
+        } else if (result instanceof InputStream in) {
+            setContentType(req, resp, null);
+            writeStream(in, resp);
+        } else {
+            throw new IllegalArgumentException("Not a content type: " + result.getClass().getName());
+        }
+    }
+
+    /**
+     * Answer a {@code Range} request for content of the given length
+     *
+     * @param lastModified the modification time of the content an {@code If-Range} date is compared with,
+     *                     0 if unknown
+     * @return {@code false} if the request doesn't ask for ranges or they don't apply, so the whole content
+     * is to be sent
+     */
+    public static boolean writeRanges(SeekableByteChannel channel, long length, long lastModified,
+                                      HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        List<ByteRange> ranges = requestedRanges(req, resp, length, lastModified);
+        if (ranges == null) {
+            return false;
+        }
+        if (ranges.isEmpty()) {
+            resp.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+            resp.setHeader("Content-Range", "bytes */" + length);
+            resp.setContentLength(0);
+            return true;
+        }
+        resp.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+        ServletOutputStream out = resp.getOutputStream();
+        if (ranges.size() == 1) {
+            ByteRange range = ranges.get(0);
+            resp.setHeader("Content-Range", range.toContentRange(length));
+            resp.setContentLengthLong(range.length());
+            copy(channel, range.start(), range.length(), out);
+        } else {
+            writeMultipart(channel, length, ranges, resp, out);
+        }
+        out.close();
+        return true;
+    }
+
+    private static void writeFile(Path path, HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        if (!Files.isRegularFile(path)) {
+            resp.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        setContentType(req, resp, path.getFileName().toString());
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            writeSeekable(channel, channel.size(), Files.getLastModifiedTime(path).toMillis(), req, resp);
+        }
+    }
+
+    private static void writeSeekable(SeekableByteChannel channel, long length, long lastModified,
+                                      HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        resp.setHeader("Accept-Ranges", "bytes");
+        if (writeRanges(channel, length, lastModified, req, resp)) {
+            return;
+        }
+        resp.setContentLengthLong(length);
+        ServletOutputStream out = resp.getOutputStream();
+        copy(channel, 0, length, out);
+        out.close();
+    }
+
+    private static void writeStream(InputStream in, HttpServletResponse resp) throws IOException {
+        try (in) {
+            ServletOutputStream out = resp.getOutputStream();
+            BufferPool pool = BufferPool.getSharedInstance();
+            byte[] buffer = pool.acquire();
+            try {
+                int read;
+                while ((read = in.read(buffer)) >= 0) {
+                    out.write(buffer, 0, read);
+                }
+            } finally {
+                pool.release(buffer);
+            }
+            out.close();
+        }
+    }
+
+    @Nullable
+    private static List<ByteRange> requestedRanges(HttpServletRequest req, HttpServletResponse resp, long length,
+                                                   long lastModified) {
+        String range = req.getHeader("Range");
+        if (range == null || !"GET".equals(req.getMethod())) {
+            return null;
+        }
+        String ifRange = req.getHeader("If-Range");
+        if (ifRange != null && !isCurrent(ifRange, req, resp.getHeader("ETag"), lastModified)) {
+            // The client's partial copy is outdated
+            return null;
+        }
+        return ByteRange.parse(range, length);
+    }
+
+    private static boolean isCurrent(String ifRange, HttpServletRequest req, @Nullable String etag, long lastModified) {
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            // Ranges of a representation are only combined with a strong validator
+            return etag != null && !etag.startsWith("W/") && etag.equals(ifRange);
+        }
+        try {
+            return lastModified > 0 && req.getDateHeader("If-Range") == lastModified / 1000 * 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static void writeMultipart(SeekableByteChannel channel, long length, List<ByteRange> ranges,
+                                       HttpServletResponse resp, OutputStream out) throws IOException {
+        String boundary = UUID.randomUUID().toString().replace("-", "");
+        String partType = resp.getContentType() != null ? resp.getContentType() : DEFAULT_CONTENT_TYPE;
+        byte[][] partHeaders = new byte[ranges.size()][];
+        byte[] end = ("--" + boundary + "--\r\n").getBytes(StandardCharsets.US_ASCII);
+        long contentLength = end.length;
+        for (int i = 0; i < ranges.size(); i++) {
+            ByteRange range = ranges.get(i);
+            partHeaders[i] = ("--" + boundary + "\r\nContent-Type: " + partType + "\r\nContent-Range: "
+                    + range.toContentRange(length) + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII);
+            contentLength += partHeaders[i].length + range.length() + 2;
+        }
+        resp.setContentType("multipart/byteranges; boundary=" + boundary);
+        resp.setContentLengthLong(contentLength);
+        for (int i = 0; i < ranges.size(); i++) {
+            out.write(partHeaders[i]);
+            copy(channel, ranges.get(i).start(), ranges.get(i).length(), out);
+            out.write('\r');
+            out.write('\n');
+        }
+        out.write(end);
+    }
+
+    private static void copy(SeekableByteChannel channel, long position, long count, OutputStream out)
+            throws IOException {
+        channel.position(position);
+        BufferPool pool = BufferPool.getSharedInstance();
+        byte[] buffer = pool.acquire();
+        try {
+            ByteBuffer byteBuffer = ByteBuffer.wrap(buffer);
+            long remaining = count;
+            while (remaining > 0) {
+                byteBuffer.clear().limit((int) Math.min(buffer.length, remaining));
+                int read = channel.read(byteBuffer);
+                if (read < 0) {
+                    throw new IOException("Content ended " + remaining + " bytes before its length");
+                }
+                out.write(buffer, 0, read);
+                remaining -= read;
+            }
+        } finally {
+            pool.release(buffer);
+        }
+    }
+
+    private static void copy(ReadableByteChannel channel, OutputStream out) throws IOException {
+        BufferPool pool = BufferPool.getSharedInstance();
+        byte[] buffer = pool.acquire();
+        try {
+            ByteBuffer byteBuffer = ByteBuffer.wrap(buffer);
+            while (channel.read(byteBuffer.clear()) >= 0) {
+                out.write(buffer, 0, byteBuffer.position());
+            }
+        } finally {
+            pool.release(buffer);
+        }
+    }
+
+    private static void setContentType(HttpServletRequest req, HttpServletResponse resp, @Nullable String filename) {
+        if (resp.getContentType() != null) {
+            return;
+        }
+        String contentType = filename != null ? req.getServletContext().getMimeType(filename) : null;
+        resp.setContentType(contentType != null ? contentType : DEFAULT_CONTENT_TYPE);
+    }
+
+    // The file behind the resource, if it is in the file system
+    @Nullable
+    static File fileOf(Resource resource) {
+        try {
+            if (resource.isFile())
+                return resource.getFile();
+            URL url = resource.getURL();
+            return ResourceUtils.URL_PROTOCOL_FILE.equals(url.getProtocol()) ? resource.getFile() : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+}
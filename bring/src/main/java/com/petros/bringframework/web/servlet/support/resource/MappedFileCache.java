@@ -0,0 +1,190 @@
+package com.petros.bringframework.web.servlet.support.resource;
+
+import com.petros.bringframework.core.AssertUtils;
+import com.petros.bringframework.web.servlet.support.body.BufferPool;
+import lombok.extern.log4j.Log4j2;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A bounded cache of small files mapped into memory, for the hot files of a {@link ResourceHandler}
+ * <p>
+ * A mapped file is read from the page cache without a system call per request, and its bytes live off the heap.
+ * An entry is mapped again once the file's size or modification time changes. Files are evicted least recently
+ * used first once their total size exceeds {@link #setMaxSize(long) the maximum size}
+ * <p>
+ * A file truncated in place while it is mapped makes reading the mapping fault, which the JVM reports as an
+ * {@link InternalError} instead of crashing. The mapping is only read by {@link #write}, which evicts such an entry
+ * and sends the rest of the content from the file itself, failing once the file turns out to be shorter
+ */
+@Log4j2
+public class MappedFileCache {
+    public static final int DEFAULT_MAX_FILE_SIZE = 64 * 1024;
+    public static final long DEFAULT_MAX_SIZE = 16 * 1024 * 1024;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    // in access order, least recently used first
+    private final LinkedHashMap<Path, MappedFile> files = new LinkedHashMap<>(16, 0.75f, true);
+    private long size;
+    private int maxFileSize = DEFAULT_MAX_FILE_SIZE;
+    private long maxSize = DEFAULT_MAX_SIZE;
+
+    /**
+     * Set the maximum size in bytes of a file to map, larger files are not cached. Default is 64 KiB
+     */
+    public void setMaxFileSize(int maxFileSize) {
+        AssertUtils.isTrue(maxFileSize > 0, "Maximum file size must be positive");
+        this.maxFileSize = maxFileSize;
+    }
+
+    public int getMaxFileSize() {
+        return maxFileSize;
+    }
+
+    /**
+     * Set the maximum size in bytes of all mapped files. Default is 16 MB
+     */
+    public void setMaxSize(long maxSize) {
+        AssertUtils.isTrue(maxSize > 0, "Maximum size must be positive");
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Write the content of the file to the stream, mapping the file if it isn't cached yet or has changed
+     *
+     * @param length       the current size of the file
+     * @param lastModified the current modification time of the file
+     * @return whether the content was written, {@code false} if the file is too large to cache
+     * @throws IOException if the file was truncated while being written, among others
+     */
+    public boolean write(Path file, long length, long lastModified, OutputStream out) throws IOException {
+        if (length > maxFileSize) {
+            return false;
+        }
+        MappedFile mapped = obtain(file, length, lastModified);
+        ByteBuffer content = mapped.content().asReadOnlyBuffer();
+        BufferPool pool = BufferPool.getSharedInstance();
+        byte[] chunk = pool.acquire();
+        try {
+            while (content.hasRemaining()) {
+                int position = content.position();
+                int count = Math.min(chunk.length, content.remaining());
+                try {
+                    content.get(chunk, 0, count);
+                    out.write(chunk, 0, count);
+                } catch (InternalError e) {
+                    // The file was truncated since it was mapped. The fault of a copy may be reported only once the
+                    // chunk was written, so the chunk is sent again from the file, which fails as the file is shorter
+                    log.debug("Mapping of {} faulted, reading the file instead", file, e);
+                    evict(file, mapped);
+                    writeRemaining(file, position, length, chunk, out);
+                    return true;
+                }
+            }
+        } finally {
+            pool.release(chunk);
+        }
+        return true;
+    }
+
+    /**
+     * Whether the file is mapped at the moment
+     */
+    boolean contains(Path file) {
+        lock.lock();
+        try {
+            return files.containsKey(file);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private MappedFile obtain(Path file, long length, long lastModified) throws IOException {
+        MappedFile cached;
+        lock.lock();
+        try {
+            cached = files.get(file);
+        } finally {
+            lock.unlock();
+        }
+        if (cached != null && cached.length() == length && cached.lastModified() == lastModified) {
+            return cached;
+        }
+        MappedFile mapped = map(file, length, lastModified);
+        put(file, mapped);
+        return mapped;
+    }
+
+    private static void writeRemaining(Path file, long position, long length, byte[] chunk, OutputStream out)
+            throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.wrap(chunk);
+            while (position < length) {
+                buffer.clear().limit((int) Math.min(chunk.length, length - position));
+                int read = channel.read(buffer, position);
+                if (read < 0) {
+                    throw new IOException("File " + file + " was truncated while being written");
+                }
+                out.write(chunk, 0, read);
+                position += read;
+            }
+        }
+    }
+
+    private static MappedFile map(Path file, long length, long lastModified) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // The mapping stays valid once the channel is closed
+            MappedByteBuffer content = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+            return new MappedFile(content, length, lastModified);
+        }
+    }
+
+    private void put(Path file, MappedFile mapped) {
+        lock.lock();
+        try {
+            MappedFile previous = files.put(file, mapped);
+            size += mapped.length() - (previous != null ? previous.length() : 0);
+            Iterator<Map.Entry<Path, MappedFile>> eldest = files.entrySet().iterator();
+            while (size > maxSize && eldest.hasNext()) {
+                size -= eldest.next().getValue().length();
+                eldest.remove();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void evict(Path file, MappedFile mapped) {
+        lock.lock();
+        try {
+            if (files.remove(file, mapped)) {
+                size -= mapped.length();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void clear() {
+        lock.lock();
+        try {
+            files.clear();
+            size = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private record MappedFile(MappedByteBuffer content, long length, long lastModified) {
+    }
+}
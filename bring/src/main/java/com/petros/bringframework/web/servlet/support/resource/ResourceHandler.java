@@ -0,0 +1,234 @@
+package com.petros.bringframework.web.servlet.support.resource;
+
+import com.petros.bringframework.core.AssertUtils;
+import com.petros.bringframework.core.io.DefaultResourceLoader;
+import com.petros.bringframework.core.io.Resource;
+import com.petros.bringframework.core.io.ResourceLoader;
+import com.petros.bringframework.web.servlet.support.common.RequestMethod;
+import com.petros.bringframework.web.servlet.support.utils.EntityTags;
+import lombok.extern.log4j.Log4j2;
+
+import javax.annotation.Nullable;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Serves static files under a path prefix from resource locations, e.g. {@code /static/} from
+ * {@code classpath:static/} and {@code file:/srv/www/}
+ * <p>
+ * The first location holding the requested path serves it, with {@code Last-Modified}, a weak ETag and
+ * the configured {@code Cache-Control}; conditional requests are answered with 304. A file is sent the cheapest
+ * way available: files of the sendfile minimum size and more through Tomcat's sendfile, a zero-copy transfer by
+ * the kernel, smaller ones from the {@link MappedFileCache}, or else with {@link FileChannel#transferTo}.
+ * {@code Range} requests for files are answered with 206 by the {@link ContentResponseWriter}. Resources not in
+ * the file system, e.g. in a jar, are copied from their stream. Static files are sent as they are, without
+ * response compression
+ */
+@Log4j2
+public class ResourceHandler {
+    public static final long DEFAULT_SENDFILE_MIN_SIZE = 48 * 1024;
+
+    private static final String SENDFILE_SUPPORTED_ATTR = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME_ATTR = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_FILE_START_ATTR = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_FILE_END_ATTR = "org.apache.tomcat.sendfile.end";
+
+    private final String pathPrefix;
+    private final List<String> locations;
+    private ResourceLoader resourceLoader = new DefaultResourceLoader();
+    private long cacheMaxAge = -1;
+    private boolean useSendfile = true;
+    private long sendfileMinSize = DEFAULT_SENDFILE_MIN_SIZE;
+    @Nullable
+    private MappedFileCache mappedFileCache = new MappedFileCache();
+
+    /**
+     * @param pathPrefix the path prefix of the served files, e.g. {@code /static/}
+     * @param locations  the locations to look the files up in, in order, e.g. {@code classpath:static/}
+     */
+    public ResourceHandler(String pathPrefix, String... locations) {
+        AssertUtils.isTrue(pathPrefix.startsWith("/"), "Path prefix must start with '/'");
+        AssertUtils.isTrue(locations.length > 0, "At least one location is required");
+        this.pathPrefix = pathPrefix.endsWith("/") ? pathPrefix : pathPrefix + "/";
+        this.locations = List.of(locations).stream()
+                .map(location -> location.endsWith("/") ? location : location + "/")
+                .toList();
+    }
+
+    public void setResourceLoader(ResourceLoader resourceLoader) {
+        this.resourceLoader = resourceLoader;
+    }
+
+    /**
+     * Set the {@code max-age} of the {@code Cache-Control} header in seconds. Default is negative: no header
+     */
+    public void setCacheMaxAge(long cacheMaxAge) {
+        this.cacheMaxAge = cacheMaxAge;
+    }
+
+    /**
+     * Set whether files are sent with Tomcat's sendfile, if the connector supports it. Default is {@code true}
+     */
+    public void setUseSendfile(boolean useSendfile) {
+        this.useSendfile = useSendfile;
+    }
+
+    /**
+     * Set the minimum size in bytes of a file to send with sendfile. Default is 48 KiB, as Tomcat's.
+     * Where sendfile is supported, only smaller files are served from the mapped file cache
+     */
+    public void setSendfileMinSize(long sendfileMinSize) {
+        this.sendfileMinSize = sendfileMinSize;
+    }
+
+    /**
+     * Set the cache of small files mapped into memory, {@code null} to read them on every request
+     */
+    public void setMappedFileCache(@Nullable MappedFileCache mappedFileCache) {
+        this.mappedFileCache = mappedFileCache;
+    }
+
+    public String getPathPrefix() {
+        return pathPrefix;
+    }
+
+    /**
+     * Serve the file the request path maps to
+     *
+     * @return {@code false} if the path is not under the prefix or no location holds it
+     */
+    public boolean handle(HttpServletRequest req, HttpServletResponse resp, RequestMethod method) throws IOException {
+        if (method != RequestMethod.GET && method != RequestMethod.HEAD) {
+            return false;
+        }
+        String path = req.getServletPath();
+        if (!path.startsWith(pathPrefix)) {
+            return false;
+        }
+        String relativePath = path.substring(pathPrefix.length());
+        if (!isValidPath(relativePath)) {
+            return false;
+        }
+        Resource resource = resolve(relativePath);
+        if (resource == null) {
+            return false;
+        }
+        File file = ContentResponseWriter.fileOf(resource);
+        if (file != null && !file.isFile()) {
+            return false;
+        }
+        // Length and validators are known for files only
+        long length = file != null ? file.length() : -1;
+        long lastModified = file != null ? file.lastModified() : 0;
+
+        if (cacheMaxAge >= 0)
+            resp.setHeader("Cache-Control", "max-age=" + cacheMaxAge);
+        if (file != null) {
+            resp.setHeader("Accept-Ranges", "bytes");
+            String etag = "W/\"" + length + "-" + lastModified + "\"";
+            resp.setHeader("ETag", etag);
+            resp.setDateHeader("Last-Modified", lastModified);
+            if (isNotModified(req, etag, lastModified)) {
+                resp.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+                return true;
+            }
+        }
+
+        String contentType = req.getServletContext().getMimeType(resource.getFilename());
+        resp.setContentType(contentType != null ? contentType : "application/octet-stream");
+        if (length >= 0)
+            resp.setContentLengthLong(length);
+        if (method == RequestMethod.HEAD) {
+            return true;
+        }
+        if (file != null)
+            sendFile(file, length, lastModified, req, resp);
+        else
+            sendStream(resource, resp);
+        return true;
+    }
+
+    private static boolean isValidPath(String relativePath) {
+        if (relativePath.isEmpty() || relativePath.startsWith("/") || relativePath.indexOf('\\') >= 0
+                || relativePath.indexOf(':') >= 0 || relativePath.indexOf('\0') >= 0) {
+            return false;
+        }
+        for (String segment : relativePath.split("/")) {
+            if (segment.equals("..") || segment.equals(".")) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Nullable
+    private Resource resolve(String relativePath) {
+        for (String location : locations) {
+            Resource resource = resourceLoader.getResource(location + relativePath);
+            if (resource.exists() && resource.isReadable()) {
+                return resource;
+            }
+        }
+        return null;
+    }
+
+    private static boolean isNotModified(HttpServletRequest req, String etag, long lastModified) {
+        String ifNoneMatch = req.getHeader("If-None-Match");
+        if (ifNoneMatch != null) {
+            // Takes precedence over If-Modified-Since
+            return EntityTags.matches(ifNoneMatch, etag);
+        }
+        try {
+            long ifModifiedSince = req.getDateHeader("If-Modified-Since");
+            // HTTP dates have a precision of seconds
+            return ifModifiedSince >= 0 && lastModified / 1000 <= ifModifiedSince / 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private void sendFile(File file, long length, long lastModified, HttpServletRequest req, HttpServletResponse resp)
+            throws IOException {
+        if (req.getHeader("Range") != null) {
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+                if (ContentResponseWriter.writeRanges(channel, length, lastModified, req, resp))
+                    return;
+            }
+        }
+        // Sendfile goes first, so that the mapped file cache only holds the files too small for it
+        if (useSendfile && length >= sendfileMinSize && Boolean.TRUE.equals(req.getAttribute(SENDFILE_SUPPORTED_ATTR))) {
+            // Tomcat transfers the file once the servlet returns, from the file straight to the socket
+            req.setAttribute(SENDFILE_FILENAME_ATTR, file.getAbsolutePath());
+            req.setAttribute(SENDFILE_FILE_START_ATTR, 0L);
+            req.setAttribute(SENDFILE_FILE_END_ATTR, length);
+            return;
+        }
+        MappedFileCache cache = mappedFileCache;
+        if (cache != null && cache.write(file.toPath(), length, lastModified, resp.getOutputStream())) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(resp.getOutputStream());
+            long position = 0;
+            while (position < length) {
+                long transferred = channel.transferTo(position, length - position, out);
+                if (transferred <= 0) break;
+                position += transferred;
+            }
+        }
+    }
+
+    private static void sendStream(Resource resource, HttpServletResponse resp) throws IOException {
+        try (InputStream in = resource.getInputStream()) {
+            in.transferTo(resp.getOutputStream());
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.petros.bringframework.web.servlet.support.stream;
+
+import com.petros.bringframework.core.AssertUtils;
+
+import javax.annotation.Nullable;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A controller method return value for Server-Sent Events. The controller returns the emitter and sends events
+ * from any thread, the events are written to the client as it is able to receive them
+ * <p>
+ * Events are buffered up to the capacity of the emitter, {@link #send(Event)} blocks while the buffer is full,
+ * so a producer faster than the client is slowed down instead of piling up events in memory.
+ * Once the client is gone or the request timed out, sending fails with {@link IllegalStateException}
+ */
+public class SseEmitter implements Flow.Publisher<SseEmitter.Event> {
+    public static final int DEFAULT_CAPACITY = Flow.defaultBufferSize();
+
+    private final BlockingQueue<Event> buffer;
+    private final AtomicLong demand = new AtomicLong();
+    private final AtomicInteger wip = new AtomicInteger();
+    @Nullable
+    private volatile Flow.Subscriber<? super Event> subscriber;
+    private volatile boolean completed;
+    private volatile boolean cancelled;
+    @Nullable
+    private volatile Throwable failure;
+    private boolean terminated;
+
+    public SseEmitter() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity how many events can be sent ahead of the client
+     */
+    public SseEmitter(int capacity) {
+        AssertUtils.isTrue(capacity > 0, "Capacity must be positive");
+        this.buffer = new ArrayBlockingQueue<>(capacity);
+    }
+
+    /**
+     * Send an unnamed event with the given data: a String as it is, any other value as JSON
+     */
+    public void send(Object data) {
+        send(Event.of(data));
+    }
+
+    /**
+     * Send the given event, waiting while the buffer is full
+     *
+     * @throws IllegalStateException if the emitter is completed or the client is gone
+     */
+    public void send(Event event) {
+        AssertUtils.notNull(event, "Event must not be null");
+        try {
+            // Waits in slices, so a producer blocked on a full buffer notices a gone client
+            while (true) {
+                checkOpen();
+                if (buffer.offer(event, 100, TimeUnit.MILLISECONDS)) {
+                    // A cancel racing the offer may have cleared the buffer just before the event got in
+                    if (cancelled) {
+                        buffer.remove(event);
+                        checkOpen();
+                    }
+                    break;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while sending an event", e);
+        }
+        drain();
+    }
+
+    /**
+     * Complete the stream once the events sent so far are written
+     */
+    public void complete() {
+        completed = true;
+        drain();
+    }
+
+    /**
+     * Complete the stream with the given failure. The response is aborted once the events sent so far are written
+     */
+    public void completeWithError(Throwable failure) {
+        this.failure = failure;
+        complete();
+    }
+
+    /**
+     * Whether the stream is completed or the client is gone
+     */
+    public boolean isClosed() {
+        return completed || cancelled;
+    }
+
+    private void checkOpen() {
+        if (cancelled) throw new IllegalStateException("The client is gone or the request timed out");
+        if (completed) throw new IllegalStateException("The emitter is already completed");
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super Event> subscriber) {
+        if (this.subscriber != null) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {}
+
+                @Override
+                public void cancel() {}
+            });
+            subscriber.onError(new IllegalStateException("An SseEmitter can be written only once"));
+            return;
+        }
+        this.subscriber = subscriber;
+        subscriber.onSubscribe(new Flow.Subscription() {
+            @Override
+            public void request(long n) {
+                if (n <= 0) {
+                    completeWithError(new IllegalArgumentException("Demand must be positive: " + n));
+                    return;
+                }
+                demand.getAndAccumulate(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+                drain();
+            }
+
+            @Override
+            public void cancel() {
+                cancelled = true;
+                buffer.clear();
+            }
+        });
+        drain();
+    }
+
+    // Delivers buffered events as far as demanded, in one thread at a time
+    private void drain() {
+        if (wip.getAndIncrement() != 0) return;
+        int missed = 1;
+        do {
+            Flow.Subscriber<? super Event> target = subscriber;
+            if (target != null && !terminated) {
+                while (!cancelled && demand.get() > 0) {
+                    Event event = buffer.poll();
+                    if (event == null) break;
+                    demand.decrementAndGet();
+                    target.onNext(event);
+                }
+                if (cancelled) {
+                    terminated = true;
+                } else if (completed && buffer.isEmpty()) {
+                    terminated = true;
+                    Throwable error = failure;
+                    if (error != null) target.onError(error);
+                    else target.onComplete();
+                }
+            }
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    /**
+     * An event of the stream
+     *
+     * @param id   the id of the event, {@code null} for none
+     * @param name the name of the event, {@code null} for the default
+     * @param data the data: a String as it is, any other value as JSON
+     */
+    public record Event(@Nullable String id, @Nullable String name, Object data) {
+        public Event {
+            AssertUtils.notNull(data, "Event data must not be null");
+        }
+
+        public static Event of(Object data) {
+            return new Event(null, null, data);
+        }
+
+        public static Event named(String name, Object data) {
+            return new Event(null, name, data);
+        }
+    }
+}
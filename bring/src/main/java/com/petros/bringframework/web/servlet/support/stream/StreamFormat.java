@@ -0,0 +1,70 @@
+package com.petros.bringframework.web.servlet.support.stream;
+
+import com.petros.bringframework.web.servlet.support.mapper.DataMapper;
+
+import javax.annotation.Nullable;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Wire format of the elements of a streamed response
+ */
+public enum StreamFormat {
+    /**
+     * Server-Sent Events: each element is one event, Strings are sent as they are, other values as JSON
+     */
+    SSE("text/event-stream") {
+        @Override
+        void encode(Object element, DataMapper mapper, ByteArrayOutputStream out) throws IOException {
+            SseEmitter.Event event = element instanceof SseEmitter.Event sseEvent ? sseEvent : SseEmitter.Event.of(element);
+            writeField("id", event.id(), out);
+            writeField("event", event.name(), out);
+            String data = event.data() instanceof String str ? str : toJson(event.data(), mapper);
+            for (String line : data.split("\r\n|\r|\n", -1)) {
+                writeField("data", line, out);
+            }
+            out.write('\n');
+        }
+    },
+    /**
+     * Newline delimited JSON: each element is one line of JSON
+     */
+    NDJSON("application/x-ndjson") {
+        @Override
+        void encode(Object element, DataMapper mapper, ByteArrayOutputStream out) throws IOException {
+            mapper.writeValue(out, element);
+            out.write('\n');
+        }
+    };
+
+    private final String contentType;
+
+    StreamFormat(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    /**
+     * Append the encoded element to the given buffer
+     */
+    abstract void encode(Object element, DataMapper mapper, ByteArrayOutputStream out) throws IOException;
+
+    private static void writeField(String field, @Nullable String value, ByteArrayOutputStream out) {
+        if (value == null) return;
+        out.writeBytes(field.getBytes(StandardCharsets.UTF_8));
+        out.write(':');
+        out.write(' ');
+        out.writeBytes(value.getBytes(StandardCharsets.UTF_8));
+        out.write('\n');
+    }
+
+    private static String toJson(Object value, DataMapper mapper) throws IOException {
+        ByteArrayOutputStream json = new ByteArrayOutputStream();
+        mapper.writeValue(json, value);
+        return json.toString(StandardCharsets.UTF_8);
+    }
+}
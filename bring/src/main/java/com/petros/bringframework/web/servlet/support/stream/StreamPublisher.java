@@ -0,0 +1,98 @@
+package com.petros.bringframework.web.servlet.support.stream;
+
+import java.util.Iterator;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Publishes the elements of a {@link Stream}, pulling them one by one as they are demanded.
+ * The stream is closed when it is exhausted, fails or the subscription is cancelled
+ */
+final class StreamPublisher<T> implements Flow.Publisher<T> {
+    private final Stream<T> stream;
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+
+    StreamPublisher(Stream<T> stream) {
+        this.stream = stream;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        if (!subscribed.compareAndSet(false, true)) {
+            subscriber.onSubscribe(new StreamSubscription<>(Stream.empty(), subscriber));
+            subscriber.onError(new IllegalStateException("A Stream can be published only once"));
+            return;
+        }
+        subscriber.onSubscribe(new StreamSubscription<>(stream, subscriber));
+    }
+
+    private static final class StreamSubscription<T> implements Flow.Subscription {
+        private final Stream<T> stream;
+        private final Flow.Subscriber<? super T> subscriber;
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+        private volatile boolean cancelled;
+        private Iterator<T> iterator;
+        private boolean terminated;
+
+        private StreamSubscription(Stream<T> stream, Flow.Subscriber<? super T> subscriber) {
+            this.stream = stream;
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                cancelled = true;
+                subscriber.onError(new IllegalArgumentException("Demand must be positive: " + n));
+            } else {
+                demand.getAndAccumulate(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            drain();
+        }
+
+        // Emits in one thread at a time; a request from within onNext only adds demand to this loop
+        private void drain() {
+            if (wip.getAndIncrement() != 0) return;
+            int missed = 1;
+            do {
+                if (!terminated) emit();
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void emit() {
+            try {
+                if (iterator == null) iterator = stream.iterator();
+                while (!cancelled && demand.get() > 0) {
+                    if (!iterator.hasNext()) {
+                        terminate();
+                        subscriber.onComplete();
+                        return;
+                    }
+                    demand.decrementAndGet();
+                    subscriber.onNext(iterator.next());
+                }
+            } catch (RuntimeException e) {
+                terminate();
+                subscriber.onError(e);
+                return;
+            }
+            if (cancelled) terminate();
+        }
+
+        private void terminate() {
+            terminated = true;
+            stream.close();
+        }
+    }
+}
@@ -0,0 +1,291 @@
+package com.petros.bringframework.web.servlet.support.stream;
+
+import com.petros.bringframework.web.servlet.support.mapper.DataMapper;
+import com.petros.bringframework.web.servlet.support.utils.Http;
+import lombok.extern.log4j.Log4j2;
+
+import javax.annotation.Nullable;
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Writes the elements of a {@link Flow.Publisher}, {@link Stream} or {@link SseEmitter} returned by a controller
+ * method to the response one by one, as Server-Sent Events or newline delimited JSON
+ * <p>
+ * Demand follows the socket: the next element is requested only when the previous one is written and the response
+ * is ready for more, so a slow client slows down the publisher instead of the response being buffered in memory.
+ * On a request that supports async processing the container thread is released and the elements are written
+ * through a non-blocking {@link WriteListener}. Otherwise, e.g. on a request already dispatched to a virtual thread,
+ * the elements are written with blocking I/O and the calling thread waits until the stream ends
+ */
+@Log4j2
+public final class StreamingResponseWriter implements Flow.Subscriber<Object> {
+    private final StreamFormat format;
+    private final DataMapper mapper;
+    private final HttpServletResponse resp;
+    private final ServletOutputStream out;
+    @Nullable
+    private final AsyncContext asyncContext;
+    private final CompletableFuture<Void> finished = new CompletableFuture<>();
+
+    private final Queue<Object> elements = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger wip = new AtomicInteger();
+    @Nullable
+    private volatile Flow.Subscription subscription;
+    private volatile boolean requested;
+    private volatile boolean done;
+    @Nullable
+    private volatile Throwable failure;
+    private volatile boolean cancelled;
+    private volatile int cancelStatus;
+
+    // Accessed by the draining thread only
+    private final ByteArrayOutputStream encoded = new ByteArrayOutputStream(256);
+    private boolean flushPending;
+    private boolean terminated;
+
+    private StreamingResponseWriter(StreamFormat format, DataMapper mapper, HttpServletResponse resp,
+                                    @Nullable AsyncContext asyncContext) throws IOException {
+        this.format = format;
+        this.mapper = mapper;
+        this.resp = resp;
+        this.out = resp.getOutputStream();
+        this.asyncContext = asyncContext;
+    }
+
+    /**
+     * Whether the given controller method result is written as a stream
+     */
+    public static boolean isStreaming(Object result) {
+        return result instanceof Flow.Publisher<?> || result instanceof Stream<?>;
+    }
+
+    /**
+     * Write the given streaming result: an {@link SseEmitter} as Server-Sent Events, a {@link Flow.Publisher}
+     * or {@link Stream} as Server-Sent Events if the client accepts {@code text/event-stream},
+     * as newline delimited JSON otherwise
+     *
+     * @param asyncTimeout the timeout of the stream in milliseconds, zero for none, negative for the container default
+     */
+    public static void write(Object result, HttpServletRequest req, HttpServletResponse resp, DataMapper mapper,
+                             long asyncTimeout) throws IOException {
+        write(result, req, resp, mapper, asyncTimeout, null);
+    }
+
+    /**
+     * Write the given streaming result, see {@link #write(Object, HttpServletRequest, HttpServletResponse, DataMapper, long)}
+     *
+     * @param startedContext the async context the caller already started for the request, which the writer takes over
+     */
+    public static void write(Object result, HttpServletRequest req, HttpServletResponse resp, DataMapper mapper,
+                             long asyncTimeout, @Nullable AsyncContext startedContext) throws IOException {
+        Flow.Publisher<?> publisher = result instanceof Stream<?> stream ? new StreamPublisher<>(stream) : (Flow.Publisher<?>) result;
+        write(publisher, formatFor(result, req), req, resp, mapper, asyncTimeout, startedContext);
+    }
+
+    /**
+     * Write the elements of the publisher in the given format
+     *
+     * @param asyncTimeout the timeout of the stream in milliseconds, zero for none, negative for the container default
+     */
+    public static void write(Flow.Publisher<?> publisher, StreamFormat format, HttpServletRequest req,
+                             HttpServletResponse resp, DataMapper mapper, long asyncTimeout) throws IOException {
+        write(publisher, format, req, resp, mapper, asyncTimeout, null);
+    }
+
+    private static void write(Flow.Publisher<?> publisher, StreamFormat format, HttpServletRequest req,
+                              HttpServletResponse resp, DataMapper mapper, long asyncTimeout,
+                              @Nullable AsyncContext startedContext) throws IOException {
+        resp.setStatus(HttpServletResponse.SC_OK);
+        resp.setContentType(format.getContentType());
+        resp.setCharacterEncoding("UTF-8");
+        resp.setHeader("Cache-Control", "no-cache");
+
+        if (startedContext != null || req.isAsyncSupported() && !req.isAsyncStarted()) {
+            AsyncContext asyncContext = startedContext != null ? startedContext : req.startAsync(req, resp);
+            if (startedContext == null && asyncTimeout >= 0)
+                asyncContext.setTimeout(asyncTimeout);
+            StreamingResponseWriter writer = new StreamingResponseWriter(format, mapper, resp, asyncContext);
+            ServletListener listener = writer.new ServletListener();
+            asyncContext.addListener(listener);
+            writer.out.setWriteListener(listener);
+            publisher.subscribe(writer);
+            return;
+        }
+
+        StreamingResponseWriter writer = new StreamingResponseWriter(format, mapper, resp, null);
+        publisher.subscribe(writer);
+        writer.awaitFinished();
+    }
+
+    private static StreamFormat formatFor(Object result, HttpServletRequest req) {
+        if (result instanceof SseEmitter) return StreamFormat.SSE;
+        String accept = req.getHeader("Accept");
+        return accept != null && accept.contains(StreamFormat.SSE.getContentType()) ? StreamFormat.SSE : StreamFormat.NDJSON;
+    }
+
+    private void awaitFinished() {
+        try {
+            finished.get();
+        } catch (InterruptedException e) {
+            // The request timed out and has been answered already
+            cancel(0);
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        if (this.subscription != null) {
+            subscription.cancel();
+            return;
+        }
+        this.subscription = subscription;
+        drain();
+    }
+
+    @Override
+    public void onNext(Object element) {
+        elements.add(element);
+        requested = false;
+        drain();
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        failure = throwable;
+        done = true;
+        drain();
+    }
+
+    @Override
+    public void onComplete() {
+        done = true;
+        drain();
+    }
+
+    private void cancel(int status) {
+        cancelStatus = status;
+        cancelled = true;
+        Flow.Subscription current = subscription;
+        if (current != null) current.cancel();
+        drain();
+    }
+
+    // Writes and requests in one thread at a time, whichever signal triggered it
+    private void drain() {
+        if (wip.getAndIncrement() != 0) return;
+        int missed = 1;
+        do {
+            try {
+                writeAvailable();
+            } catch (IOException e) {
+                log.debug("Streaming response aborted: {}", e.getMessage());
+                terminate(0);
+            }
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private void writeAvailable() throws IOException {
+        Flow.Subscription current = subscription;
+        while (!terminated) {
+            if (cancelled) {
+                terminate(cancelStatus);
+                return;
+            }
+            if (current == null || !isReady()) {
+                // Called again on subscription or by the container once the response can take more
+                return;
+            }
+            Object element = elements.poll();
+            if (element != null) {
+                encoded.reset();
+                try {
+                    format.encode(element, mapper, encoded);
+                } catch (IOException | RuntimeException e) {
+                    log.debug("Could not encode stream element {}: {}", element.getClass().getName(), e.getMessage(), e);
+                    current.cancel();
+                    terminate(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+                    return;
+                }
+                encoded.writeTo(out);
+                flushPending = true;
+            } else if (flushPending) {
+                flushPending = false;
+                out.flush();
+            } else if (done) {
+                Throwable error = failure;
+                if (error != null)
+                    log.debug("Stream completed exceptionally: {}", error.getMessage(), error);
+                terminate(error != null ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : 0);
+                return;
+            } else if (!requested) {
+                requested = true;
+                current.request(1);
+            } else {
+                return;
+            }
+        }
+    }
+
+    private boolean isReady() {
+        return asyncContext == null || out.isReady();
+    }
+
+    // Ends the response; the status is sent only if nothing is committed yet
+    private void terminate(int errorStatus) {
+        terminated = true;
+        if (errorStatus > 0)
+            Http.sendError(resp, errorStatus);
+        if (asyncContext != null)
+            asyncContext.complete();
+        finished.complete(null);
+    }
+
+    private class ServletListener implements WriteListener, AsyncListener {
+        @Override
+        public void onWritePossible() {
+            drain();
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            log.debug("Streaming response failed: {}", String.valueOf(throwable));
+            cancel(0);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            log.debug("Streaming response timed out");
+            cancel(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            onError(event.getThrowable());
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {}
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {}
+    }
+}
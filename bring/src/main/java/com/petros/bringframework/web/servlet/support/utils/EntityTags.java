@@ -0,0 +1,65 @@
+package com.petros.bringframework.web.servlet.support.utils;
+
+import javax.annotation.Nullable;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Util class with static methods to compute and compare entity tags (ETags)
+ */
+public final class EntityTags {
+    private static final String WEAK_PREFIX = "W/";
+    // 128 bits of the digest are plenty to tell representations apart
+    private static final int TAG_BYTES = 16;
+
+    private EntityTags() {
+    }
+
+    /**
+     * Compute the strong ETag of the content: a quoted digest of the bytes
+     */
+    public static String of(byte[] content) {
+        return of(content, 0, content.length);
+    }
+
+    public static String of(byte[] content, int offset, int length) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        }
+        digest.update(content, offset, length);
+        return '"' + HexFormat.of().formatHex(digest.digest(), 0, TAG_BYTES) + '"';
+    }
+
+    /**
+     * Whether an {@code If-None-Match} header matches the ETag, using the weak comparison: {@code W/"x"}
+     * matches {@code "x"}, as a compressed representation of the same content does
+     */
+    public static boolean matches(@Nullable String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String opaqueTag = opaqueTag(etag);
+        for (String tag : ifNoneMatch.split(",")) {
+            String trimmed = tag.trim();
+            if (trimmed.equals("*") || opaqueTag(trimmed).equals(opaqueTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Return the weak form of the ETag, e.g. for a representation the body of which is transformed
+     */
+    public static String weaken(String etag) {
+        return etag.startsWith(WEAK_PREFIX) ? etag : WEAK_PREFIX + etag;
+    }
+
+    private static String opaqueTag(String etag) {
+        return etag.startsWith(WEAK_PREFIX) ? etag.substring(WEAK_PREFIX.length()) : etag;
+    }
+}
@@ -1,14 +1,19 @@
 package com.petros.bringframework.web.servlet.support.utils;
 
+import com.petros.bringframework.web.servlet.support.mapper.DataMapper;
 import lombok.extern.log4j.Log4j2;
 
 import javax.servlet.ServletOutputStream;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
 
 /**
  * Util class with static methods to work with HttpServlet request/response
@@ -17,18 +22,20 @@ import java.nio.charset.StandardCharsets;
 @Log4j2
 public class Http {
     public static String getBodyAsString(HttpServletRequest request){
-        StringBuilder stringBuilder = new StringBuilder();
-        try (BufferedReader bufferedReader = new BufferedReader(new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8))) {
-            char[] charBuffer = new char[128];
-            int bytesRead;
-            while ((bytesRead = bufferedReader.read(charBuffer)) != -1) {
-                stringBuilder.append(charBuffer, 0, bytesRead);
-            }
+        try (InputStream in = request.getInputStream()) {
+            return new String(in.readAllBytes(), getCharset(request));
         } catch (IOException e) {
             log.debug("An exception occurred while reading the input stream: {}", e.getMessage(), e);
             throw new RuntimeException(e);
         }
-        return stringBuilder.toString();
+    }
+
+    /**
+     * Return the charset of the request body, UTF-8 if the request doesn't declare one
+     */
+    public static Charset getCharset(HttpServletRequest request){
+        var encoding = request.getCharacterEncoding();
+        return encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
     }
 
     public static void sendBadRequest(HttpServletResponse response){
@@ -41,6 +48,16 @@ public class Http {
         }
     }
 
+    public static void sendError(HttpServletResponse response, int status){
+        if (response.isCommitted()) return;
+        try {
+            response.sendError(status);
+        } catch (IOException e) {
+            log.debug("An exception occurred while sending the error response: {}", e.getMessage(), e);
+            throw new RuntimeException(e);
+        }
+    }
+
     public static void sendNotFound(HttpServletResponse response){
         try {
             response.sendError(HttpServletResponse.SC_NOT_FOUND);
@@ -50,6 +67,16 @@ public class Http {
         }
     }
 
+    public static void sendMethodNotAllowed(HttpServletResponse response, Collection<?> allowedMethods){
+        try {
+            response.setHeader("Allow", allowedMethods.stream().map(Object::toString).collect(Collectors.joining(", ")));
+            response.sendError(HttpServletResponse.SC_METHOD_NOT_ALLOWED);
+        } catch (IOException e) {
+            log.debug("An exception occurred while sending the error response: {}", e.getMessage(), e);
+            throw new RuntimeException(e);
+        }
+    }
+
     public static void sendBadRequest(HttpServletResponse response, String message){
         try {
             response.sendError(HttpServletResponse.SC_BAD_REQUEST, message);
@@ -61,8 +88,10 @@ public class Http {
 
     public static void writeResult(String data, HttpServletResponse response){
         try {
+            if (response.getContentType() == null)
+                response.setContentType("text/plain;charset=UTF-8");
             ServletOutputStream out = response.getOutputStream();
-            out.write(data.getBytes());
+            out.write(data.getBytes(charsetOf(response)));
             out.flush();
             out.close();
         } catch (IOException e) {
@@ -71,6 +100,40 @@ public class Http {
         }
     }
 
+    /**
+     * Write the value as the response body with the given mapper, streaming to the servlet output stream
+     */
+    public static void writeValue(Object value, DataMapper mapper, HttpServletResponse response){
+        writeValue(value, mapper, response, UnaryOperator.identity());
+    }
+
+    /**
+     * Write the value as the response body with the given mapper through a decorator of the servlet output stream,
+     * e.g. to count the bytes written. The servlet stream itself is flushed and closed afterwards
+     */
+    public static void writeValue(Object value, DataMapper mapper, HttpServletResponse response,
+                                  UnaryOperator<OutputStream> decorator){
+        try {
+            if (response.getContentType() == null)
+                response.setContentType("application/json");
+            ServletOutputStream out = response.getOutputStream();
+            mapper.writeValue(decorator.apply(out), value);
+            out.flush();
+            out.close();
+        } catch (IOException e) {
+            log.debug("Error while writing controller method invocation result to response body: {}", e.getMessage(), e);
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static Charset charsetOf(HttpServletResponse response) {
+        try {
+            return Charset.forName(response.getCharacterEncoding());
+        } catch (IllegalArgumentException e) {
+            return StandardCharsets.UTF_8;
+        }
+    }
+
     public static void writeResult(byte[] bytes, HttpServletResponse response){
         try {
             ServletOutputStream out = response.getOutputStream();
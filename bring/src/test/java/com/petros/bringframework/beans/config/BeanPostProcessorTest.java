@@ -6,7 +6,10 @@ import com.petros.bringframework.beans.config.beans.AutowiredCandidateImpl2;
 import com.petros.bringframework.beans.config.beans.DestroyPleaseAnnotationTestBean;
 import com.petros.bringframework.beans.config.beans.InitPleaseAnnotationTestBean;
 import com.petros.bringframework.beans.config.beans.InjectPleaseAnnotationTestBean;
+import com.petros.bringframework.beans.config.beans.InjectPleaseMethodTestBean;
 import com.petros.bringframework.beans.config.beans.ValueAnnotationTestBean;
+import com.petros.bringframework.beans.config.beans.ValuePlaceholderTestBean;
+import com.petros.bringframework.beans.exception.BeanCreationException;
 import com.petros.bringframework.beans.factory.BeanFactory;
 import com.petros.bringframework.beans.factory.config.AutowiredAnnotationBeanPostProcessor;
 import com.petros.bringframework.beans.factory.config.InitDestroyAnnotationBeanPostProcessor;
@@ -87,6 +90,42 @@ class BeanPostProcessorTest {
         assertTrue(exception.getMessage().contains("Expected single matching bean but found 2"));
     }
 
+    @Test
+    void postProcessPropertyValuesWithFailingInjectPleaseMethod() {
+        InjectPleaseMethodTestBean bean = new InjectPleaseMethodTestBean();
+
+        Mockito.when(beanFactory.getBeansOfType(AutowiredCandidate.class))
+                .thenReturn(Collections.singletonMap("autowiredCandidateImpl", new AutowiredCandidateImpl()));
+
+        BeanCreationException exception = assertThrows(
+                BeanCreationException.class,
+                () -> autowiredAnnotationBeanPostProcessor.postProcessBeforeInitialization(bean, "injectPleaseMethodTestBean")
+        );
+
+        assertEquals("Injection failed", exception.getCause().getMessage());
+    }
+
+    @Test
+    void postProcessPropertyValuesResolvesCandidatesPerPostProcessor() {
+        AutowiredCandidate autowiredCandidateImpl = new AutowiredCandidateImpl();
+        Mockito.when(beanFactory.getBeansOfType(AutowiredCandidate.class))
+                .thenReturn(Collections.singletonMap("autowiredCandidateImpl", autowiredCandidateImpl));
+        autowiredAnnotationBeanPostProcessor.postProcessBeforeInitialization(new InjectPleaseAnnotationTestBean(),
+                "injectPleaseAnnotationTestBean");
+
+        BeanFactory otherBeanFactory = Mockito.mock(BeanFactory.class);
+        AutowiredCandidate autowiredCandidateImpl2 = new AutowiredCandidateImpl2();
+        Mockito.when(otherBeanFactory.getBeansOfType(AutowiredCandidate.class))
+                .thenReturn(Collections.singletonMap("autowiredCandidateImpl2", autowiredCandidateImpl2));
+        AutowiredAnnotationBeanPostProcessor otherPostProcessor = new AutowiredAnnotationBeanPostProcessor();
+        otherPostProcessor.setBeanFactory(otherBeanFactory);
+        InjectPleaseAnnotationTestBean bean = new InjectPleaseAnnotationTestBean();
+
+        otherPostProcessor.postProcessBeforeInitialization(bean, "injectPleaseAnnotationTestBean");
+
+        assertEquals(autowiredCandidateImpl2, bean.getAutowiredCandidate());
+    }
+
     @Test
     void postProcessPropertyValuesWithValue() {
         ValueAnnotationTestBean bean = new ValueAnnotationTestBean();
@@ -96,6 +135,16 @@ class BeanPostProcessorTest {
         assertEquals("value", bean.getAutowiredValue());
     }
 
+    @Test
+    void postProcessPropertyValuesWithValuePlaceholder() {
+        ValuePlaceholderTestBean bean = new ValuePlaceholderTestBean();
+
+        autowiredAnnotationBeanPostProcessor.postProcessBeforeInitialization(bean, "valuePlaceholderTestBean");
+
+        assertEquals("value", bean.getResolvedValue());
+        assertEquals("default", bean.getDefaultValue());
+    }
+
     @Test
     void postProcessWithInitPleaseAnnotation() {
         InitPleaseAnnotationTestBean bean = Mockito.spy(new InitPleaseAnnotationTestBean());
@@ -0,0 +1,11 @@
+package com.petros.bringframework.beans.config.beans;
+
+import com.petros.bringframework.beans.factory.annotation.InjectPlease;
+
+public class InjectPleaseMethodTestBean {
+
+    @InjectPlease
+    public void setAutowiredCandidate(AutowiredCandidate autowiredCandidate) throws Exception {
+        throw new Exception("Injection failed");
+    }
+}
@@ -0,0 +1,14 @@
+package com.petros.bringframework.beans.config.beans;
+
+import com.petros.bringframework.beans.factory.annotation.Value;
+import lombok.Data;
+
+@Data
+public class ValuePlaceholderTestBean {
+
+    @Value("${autowiredValue:default}")
+    private String resolvedValue;
+
+    @Value("${missingValue:default}")
+    private String defaultValue;
+}
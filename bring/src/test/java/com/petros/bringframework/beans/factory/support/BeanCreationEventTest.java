@@ -0,0 +1,94 @@
+package com.petros.bringframework.beans.factory.support;
+
+import com.petros.bringframework.beans.factory.annotation.InjectPlease;
+import com.petros.bringframework.context.annotation.AnnotationConfigApplicationContext;
+import com.petros.bringframework.context.annotation.Scope;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BeanCreationEventTest {
+
+    private static final String EVENT_NAME = "bring.BeanCreation";
+
+    @TempDir
+    Path directory;
+
+    public static class Repository {
+    }
+
+    public static class Service {
+        final Repository repository;
+
+        @InjectPlease
+        public Service(Repository repository) {
+            this.repository = repository;
+        }
+    }
+
+    @Scope("prototype")
+    public static class Command {
+    }
+
+    private List<RecordedEvent> record(Runnable action) throws IOException {
+        Path file = directory.resolve("beans.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(EVENT_NAME).withThreshold(Duration.ZERO);
+            recording.start();
+            action.run();
+            recording.stop();
+            recording.dump(file);
+        }
+        return RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals(EVENT_NAME))
+                .toList();
+    }
+
+    @Test
+    void commitsEventPerCreatedBean() throws IOException {
+        List<RecordedEvent> events = record(() -> new AnnotationConfigApplicationContext(Service.class, Repository.class));
+
+        Map<String, RecordedEvent> byBeanClass = events.stream()
+                .collect(Collectors.toMap(event -> event.getString("beanClass"), Function.identity(), (first, second) -> first));
+        RecordedEvent service = byBeanClass.get(Service.class.getName());
+        RecordedEvent repository = byBeanClass.get(Repository.class.getName());
+        assertTrue(service.getString("beanName").endsWith("Service"), service::toString);
+        assertEquals("singleton", service.getString("scope"));
+        assertTrue(repository.getString("beanName").endsWith("Repository"), repository::toString);
+        // The dependency is created while the bean that needs it is
+        assertFalse(repository.getStartTime().isBefore(service.getStartTime()));
+        assertFalse(repository.getEndTime().isAfter(service.getEndTime()));
+    }
+
+    @Test
+    void commitsEventPerPrototypeInstance() throws IOException {
+        var context = new AnnotationConfigApplicationContext(Command.class);
+
+        List<RecordedEvent> events = record(() -> {
+            context.getBean(Command.class);
+            context.getBean(Command.class);
+        });
+
+        assertEquals(2, events.size());
+        assertTrue(events.stream().allMatch(event -> "prototype".equals(event.getString("scope"))));
+    }
+
+    @Test
+    void leavesEventDisabledWithoutRecording() {
+        assertFalse(new BeanCreationEvent().isEnabled());
+    }
+}
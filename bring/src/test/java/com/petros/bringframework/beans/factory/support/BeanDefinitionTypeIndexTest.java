@@ -0,0 +1,153 @@
+package com.petros.bringframework.beans.factory.support;
+
+import com.petros.bringframework.beans.factory.config.BeanDefinition;
+import com.petros.bringframework.beans.support.GenericBeanDefinition;
+import com.petros.bringframework.beans.support.ReflectionBeanDefinition;
+import com.petros.bringframework.core.type.ResolvableType;
+import com.petros.bringframework.type.reading.ReflectionMetadataReader;
+import org.junit.jupiter.api.Test;
+
+import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BeanDefinitionTypeIndexTest {
+
+    private static final String[] NONE = new String[0];
+
+    private final BeanDefinitionTypeIndex index = new BeanDefinitionTypeIndex();
+
+    interface Greeter {
+    }
+
+    interface PoliteGreeter extends Greeter {
+    }
+
+    public static class BaseGreeter implements PoliteGreeter {
+    }
+
+    public static class EnglishGreeter extends BaseGreeter implements Serializable {
+    }
+
+    public static class Clock {
+    }
+
+    private static BeanDefinition definition(Class<?> beanClass) {
+        return new ReflectionBeanDefinition(new ReflectionMetadataReader(beanClass));
+    }
+
+    /**
+     * A factory method definition whose target type isn't known, counting the attempts to determine it.
+     */
+    private static GenericBeanDefinition unresolvableDefinition(AtomicInteger attempts) {
+        GenericBeanDefinition definition = new GenericBeanDefinition() {
+            @Override
+            public ResolvableType getTargetType() {
+                attempts.incrementAndGet();
+                return super.getTargetType();
+            }
+        };
+        definition.setFactoryBeanName("config");
+        definition.setFactoryMethodName("create");
+        return definition;
+    }
+
+    @Test
+    void indexesUnderSuperclassesAndInterfaces() {
+        index.add("english", definition(EnglishGreeter.class));
+        index.add("clock", definition(Clock.class));
+
+        assertArrayEquals(new String[]{"english"}, index.getBeanNamesForType(EnglishGreeter.class));
+        assertArrayEquals(new String[]{"english"}, index.getBeanNamesForType(BaseGreeter.class));
+        assertArrayEquals(new String[]{"english"}, index.getBeanNamesForType(PoliteGreeter.class));
+        assertArrayEquals(new String[]{"english"}, index.getBeanNamesForType(Greeter.class));
+        assertArrayEquals(new String[]{"english"}, index.getBeanNamesForType(Serializable.class));
+        assertArrayEquals(new String[]{"english", "clock"}, index.getBeanNamesForType(Object.class));
+        assertArrayEquals(NONE, index.getBeanNamesForType(Runnable.class));
+    }
+
+    @Test
+    void keepsRegistrationOrder() {
+        index.add("second", definition(BaseGreeter.class));
+        index.add("first", definition(EnglishGreeter.class));
+
+        assertArrayEquals(new String[]{"second", "first"}, index.getBeanNamesForType(Greeter.class));
+    }
+
+    @Test
+    void evictsCachedLookupsOnRemoval() {
+        index.add("english", definition(EnglishGreeter.class));
+        index.add("base", definition(BaseGreeter.class));
+        assertArrayEquals(new String[]{"english", "base"}, index.getBeanNamesForType(Greeter.class));
+
+        index.remove("english");
+
+        assertArrayEquals(new String[]{"base"}, index.getBeanNamesForType(Greeter.class));
+        assertArrayEquals(NONE, index.getBeanNamesForType(EnglishGreeter.class));
+        assertArrayEquals(NONE, index.getBeanNamesForType(Serializable.class));
+    }
+
+    @Test
+    void reindexesDefinitionRegisteredAgainUnderSameName() {
+        index.add("bean", definition(EnglishGreeter.class));
+        assertArrayEquals(new String[]{"bean"}, index.getBeanNamesForType(Greeter.class));
+
+        index.add("bean", definition(Clock.class));
+
+        assertArrayEquals(NONE, index.getBeanNamesForType(Greeter.class));
+        assertArrayEquals(new String[]{"bean"}, index.getBeanNamesForType(Clock.class));
+    }
+
+    @Test
+    void findsDefinitionsRegisteredAfterLookup() {
+        assertArrayEquals(NONE, index.getBeanNamesForType(Greeter.class));
+
+        index.add("english", definition(EnglishGreeter.class));
+
+        assertArrayEquals(new String[]{"english"}, index.getBeanNamesForType(Greeter.class));
+    }
+
+    @Test
+    void retriesUnresolvableDefinitionsOnlyAfterRegistryChanged() {
+        AtomicInteger attempts = new AtomicInteger();
+        index.add("missing", unresolvableDefinition(attempts));
+        assertEquals(1, attempts.get());
+
+        for (int i = 0; i < 10; i++) {
+            assertArrayEquals(NONE, index.getBeanNamesForType(Object.class));
+        }
+        assertEquals(1, attempts.get(), "lookups without registry change must not retry");
+
+        index.add("clock", definition(Clock.class));
+        index.getBeanNamesForType(Clock.class);
+        index.getBeanNamesForType(Clock.class);
+
+        assertEquals(2, attempts.get());
+    }
+
+    @Test
+    void indexesPendingDefinitionOnceItsTypeIsKnown() {
+        GenericBeanDefinition definition = unresolvableDefinition(new AtomicInteger());
+        index.add("late", definition);
+        assertArrayEquals(NONE, index.getBeanNamesForType(Clock.class));
+
+        definition.setTargetType(Clock.class);
+        index.add("other", definition(EnglishGreeter.class));
+
+        assertArrayEquals(new String[]{"late"}, index.getBeanNamesForType(Clock.class));
+    }
+
+    @Test
+    void forgetsRemovedPendingDefinition() {
+        GenericBeanDefinition definition = unresolvableDefinition(new AtomicInteger());
+        index.add("late", definition);
+        index.remove("late");
+
+        definition.setTargetType(Clock.class);
+        index.add("other", definition(EnglishGreeter.class));
+
+        assertArrayEquals(NONE, index.getBeanNamesForType(Clock.class));
+    }
+}
@@ -0,0 +1,210 @@
+package com.petros.bringframework.beans.factory.support;
+
+import com.petros.bringframework.beans.exception.BeanCurrentlyInCreationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+class DefaultSingletonBeanRegistryTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private DefaultSingletonBeanRegistry registry;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        registry = new DefaultSingletonBeanRegistry();
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @Test
+    void concurrentRequestsForTheSameBeanCreateItOnce() {
+        int threads = 16;
+        AtomicInteger creations = new AtomicInteger();
+        CyclicBarrier start = new CyclicBarrier(threads);
+
+        List<Object> instances = assertTimeoutPreemptively(TIMEOUT, () -> {
+            List<Future<Object>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return registry.getSingleton("shared", () -> {
+                        creations.incrementAndGet();
+                        sleep(20);
+                        return new Object();
+                    });
+                }));
+            }
+            List<Object> results = new ArrayList<>();
+            for (Future<Object> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        });
+
+        assertEquals(1, creations.get());
+        instances.forEach(instance -> assertSame(instances.get(0), instance));
+        executor.shutdownNow();
+    }
+
+    @Test
+    void slowBeanDoesNotBlockUnrelatedBeans() throws Exception {
+        CountDownLatch slowStarted = new CountDownLatch(1);
+        CountDownLatch releaseSlow = new CountDownLatch(1);
+        registry.registerSingleton("existing", "ready");
+
+        Future<Object> slow = executor.submit(() -> registry.getSingleton("slow", () -> {
+            slowStarted.countDown();
+            await(releaseSlow);
+            return "slow";
+        }));
+        assertTrue(slowStarted.await(TIMEOUT.toSeconds(), TimeUnit.SECONDS));
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            assertEquals("fast", registry.getSingleton("fast", () -> "fast"));
+            assertEquals("ready", registry.getSingleton("existing"));
+            assertNull(registry.getSingleton("slow"));
+        });
+
+        releaseSlow.countDown();
+        assertEquals("slow", slow.get(TIMEOUT.toSeconds(), TimeUnit.SECONDS));
+        assertEquals("slow", registry.getSingleton("slow"));
+        executor.shutdownNow();
+    }
+
+    @Test
+    void circularReferenceOnTheSameThreadIsDetected() {
+        assertThrows(BeanCurrentlyInCreationException.class, () ->
+                registry.getSingleton("a", () -> registry.getSingleton("b", () -> registry.getSingleton("a", Object::new))));
+
+        // The failed creation leaves nothing behind
+        assertEquals("a", registry.getSingleton("a", () -> "a"));
+    }
+
+    @Test
+    void circularReferenceAcrossThreadsIsReportedInsteadOfDeadlocking() {
+        CyclicBarrier bothInCreation = new CyclicBarrier(2);
+
+        List<Throwable> failures = assertTimeoutPreemptively(TIMEOUT, () -> {
+            Future<Object> first = executor.submit(() -> registry.getSingleton("x", () -> {
+                await(bothInCreation);
+                return registry.getSingleton("y", () -> "y");
+            }));
+            Future<Object> second = executor.submit(() -> registry.getSingleton("y", () -> {
+                await(bothInCreation);
+                return registry.getSingleton("x", () -> "x");
+            }));
+            List<Throwable> errors = new ArrayList<>();
+            for (Future<Object> future : List.of(first, second)) {
+                try {
+                    future.get();
+                } catch (ExecutionException ex) {
+                    errors.add(ex.getCause());
+                }
+            }
+            return errors;
+        });
+
+        assertFalse(failures.isEmpty(), "The cycle should have been reported");
+        failures.forEach(failure -> assertInstanceOf(BeanCurrentlyInCreationException.class, failure));
+        executor.shutdownNow();
+    }
+
+    @Test
+    void stressManyThreadsOverlappingBeans() {
+        int beans = 64;
+        int threads = 32;
+        int lookupsPerThread = 2_000;
+        Map<String, AtomicInteger> creations = new ConcurrentHashMap<>();
+        CyclicBarrier start = new CyclicBarrier(threads);
+
+        assertTimeoutPreemptively(TIMEOUT, () -> {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < lookupsPerThread; i++) {
+                        String beanName = "bean" + random.nextInt(beans);
+                        Object bean = registry.getSingleton(beanName, () -> createWithDependency(beanName, beans, creations));
+                        if (!beanName.equals(bean)) {
+                            fail("Unexpected instance " + bean + " for " + beanName);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        });
+
+        assertEquals(beans, registry.getSingletonCount());
+        creations.forEach((beanName, count) -> assertEquals(1, count.get(), beanName + " created more than once"));
+        executor.shutdownNow();
+    }
+
+    /**
+     * Even beans depend on the next odd bean, so that creations nest across threads without cycles.
+     */
+    private Object createWithDependency(String beanName, int beans, Map<String, AtomicInteger> creations) {
+        creations.computeIfAbsent(beanName, name -> new AtomicInteger()).incrementAndGet();
+        int index = Integer.parseInt(beanName.substring("bean".length()));
+        if (index % 2 == 0 && index + 1 < beans) {
+            String dependency = "bean" + (index + 1);
+            registry.getSingleton(dependency, () -> createWithDependency(dependency, beans, creations));
+        }
+        sleep(1);
+        return beanName;
+    }
+
+    private static void await(CyclicBarrier barrier) {
+        try {
+            barrier.await(TIMEOUT.toSeconds(), TimeUnit.SECONDS);
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(TIMEOUT.toSeconds(), TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
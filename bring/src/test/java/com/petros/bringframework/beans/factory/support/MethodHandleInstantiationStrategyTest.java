@@ -0,0 +1,220 @@
+package com.petros.bringframework.beans.factory.support;
+
+import com.petros.bringframework.beans.exception.BeanInstantiationException;
+import com.petros.bringframework.beans.support.BeanInstantiator;
+import com.petros.bringframework.beans.support.GenericBeanDefinition;
+import com.petros.bringframework.beans.support.ReflectionBeanDefinition;
+import com.petros.bringframework.type.reading.ReflectionMetadataReader;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MethodHandleInstantiationStrategyTest {
+
+    private final MethodHandleInstantiationStrategy strategy = new MethodHandleInstantiationStrategy();
+
+    private static GenericBeanDefinition definition(Class<?> beanClass) {
+        return new ReflectionBeanDefinition(new ReflectionMetadataReader(beanClass));
+    }
+
+    private static Method factoryMethod(String name, Class<?>... parameterTypes) throws NoSuchMethodException {
+        return Factories.class.getDeclaredMethod(name, parameterTypes);
+    }
+
+    private Object invoke(Object factoryBean, Method factoryMethod, Object... args) {
+        return strategy.instantiate(definition(Widget.class), "widget", null, factoryBean, factoryMethod, args);
+    }
+
+    @Test
+    void generatesInstantiatorForPublicConstructor() throws NoSuchMethodException {
+        Constructor<Widget> ctor = Widget.class.getDeclaredConstructor(String.class);
+        GenericBeanDefinition definition = definition(Widget.class);
+
+        Object widget = strategy.instantiate(definition, "widget", ctor, new Object[]{"public"});
+
+        assertEquals("public", ((Widget) widget).name);
+        BeanInstantiator instantiator = definition.getResolvedInstantiator();
+        assertNotNull(instantiator);
+        assertTrue(instantiator.isGenerated());
+        assertSame(ctor, instantiator.getExecutable());
+        assertSame(instantiator, BeanInstantiator.obtain(definition, ctor));
+    }
+
+    @Test
+    void rejectsPrivateConstructorAsReflectionDoes() throws NoSuchMethodException {
+        Constructor<Secret> ctor = Secret.class.getDeclaredConstructor();
+        GenericBeanDefinition definition = definition(Secret.class);
+
+        assertNull(BeanInstantiator.obtain(definition, ctor));
+        BeanInstantiationException exception = assertThrows(BeanInstantiationException.class,
+                () -> strategy.instantiate(definition, "secret", ctor, new Object[0]));
+
+        assertInstanceOf(IllegalAccessException.class, exception.getCause());
+    }
+
+    @Test
+    void instantiatesThroughNoArgConstructor() {
+        Object counter = strategy.instantiate(definition(Counter.class), "counter",
+                Counter.class.getDeclaredConstructors(), null);
+
+        assertInstanceOf(Counter.class, counter);
+    }
+
+    @Test
+    void propagatesConstructorExceptionAsCause() throws NoSuchMethodException {
+        Constructor<Widget> ctor = Widget.class.getDeclaredConstructor(String.class);
+
+        BeanInstantiationException exception = assertThrows(BeanInstantiationException.class,
+                () -> strategy.instantiate(definition(Widget.class), "widget", ctor, new Object[]{"fail"}));
+
+        assertInstanceOf(IllegalStateException.class, exception.getCause());
+    }
+
+    @Test
+    void fallsBackToReflectionForArgumentsNeedingConversion() throws NoSuchMethodException {
+        Constructor<Sized> ctor = Sized.class.getConstructor(long.class);
+        GenericBeanDefinition definition = definition(Sized.class);
+        Object[] args = {5};
+
+        assertFalse(BeanInstantiator.obtain(definition, ctor).accepts(args));
+        Object sized = strategy.instantiate(definition, "sized", ctor, args);
+
+        assertEquals(5L, ((Sized) sized).size);
+    }
+
+    @Test
+    void fallsBackToReflectionForAbstractClass() throws NoSuchMethodException {
+        Constructor<AbstractBean> ctor = AbstractBean.class.getDeclaredConstructor();
+        GenericBeanDefinition definition = definition(AbstractBean.class);
+
+        assertNull(BeanInstantiator.obtain(definition, ctor));
+        BeanInstantiationException exception = assertThrows(BeanInstantiationException.class,
+                () -> strategy.instantiate(definition, "abstractBean", ctor, new Object[0]));
+
+        assertInstanceOf(InstantiationException.class, exception.getCause());
+    }
+
+    @Test
+    void invokesNonPublicStaticFactoryMethod() throws NoSuchMethodException {
+        Method factoryMethod = factoryMethod("staticWidget", String.class);
+        GenericBeanDefinition definition = definition(Widget.class);
+
+        Object widget = strategy.instantiate(definition, "widget", null, null, factoryMethod, new Object[]{"static"});
+
+        assertEquals("static", ((Widget) widget).name);
+        assertTrue(BeanInstantiator.obtain(definition, factoryMethod).isGenerated());
+    }
+
+    @Test
+    void dispatchesInstanceFactoryMethodToOverride() throws NoSuchMethodException {
+        Method factoryMethod = factoryMethod("widget", String.class);
+
+        assertEquals("plain", ((Widget) invoke(new Factories(), factoryMethod, "plain")).name);
+        assertEquals("enhanced plain", ((Widget) invoke(new EnhancedFactories(), factoryMethod, "plain")).name);
+    }
+
+    @Test
+    void exposesCurrentlyInvokedFactoryMethod() throws NoSuchMethodException {
+        Method factoryMethod = factoryMethod("currentlyInvoked");
+
+        assertSame(factoryMethod, invoke(new Factories(), factoryMethod));
+        assertNull(SimpleInstantiationStrategy.getCurrentlyInvokedFactoryMethod());
+    }
+
+    @Test
+    void replacesNullResultOfFactoryMethod() throws NoSuchMethodException {
+        assertInstanceOf(NullBean.class, invoke(new Factories(), factoryMethod("nothing")));
+    }
+
+    @Test
+    void reportsFactoryMethodExceptionAsReflectionDoes() throws NoSuchMethodException {
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> invoke(new Factories(), factoryMethod("failing")));
+
+        InvocationTargetException cause = assertInstanceOf(InvocationTargetException.class, exception.getCause());
+        assertInstanceOf(IllegalStateException.class, cause.getTargetException());
+    }
+
+    @Test
+    void fallsBackToReflectionForFactoryMethodArgumentsNeedingConversion() throws NoSuchMethodException {
+        Object sized = invoke(new Factories(), factoryMethod("sized", long.class), 7);
+
+        assertEquals(7L, ((Sized) sized).size);
+    }
+
+    public static class Widget {
+        final String name;
+
+        public Widget(String name) {
+            if ("fail".equals(name)) {
+                throw new IllegalStateException(name);
+            }
+            this.name = name;
+        }
+    }
+
+    public static class Counter {
+    }
+
+    public static class Secret {
+        private Secret() {
+        }
+    }
+
+    public static class Sized {
+        final long size;
+
+        public Sized(long size) {
+            this.size = size;
+        }
+    }
+
+    public abstract static class AbstractBean {
+    }
+
+    static class Factories {
+
+        private static Widget staticWidget(String name) {
+            return new Widget(name);
+        }
+
+        Widget widget(String name) {
+            return new Widget(name);
+        }
+
+        Method currentlyInvoked() {
+            return SimpleInstantiationStrategy.getCurrentlyInvokedFactoryMethod();
+        }
+
+        Widget nothing() {
+            return null;
+        }
+
+        Widget failing() {
+            throw new IllegalStateException("failing on purpose");
+        }
+
+        Sized sized(long size) {
+            return new Sized(size);
+        }
+    }
+
+    static class EnhancedFactories extends Factories {
+
+        @Override
+        Widget widget(String name) {
+            return new Widget("enhanced " + name);
+        }
+    }
+}
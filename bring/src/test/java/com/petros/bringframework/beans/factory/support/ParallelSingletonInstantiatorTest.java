@@ -0,0 +1,165 @@
+package com.petros.bringframework.beans.factory.support;
+
+import com.petros.bringframework.beans.exception.BeanCreationException;
+import com.petros.bringframework.beans.factory.ConfigurableBeanFactory;
+import com.petros.bringframework.beans.factory.annotation.InjectPlease;
+import com.petros.bringframework.context.annotation.AnnotationConfigApplicationContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+class ParallelSingletonInstantiatorTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    static final Queue<String> created = new ConcurrentLinkedQueue<>();
+    static final Set<String> creatingThreads = ConcurrentHashMap.newKeySet();
+    static volatile CyclicBarrier barrier;
+
+    @BeforeEach
+    void setUp() {
+        created.clear();
+        creatingThreads.clear();
+        barrier = new CyclicBarrier(2);
+    }
+
+    /**
+     * Pre-instantiates the given bean types with a fixed parallelism, independent of the processors of the machine.
+     */
+    private static void refresh(int parallelism, Class<?>... beanTypes) {
+        var context = new AnnotationConfigApplicationContext() {
+            @Override
+            protected void finishBeanFactoryInitialization(ConfigurableBeanFactory beanFactory) {
+                DefaultBeanFactory defaultBeanFactory = (DefaultBeanFactory) beanFactory;
+                List<String> beanNames = new ArrayList<>();
+                for (Class<?> beanType : beanTypes) {
+                    beanNames.addAll(Arrays.asList(defaultBeanFactory.getBeanNamesForType(beanType)));
+                }
+                new ParallelSingletonInstantiator(defaultBeanFactory, parallelism).instantiate(beanNames);
+            }
+        };
+        context.register(beanTypes);
+        context.refresh();
+    }
+
+    private static Throwable rootCauseOf(Throwable throwable) {
+        while (throwable.getCause() != null) {
+            throwable = throwable.getCause();
+        }
+        return throwable;
+    }
+
+    private static void record(String beanName) {
+        created.add(beanName);
+        creatingThreads.add(Thread.currentThread().getName());
+    }
+
+    @Test
+    void createsDependenciesBeforeTheirDependents() {
+        assertTimeoutPreemptively(TIMEOUT, () -> refresh(4, Top.class, Left.class, Right.class, Root.class));
+
+        List<String> order = List.copyOf(created);
+        assertEquals(4, order.size(), order::toString);
+        assertEquals("root", order.get(0));
+        assertEquals("top", order.get(3));
+        assertEquals(Set.of("left", "right"), Set.copyOf(order.subList(1, 3)));
+    }
+
+    @Test
+    void createsIndependentSubtreesConcurrently() {
+        // Each side waits for the other inside its constructor: created one after another, both would time out
+        assertTimeoutPreemptively(TIMEOUT, () -> refresh(2, AwaitingLeft.class, AwaitingRight.class));
+
+        assertEquals(Set.of("awaitingLeft", "awaitingRight"), Set.copyOf(created));
+        assertEquals(2, creatingThreads.size(), creatingThreads::toString);
+        assertTrue(creatingThreads.stream().allMatch(name -> name.startsWith("bring-startup-")),
+                creatingThreads::toString);
+    }
+
+    @Test
+    void stopsOnFirstBeanCreationException() {
+        BeanCreationException exception = assertTimeoutPreemptively(TIMEOUT, () -> assertThrows(
+                BeanCreationException.class, () -> refresh(1, Failing.class, Independent.class, DependsOnFailing.class)));
+
+        assertTrue(rootCauseOf(exception).getMessage().contains("failing on purpose"), exception::toString);
+        assertFalse(created.contains("dependsOnFailing"), created::toString);
+        assertFalse(created.contains("independent"), "beans not started yet are cancelled: " + created);
+    }
+
+    public static class Root {
+        public Root() {
+            record("root");
+        }
+    }
+
+    public static class Left {
+        @InjectPlease
+        public Left(Root root) {
+            record("left");
+        }
+    }
+
+    public static class Right {
+        @InjectPlease
+        public Right(Root root) {
+            record("right");
+        }
+    }
+
+    public static class Top {
+        @InjectPlease
+        public Top(Left left, Right right) {
+            record("top");
+        }
+    }
+
+    public static class AwaitingLeft {
+        public AwaitingLeft() throws Exception {
+            barrier.await(10, TimeUnit.SECONDS);
+            record("awaitingLeft");
+        }
+    }
+
+    public static class AwaitingRight {
+        public AwaitingRight() throws Exception {
+            barrier.await(10, TimeUnit.SECONDS);
+            record("awaitingRight");
+        }
+    }
+
+    public static class Failing {
+        public Failing() {
+            throw new BeanCreationException("failing", "failing on purpose");
+        }
+    }
+
+    public static class Independent {
+        public Independent() {
+            record("independent");
+        }
+    }
+
+    public static class DependsOnFailing {
+        @InjectPlease
+        public DependsOnFailing(Failing failing) {
+            fail("must not be created once its dependency failed");
+        }
+    }
+}
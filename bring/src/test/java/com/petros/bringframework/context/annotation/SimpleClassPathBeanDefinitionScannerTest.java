@@ -0,0 +1,119 @@
+package com.petros.bringframework.context.annotation;
+
+import com.petros.bringframework.beans.factory.config.AnnotatedBeanDefinition;
+import com.petros.bringframework.beans.factory.config.BeanDefinition;
+import com.petros.bringframework.beans.factory.support.SimpleBeanDefinitionRegistry;
+import com.petros.bringframework.context.annotation.scanned.ExtendedComponent;
+import com.petros.bringframework.context.annotation.scanned.Gateway;
+import com.petros.bringframework.context.annotation.scanned.GatewayClient;
+import com.petros.bringframework.context.annotation.scanned.NotAComponent;
+import com.petros.bringframework.context.annotation.scanned.ScannedComponent;
+import com.petros.bringframework.context.annotation.scanned.ScannedConfiguration;
+import com.petros.bringframework.context.annotation.scanned.ScannedPostProcessor;
+import com.petros.bringframework.context.index.CandidateComponentsIndexLoader;
+import com.petros.bringframework.type.reading.BytecodeAnnotationMetadata;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class SimpleClassPathBeanDefinitionScannerTest {
+
+    private static final String SCANNED_PACKAGE = ScannedComponent.class.getPackageName();
+
+    @AfterEach
+    void clearProperties() {
+        System.clearProperty(CandidateComponentsIndexLoader.IGNORE_INDEX);
+        System.clearProperty(SimpleClassPathBeanDefinitionScanner.METADATA_READER_PROPERTY);
+    }
+
+    private static Map<String, String> scan(SimpleBeanDefinitionRegistry registry) {
+        new SimpleClassPathBeanDefinitionScanner(registry).scan(SCANNED_PACKAGE);
+        return Arrays.stream(registry.getBeanDefinitionNames())
+                .collect(Collectors.toMap(Function.identity(),
+                        beanName -> registry.getBeanDefinition(beanName).getBeanClassName()));
+    }
+
+    @Test
+    void findsSameDefinitionsThroughIndexAndClasspathScanning() {
+        Map<String, String> indexed = scan(new SimpleBeanDefinitionRegistry());
+        System.setProperty(CandidateComponentsIndexLoader.IGNORE_INDEX, "true");
+        Map<String, String> scanned = scan(new SimpleBeanDefinitionRegistry());
+
+        Map<String, String> expected = Map.of(
+                "scannedComponent", ScannedComponent.class.getName(),
+                "extendedComponent", ExtendedComponent.class.getName(),
+                "scannedConfiguration", ScannedConfiguration.class.getName(),
+                "gatewayClient", GatewayClient.class.getName(),
+                "scannedPostProcessor", ScannedPostProcessor.class.getName());
+        assertEquals(expected, indexed);
+        assertEquals(expected, scanned);
+    }
+
+    @Test
+    void scansBytecodeWithoutLoadingNonComponentClasses() {
+        System.setProperty(CandidateComponentsIndexLoader.IGNORE_INDEX, "true");
+        System.setProperty(SimpleClassPathBeanDefinitionScanner.METADATA_READER_PROPERTY,
+                SimpleClassPathBeanDefinitionScanner.BYTECODE_METADATA_READER);
+        Thread thread = Thread.currentThread();
+        ClassLoader contextClassLoader = thread.getContextClassLoader();
+        var classLoader = new RecordingClassLoader(contextClassLoader);
+        var registry = new SimpleBeanDefinitionRegistry();
+        thread.setContextClassLoader(classLoader);
+        try {
+            new SimpleClassPathBeanDefinitionScanner(registry).scan(SCANNED_PACKAGE);
+        } finally {
+            thread.setContextClassLoader(contextClassLoader);
+        }
+
+        assertEquals(Set.of("scannedComponent", "extendedComponent", "scannedConfiguration", "gatewayClient",
+                "scannedPostProcessor"), Set.of(registry.getBeanDefinitionNames()));
+        for (String beanName : registry.getBeanDefinitionNames()) {
+            var beanDefinition = (AnnotatedBeanDefinition) registry.getBeanDefinition(beanName);
+            assertInstanceOf(BytecodeAnnotationMetadata.class, beanDefinition.getMetadata(), beanName);
+        }
+        assertEquals(GatewayClient.class.getName(), registry.getBeanDefinition("gatewayClient").getBeanClassName());
+        assertFalse(classLoader.requested.contains(NotAComponent.class.getName()), classLoader.requested::toString);
+        assertFalse(classLoader.requested.contains(Gateway.class.getName()), classLoader.requested::toString);
+    }
+
+    @Test
+    void keepsDefinitionOfClassRegisteredBeforeScan() {
+        var registry = new SimpleBeanDefinitionRegistry();
+        new AnnotatedBeanDefinitionReader(registry).registerBean(ScannedConfiguration.class);
+        BeanDefinition registered = registry.getBeanDefinition("scannedConfiguration");
+
+        int scannedCount = new SimpleClassPathBeanDefinitionScanner(registry).scan(SCANNED_PACKAGE);
+
+        assertEquals(4, scannedCount);
+        assertEquals(5, registry.getBeanDefinitionCount());
+        assertSame(registered, registry.getBeanDefinition("scannedConfiguration"));
+    }
+
+    /**
+     * Records the names of the classes the scanner asks for, whether they were loaded before or not.
+     */
+    private static final class RecordingClassLoader extends ClassLoader {
+        final Set<String> requested = ConcurrentHashMap.newKeySet();
+
+        RecordingClassLoader(ClassLoader parent) {
+            super(parent);
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            requested.add(name);
+            return super.loadClass(name, resolve);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.petros.bringframework.context.annotation.scanned;
+
+import com.petros.bringframework.context.annotation.Component;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Component
+public @interface Gateway {
+}
@@ -0,0 +1,5 @@
+package com.petros.bringframework.context.annotation.scanned;
+
+@Gateway
+public class GatewayClient {
+}
@@ -0,0 +1,4 @@
+package com.petros.bringframework.context.annotation.scanned;
+
+public class NotAComponent {
+}
@@ -0,0 +1,7 @@
+package com.petros.bringframework.context.annotation.scanned;
+
+import com.petros.bringframework.context.annotation.Component;
+
+@Component
+public class ScannedComponent {
+}
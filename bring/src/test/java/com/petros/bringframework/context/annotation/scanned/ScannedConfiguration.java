@@ -0,0 +1,9 @@
+package com.petros.bringframework.context.annotation.scanned;
+
+import com.petros.bringframework.context.annotation.ComponentScan;
+import com.petros.bringframework.context.annotation.Configuration;
+
+@Configuration
+@ComponentScan(basePackages = "com.petros.bringframework.context.annotation.scanned")
+public class ScannedConfiguration {
+}
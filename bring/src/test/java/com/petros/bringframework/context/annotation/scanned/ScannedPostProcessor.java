@@ -0,0 +1,6 @@
+package com.petros.bringframework.context.annotation.scanned;
+
+import com.petros.bringframework.beans.factory.config.BeanPostProcessor;
+
+public class ScannedPostProcessor implements BeanPostProcessor {
+}
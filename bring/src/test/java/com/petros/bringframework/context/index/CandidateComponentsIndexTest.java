@@ -0,0 +1,72 @@
+package com.petros.bringframework.context.index;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CandidateComponentsIndexTest {
+
+    private static final String COMPONENT = "com.petros.bringframework.context.annotation.Component";
+
+    @TempDir
+    Path indexedRoot;
+
+    @TempDir
+    Path plainRoot;
+
+    private static void writeIndex(Path root, String... lines) throws IOException {
+        Path index = root.resolve(CandidateComponentsIndexLoader.COMPONENTS_RESOURCE_LOCATION);
+        Files.createDirectories(index.getParent());
+        Files.write(index, List.of(lines));
+    }
+
+    private static CandidateComponentsIndex load(Path... roots) throws IOException {
+        URL[] urls = new URL[roots.length];
+        for (int i = 0; i < roots.length; i++) {
+            urls[i] = roots[i].toUri().toURL();
+        }
+        CandidateComponentsIndex index = CandidateComponentsIndexLoader.loadIndex(new URLClassLoader(urls, null));
+        assertNotNull(index);
+        return index;
+    }
+
+    @Test
+    void isCompleteWhenEveryRootOfPackageIsIndexed() throws IOException {
+        writeIndex(indexedRoot, "app.Service=" + COMPONENT, "other.Helper=" + COMPONENT);
+        Files.createDirectories(indexedRoot.resolve("app"));
+
+        CandidateComponentsIndex index = load(indexedRoot);
+
+        assertTrue(index.isComplete("app"));
+        assertEquals(Set.of("app.Service"), index.getCandidateTypes("app"));
+    }
+
+    @Test
+    void isNotCompleteWhenRootOfPackageIsNotIndexed() throws IOException {
+        writeIndex(indexedRoot, "app.Service=" + COMPONENT);
+        Files.createDirectories(indexedRoot.resolve("app"));
+        Files.createDirectories(plainRoot.resolve("app"));
+
+        assertFalse(load(indexedRoot, plainRoot).isComplete("app"));
+    }
+
+    @Test
+    void isNotCompleteWhenNoRootOfPackageIsFound() throws IOException {
+        // e.g. the package lives in a jar without directory entries
+        writeIndex(indexedRoot, "app.Service=" + COMPONENT);
+
+        assertFalse(load(indexedRoot).isComplete("app"));
+    }
+}
@@ -0,0 +1,187 @@
+package com.petros.bringframework.context.properties;
+
+import com.petros.bringframework.core.env.MapPropertySource;
+import com.petros.bringframework.core.env.PropertySources;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConfigurationPropertiesBinderTest {
+
+    enum Protocol {
+        HTTP, HTTPS
+    }
+
+    @ConfigurationProperties(prefix = "server")
+    record ServerProperties(String host, int port, Protocol protocol, Duration connectTimeout, List<Integer> ports,
+                            String[] aliases, Pool pool) {
+    }
+
+    record Pool(int maxConnections, boolean enabled) {
+        Pool {
+            if (maxConnections < 0) {
+                throw new IllegalArgumentException("maxConnections must not be negative");
+            }
+        }
+    }
+
+    static class BaseProperties {
+        String name = "default";
+    }
+
+    @ConfigurationProperties("client")
+    static class ClientProperties extends BaseProperties {
+        Duration readTimeout = Duration.ofSeconds(1);
+        Set<Protocol> protocols;
+        long retries;
+        final String constant = "constant";
+        static String shared = "shared";
+    }
+
+    private static ConfigurationPropertiesBinder binder(Map<String, Object> properties) {
+        PropertySources propertySources = new PropertySources();
+        propertySources.addFirst(new MapPropertySource("test", new HashMap<>(properties)));
+        return new ConfigurationPropertiesBinder(propertySources);
+    }
+
+    @Test
+    void bindsRecordThroughCanonicalConstructor() {
+        ServerProperties server = binder(Map.of(
+                "server.host", "localhost",
+                "server.port", "8080",
+                "server.protocol", "https",
+                "server.connect-timeout", "5s",
+                "server.ports", "80, 443",
+                "server.aliases", "a,b",
+                "server.pool.max-connections", "10",
+                "server.pool.enabled", "yes"
+        )).bind(ServerProperties.class);
+
+        assertEquals("localhost", server.host());
+        assertEquals(8080, server.port());
+        assertEquals(Protocol.HTTPS, server.protocol());
+        assertEquals(Duration.ofSeconds(5), server.connectTimeout());
+        assertEquals(List.of(80, 443), server.ports());
+        assertEquals(List.of("a", "b"), List.of(server.aliases()));
+        assertEquals(new Pool(10, true), server.pool());
+    }
+
+    @Test
+    void bindsNumbersWithLeadingZerosAsDecimal() {
+        ServerProperties server = binder(Map.of(
+                "server.port", "08",
+                "server.ports", "010, 09",
+                "server.pool.max-connections", "010"
+        )).bind(ServerProperties.class);
+
+        assertEquals(8, server.port());
+        assertEquals(List.of(10, 9), server.ports());
+        assertEquals(10, server.pool().maxConnections());
+    }
+
+    @Test
+    void acceptsCamelCaseKeys() {
+        ServerProperties server = binder(Map.of("server.connectTimeout", "PT1M")).bind(ServerProperties.class);
+
+        assertEquals(Duration.ofMinutes(1), server.connectTimeout());
+    }
+
+    @Test
+    void leavesMissingRecordComponentsAtDefaults() {
+        ServerProperties server = binder(Map.of()).bind(ServerProperties.class);
+
+        assertNull(server.host());
+        assertEquals(0, server.port());
+        assertNull(server.ports());
+        assertEquals(new Pool(0, false), server.pool());
+    }
+
+    @Test
+    void bindsFieldsIncludingInheritedOnes() {
+        ClientProperties client = binder(Map.of(
+                "client.name", "api",
+                "client.protocols", "HTTP,HTTPS",
+                "client.retries", "3",
+                "client.constant", "changed",
+                "client.shared", "changed"
+        )).bind(ClientProperties.class);
+
+        assertEquals("api", client.name);
+        assertEquals(Set.of(Protocol.HTTP, Protocol.HTTPS), client.protocols);
+        assertEquals(3, client.retries);
+        assertEquals(Duration.ofSeconds(1), client.readTimeout);
+        assertEquals("constant", client.constant);
+        assertEquals("shared", ClientProperties.shared);
+    }
+
+    @Test
+    void bindsExistingInstance() {
+        ClientProperties target = new ClientProperties();
+
+        ClientProperties client = binder(Map.of("custom.read-timeout", "250ms")).bind("custom.", target);
+
+        assertSame(target, client);
+        assertEquals(Duration.ofMillis(250), client.readTimeout);
+        assertEquals("default", client.name);
+    }
+
+    @Test
+    void rejectsBindingToExistingRecord() {
+        ConfigurationPropertiesBinder binder = binder(Map.of());
+
+        assertThrows(IllegalArgumentException.class, () -> binder.bind("pool", new Pool(1, true)));
+    }
+
+    @Test
+    void reportsPropertyThatCantBeConverted() {
+        ConfigurationPropertiesBinder binder = binder(Map.of("server.port", "eighty"));
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> binder.bind(ServerProperties.class));
+
+        assertTrue(exception.getMessage().contains("'server.port'"), exception.getMessage());
+    }
+
+    @Test
+    void reportsValueRejectedByRecordConstructor() {
+        ConfigurationPropertiesBinder binder = binder(Map.of("pool.max-connections", "-1"));
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> binder.bind("pool", Pool.class));
+
+        assertInstanceOf(IllegalArgumentException.class, exception.getCause());
+    }
+
+    @Test
+    void resolvesPropertiesOfItsOwnSources() {
+        ConfigurationPropertiesBinder first = binder(Map.of("pool.max-connections", "1"));
+        ConfigurationPropertiesBinder second = binder(Map.of("pool.max-connections", "2"));
+
+        assertEquals(1, first.bind("pool", Pool.class).maxConnections());
+        assertEquals(2, second.bind("pool", Pool.class).maxConnections());
+    }
+
+    @Test
+    void readsPrefixFromAnnotation() {
+        assertEquals("server", ConfigurationPropertiesBinder.getPrefix(ServerProperties.class));
+        assertEquals("client", ConfigurationPropertiesBinder.getPrefix(ClientProperties.class));
+        assertThrows(IllegalArgumentException.class, () -> ConfigurationPropertiesBinder.getPrefix(Pool.class));
+    }
+
+    @Test
+    void convertsPropertyNamesToKebabCase() {
+        assertEquals("max-connections", ConfigurationPropertiesBinder.toKebabCase("maxConnections"));
+        assertEquals("port", ConfigurationPropertiesBinder.toKebabCase("port"));
+    }
+}
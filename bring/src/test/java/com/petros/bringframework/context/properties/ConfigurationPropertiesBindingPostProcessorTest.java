@@ -0,0 +1,73 @@
+package com.petros.bringframework.context.properties;
+
+import com.petros.bringframework.beans.factory.annotation.InjectPlease;
+import com.petros.bringframework.context.annotation.AnnotationConfigApplicationContext;
+import com.petros.bringframework.core.env.MapPropertySource;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class ConfigurationPropertiesBindingPostProcessorTest {
+
+    @ConfigurationProperties(prefix = "server")
+    public record ServerProperties(String host, int port, Duration connectTimeout) {
+    }
+
+    @ConfigurationProperties("client")
+    public static class ClientProperties {
+        String name = "default";
+        int retries;
+    }
+
+    public static class ServerClient {
+        final ServerProperties server;
+
+        @InjectPlease
+        public ServerClient(ServerProperties server) {
+            this.server = server;
+        }
+    }
+
+    private static AnnotationConfigApplicationContext context(Map<String, Object> properties, Class<?>... componentClasses) {
+        var context = new AnnotationConfigApplicationContext();
+        context.getPropertySources().addFirst(new MapPropertySource("test", properties));
+        context.register(componentClasses);
+        context.refresh();
+        return context;
+    }
+
+    @Test
+    void bindsRecordCreatedInContextWithoutScanningFramework() {
+        var context = context(Map.of("server.host", "localhost", "server.port", "8443",
+                "server.connect-timeout", "PT5S"), ServerProperties.class);
+
+        ServerProperties server = context.getBean(ServerProperties.class);
+
+        assertEquals(new ServerProperties("localhost", 8443, Duration.ofSeconds(5)), server);
+    }
+
+    @Test
+    void bindsFieldsOfClassInContext() {
+        var context = context(Map.of("client.retries", "3"), ClientProperties.class);
+
+        ClientProperties client = context.getBean(ClientProperties.class);
+
+        assertEquals("default", client.name);
+        assertEquals(3, client.retries);
+    }
+
+    @Test
+    void injectsBoundRecordIntoOtherBeans() {
+        var context = context(Map.of("server.host", "example.org", "server.port", "80",
+                "server.connect-timeout", "PT1S"), ServerProperties.class, ServerClient.class);
+
+        ServerClient client = context.getBean(ServerClient.class);
+
+        assertSame(context.getBean(ServerProperties.class), client.server);
+        assertEquals("example.org", client.server.host());
+    }
+}
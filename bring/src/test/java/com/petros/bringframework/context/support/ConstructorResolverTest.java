@@ -6,6 +6,7 @@ import com.petros.bringframework.beans.exception.ImplicitlyAppearedSingletonExce
 import com.petros.bringframework.beans.factory.BeanDefinitionStoreException;
 import com.petros.bringframework.beans.factory.support.AbstractAutowireCapableBeanFactory;
 import com.petros.bringframework.beans.factory.support.BeanWrapper;
+import com.petros.bringframework.beans.factory.support.MethodHandleInstantiationStrategy;
 import com.petros.bringframework.beans.support.GenericBeanDefinition;
 import lombok.Getter;
 import org.junit.jupiter.api.BeforeEach;
@@ -33,6 +34,8 @@ class ConstructorResolverTest {
 
     @BeforeEach
     void setUp() {
+        Mockito.lenient().when(beanFactory.getInstantiationStrategy())
+                .thenReturn(new MethodHandleInstantiationStrategy());
         this.constructorResolver = new ConstructorResolver(beanFactory);
     }
 
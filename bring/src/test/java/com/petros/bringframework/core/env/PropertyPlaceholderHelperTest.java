@@ -0,0 +1,124 @@
+package com.petros.bringframework.core.env;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PropertyPlaceholderHelperTest {
+
+    private final PropertyPlaceholderHelper strictHelper = new PropertyPlaceholderHelper(false);
+    private final PropertyPlaceholderHelper nonStrictHelper = new PropertyPlaceholderHelper(true);
+
+    private static Function<String, String> properties(Map<String, String> values) {
+        return values::get;
+    }
+
+    @Test
+    void returnsTextWithoutPlaceholdersAsItIs() {
+        String text = "no placeholders here";
+
+        assertSame(text, strictHelper.replacePlaceholders(text, properties(Map.of())));
+    }
+
+    @Test
+    void replacesEveryPlaceholderInText() {
+        var resolver = properties(Map.of("host", "localhost", "port", "8080"));
+
+        assertEquals("http://localhost:8080/api", strictHelper.replacePlaceholders("http://${host}:${port}/api", resolver));
+    }
+
+    @Test
+    void usesDefaultValueOfMissingProperty() {
+        var resolver = properties(Map.of());
+
+        assertEquals("8080", strictHelper.replacePlaceholders("${port:8080}", resolver));
+        assertEquals("", strictHelper.replacePlaceholders("${port:}", resolver));
+    }
+
+    @Test
+    void prefersValueOverDefault() {
+        var resolver = properties(Map.of("port", "9090"));
+
+        assertEquals("9090", strictHelper.replacePlaceholders("${port:8080}", resolver));
+    }
+
+    @Test
+    void keepsSeparatorsAfterFirstOneInDefault() {
+        var resolver = properties(Map.of());
+
+        assertEquals("jdbc:h2:mem", strictHelper.replacePlaceholders("${db.url:jdbc:h2:mem}", resolver));
+    }
+
+    @Test
+    void resolvesNestedPlaceholderInKey() {
+        var resolver = properties(Map.of("env", "test", "db.test.url", "jdbc:test"));
+
+        assertEquals("jdbc:test", strictHelper.replacePlaceholders("${db.${env}.url}", resolver));
+    }
+
+    @Test
+    void resolvesPlaceholdersInResolvedValue() {
+        var resolver = properties(Map.of("base", "/api", "users", "${base}/users"));
+
+        assertEquals("/api/users/1", strictHelper.replacePlaceholders("${users}/1", resolver));
+    }
+
+    @Test
+    void resolvesPlaceholderInDefaultValue() {
+        var resolver = properties(Map.of("fallback", "used"));
+
+        assertEquals("used", strictHelper.replacePlaceholders("${missing:${fallback}}", resolver));
+    }
+
+    @Test
+    void resolvesSamePlaceholderTwice() {
+        var resolver = properties(Map.of("name", "bring"));
+
+        assertEquals("bring-bring", strictHelper.replacePlaceholders("${name}-${name}", resolver));
+    }
+
+    @Test
+    void rejectsCircularReference() {
+        var resolver = properties(Map.of("a", "${b}", "b", "${a}"));
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> strictHelper.replacePlaceholders("${a}", resolver));
+
+        assertTrue(exception.getMessage().contains("Circular placeholder reference"), exception::getMessage);
+    }
+
+    @Test
+    void rejectsSelfReference() {
+        var resolver = properties(Map.of("a", "prefix-${a}"));
+
+        assertThrows(IllegalArgumentException.class, () -> nonStrictHelper.replacePlaceholders("${a}", resolver));
+    }
+
+    @Test
+    void failsOnUnresolvablePlaceholderWhenStrict() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> strictHelper.replacePlaceholders("value of ${missing}", properties(Map.of())));
+
+        assertEquals("Could not resolve placeholder 'missing' in value \"value of ${missing}\"", exception.getMessage());
+    }
+
+    @Test
+    void leavesUnresolvablePlaceholderWhenNotStrict() {
+        var resolver = properties(Map.of("known", "value"));
+
+        assertEquals("${missing} and value", nonStrictHelper.replacePlaceholders("${missing} and ${known}", resolver));
+    }
+
+    @Test
+    void leavesUnclosedPlaceholder() {
+        var resolver = properties(Map.of("name", "bring"));
+
+        assertEquals("${name", strictHelper.replacePlaceholders("${name", resolver));
+    }
+}
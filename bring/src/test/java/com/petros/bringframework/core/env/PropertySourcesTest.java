@@ -0,0 +1,136 @@
+package com.petros.bringframework.core.env;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PropertySourcesTest {
+
+    private final PropertySources propertySources = new PropertySources();
+
+    private static MapPropertySource source(String name, Map<String, Object> properties) {
+        return new MapPropertySource(name, properties);
+    }
+
+    private List<String> names() {
+        List<String> names = new ArrayList<>();
+        propertySources.forEach(source -> names.add(source.getName()));
+        return names;
+    }
+
+    @Test
+    void firstSourceContainingPropertyWins() {
+        propertySources.addLast(source("defaults", Map.of("name", "default", "port", "8080")));
+        propertySources.addFirst(source("overrides", Map.of("name", "override")));
+
+        assertEquals("override", propertySources.getProperty("name"));
+        assertEquals("8080", propertySources.getProperty("port"));
+    }
+
+    @Test
+    void replacesSourceOfSameName() {
+        propertySources.addLast(source("first", Map.of()));
+        propertySources.addLast(source("second", Map.of("name", "old")));
+        propertySources.addFirst(source("second", Map.of("name", "new")));
+
+        assertEquals(List.of("second", "first"), names());
+        assertEquals("new", propertySources.getProperty("name"));
+    }
+
+    @Test
+    void removesSourceByName() {
+        propertySources.addLast(source("first", Map.of("name", "value")));
+
+        assertTrue(propertySources.contains("first"));
+        propertySources.remove("first");
+
+        assertFalse(propertySources.contains("first"));
+        assertNull(propertySources.getProperty("name"));
+    }
+
+    @Test
+    void returnsDefaultOfMissingProperty() {
+        propertySources.addLast(source("empty", Map.of()));
+
+        assertNull(propertySources.getProperty("missing"));
+        assertEquals("fallback", propertySources.getProperty("missing", "fallback"));
+        assertFalse(propertySources.containsProperty("missing"));
+    }
+
+    @Test
+    void resolvesPlaceholdersAcrossSources() {
+        propertySources.addLast(source("application", Map.of("url", "http://${host}:${port:8080}")));
+        propertySources.addLast(source("environment", Map.of("host", "localhost")));
+
+        assertEquals("http://localhost:8080", propertySources.getProperty("url"));
+    }
+
+    @Test
+    void resolvesPlaceholdersWithHigherPrecedenceValues() {
+        propertySources.addLast(source("application", Map.of("greeting", "hello ${name}", "name", "world")));
+        propertySources.addFirst(source("overrides", Map.of("name", "bring")));
+
+        assertEquals("hello bring", propertySources.getProperty("greeting"));
+    }
+
+    @Test
+    void failsOnUnresolvablePlaceholderInValue() {
+        propertySources.addLast(source("application", Map.of("url", "http://${host}")));
+
+        assertThrows(IllegalArgumentException.class, () -> propertySources.getProperty("url"));
+    }
+
+    @Test
+    void resolvesPlaceholdersInText() {
+        propertySources.addLast(source("application", Map.of("name", "bring")));
+
+        assertEquals("bring ${missing}", propertySources.resolvePlaceholders("${name} ${missing}"));
+        assertEquals("bring default", propertySources.resolveRequiredPlaceholders("${name} ${missing:default}"));
+        assertThrows(IllegalArgumentException.class, () -> propertySources.resolveRequiredPlaceholders("${missing}"));
+    }
+
+    @Test
+    void copiesPropertiesOnce() {
+        Properties properties = new Properties();
+        properties.setProperty("name", "before");
+        propertySources.addLast(new PropertiesPropertySource("properties", properties));
+
+        properties.setProperty("name", "after");
+
+        assertEquals("before", propertySources.getProperty("name"));
+    }
+
+    @Test
+    void standardSourcesAreSystemPropertiesEnvironmentAndApplicationProperties() {
+        PropertySources standard = PropertySources.standard(getClass().getClassLoader());
+
+        List<String> names = new ArrayList<>();
+        standard.forEach(source -> names.add(source.getName()));
+        assertEquals(List.of(PropertySources.SYSTEM_PROPERTIES_PROPERTY_SOURCE_NAME,
+                PropertySources.SYSTEM_ENVIRONMENT_PROPERTY_SOURCE_NAME,
+                PropertySources.APPLICATION_PROPERTIES_LOCATION), names);
+        assertEquals("value", standard.getProperty("autowiredValue"));
+    }
+
+    @Test
+    void systemPropertiesOverrideApplicationProperties() {
+        PropertySources standard = PropertySources.standard(getClass().getClassLoader());
+
+        System.setProperty("autowiredValue", "system");
+        try {
+            assertEquals("system", standard.getProperty("autowiredValue"));
+        } finally {
+            System.clearProperty("autowiredValue");
+        }
+        assertEquals("value", standard.getProperty("autowiredValue"));
+    }
+}
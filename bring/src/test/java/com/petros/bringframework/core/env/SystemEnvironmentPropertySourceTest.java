@@ -0,0 +1,68 @@
+package com.petros.bringframework.core.env;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SystemEnvironmentPropertySourceTest {
+
+    private static SystemEnvironmentPropertySource environment(Map<String, String> variables) {
+        return new SystemEnvironmentPropertySource("systemEnvironment", variables);
+    }
+
+    @Test
+    void findsExactName() {
+        var source = environment(Map.of("api.key", "exact", "API_KEY", "relaxed"));
+
+        assertEquals("exact", source.getProperty("api.key"));
+    }
+
+    @Test
+    void findsDottedNameAsUpperCaseWithUnderscores() {
+        var source = environment(Map.of("API_KEY", "secret"));
+
+        assertEquals("secret", source.getProperty("api.key"));
+        assertTrue(source.containsProperty("api.key"));
+    }
+
+    @Test
+    void findsDashedNameAsUpperCaseWithUnderscores() {
+        var source = environment(Map.of("SERVER_CONTEXT_PATH", "/demo"));
+
+        assertEquals("/demo", source.getProperty("server.context-path"));
+    }
+
+    @Test
+    void findsNameWithUnderscores() {
+        var source = environment(Map.of("api_key", "lower"));
+
+        assertEquals("lower", source.getProperty("api.key"));
+    }
+
+    @Test
+    void findsUpperCaseName() {
+        var source = environment(Map.of("API.KEY", "upper"));
+
+        assertEquals("upper", source.getProperty("api.key"));
+    }
+
+    @Test
+    void prefersUnderscoresOverUpperCase() {
+        var source = environment(Map.of("api_key", "underscored", "API.KEY", "upper", "API_KEY", "both"));
+
+        assertEquals("underscored", source.getProperty("api.key"));
+    }
+
+    @Test
+    void returnsNullForMissingVariable() {
+        var source = environment(Map.of("API_KEY", "secret"));
+
+        assertNull(source.getProperty("api.token"));
+        assertFalse(source.containsProperty("api.token"));
+    }
+}
@@ -0,0 +1,155 @@
+package com.petros.bringframework.core.metrics;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.petros.bringframework.core.metrics.TimelineStartupRecorder.BeanCreation;
+import com.petros.bringframework.core.metrics.TimelineStartupRecorder.RecordedStep;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimelineStartupRecorderTest {
+
+    @TempDir
+    Path directory;
+
+    private final TimelineStartupRecorder recorder = new TimelineStartupRecorder();
+
+    private static RecordedStep step(long id, Long parentId, String name, long start, long duration, String beanName) {
+        Map<String, String> tags = beanName != null ? Map.of("beanName", beanName) : Map.of();
+        return new RecordedStep(id, parentId, name, 1, "main", start, duration, tags);
+    }
+
+    @Test
+    void subtractsNestedCreationsFromOwnTimeOfBean() {
+        // controller -> inject -> service -> repository, each created while the one requiring it is
+        List<RecordedStep> steps = List.of(
+                step(1, null, "beans.create", 0, 100, "controller"),
+                step(2, 1L, "beans.inject", 10, 80, null),
+                step(3, 2L, "beans.create", 15, 70, "service"),
+                step(4, 3L, "beans.create", 20, 10, "repository"),
+                step(5, 3L, "beans.init", 40, 5, null));
+
+        List<BeanCreation> slowest = TimelineStartupRecorder.getSlowestBeans(steps, 10);
+
+        assertEquals(List.of(
+                new BeanCreation("service", 60, 70, List.of("controller")),
+                new BeanCreation("controller", 30, 100, List.of()),
+                new BeanCreation("repository", 10, 10, List.of("service", "controller"))), slowest);
+    }
+
+    @Test
+    void limitsSlowestBeans() {
+        List<RecordedStep> steps = List.of(
+                step(1, null, "beans.create", 0, 10, "a"),
+                step(2, null, "beans.create", 10, 30, "b"),
+                step(3, null, "beans.create", 40, 20, "c"));
+
+        List<BeanCreation> slowest = TimelineStartupRecorder.getSlowestBeans(steps, 2);
+
+        assertEquals(List.of("b", "c"), slowest.stream().map(BeanCreation::beanName).toList());
+    }
+
+    @Test
+    void nestsStepsStartedBeforeCurrentOneEnds() {
+        StartupStep parent = recorder.start("beans.create").tag("beanName", "parent");
+        StartupStep child = recorder.start("beans.create").tag("beanName", "child");
+        child.end();
+        StartupStep sibling = recorder.start("beans.init");
+        sibling.end();
+        parent.end();
+
+        assertNull(parent.getParentId());
+        assertEquals(parent.getId(), child.getParentId());
+        assertEquals(parent.getId(), sibling.getParentId());
+        List<RecordedStep> steps = recorder.getSteps();
+        assertEquals(List.of("beans.create", "beans.create", "beans.init"), steps.stream().map(RecordedStep::name).toList());
+        assertEquals(Map.of("beanName", "child"), steps.get(1).tags());
+    }
+
+    @Test
+    void endsChildrenLeftOpenAlongWithParent() {
+        StartupStep parent = recorder.start("beans.create");
+        StartupStep leftOpen = recorder.start("beans.instantiate");
+        parent.end();
+
+        StartupStep next = recorder.start("beans.create");
+        next.end();
+
+        assertNull(next.getParentId());
+        assertEquals(parent.getId(), leftOpen.getParentId());
+        assertEquals(2, recorder.getSteps().size());
+    }
+
+    @Test
+    void recordsStepOnceWhenEndedTwice() {
+        StartupStep step = recorder.start("context.scan");
+        step.end();
+        step.end();
+
+        assertEquals(1, recorder.getSteps().size());
+    }
+
+    @Test
+    void dropsStepsBeyondCapacity() {
+        recorder.setCapacity(2);
+
+        for (int i = 0; i < 5; i++) {
+            recorder.start("beans.create").tag("beanName", "bean" + i).end();
+        }
+
+        assertEquals(List.of("bean0", "bean1"),
+                recorder.getSteps().stream().map(step -> step.tags().get("beanName")).toList());
+
+        recorder.clear();
+        recorder.start("beans.create").end();
+        assertEquals(1, recorder.getSteps().size());
+    }
+
+    @Test
+    void writesChromeTraceWithEscapedStrings() throws IOException {
+        String beanName = "quote\" backslash\\ newline\n tab\t control\u0001";
+        StartupStep parent = recorder.start("beans.create").tag("beanName", beanName);
+        recorder.start("beans.inject").end();
+        parent.end();
+
+        StringWriter trace = new StringWriter();
+        recorder.writeChromeTrace(trace);
+
+        assertTrue(trace.toString().contains("\\\" backslash\\\\ newline\\n tab\\t control\\u0001"), trace::toString);
+        JsonNode events = new ObjectMapper().readTree(trace.toString()).get("traceEvents");
+        assertEquals(3, events.size());
+        JsonNode creation = events.get(0);
+        assertEquals("beans.create", creation.get("name").asText());
+        assertEquals("X", creation.get("ph").asText());
+        assertEquals(beanName, creation.get("args").get("beanName").asText());
+        assertEquals(parent.getId(), events.get(1).get("args").get("parentId").asLong());
+        assertEquals("thread_name", events.get(2).get("name").asText());
+        assertEquals(Thread.currentThread().getName(), events.get(2).get("args").get("name").asText());
+    }
+
+    @Test
+    void writesTraceFileWhenRefreshEnds() throws IOException {
+        Path traceFile = directory.resolve("startup.json");
+        recorder.setTraceFile(traceFile);
+        recorder.setSlowestBeansToLog(0);
+
+        StartupStep refresh = recorder.start("context.refresh");
+        recorder.start("beans.create").tag("beanName", "bean").end();
+        refresh.end();
+
+        JsonNode events = new ObjectMapper().readTree(Files.readString(traceFile)).get("traceEvents");
+        assertEquals("context.refresh", events.get(0).get("name").asText());
+        assertEquals("bean", events.get(1).get("args").get("beanName").asText());
+    }
+}
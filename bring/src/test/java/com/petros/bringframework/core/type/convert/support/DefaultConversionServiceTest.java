@@ -0,0 +1,148 @@
+package com.petros.bringframework.core.type.convert.support;
+
+import com.petros.bringframework.core.type.convert.ConversionFailedException;
+import com.petros.bringframework.core.type.convert.ConverterNotFoundException;
+import com.petros.bringframework.core.type.convert.TypeDescriptor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DefaultConversionServiceTest {
+
+    private final DefaultConversionService conversionService = new DefaultConversionService();
+
+    @SuppressWarnings("unused")
+    private static class Targets {
+        List<Integer> integers;
+        Set<Duration> durations;
+        SortedSet<String> sortedNames;
+        List<?> wildcard;
+        Optional<Integer> optionalInteger;
+    }
+
+    enum Mode {
+        READ_ONLY, READ_WRITE
+    }
+
+    private Object convert(String source, Class<?> targetType) {
+        return conversionService.convert(source, TypeDescriptor.valueOf(String.class), TypeDescriptor.valueOf(targetType));
+    }
+
+    private Object convertToField(String source, String fieldName) throws NoSuchFieldException {
+        return conversionService.convert(source, TypeDescriptor.valueOf(String.class),
+                TypeDescriptor.forField(Targets.class.getDeclaredField(fieldName)));
+    }
+
+    @Test
+    void convertsPrimitivesAndWrappers() {
+        assertEquals(42, convert(" 42 ", int.class));
+        assertEquals(0x1F, convert("0x1F", Integer.class));
+        assertEquals(10_000_000_000L, convert("10000000000", long.class));
+        assertEquals(1.5d, convert("1.5", double.class));
+        assertEquals('x', convert("x", char.class));
+        assertEquals((byte) 7, convert("7", byte.class));
+    }
+
+    @Test
+    void readsIntegersWithLeadingZerosAsDecimal() {
+        assertEquals(10, convert("010", int.class));
+        assertEquals(8, convert("08", Integer.class));
+        assertEquals(9L, convert("09", long.class));
+        assertEquals((short) -10, convert("-010", short.class));
+        assertEquals((byte) 8, convert("08", byte.class));
+    }
+
+    @Test
+    void readsIntegersWithHexPrefixAsHex() {
+        assertEquals(255, convert("#FF", int.class));
+        assertEquals(-16L, convert("-0x10", Long.class));
+        assertEquals((short) 0x7F, convert("0X7F", short.class));
+    }
+
+    @ParameterizedTest
+    @CsvSource({"true,true", "on,true", "YES,true", "1,true", "false,false", "off,false", "no,false", "0,false"})
+    void convertsBooleans(String source, boolean expected) {
+        assertEquals(expected, convert(source, boolean.class));
+    }
+
+    @Test
+    void convertsEnumsRelaxed() {
+        assertEquals(Mode.READ_ONLY, convert("READ_ONLY", Mode.class));
+        assertEquals(Mode.READ_WRITE, convert("read-write", Mode.class));
+    }
+
+    @ParameterizedTest
+    @CsvSource({"PT30S,30000", "500,500", "500ms,500", "30s,30000", "5m,300000", "2h,7200000", "1d,86400000"})
+    void convertsDurations(String source, long expectedMillis) {
+        assertEquals(Duration.ofMillis(expectedMillis), convert(source, Duration.class));
+    }
+
+    @Test
+    void convertsCommaDelimitedTextToArrays() {
+        assertArrayEquals(new int[]{1, 2, 3}, (int[]) convert("1, 2,,3", int[].class));
+        assertArrayEquals(new String[]{"a", "b"}, (String[]) convert("a,b", String[].class));
+    }
+
+    @Test
+    void convertsCommaDelimitedTextToCollectionsOfDeclaredElementType() throws NoSuchFieldException {
+        assertEquals(List.of(1, 2, 3), convertToField("1,2,3", "integers"));
+        Object durations = convertToField("1s,2s", "durations");
+        assertInstanceOf(LinkedHashSet.class, durations);
+        assertEquals(Set.of(Duration.ofSeconds(1), Duration.ofSeconds(2)), durations);
+        Object sortedNames = convertToField("b,a", "sortedNames");
+        assertInstanceOf(TreeSet.class, sortedNames);
+        assertEquals(List.of("a", "b"), List.copyOf((SortedSet<?>) sortedNames));
+        assertEquals(List.of("x", "y"), convertToField("x,y", "wildcard"));
+    }
+
+    @Test
+    void wrapsIntoOptional() throws NoSuchFieldException {
+        assertEquals(Optional.of(5), convertToField("5", "optionalInteger"));
+        assertEquals(Optional.empty(), conversionService.convert(null, null,
+                TypeDescriptor.forField(Targets.class.getDeclaredField("optionalInteger"))));
+    }
+
+    @Test
+    void convertsBlankTextToNull() {
+        assertNull(convert("  ", Integer.class));
+    }
+
+    @Test
+    void convertsValuesToText() {
+        assertEquals("READ_ONLY", conversionService.convert(Mode.READ_ONLY, TypeDescriptor.valueOf(Mode.class),
+                TypeDescriptor.valueOf(String.class)));
+        assertEquals("42", conversionService.convert(42, TypeDescriptor.valueOf(Integer.class),
+                TypeDescriptor.valueOf(String.class)));
+    }
+
+    @Test
+    void reportsUnsupportedConversions() {
+        assertFalse(conversionService.canConvert(TypeDescriptor.valueOf(String.class), TypeDescriptor.valueOf(Thread.class)));
+        assertTrue(conversionService.canConvert(TypeDescriptor.valueOf(String.class), TypeDescriptor.valueOf(Duration.class)));
+        assertThrows(ConverterNotFoundException.class, () -> convert("main", Thread.class));
+    }
+
+    @Test
+    void wrapsConversionFailures() {
+        assertThrows(ConversionFailedException.class, () -> convert("forty-two", int.class));
+        assertThrows(ConversionFailedException.class, () -> convert("maybe", boolean.class));
+        assertThrows(ConversionFailedException.class, () -> convert("5 parsecs", Duration.class));
+        assertThrows(ConversionFailedException.class, () -> convert("READ_NEVER", Mode.class));
+    }
+}
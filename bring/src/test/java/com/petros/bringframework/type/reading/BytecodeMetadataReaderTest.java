@@ -0,0 +1,240 @@
+package com.petros.bringframework.type.reading;
+
+import com.petros.bringframework.beans.factory.config.AnnotationMetadata;
+import com.petros.bringframework.beans.factory.config.ClassMetadata;
+import com.petros.bringframework.beans.factory.support.SimpleBeanDefinitionRegistry;
+import com.petros.bringframework.context.annotation.Component;
+import com.petros.bringframework.context.annotation.SimpleClassPathBeanDefinitionScanner;
+import org.junit.jupiter.api.Test;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.Serializable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Public, so that the reflective reader can invoke the attributes of the nested annotations
+public class BytecodeMetadataReaderTest {
+
+    private final ClassLoader classLoader = getClass().getClassLoader();
+    private final BytecodeMetadataReaderFactory bytecodeFactory = new BytecodeMetadataReaderFactory(classLoader);
+    private final ReflectionMetadataReaderFactory reflectionFactory = new ReflectionMetadataReaderFactory(classLoader);
+
+    public enum Level {
+        LOW, HIGH
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    public @interface Marker {
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Marker
+    public @interface Stereotype {
+        String value() default "default";
+
+        int order() default 5;
+
+        long timeout() default 30L;
+
+        boolean enabled() default true;
+
+        Level level() default Level.LOW;
+
+        TimeUnit unit() default TimeUnit.SECONDS;
+
+        Class<?> type() default Object.class;
+
+        String[] names() default {"a", "b"};
+
+        int[] ports() default {80, 443};
+
+        Level[] levels() default {};
+
+        Class<?>[] types() default {};
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Stereotype
+    public @interface Composed {
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Composed
+    public @interface DeeplyComposed {
+    }
+
+    @Stereotype
+    public static class WithDefaults {
+    }
+
+    @Stereotype(value = "custom", order = 1, level = Level.HIGH, unit = TimeUnit.MINUTES, type = String.class,
+            names = "only", ports = 8080, levels = {Level.HIGH, Level.LOW}, types = {Integer.class, List.class})
+    public abstract static class WithValues implements Serializable, Runnable {
+    }
+
+    @Composed
+    public static final class ComposedAnnotated {
+    }
+
+    @DeeplyComposed
+    public static class DeeplyComposedAnnotated {
+    }
+
+    public interface Plain {
+    }
+
+    @SuppressWarnings("InnerClassMayBeStatic")
+    public class Inner {
+    }
+
+    @Component
+    public static class ScannedComponent {
+    }
+
+    private AnnotationMetadata bytecode(Class<?> type) throws IOException {
+        return bytecodeFactory.getMetadataReader(type.getName()).getAnnotationMetadata();
+    }
+
+    private AnnotationMetadata reflection(Class<?> type) throws IOException {
+        return reflectionFactory.getMetadataReader(type.getName()).getAnnotationMetadata();
+    }
+
+    private static void assertSameAttributes(Map<String, Object> expected, Map<String, Object> actual) {
+        assertEquals(expected.keySet(), actual.keySet());
+        expected.forEach((name, value) ->
+                assertTrue(Arrays.deepEquals(new Object[]{value}, new Object[]{actual.get(name)}),
+                        () -> name + ": expected " + Arrays.deepToString(new Object[]{value})
+                                + " but was " + Arrays.deepToString(new Object[]{actual.get(name)})));
+    }
+
+    @Test
+    void readsClassMetadataAsReflectionDoes() throws IOException {
+        for (Class<?> type : List.of(WithDefaults.class, WithValues.class, ComposedAnnotated.class, Plain.class,
+                Inner.class, Stereotype.class, BytecodeMetadataReaderTest.class)) {
+            ClassMetadata expected = reflection(type);
+            ClassMetadata actual = bytecode(type);
+
+            assertEquals(expected.getClassName(), actual.getClassName(), type::getName);
+            assertEquals(expected.isInterface(), actual.isInterface(), type::getName);
+            assertEquals(expected.isAnnotation(), actual.isAnnotation(), type::getName);
+            assertEquals(expected.isAbstract(), actual.isAbstract(), type::getName);
+            assertEquals(expected.isFinal(), actual.isFinal(), type::getName);
+            assertEquals(expected.isIndependent(), actual.isIndependent(), type::getName);
+            assertEquals(expected.getEnclosingClassName(), actual.getEnclosingClassName(), type::getName);
+            assertEquals(expected.getSuperClassName(), actual.getSuperClassName(), type::getName);
+            assertArrayEquals(expected.getInterfaceNames(), actual.getInterfaceNames(), type::getName);
+            assertEquals(Set.of(expected.getMemberClassNames()), Set.of(actual.getMemberClassNames()), type::getName);
+        }
+    }
+
+    @Test
+    void readsDirectAndMetaAnnotationsAsReflectionDoes() throws IOException {
+        for (Class<?> type : List.of(WithDefaults.class, ComposedAnnotated.class, Plain.class)) {
+            AnnotationMetadata expected = reflection(type);
+            AnnotationMetadata actual = bytecode(type);
+
+            assertEquals(expected.getAnnotationTypes(), actual.getAnnotationTypes(), type::getName);
+            for (String annotation : List.of(Stereotype.class.getName(), Composed.class.getName(), Marker.class.getName())) {
+                assertEquals(expected.hasAnnotation(annotation), actual.hasAnnotation(annotation), annotation);
+            }
+            // Reflection only looks one level up, see findsMetaAnnotationsAtAnyDepth
+            for (String annotation : List.of(Stereotype.class.getName(), Composed.class.getName())) {
+                assertEquals(expected.hasMetaAnnotation(annotation), actual.hasMetaAnnotation(annotation), annotation);
+            }
+        }
+        assertEquals(Set.of(Retention.class.getName(), Stereotype.class.getName()),
+                bytecode(ComposedAnnotated.class).getMetaAnnotationTypes(Composed.class.getName()));
+    }
+
+    @Test
+    void findsMetaAnnotationsAtAnyDepth() throws IOException {
+        AnnotationMetadata metadata = bytecode(DeeplyComposedAnnotated.class);
+
+        assertTrue(metadata.hasMetaAnnotation(Composed.class.getName()));
+        assertTrue(metadata.hasMetaAnnotation(Stereotype.class.getName()));
+        assertTrue(metadata.hasMetaAnnotation(Marker.class.getName()));
+        assertFalse(metadata.hasAnnotation(Stereotype.class.getName()));
+        assertFalse(metadata.hasMetaAnnotation(Component.class.getName()));
+    }
+
+    @Test
+    void appliesAttributeDefaultsAsReflectionDoes() throws IOException {
+        Map<String, Object> attributes = bytecode(WithDefaults.class).getAnnotationAttributes(Stereotype.class.getName());
+
+        assertSameAttributes(reflection(WithDefaults.class).getAnnotationAttributes(Stereotype.class.getName()), attributes);
+        assertEquals("default", attributes.get("value"));
+        assertEquals(5, attributes.get("order"));
+        assertEquals(30L, attributes.get("timeout"));
+        assertEquals(true, attributes.get("enabled"));
+        assertArrayEquals(new String[]{"a", "b"}, (String[]) attributes.get("names"));
+        assertArrayEquals(new int[]{80, 443}, (int[]) attributes.get("ports"));
+        assertArrayEquals(new Level[0], (Level[]) attributes.get("levels"));
+    }
+
+    @Test
+    void convertsEnumAndClassAttributesAsReflectionDoes() throws IOException {
+        Map<String, Object> attributes = bytecode(WithValues.class).getAnnotationAttributes(Stereotype.class.getName());
+
+        assertSameAttributes(reflection(WithValues.class).getAnnotationAttributes(Stereotype.class.getName()), attributes);
+        assertSame(Level.HIGH, attributes.get("level"));
+        assertSame(TimeUnit.MINUTES, attributes.get("unit"));
+        assertSame(String.class, attributes.get("type"));
+        assertArrayEquals(new Level[]{Level.HIGH, Level.LOW}, (Level[]) attributes.get("levels"));
+        assertArrayEquals(new Class<?>[]{Integer.class, List.class}, (Class<?>[]) attributes.get("types"));
+        assertArrayEquals(new int[]{8080}, (int[]) attributes.get("ports"));
+    }
+
+    @Test
+    void returnsNoAttributesForAbsentAnnotation() throws IOException {
+        assertNull(bytecode(Plain.class).getAnnotationAttributes(Stereotype.class.getName()));
+        assertNull(bytecode(ComposedAnnotated.class).getAnnotationAttributes(Stereotype.class.getName()));
+    }
+
+    @Test
+    void reportsMissingClassFile() {
+        assertThrows(FileNotFoundException.class, () -> bytecodeFactory.getMetadataReader("com.example.Missing"));
+    }
+
+    @Test
+    void cachesReadersUntilCleared() throws IOException {
+        BytecodeMetadataReader reader = bytecodeFactory.getMetadataReader(WithDefaults.class.getName());
+        assertSame(reader, bytecodeFactory.getMetadataReader(WithDefaults.class.getName()));
+
+        bytecodeFactory.clearCache();
+
+        assertNotSame(reader, bytecodeFactory.getMetadataReader(WithDefaults.class.getName()));
+    }
+
+    @Test
+    void scannerClearsCacheOnceScanIsOver() {
+        AtomicInteger clears = new AtomicInteger();
+        var scanner = new SimpleClassPathBeanDefinitionScanner(new SimpleBeanDefinitionRegistry());
+        scanner.setMetadataReaderFactory(new BytecodeMetadataReaderFactory(classLoader) {
+            @Override
+            public void clearCache() {
+                clears.incrementAndGet();
+                super.clearCache();
+            }
+        });
+
+        scanner.scan(getClass().getPackageName());
+
+        assertEquals(1, clears.get());
+    }
+}
@@ -0,0 +1,172 @@
+package com.petros.bringframework.web.servlet;
+
+import com.petros.bringframework.util.VirtualThreads;
+import com.petros.bringframework.web.context.annotation.RequestMapping;
+import com.petros.bringframework.web.context.annotation.RestController;
+import com.petros.bringframework.web.context.annotation.ServletAnnotationConfigApplicationContext;
+import com.petros.bringframework.web.servlet.support.common.RequestMethod;
+import com.petros.bringframework.web.servlet.support.mapper.JsonDataMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class DispatchExecutorTest {
+
+    private SimpleDispatcherServlet servlet;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        DispatchController.reset();
+        var context = new ServletAnnotationConfigApplicationContext(DispatchController.class, JsonDataMapper.class);
+        servlet = new SimpleDispatcherServlet(context);
+    }
+
+    @AfterEach
+    void tearDown() {
+        DispatchController.release.countDown();
+        if (executor != null)
+            executor.shutdownNow();
+    }
+
+    @Test
+    void dispatchesToExecutorAndCompletes() throws Exception {
+        executor = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "dispatch-worker"));
+        servlet.setDispatchExecutor(executor);
+        var request = new InMemoryHttpServletRequest("GET", "/dispatch/thread");
+        var response = new InMemoryHttpServletResponse();
+
+        servlet.service(request, response);
+
+        InMemoryAsyncContext asyncContext = request.getLastAsyncContext();
+        assertTrue(asyncContext.await(Duration.ofSeconds(5)));
+        assertTrue(asyncContext.isCompleted());
+        assertEquals(200, response.getStatus());
+        assertEquals("dispatch-worker", response.getContentAsString());
+    }
+
+    @Test
+    void dispatchesToVirtualThread() throws Exception {
+        assumeTrue(VirtualThreads.isSupported(), "Virtual threads require Java 21+");
+        executor = VirtualThreads.newVirtualThreadPerTaskExecutor();
+        servlet.setDispatchExecutor(executor);
+        var request = new InMemoryHttpServletRequest("GET", "/dispatch/virtual");
+        var response = new InMemoryHttpServletResponse();
+
+        servlet.service(request, response);
+
+        assertTrue(request.getLastAsyncContext().await(Duration.ofSeconds(5)));
+        assertEquals("true", response.getContentAsString());
+    }
+
+    @Test
+    void keepsContainerTimeoutByDefault() throws Exception {
+        executor = Executors.newSingleThreadExecutor();
+        servlet.setDispatchExecutor(executor);
+        var request = new InMemoryHttpServletRequest("GET", "/dispatch/thread");
+
+        servlet.service(request, new InMemoryHttpServletResponse());
+
+        assertFalse(request.getLastAsyncContext().isTimeoutSet());
+    }
+
+    @Test
+    void appliesConfiguredTimeout() throws Exception {
+        executor = Executors.newSingleThreadExecutor();
+        servlet.setDispatchExecutor(executor);
+        servlet.setAsyncTimeout(0);
+        var request = new InMemoryHttpServletRequest("GET", "/dispatch/thread");
+
+        servlet.service(request, new InMemoryHttpServletResponse());
+
+        InMemoryAsyncContext asyncContext = request.getLastAsyncContext();
+        assertTrue(asyncContext.isTimeoutSet());
+        assertEquals(0, asyncContext.getTimeout());
+    }
+
+    @Test
+    void dropsWritesOfControllerAfterTimeout() throws Exception {
+        executor = Executors.newSingleThreadExecutor();
+        servlet.setDispatchExecutor(executor);
+        var request = new InMemoryHttpServletRequest("GET", "/dispatch/slow");
+        var response = new InMemoryHttpServletResponse();
+
+        servlet.service(request, response);
+        assertTrue(DispatchController.entered.await(5, TimeUnit.SECONDS));
+        InMemoryAsyncContext asyncContext = request.getLastAsyncContext();
+        asyncContext.timeout();
+
+        assertTrue(asyncContext.isCompleted());
+        assertEquals(503, response.getStatus());
+
+        // The controller ignores the interrupt and writes once released
+        DispatchController.release.countDown();
+        assertTrue(DispatchController.finished.await(5, TimeUnit.SECONDS));
+        assertInstanceOf(IOException.class, DispatchController.failure.get());
+        assertEquals(503, response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+        assertFalse(response.isOutputClosed());
+    }
+
+    @RestController
+    public static class DispatchController {
+        static volatile CountDownLatch entered;
+        static volatile CountDownLatch release;
+        static volatile CountDownLatch finished;
+        static final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        static void reset() {
+            entered = new CountDownLatch(1);
+            release = new CountDownLatch(1);
+            finished = new CountDownLatch(1);
+            failure.set(null);
+        }
+
+        @RequestMapping(path = "/dispatch/thread", method = RequestMethod.GET)
+        public String thread() {
+            return Thread.currentThread().getName();
+        }
+
+        @RequestMapping(path = "/dispatch/virtual", method = RequestMethod.GET)
+        public String virtual() throws ReflectiveOperationException {
+            return String.valueOf(Thread.class.getMethod("isVirtual").invoke(Thread.currentThread()));
+        }
+
+        @RequestMapping(path = "/dispatch/slow", method = RequestMethod.GET)
+        public void slow(HttpServletResponse response) {
+            entered.countDown();
+            try {
+                boolean released = false;
+                while (!released) {
+                    try {
+                        released = release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException ignored) {
+                        // keeps going, as a controller unaware of interrupts does
+                    }
+                }
+                response.setStatus(200);
+                response.getOutputStream().write("late".getBytes(StandardCharsets.UTF_8));
+            } catch (IOException | RuntimeException e) {
+                failure.set(e);
+            } finally {
+                finished.countDown();
+            }
+        }
+    }
+}
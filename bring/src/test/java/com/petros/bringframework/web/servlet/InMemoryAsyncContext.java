@@ -0,0 +1,182 @@
+package com.petros.bringframework.web.servlet;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.ServletContext;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The async context of an {@link InMemoryHttpServletRequest}. What the container does on its own, a timeout or
+ * a failed connection, is triggered by the test with {@link #timeout()} and {@link #error(Throwable)}
+ */
+public class InMemoryAsyncContext implements AsyncContext {
+    private final InMemoryHttpServletRequest request;
+    private final ServletRequest servletRequest;
+    private final ServletResponse servletResponse;
+    private final List<AsyncListener> listeners = new CopyOnWriteArrayList<>();
+    private final CountDownLatch finished = new CountDownLatch(1);
+    private volatile long timeout = 30_000;
+    private volatile boolean timeoutSet;
+    private volatile boolean completed;
+    private volatile boolean dispatched;
+
+    InMemoryAsyncContext(InMemoryHttpServletRequest request, ServletRequest servletRequest,
+                         ServletResponse servletResponse) {
+        this.request = request;
+        this.servletRequest = servletRequest;
+        this.servletResponse = servletResponse;
+    }
+
+    @Override
+    public ServletRequest getRequest() {
+        return servletRequest;
+    }
+
+    @Override
+    public ServletResponse getResponse() {
+        return servletResponse;
+    }
+
+    @Override
+    public boolean hasOriginalRequestAndResponse() {
+        return servletRequest == request;
+    }
+
+    @Override
+    public void dispatch() {
+        finish(true);
+    }
+
+    @Override
+    public void dispatch(String path) {
+        dispatch();
+    }
+
+    @Override
+    public void dispatch(ServletContext context, String path) {
+        dispatch();
+    }
+
+    @Override
+    public void complete() {
+        finish(false);
+        AsyncEvent event = new AsyncEvent(this, servletRequest, servletResponse);
+        for (AsyncListener listener : listeners) {
+            try {
+                listener.onComplete(event);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    private synchronized void finish(boolean dispatch) {
+        if (completed || dispatched)
+            throw new IllegalStateException("The async context is already " + (completed ? "completed" : "dispatched"));
+        if (dispatch)
+            dispatched = true;
+        else
+            completed = true;
+        request.asyncFinished();
+        finished.countDown();
+    }
+
+    @Override
+    public void start(Runnable run) {
+        new Thread(run, "in-memory-async").start();
+    }
+
+    @Override
+    public void addListener(AsyncListener listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void addListener(AsyncListener listener, ServletRequest servletRequest, ServletResponse servletResponse) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public <T extends AsyncListener> T createListener(Class<T> clazz) throws ServletException {
+        try {
+            return clazz.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new ServletException(e);
+        }
+    }
+
+    @Override
+    public void setTimeout(long timeout) {
+        this.timeout = timeout;
+        this.timeoutSet = true;
+    }
+
+    @Override
+    public long getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * Whether {@link #setTimeout(long)} was called, i.e. the default of the container was overridden
+     */
+    public boolean isTimeoutSet() {
+        return timeoutSet;
+    }
+
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    public boolean isDispatched() {
+        return dispatched;
+    }
+
+    /**
+     * Wait until the request is completed or dispatched
+     */
+    public boolean await(Duration duration) throws InterruptedException {
+        return finished.await(duration.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Time the request out as the container does: notify the listeners, then answer with 500 and complete
+     * unless one of them did
+     */
+    public void timeout() throws IOException {
+        AsyncEvent event = new AsyncEvent(this, servletRequest, servletResponse);
+        for (AsyncListener listener : listeners) {
+            listener.onTimeout(event);
+        }
+        completeUnlessFinished(true);
+    }
+
+    /**
+     * Fail the request as the container does on a broken connection: notify the listeners, then complete
+     */
+    public void error(Throwable throwable) throws IOException {
+        AsyncEvent event = new AsyncEvent(this, servletRequest, servletResponse, throwable);
+        for (AsyncListener listener : listeners) {
+            listener.onError(event);
+        }
+        completeUnlessFinished(false);
+    }
+
+    private void completeUnlessFinished(boolean sendError) throws IOException {
+        synchronized (this) {
+            if (completed || dispatched)
+                return;
+        }
+        if (sendError && !servletResponse.isCommitted() && servletResponse instanceof InMemoryHttpServletResponse response)
+            response.sendError(InMemoryHttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+        complete();
+    }
+}
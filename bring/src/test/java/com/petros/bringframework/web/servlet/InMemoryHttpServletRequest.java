@@ -0,0 +1,660 @@
+package com.petros.bringframework.web.servlet;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.DispatcherType;
+import javax.servlet.ReadListener;
+import javax.servlet.RequestDispatcher;
+import javax.servlet.ServletContext;
+import javax.servlet.ServletInputStream;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpSession;
+import javax.servlet.http.HttpUpgradeHandler;
+import javax.servlet.http.Part;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.security.Principal;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A request held in memory, without a container behind it. Supports async processing through
+ * {@link InMemoryAsyncContext} and non-blocking reading: a body declared with {@link #streamingBody(String)} arrives
+ * in the chunks the test {@linkplain #deliver(byte[]) delivers}, and the {@link ReadListener} is notified
+ * on the delivering thread, as a container would on one of its threads
+ */
+public class InMemoryHttpServletRequest implements HttpServletRequest {
+    private final String method;
+    private final String servletPath;
+    private final Map<String, List<String>> headers = new LinkedHashMap<>();
+    private final Map<String, String> parameters = new LinkedHashMap<>();
+    private final Map<String, Object> attributes = new ConcurrentHashMap<>();
+    private final BodyInputStream inputStream = new BodyInputStream();
+    private byte[] body;
+    private String contentType;
+    private long contentLength = -1;
+    private boolean asyncSupported = true;
+    private ServletContext servletContext;
+    private volatile InMemoryAsyncContext asyncContext;
+    private volatile boolean asyncStarted;
+
+    public InMemoryHttpServletRequest(String method, String servletPath) {
+        this.method = method;
+        this.servletPath = servletPath;
+    }
+
+    public InMemoryHttpServletRequest header(String name, String value) {
+        headers.computeIfAbsent(name.toLowerCase(Locale.ROOT), key -> new ArrayList<>()).add(value);
+        return this;
+    }
+
+    public InMemoryHttpServletRequest parameter(String name, String value) {
+        parameters.put(name, value);
+        return this;
+    }
+
+    /**
+     * Set the whole body, available at once
+     */
+    public InMemoryHttpServletRequest body(byte[] body, String contentType) {
+        this.body = body;
+        this.contentType = contentType;
+        this.contentLength = body.length;
+        inputStream.chunks.add(body);
+        inputStream.ended = true;
+        return this;
+    }
+
+    public InMemoryHttpServletRequest body(String body, String contentType) {
+        return body(body.getBytes(StandardCharsets.UTF_8), contentType);
+    }
+
+    /**
+     * Declare a chunked body, which arrives through {@link #deliver(byte[])} and {@link #endBody()}
+     */
+    public InMemoryHttpServletRequest streamingBody(String contentType) {
+        this.contentType = contentType;
+        header("Transfer-Encoding", "chunked");
+        return this;
+    }
+
+    public InMemoryHttpServletRequest contentLength(long contentLength) {
+        this.contentLength = contentLength;
+        return this;
+    }
+
+    public InMemoryHttpServletRequest asyncSupported(boolean asyncSupported) {
+        this.asyncSupported = asyncSupported;
+        return this;
+    }
+
+    public InMemoryHttpServletRequest servletContext(ServletContext servletContext) {
+        this.servletContext = servletContext;
+        return this;
+    }
+
+    /**
+     * Rewind the body set with {@link #body(byte[], String)} and drop the attributes and the async state of the
+     * previous dispatch, as a container recycling the request, e.g. on every benchmark invocation
+     */
+    public InMemoryHttpServletRequest recycle() {
+        attributes.clear();
+        asyncContext = null;
+        asyncStarted = false;
+        inputStream.rewind(body);
+        return this;
+    }
+
+    /**
+     * Deliver the next chunk of a streaming body, notifying the read listener waiting for data
+     */
+    public void deliver(byte[] chunk) {
+        inputStream.deliver(chunk);
+    }
+
+    /**
+     * End a streaming body, notifying the read listener once everything delivered is read
+     */
+    public void endBody() {
+        inputStream.end();
+    }
+
+    /**
+     * Fail reading the body, as on a broken connection
+     */
+    public void failBody(Throwable throwable) {
+        inputStream.fail(throwable);
+    }
+
+    /**
+     * The async context started last, {@code null} if async processing was never started
+     */
+    public InMemoryAsyncContext getLastAsyncContext() {
+        return asyncContext;
+    }
+
+    void asyncFinished() {
+        asyncStarted = false;
+    }
+
+    @Override
+    public String getMethod() {
+        return method;
+    }
+
+    @Override
+    public String getServletPath() {
+        return servletPath;
+    }
+
+    @Override
+    public String getRequestURI() {
+        return servletPath;
+    }
+
+    @Override
+    public StringBuffer getRequestURL() {
+        return new StringBuffer("http://localhost").append(servletPath);
+    }
+
+    @Override
+    public String getContextPath() {
+        return "";
+    }
+
+    @Override
+    public String getPathInfo() {
+        return null;
+    }
+
+    @Override
+    public String getPathTranslated() {
+        return null;
+    }
+
+    @Override
+    public String getQueryString() {
+        return null;
+    }
+
+    @Override
+    public String getHeader(String name) {
+        List<String> values = headers.get(name.toLowerCase(Locale.ROOT));
+        return values == null ? null : values.get(0);
+    }
+
+    @Override
+    public Enumeration<String> getHeaders(String name) {
+        return Collections.enumeration(headers.getOrDefault(name.toLowerCase(Locale.ROOT), List.of()));
+    }
+
+    @Override
+    public Enumeration<String> getHeaderNames() {
+        return Collections.enumeration(headers.keySet());
+    }
+
+    @Override
+    public long getDateHeader(String name) {
+        String value = getHeader(name);
+        if (value == null)
+            return -1;
+        try {
+            return ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Not a date: " + value, e);
+        }
+    }
+
+    @Override
+    public int getIntHeader(String name) {
+        String value = getHeader(name);
+        return value == null ? -1 : Integer.parseInt(value);
+    }
+
+    @Override
+    public String getParameter(String name) {
+        return parameters.get(name);
+    }
+
+    @Override
+    public Enumeration<String> getParameterNames() {
+        return Collections.enumeration(parameters.keySet());
+    }
+
+    @Override
+    public String[] getParameterValues(String name) {
+        String value = parameters.get(name);
+        return value == null ? null : new String[]{value};
+    }
+
+    @Override
+    public Map<String, String[]> getParameterMap() {
+        Map<String, String[]> map = new LinkedHashMap<>();
+        parameters.forEach((name, value) -> map.put(name, new String[]{value}));
+        return map;
+    }
+
+    @Override
+    public Object getAttribute(String name) {
+        return attributes.get(name);
+    }
+
+    @Override
+    public Enumeration<String> getAttributeNames() {
+        return Collections.enumeration(attributes.keySet());
+    }
+
+    @Override
+    public void setAttribute(String name, Object o) {
+        if (o == null)
+            attributes.remove(name);
+        else
+            attributes.put(name, o);
+    }
+
+    @Override
+    public void removeAttribute(String name) {
+        attributes.remove(name);
+    }
+
+    @Override
+    public String getCharacterEncoding() {
+        return null;
+    }
+
+    @Override
+    public void setCharacterEncoding(String env) {
+    }
+
+    @Override
+    public int getContentLength() {
+        return (int) Math.min(contentLength, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public long getContentLengthLong() {
+        return contentLength;
+    }
+
+    @Override
+    public String getContentType() {
+        return contentType;
+    }
+
+    @Override
+    public ServletInputStream getInputStream() {
+        return inputStream;
+    }
+
+    @Override
+    public BufferedReader getReader() {
+        return new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public String getProtocol() {
+        return "HTTP/1.1";
+    }
+
+    @Override
+    public String getScheme() {
+        return "http";
+    }
+
+    @Override
+    public String getServerName() {
+        return "localhost";
+    }
+
+    @Override
+    public int getServerPort() {
+        return 80;
+    }
+
+    @Override
+    public String getRemoteAddr() {
+        return "127.0.0.1";
+    }
+
+    @Override
+    public String getRemoteHost() {
+        return "localhost";
+    }
+
+    @Override
+    public int getRemotePort() {
+        return 0;
+    }
+
+    @Override
+    public String getLocalName() {
+        return "localhost";
+    }
+
+    @Override
+    public String getLocalAddr() {
+        return "127.0.0.1";
+    }
+
+    @Override
+    public int getLocalPort() {
+        return 80;
+    }
+
+    @Override
+    public Locale getLocale() {
+        return Locale.getDefault();
+    }
+
+    @Override
+    public Enumeration<Locale> getLocales() {
+        return Collections.enumeration(List.of(Locale.getDefault()));
+    }
+
+    @Override
+    public boolean isSecure() {
+        return false;
+    }
+
+    @Override
+    public RequestDispatcher getRequestDispatcher(String path) {
+        return null;
+    }
+
+    @Override
+    @Deprecated
+    public String getRealPath(String path) {
+        return null;
+    }
+
+    @Override
+    public ServletContext getServletContext() {
+        return servletContext;
+    }
+
+    @Override
+    public AsyncContext startAsync() {
+        return startAsync(this, null);
+    }
+
+    @Override
+    public synchronized AsyncContext startAsync(ServletRequest servletRequest, ServletResponse servletResponse) {
+        if (!asyncSupported)
+            throw new IllegalStateException("Async processing is not supported");
+        if (asyncStarted)
+            throw new IllegalStateException("Async processing is already started");
+        asyncContext = new InMemoryAsyncContext(this, servletRequest, servletResponse);
+        asyncStarted = true;
+        return asyncContext;
+    }
+
+    @Override
+    public boolean isAsyncStarted() {
+        return asyncStarted;
+    }
+
+    @Override
+    public boolean isAsyncSupported() {
+        return asyncSupported;
+    }
+
+    @Override
+    public AsyncContext getAsyncContext() {
+        if (!asyncStarted)
+            throw new IllegalStateException("Async processing is not started");
+        return asyncContext;
+    }
+
+    @Override
+    public DispatcherType getDispatcherType() {
+        return DispatcherType.REQUEST;
+    }
+
+    @Override
+    public String getAuthType() {
+        return null;
+    }
+
+    @Override
+    public Cookie[] getCookies() {
+        return null;
+    }
+
+    @Override
+    public String getRemoteUser() {
+        return null;
+    }
+
+    @Override
+    public boolean isUserInRole(String role) {
+        return false;
+    }
+
+    @Override
+    public Principal getUserPrincipal() {
+        return null;
+    }
+
+    @Override
+    public String getRequestedSessionId() {
+        return null;
+    }
+
+    @Override
+    public HttpSession getSession(boolean create) {
+        return null;
+    }
+
+    @Override
+    public HttpSession getSession() {
+        return null;
+    }
+
+    @Override
+    public String changeSessionId() {
+        throw new IllegalStateException("No session");
+    }
+
+    @Override
+    public boolean isRequestedSessionIdValid() {
+        return false;
+    }
+
+    @Override
+    public boolean isRequestedSessionIdFromCookie() {
+        return false;
+    }
+
+    @Override
+    public boolean isRequestedSessionIdFromURL() {
+        return false;
+    }
+
+    @Override
+    @Deprecated
+    public boolean isRequestedSessionIdFromUrl() {
+        return false;
+    }
+
+    @Override
+    public boolean authenticate(HttpServletResponse response) {
+        return false;
+    }
+
+    @Override
+    public void login(String username, String password) {
+    }
+
+    @Override
+    public void logout() {
+    }
+
+    @Override
+    public Collection<Part> getParts() {
+        return List.of();
+    }
+
+    @Override
+    public Part getPart(String name) {
+        return null;
+    }
+
+    @Override
+    public <T extends HttpUpgradeHandler> T upgrade(Class<T> handlerClass) {
+        throw new UnsupportedOperationException("Upgrade is not supported");
+    }
+
+    private static class BodyInputStream extends ServletInputStream {
+        private final Deque<byte[]> chunks = new ArrayDeque<>();
+        private int offset;
+        private boolean ended;
+        private ReadListener listener;
+        private boolean awaitingData;
+        private boolean allDataRead;
+
+        @Override
+        public synchronized int read() throws IOException {
+            byte[] single = new byte[1];
+            int count = read(single, 0, 1);
+            return count < 0 ? -1 : single[0] & 0xFF;
+        }
+
+        @Override
+        public synchronized int read(byte[] b, int off, int len) {
+            if (len == 0)
+                return 0;
+            if (chunks.isEmpty()) {
+                if (ended)
+                    return -1;
+                if (listener != null)
+                    throw new IllegalStateException("Read while the stream is not ready");
+                return -1;
+            }
+            byte[] chunk = chunks.peek();
+            int count = Math.min(len, chunk.length - offset);
+            System.arraycopy(chunk, offset, b, off, count);
+            offset += count;
+            if (offset == chunk.length) {
+                chunks.poll();
+                offset = 0;
+            }
+            return count;
+        }
+
+        @Override
+        public synchronized int available() {
+            return chunks.stream().mapToInt(chunk -> chunk.length).sum() - offset;
+        }
+
+        @Override
+        public synchronized boolean isFinished() {
+            return ended && chunks.isEmpty();
+        }
+
+        @Override
+        public synchronized boolean isReady() {
+            boolean ready = !chunks.isEmpty();
+            if (!ready)
+                awaitingData = true;
+            return ready;
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            boolean hasData;
+            synchronized (this) {
+                if (listener != null)
+                    throw new IllegalStateException("A read listener is already set");
+                listener = readListener;
+                hasData = !chunks.isEmpty();
+                awaitingData = !hasData;
+            }
+            if (hasData)
+                notifyDataAvailable();
+            else
+                notifyAllDataReadIfDone();
+        }
+
+        synchronized void rewind(byte[] body) {
+            chunks.clear();
+            offset = 0;
+            listener = null;
+            awaitingData = false;
+            allDataRead = false;
+            ended = body != null;
+            if (body != null && body.length > 0)
+                chunks.add(body);
+        }
+
+        void deliver(byte[] chunk) {
+            boolean notify;
+            synchronized (this) {
+                if (chunk.length == 0)
+                    return;
+                chunks.add(chunk);
+                notify = listener != null && awaitingData;
+                if (notify)
+                    awaitingData = false;
+            }
+            if (notify)
+                notifyDataAvailable();
+        }
+
+        void end() {
+            synchronized (this) {
+                ended = true;
+            }
+            notifyAllDataReadIfDone();
+        }
+
+        void fail(Throwable throwable) {
+            ReadListener target;
+            synchronized (this) {
+                ended = true;
+                target = listener;
+            }
+            if (target != null)
+                target.onError(throwable);
+        }
+
+        private void notifyDataAvailable() {
+            try {
+                listener.onDataAvailable();
+            } catch (Throwable e) {
+                listener.onError(e);
+                return;
+            }
+            notifyAllDataReadIfDone();
+        }
+
+        private void notifyAllDataReadIfDone() {
+            synchronized (this) {
+                if (listener == null || allDataRead || !ended || !chunks.isEmpty())
+                    return;
+                allDataRead = true;
+            }
+            try {
+                listener.onAllDataRead();
+            } catch (Throwable e) {
+                listener.onError(e);
+            }
+        }
+    }
+}
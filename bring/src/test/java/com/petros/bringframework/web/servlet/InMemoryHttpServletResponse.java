@@ -0,0 +1,400 @@
+package com.petros.bringframework.web.servlet;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * A response held in memory, without a container behind it. It commits like a container: on flush, on close or once
+ * the buffer overflows, after which the status and headers no longer change. Non-blocking writing is driven by the
+ * test, {@link #blockWrites()} makes the stream report it isn't ready and {@link #unblockWrites()} notifies the
+ * {@link WriteListener} on the calling thread, as a container would on one of its threads
+ */
+public class InMemoryHttpServletResponse implements HttpServletResponse {
+    private final Map<String, List<String>> headers = new LinkedHashMap<>();
+    private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+    private final BodyOutputStream outputStream = new BodyOutputStream();
+    private PrintWriter writer;
+    private int status = SC_OK;
+    private String contentType;
+    private String characterEncoding = StandardCharsets.ISO_8859_1.name();
+    private int bufferSize = 8192;
+    private boolean committed;
+    private boolean errorSent;
+
+    public synchronized byte[] getContentAsByteArray() {
+        if (writer != null)
+            writer.flush();
+        return body.toByteArray();
+    }
+
+    public String getContentAsString() {
+        return new String(getContentAsByteArray(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Whether {@link #sendError(int)} was called
+     */
+    public synchronized boolean isErrorSent() {
+        return errorSent;
+    }
+
+    public synchronized boolean isOutputClosed() {
+        return outputStream.closed;
+    }
+
+    /**
+     * Make the output stream report that it can't take more
+     */
+    public void blockWrites() {
+        outputStream.blocked = true;
+    }
+
+    /**
+     * Let the output stream take more, notifying the write listener if it found the stream not ready
+     */
+    public void unblockWrites() {
+        outputStream.unblock();
+    }
+
+    /**
+     * Fail writing, as on a broken connection
+     */
+    public void failWrite(Throwable throwable) {
+        WriteListener listener = outputStream.listener;
+        if (listener != null)
+            listener.onError(throwable);
+    }
+
+    @Override
+    public synchronized int getStatus() {
+        return status;
+    }
+
+    @Override
+    public synchronized void setStatus(int sc) {
+        if (!committed)
+            status = sc;
+    }
+
+    @Override
+    @Deprecated
+    public void setStatus(int sc, String sm) {
+        setStatus(sc);
+    }
+
+    @Override
+    public void sendError(int sc, String msg) {
+        sendError(sc);
+    }
+
+    @Override
+    public synchronized void sendError(int sc) {
+        if (committed)
+            throw new IllegalStateException("Cannot send an error after the response has been committed");
+        body.reset();
+        status = sc;
+        errorSent = true;
+        committed = true;
+    }
+
+    @Override
+    public synchronized void sendRedirect(String location) {
+        setHeader("Location", location);
+        sendError(SC_FOUND);
+    }
+
+    @Override
+    public synchronized String getHeader(String name) {
+        List<String> values = headers.get(name.toLowerCase(Locale.ROOT));
+        return values == null ? null : values.get(0);
+    }
+
+    @Override
+    public synchronized Collection<String> getHeaders(String name) {
+        return new ArrayList<>(headers.getOrDefault(name.toLowerCase(Locale.ROOT), List.of()));
+    }
+
+    @Override
+    public synchronized Collection<String> getHeaderNames() {
+        return new ArrayList<>(headers.keySet());
+    }
+
+    @Override
+    public synchronized boolean containsHeader(String name) {
+        return headers.containsKey(name.toLowerCase(Locale.ROOT));
+    }
+
+    @Override
+    public synchronized void setHeader(String name, String value) {
+        if (committed)
+            return;
+        if (value == null)
+            headers.remove(name.toLowerCase(Locale.ROOT));
+        else
+            headers.put(name.toLowerCase(Locale.ROOT), new ArrayList<>(List.of(value)));
+    }
+
+    @Override
+    public synchronized void addHeader(String name, String value) {
+        if (!committed)
+            headers.computeIfAbsent(name.toLowerCase(Locale.ROOT), key -> new ArrayList<>()).add(value);
+    }
+
+    @Override
+    public void setDateHeader(String name, long date) {
+        setHeader(name, Long.toString(date));
+    }
+
+    @Override
+    public void addDateHeader(String name, long date) {
+        addHeader(name, Long.toString(date));
+    }
+
+    @Override
+    public void setIntHeader(String name, int value) {
+        setHeader(name, Integer.toString(value));
+    }
+
+    @Override
+    public void addIntHeader(String name, int value) {
+        addHeader(name, Integer.toString(value));
+    }
+
+    @Override
+    public void addCookie(Cookie cookie) {
+    }
+
+    @Override
+    public String encodeURL(String url) {
+        return url;
+    }
+
+    @Override
+    public String encodeRedirectURL(String url) {
+        return url;
+    }
+
+    @Override
+    @Deprecated
+    public String encodeUrl(String url) {
+        return url;
+    }
+
+    @Override
+    @Deprecated
+    public String encodeRedirectUrl(String url) {
+        return url;
+    }
+
+    @Override
+    public synchronized String getCharacterEncoding() {
+        return characterEncoding;
+    }
+
+    @Override
+    public synchronized void setCharacterEncoding(String charset) {
+        if (!committed && writer == null)
+            characterEncoding = charset;
+    }
+
+    @Override
+    public synchronized String getContentType() {
+        return contentType;
+    }
+
+    @Override
+    public synchronized void setContentType(String type) {
+        if (committed)
+            return;
+        contentType = type;
+        int charsetIndex = type == null ? -1 : type.toLowerCase(Locale.ROOT).indexOf("charset=");
+        if (charsetIndex >= 0)
+            setCharacterEncoding(type.substring(charsetIndex + "charset=".length()).trim());
+    }
+
+    @Override
+    public void setContentLength(int len) {
+        setContentLengthLong(len);
+    }
+
+    @Override
+    public void setContentLengthLong(long len) {
+        // A negative length unsets it, as in containers
+        setHeader("Content-Length", len < 0 ? null : Long.toString(len));
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() {
+        return outputStream;
+    }
+
+    @Override
+    public synchronized PrintWriter getWriter() {
+        if (writer == null)
+            writer = new PrintWriter(new OutputStreamWriter(outputStream, Charset.forName(characterEncoding)));
+        return writer;
+    }
+
+    @Override
+    public synchronized void setBufferSize(int size) {
+        bufferSize = size;
+    }
+
+    @Override
+    public synchronized int getBufferSize() {
+        return bufferSize;
+    }
+
+    @Override
+    public synchronized void flushBuffer() {
+        if (writer != null)
+            writer.flush();
+        committed = true;
+    }
+
+    @Override
+    public synchronized void resetBuffer() {
+        if (committed)
+            throw new IllegalStateException("Cannot reset the buffer after the response has been committed");
+        body.reset();
+    }
+
+    @Override
+    public synchronized void reset() {
+        resetBuffer();
+        headers.clear();
+        status = SC_OK;
+        contentType = null;
+        writer = null;
+    }
+
+    /**
+     * Forget everything of the previous exchange, as a container recycling the response, so that the same
+     * response can be dispatched to again, e.g. on every benchmark invocation
+     */
+    public synchronized void recycle() {
+        body.reset();
+        headers.clear();
+        status = SC_OK;
+        contentType = null;
+        characterEncoding = StandardCharsets.ISO_8859_1.name();
+        writer = null;
+        committed = false;
+        errorSent = false;
+        outputStream.closed = false;
+        outputStream.listener = null;
+    }
+
+    @Override
+    public synchronized boolean isCommitted() {
+        return committed;
+    }
+
+    @Override
+    public void setLocale(Locale loc) {
+    }
+
+    @Override
+    public Locale getLocale() {
+        return Locale.getDefault();
+    }
+
+    private class BodyOutputStream extends ServletOutputStream {
+        private volatile boolean blocked;
+        private volatile WriteListener listener;
+        private boolean awaitingReady;
+        private boolean closed;
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            synchronized (InMemoryHttpServletResponse.this) {
+                if (closed)
+                    throw new IOException("Stream closed");
+                if (listener != null && blocked)
+                    throw new IllegalStateException("Write while the stream is not ready");
+                if (errorSent)
+                    return;
+                body.write(b, off, len);
+                if (body.size() > bufferSize)
+                    committed = true;
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            synchronized (InMemoryHttpServletResponse.this) {
+                if (closed)
+                    throw new IOException("Stream closed");
+                committed = true;
+            }
+        }
+
+        @Override
+        public void close() {
+            synchronized (InMemoryHttpServletResponse.this) {
+                closed = true;
+                committed = true;
+            }
+        }
+
+        @Override
+        public boolean isReady() {
+            synchronized (InMemoryHttpServletResponse.this) {
+                if (blocked)
+                    awaitingReady = true;
+                return !blocked;
+            }
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            if (listener != null)
+                throw new IllegalStateException("A write listener is already set");
+            listener = writeListener;
+            if (!blocked)
+                notifyWritePossible();
+            else
+                synchronized (InMemoryHttpServletResponse.this) {
+                    awaitingReady = true;
+                }
+        }
+
+        void unblock() {
+            boolean notify;
+            synchronized (InMemoryHttpServletResponse.this) {
+                blocked = false;
+                notify = listener != null && awaitingReady;
+                awaitingReady = false;
+            }
+            if (notify)
+                notifyWritePossible();
+        }
+
+        private void notifyWritePossible() {
+            try {
+                listener.onWritePossible();
+            } catch (Throwable e) {
+                listener.onError(e);
+            }
+        }
+    }
+}
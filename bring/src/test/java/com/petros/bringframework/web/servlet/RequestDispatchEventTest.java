@@ -0,0 +1,99 @@
+package com.petros.bringframework.web.servlet;
+
+import com.petros.bringframework.web.context.annotation.PathVariable;
+import com.petros.bringframework.web.context.annotation.RequestMapping;
+import com.petros.bringframework.web.context.annotation.RestController;
+import com.petros.bringframework.web.context.annotation.ServletAnnotationConfigApplicationContext;
+import com.petros.bringframework.web.servlet.support.common.RequestMethod;
+import com.petros.bringframework.web.servlet.support.mapper.JsonDataMapper;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.servlet.ServletException;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class RequestDispatchEventTest {
+
+    private static final String EVENT_NAME = "bring.RequestDispatch";
+
+    @TempDir
+    Path directory;
+
+    private SimpleDispatcherServlet servlet;
+
+    @BeforeEach
+    void setUp() {
+        var context = new ServletAnnotationConfigApplicationContext(ItemController.class, JsonDataMapper.class);
+        servlet = new SimpleDispatcherServlet(context);
+    }
+
+    private interface Dispatch {
+        void run() throws ServletException, IOException;
+    }
+
+    private List<RecordedEvent> record(Dispatch dispatch) throws ServletException, IOException {
+        Path file = directory.resolve("dispatch.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(EVENT_NAME).withThreshold(Duration.ZERO);
+            recording.start();
+            dispatch.run();
+            recording.stop();
+            recording.dump(file);
+        }
+        return RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals(EVENT_NAME))
+                .toList();
+    }
+
+    @Test
+    void commitsEventWithRouteAndStatusOfHandledRequest() throws ServletException, IOException {
+        var response = new InMemoryHttpServletResponse();
+
+        List<RecordedEvent> events = record(() ->
+                servlet.service(new InMemoryHttpServletRequest("GET", "/items/42"), response));
+
+        assertEquals("42", response.getContentAsString());
+        assertEquals(1, events.size());
+        RecordedEvent event = events.get(0);
+        assertEquals("GET", event.getString("method"));
+        assertEquals("/items/{id}", event.getString("route"));
+        assertEquals("/items/42", event.getString("path"));
+        assertEquals(200, event.getInt("status"));
+        assertFalse(event.getBoolean("async"));
+    }
+
+    @Test
+    void commitsEventWithoutRouteWhenNoHandlerMatches() throws ServletException, IOException {
+        List<RecordedEvent> events = record(() ->
+                servlet.service(new InMemoryHttpServletRequest("GET", "/missing"), new InMemoryHttpServletResponse()));
+
+        assertEquals(1, events.size());
+        assertNull(events.get(0).getString("route"));
+        assertEquals(404, events.get(0).getInt("status"));
+    }
+
+    @Test
+    void leavesEventDisabledWithoutRecording() {
+        assertFalse(new RequestDispatchEvent().isEnabled());
+    }
+
+    @RestController
+    public static class ItemController {
+
+        @RequestMapping(path = "/items/{id}", method = RequestMethod.GET)
+        public String item(@PathVariable(name = "id") String id) {
+            return id;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.petros.bringframework.web.servlet.support;
+
+import com.petros.bringframework.web.servlet.InMemoryHttpServletRequest;
+import com.petros.bringframework.web.servlet.InMemoryHttpServletResponse;
+import com.petros.bringframework.web.servlet.support.mapper.JsonDataMapper;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class DataMappingEventTest {
+
+    private static final String EVENT_NAME = "bring.DataMapping";
+    private static final String BODY = "{\"name\":\"pen\",\"quantity\":2}";
+
+    @TempDir
+    Path directory;
+
+    private final CapturingDataMapper mapper = new CapturingDataMapper();
+    private final InMemoryHttpServletResponse response = new InMemoryHttpServletResponse();
+
+    public record Item(String name, int quantity) {
+    }
+
+    static class Controller {
+        Item create(Item item) {
+            return new Item(item.name(), item.quantity() + 1);
+        }
+    }
+
+    /**
+     * Keeps the streams the handler passes, to tell whether they were wrapped.
+     */
+    static class CapturingDataMapper extends JsonDataMapper {
+        InputStream readFrom;
+        OutputStream writtenTo;
+
+        @Override
+        public <T> T readValue(InputStream content, Type valueType) throws IOException {
+            readFrom = content;
+            return super.readValue(content, valueType);
+        }
+
+        @Override
+        public void writeValue(OutputStream out, Object value) throws IOException {
+            writtenTo = out;
+            super.writeValue(out, value);
+        }
+    }
+
+    private void create() throws NoSuchMethodException {
+        var parameters = new MethodParameters();
+        parameters.setRequestBodyParamPosition(0);
+        var request = new InMemoryHttpServletRequest("POST", "/items").body(BODY, "application/json");
+        new RequestResponseHandler(Controller.class.getDeclaredMethod("create", Item.class), parameters, new Controller())
+                .invoke(request, response, List.of(), mapper);
+    }
+
+    private List<RecordedEvent> recordCreate() throws IOException, NoSuchMethodException {
+        Path file = directory.resolve("mapping.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(EVENT_NAME).withThreshold(Duration.ZERO);
+            recording.start();
+            create();
+            recording.stop();
+            recording.dump(file);
+        }
+        return RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals(EVENT_NAME))
+                .toList();
+    }
+
+    @Test
+    void commitsReadAndWriteEventsWithByteCounts() throws IOException, NoSuchMethodException {
+        List<RecordedEvent> events = recordCreate();
+
+        String written = response.getContentAsString();
+        assertEquals("{\"name\":\"pen\",\"quantity\":3}", written);
+        assertEquals(2, events.size());
+        RecordedEvent read = events.get(0);
+        assertEquals("read", read.getString("direction"));
+        assertEquals(Item.class.getTypeName(), read.getString("type"));
+        assertEquals(BODY.getBytes(StandardCharsets.UTF_8).length, read.getLong("bytes"));
+        RecordedEvent write = events.get(1);
+        assertEquals("write", write.getString("direction"));
+        assertEquals(Item.class.getName(), write.getString("type"));
+        assertEquals(written.getBytes(StandardCharsets.UTF_8).length, write.getLong("bytes"));
+        assertInstanceOf(DataMappingEvent.CountingInputStream.class, mapper.readFrom);
+        assertInstanceOf(DataMappingEvent.CountingOutputStream.class, mapper.writtenTo);
+    }
+
+    @Test
+    void passesStreamsUnwrappedWithoutRecording() throws IOException, NoSuchMethodException {
+        create();
+
+        assertFalse(new DataMappingEvent().isEnabled());
+        assertEquals("{\"name\":\"pen\",\"quantity\":3}", response.getContentAsString());
+        assertFalse(mapper.readFrom instanceof DataMappingEvent.CountingInputStream);
+        assertSame(response.getOutputStream(), mapper.writtenTo);
+    }
+}
@@ -0,0 +1,278 @@
+package com.petros.bringframework.web.servlet.support;
+
+import com.petros.bringframework.web.servlet.InMemoryAsyncContext;
+import com.petros.bringframework.web.servlet.InMemoryHttpServletRequest;
+import com.petros.bringframework.web.servlet.InMemoryHttpServletResponse;
+import com.petros.bringframework.web.servlet.support.mapper.JsonDataMapper;
+import org.junit.jupiter.api.Test;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RequestResponseHandlerTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private final Controller controller = new Controller();
+    private final AsyncController asyncController = new AsyncController();
+    private final InMemoryHttpServletRequest request = new InMemoryHttpServletRequest("POST", "/items");
+    private final InMemoryHttpServletResponse response = new InMemoryHttpServletResponse();
+
+    private void invoke(String methodName, Consumer<MethodParameters> binding, List<String> pathVariables) {
+        Method method = Arrays.stream(Controller.class.getDeclaredMethods())
+                .filter(candidate -> candidate.getName().equals(methodName))
+                .findFirst()
+                .orElseThrow();
+        var parameters = new MethodParameters();
+        binding.accept(parameters);
+        new RequestResponseHandler(method, parameters, controller)
+                .invoke(request, response, pathVariables, new JsonDataMapper());
+    }
+
+    private void invokeAsync() throws NoSuchMethodException {
+        var handler = new RequestResponseHandler(AsyncController.class.getDeclaredMethod("greeting"),
+                new MethodParameters(), asyncController);
+        handler.invoke(request, response, List.of(), new JsonDataMapper(), -1);
+    }
+
+    private void assertBadRequest() {
+        assertTrue(response.isErrorSent());
+        assertEquals(400, response.getStatus());
+        assertFalse(controller.invoked);
+    }
+
+    @Test
+    void bindsPathVariableRequestParamAndHeader() {
+        request.parameter("filter", "active").header("X-Token", "secret");
+
+        invoke("describe", parameters -> {
+            parameters.addPathVariableMapping(1, 0);
+            parameters.addRequestParam("filter", 1);
+            parameters.addRequestHeader("X-Token", 2);
+        }, List.of("shop", "42"));
+
+        assertEquals("42/active/secret", response.getContentAsString());
+    }
+
+    @Test
+    void bindsMissingRequestParamAndHeaderAsNull() {
+        invoke("describe", parameters -> {
+            parameters.addPathVariableMapping(0, 0);
+            parameters.addRequestParam("filter", 1);
+            parameters.addRequestHeader("X-Token", 2);
+        }, List.of("42"));
+
+        assertEquals("42/null/null", response.getContentAsString());
+    }
+
+    @Test
+    void bindsServletRequestAndResponse() {
+        invoke("exchange", parameters -> {
+            parameters.setServletRequestPosition(0);
+            parameters.setServletResponsePosition(1);
+        }, List.of());
+
+        assertSame(request, controller.request);
+        assertSame(response, controller.response);
+    }
+
+    @Test
+    void readsJsonRequestBodyAndWritesJsonResult() {
+        request.body("{\"name\":\"pen\",\"quantity\":2}", "application/json");
+
+        invoke("create", parameters -> parameters.setRequestBodyParamPosition(0), List.of());
+
+        assertEquals("{\"name\":\"pen\",\"quantity\":3}", response.getContentAsString());
+    }
+
+    @Test
+    void passesRawBodyToStringRequestBody() {
+        request.body("{\"name\":\"pen\"}", "application/json");
+
+        invoke("echo", parameters -> parameters.setRequestBodyParamPosition(0), List.of());
+
+        assertEquals("{\"name\":\"pen\"}", response.getContentAsString());
+    }
+
+    @Test
+    void answersBadRequestAndStopsOnUnreadableBody() {
+        request.body("not json", "application/json");
+
+        invoke("create", parameters -> parameters.setRequestBodyParamPosition(0), List.of());
+
+        assertBadRequest();
+    }
+
+    @Test
+    void answersBadRequestForArgumentOfOtherType() {
+        request.parameter("page", "2");
+
+        invoke("page", parameters -> parameters.addRequestParam("page", 0), List.of());
+
+        assertBadRequest();
+    }
+
+    @Test
+    void answersBadRequestForMissingPrimitiveArgument() {
+        invoke("count", parameters -> parameters.addPathVariableMapping(0, 0), List.of());
+
+        assertBadRequest();
+    }
+
+    @Test
+    void invokesStaticMethod() {
+        invoke("version", parameters -> {}, List.of());
+
+        assertEquals("1.0", response.getContentAsString());
+    }
+
+    @Test
+    void invokesPrivateInstanceMethodOnControllerBean() {
+        invoke("hidden", parameters -> {}, List.of());
+
+        assertTrue(controller.invoked);
+        assertEquals("hidden", response.getContentAsString());
+    }
+
+    @Test
+    void rethrowsControllerExceptionAsCause() {
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> invoke("fail", parameters -> {}, List.of()));
+
+        assertInstanceOf(IllegalStateException.class, exception.getCause());
+        assertEquals("failing on purpose", exception.getCause().getMessage());
+    }
+
+    @Test
+    void writesResultOfStageWithoutCompletableFutureOnceCompleted() throws Exception {
+        invokeAsync();
+
+        InMemoryAsyncContext asyncContext = request.getLastAsyncContext();
+        assertFalse(asyncContext.isCompleted());
+
+        asyncController.result.complete("hello");
+
+        assertTrue(asyncContext.await(TIMEOUT));
+        assertEquals("hello", response.getContentAsString());
+    }
+
+    @Test
+    void answersServiceUnavailableWhenStageWithoutCompletableFutureTimesOut() throws Exception {
+        invokeAsync();
+
+        request.getLastAsyncContext().timeout();
+
+        assertTrue(request.getLastAsyncContext().isCompleted());
+        assertEquals(503, response.getStatus());
+        asyncController.result.complete("late");
+        assertEquals("", response.getContentAsString());
+    }
+
+    @Test
+    void answersServerErrorWhenStageWithoutCompletableFutureFails() throws Exception {
+        invokeAsync();
+
+        asyncController.result.completeExceptionally(new IllegalStateException("failing on purpose"));
+
+        assertTrue(request.getLastAsyncContext().await(TIMEOUT));
+        assertTrue(response.isErrorSent());
+        assertEquals(500, response.getStatus());
+    }
+
+    @Test
+    void waitsForStageWithoutCompletableFutureWithoutAsyncSupport() throws Exception {
+        request.asyncSupported(false);
+        CompletableFuture.delayedExecutor(100, TimeUnit.MILLISECONDS)
+                .execute(() -> asyncController.result.complete("hello"));
+
+        invokeAsync();
+
+        assertEquals("hello", response.getContentAsString());
+    }
+
+    public record Item(String name, int quantity) {
+    }
+
+    static class Controller {
+        boolean invoked;
+        HttpServletRequest request;
+        HttpServletResponse response;
+
+        static String version() {
+            return "1.0";
+        }
+
+        String describe(String id, String filter, String token) {
+            return id + "/" + filter + "/" + token;
+        }
+
+        void exchange(HttpServletRequest request, HttpServletResponse response) {
+            this.request = request;
+            this.response = response;
+        }
+
+        Item create(Item item) {
+            invoked = true;
+            return new Item(item.name(), item.quantity() + 1);
+        }
+
+        String echo(String body) {
+            return body;
+        }
+
+        String page(Integer page) {
+            invoked = true;
+            return String.valueOf(page);
+        }
+
+        String count(int count) {
+            invoked = true;
+            return String.valueOf(count);
+        }
+
+        private String hidden() {
+            invoked = true;
+            return "hidden";
+        }
+
+        String fail() {
+            throw new IllegalStateException("failing on purpose");
+        }
+    }
+
+    static class AsyncController {
+        final CompletableFuture<String> result = new CompletableFuture<>();
+
+        // A stage as other libraries implement it, without the optional toCompletableFuture()
+        @SuppressWarnings("unchecked")
+        CompletionStage<String> greeting() {
+            return (CompletionStage<String>) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[]{CompletionStage.class}, (proxy, method, args) -> {
+                        if (method.getName().equals("toCompletableFuture"))
+                            throw new UnsupportedOperationException();
+                        try {
+                            return method.invoke(result, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    });
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.petros.bringframework.web.servlet.support;
+
+import com.petros.bringframework.web.context.annotation.RequestMapping;
+import com.petros.bringframework.web.servlet.support.RequestRouter.RouteMatch;
+import com.petros.bringframework.web.servlet.support.common.RequestMethod;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RequestRouterTest {
+
+    private static final Routes controller = new Routes();
+
+    private static RequestHandlerFactory factory(String methodName) {
+        try {
+            Method method = Routes.class.getMethod(methodName);
+            return new RequestHandlerFactory(method, controller);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalArgumentException(methodName, e);
+        }
+    }
+
+    private static RequestRouter router(String... methodNames) {
+        RequestRouter router = new RequestRouter();
+        for (String methodName : methodNames) {
+            router.register(factory(methodName));
+        }
+        return router;
+    }
+
+    private static void assertRoutedTo(String expectedMapping, RouteMatch match) {
+        assertTrue(match.isFound(), () -> "no handler, allowed " + match.allowedMethods());
+        assertEquals(expectedMapping, match.factory().getRequestMapping());
+    }
+
+    @Test
+    void staticSegmentWinsOverPatternAndVariable() {
+        RequestRouter router = router("userById", "userByIdJson", "me", "meJson");
+
+        assertRoutedTo("/users/me", router.route(RequestMethod.GET, "/users/me"));
+        assertRoutedTo("/users/me.json", router.route(RequestMethod.GET, "/users/me.json"));
+        assertRoutedTo("/users/{id}.json", router.route(RequestMethod.GET, "/users/7.json"));
+        assertRoutedTo("/users/{id}", router.route(RequestMethod.GET, "/users/7"));
+    }
+
+    @Test
+    void specificityDoesNotDependOnRegistrationOrder() {
+        RequestRouter router = router("meJson", "userByIdJson", "userById", "me");
+
+        assertRoutedTo("/users/me", router.route(RequestMethod.GET, "/users/me"));
+        assertRoutedTo("/users/{id}.json", router.route(RequestMethod.GET, "/users/7.json"));
+        assertRoutedTo("/users/{id}", router.route(RequestMethod.GET, "/users/7"));
+    }
+
+    @Test
+    void longerLiteralsWinAmongPatterns() {
+        RequestRouter router = router("gzip", "tarball", "file");
+
+        RouteMatch match = router.route(RequestMethod.GET, "/files/backup.tar.gz");
+
+        assertRoutedTo("/files/{name}.tar.gz", match);
+        assertEquals(List.of("backup"), match.pathVariables());
+        assertRoutedTo("/files/{name}.gz", router.route(RequestMethod.GET, "/files/backup.gz"));
+        assertRoutedTo("/files/{name}", router.route(RequestMethod.GET, "/files/.gz"));
+    }
+
+    @Test
+    void backtracksWhenStaticBranchDeadEnds() {
+        RequestRouter router = router("myProfile", "ordersOfUser");
+
+        RouteMatch match = router.route(RequestMethod.GET, "/users/me/orders");
+
+        assertRoutedTo("/users/{id}/orders", match);
+        assertEquals(List.of("me"), match.pathVariables());
+    }
+
+    @Test
+    void backtracksWhenStaticBranchHasNoHandlerForMethod() {
+        RequestRouter router = router("me", "updateUser");
+
+        RouteMatch match = router.route(RequestMethod.POST, "/users/me");
+
+        assertRoutedTo("/users/{id}", match);
+        assertEquals(List.of("me"), match.pathVariables());
+    }
+
+    @Test
+    void dropsVariablesCapturedOnAbandonedBranch() {
+        RequestRouter router = router("orderOfUser", "userSettings");
+
+        RouteMatch match = router.route(RequestMethod.GET, "/users/settings/orders/42");
+
+        assertRoutedTo("/users/{userId}/orders/{orderId}", match);
+        assertEquals(List.of("settings", "42"), match.pathVariables());
+    }
+
+    @Test
+    void capturesVariablesInDeclarationOrder() {
+        RequestRouter router = router("orderOfUser");
+
+        RouteMatch match = router.route(RequestMethod.GET, "/users/7/orders/42");
+
+        assertRoutedTo("/users/{userId}/orders/{orderId}", match);
+        assertEquals(List.of("7", "42"), match.pathVariables());
+    }
+
+    @Test
+    void capturesPartBetweenLiterals() {
+        RouteMatch match = router("userByIdJson").route(RequestMethod.GET, "users/a.b.json");
+
+        assertRoutedTo("/users/{id}.json", match);
+        assertEquals(List.of("a.b"), match.pathVariables());
+    }
+
+    @Test
+    void reportsMethodNotAllowedWithAllowedMethods() {
+        RequestRouter router = router("userById", "updateUser");
+
+        RouteMatch match = router.route(RequestMethod.DELETE, "/users/7");
+
+        assertFalse(match.isFound());
+        assertTrue(match.isMethodNotAllowed());
+        assertEquals(Set.of(RequestMethod.GET, RequestMethod.POST), match.allowedMethods());
+        assertEquals(List.of(), match.pathVariables());
+    }
+
+    @Test
+    void reportsNotFoundForUnmappedPath() {
+        RequestRouter router = router("userById", "updateUser");
+
+        for (String path : List.of("/orders/7", "/users", "/users/", "/users/7/orders")) {
+            RouteMatch match = router.route(RequestMethod.GET, path);
+            assertFalse(match.isFound(), path);
+            assertFalse(match.isMethodNotAllowed(), path);
+            assertTrue(match.allowedMethods().isEmpty(), path);
+        }
+    }
+
+    @Test
+    void rejectsMappingOfSameShape() {
+        RequestRouter router = router("userById");
+
+        assertThrows(DuplicatedMappingException.class, () -> router.register(factory("userByName")));
+        assertEquals(1, router.size());
+    }
+
+    @Test
+    void rejectsSegmentWithSeveralVariables() {
+        RequestRouter router = new RequestRouter();
+
+        assertThrows(IllegalArgumentException.class, () -> router.register(factory("twoVariables")));
+    }
+
+    public static class Routes {
+
+        @RequestMapping(path = "/users/{id}", method = RequestMethod.GET)
+        public void userById() {
+        }
+
+        @RequestMapping(path = "/users/{name}", method = RequestMethod.GET)
+        public void userByName() {
+        }
+
+        @RequestMapping(path = "/users/{id}", method = RequestMethod.POST)
+        public void updateUser() {
+        }
+
+        @RequestMapping(path = "/users/{id}.json", method = RequestMethod.GET)
+        public void userByIdJson() {
+        }
+
+        @RequestMapping(path = "/users/me", method = RequestMethod.GET)
+        public void me() {
+        }
+
+        @RequestMapping(path = "/users/me.json", method = RequestMethod.GET)
+        public void meJson() {
+        }
+
+        @RequestMapping(path = "/users/me/profile", method = RequestMethod.GET)
+        public void myProfile() {
+        }
+
+        @RequestMapping(path = "/users/settings", method = RequestMethod.GET)
+        public void userSettings() {
+        }
+
+        @RequestMapping(path = "/users/{id}/orders", method = RequestMethod.GET)
+        public void ordersOfUser() {
+        }
+
+        @RequestMapping(path = "/users/{userId}/orders/{orderId}", method = RequestMethod.GET)
+        public void orderOfUser() {
+        }
+
+        @RequestMapping(path = "/files/{name}", method = RequestMethod.GET)
+        public void file() {
+        }
+
+        @RequestMapping(path = "/files/{name}.gz", method = RequestMethod.GET)
+        public void gzip() {
+        }
+
+        @RequestMapping(path = "/files/{name}.tar.gz", method = RequestMethod.GET)
+        public void tarball() {
+        }
+
+        @RequestMapping(path = "/files/{name}-{version}", method = RequestMethod.GET)
+        public void twoVariables() {
+        }
+    }
+}
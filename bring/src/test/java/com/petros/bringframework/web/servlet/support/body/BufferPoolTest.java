@@ -0,0 +1,61 @@
+package com.petros.bringframework.web.servlet.support.body;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BufferPoolTest {
+
+    @Test
+    void allocatesBuffersOfConfiguredSize() {
+        BufferPool pool = new BufferPool(16, 2);
+
+        assertEquals(16, pool.acquire().length);
+        assertEquals(BufferPool.DEFAULT_BUFFER_SIZE, BufferPool.getSharedInstance().acquire().length);
+    }
+
+    @Test
+    void reusesReleasedBuffers() {
+        BufferPool pool = new BufferPool(16, 2);
+        byte[] buffer = pool.acquire();
+
+        pool.release(buffer);
+
+        assertSame(buffer, pool.acquire());
+        assertNotSame(buffer, pool.acquire());
+    }
+
+    @Test
+    void keepsNoMoreBuffersThanCapacity() {
+        BufferPool pool = new BufferPool(16, 1);
+        byte[] first = pool.acquire();
+        byte[] second = pool.acquire();
+
+        pool.release(first);
+        pool.release(second);
+
+        assertSame(first, pool.acquire());
+        byte[] allocated = pool.acquire();
+        assertNotSame(first, allocated);
+        assertNotSame(second, allocated);
+    }
+
+    @Test
+    void ignoresBuffersOfOtherSize() {
+        BufferPool pool = new BufferPool(16, 2);
+        byte[] foreign = new byte[32];
+
+        pool.release(foreign);
+
+        assertEquals(16, pool.acquire().length);
+    }
+
+    @Test
+    void rejectsInvalidConfiguration() {
+        assertThrows(IllegalArgumentException.class, () -> new BufferPool(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new BufferPool(16, -1));
+    }
+}
@@ -0,0 +1,83 @@
+package com.petros.bringframework.web.servlet.support.body;
+
+import com.petros.bringframework.web.servlet.InMemoryHttpServletRequest;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class BufferedRequestBodyTest {
+
+    private final CountingBufferPool pool = new CountingBufferPool(4);
+
+    private BufferedRequestBody body(String content) {
+        BufferedRequestBody body = new BufferedRequestBody(pool);
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        int offset = 0;
+        while (offset < bytes.length) {
+            byte[] chunk = body.writableChunk();
+            int count = Math.min(bytes.length - offset, chunk.length - body.position());
+            System.arraycopy(bytes, offset, chunk, body.position(), count);
+            body.advance(count);
+            offset += count;
+        }
+        return body;
+    }
+
+    @Test
+    void spreadsBodyOverPooledBuffers() {
+        BufferedRequestBody body = body("hello, world");
+
+        assertEquals(12, body.size());
+        assertEquals(3, pool.outstanding());
+        assertEquals("hello, world", body.asString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void streamsBodyAcrossBufferBoundaries() throws IOException {
+        BufferedRequestBody body = body("hello, world!");
+        InputStream in = body.getInputStream();
+
+        assertEquals('h', in.read());
+        byte[] rest = new byte[20];
+        int first = in.read(rest, 0, rest.length);
+        assertEquals(3, first);
+        assertEquals("ello, world!", new String(rest, 0, first, StandardCharsets.UTF_8)
+                + new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        assertEquals(-1, in.read());
+    }
+
+    @Test
+    void readsEmptyBody() throws IOException {
+        BufferedRequestBody body = new BufferedRequestBody(pool);
+
+        assertEquals("", body.asString(StandardCharsets.UTF_8));
+        assertEquals(-1, body.getInputStream().read());
+    }
+
+    @Test
+    void returnsBuffersToPoolOnlyOnce() {
+        BufferedRequestBody body = body("hello, world");
+
+        body.release();
+        body.release();
+
+        assertEquals(0, pool.outstanding());
+    }
+
+    @Test
+    void isFoundOnRequestOnceAttached() {
+        InMemoryHttpServletRequest request = new InMemoryHttpServletRequest("POST", "/upload");
+        assertNull(BufferedRequestBody.from(request));
+
+        BufferedRequestBody body = body("content");
+        body.attachTo(request);
+
+        assertSame(body, BufferedRequestBody.from(request));
+    }
+}
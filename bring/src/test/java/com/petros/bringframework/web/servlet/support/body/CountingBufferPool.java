@@ -0,0 +1,30 @@
+package com.petros.bringframework.web.servlet.support.body;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A pool counting the buffers taken and not returned yet, to verify that every path gives them back
+ */
+class CountingBufferPool extends BufferPool {
+    private final AtomicInteger outstanding = new AtomicInteger();
+
+    CountingBufferPool(int bufferSize) {
+        super(bufferSize, 16);
+    }
+
+    @Override
+    public byte[] acquire() {
+        outstanding.incrementAndGet();
+        return super.acquire();
+    }
+
+    @Override
+    public void release(byte[] buffer) {
+        outstanding.decrementAndGet();
+        super.release(buffer);
+    }
+
+    int outstanding() {
+        return outstanding.get();
+    }
+}
@@ -0,0 +1,171 @@
+package com.petros.bringframework.web.servlet.support.body;
+
+import com.petros.bringframework.web.servlet.InMemoryHttpServletRequest;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Flow;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RequestBodyPublisherTest {
+
+    private final CountingBufferPool pool = new CountingBufferPool(16);
+    private final InMemoryHttpServletRequest request = new InMemoryHttpServletRequest("POST", "/upload")
+            .streamingBody("application/octet-stream");
+    private final ChunkSubscriber subscriber = new ChunkSubscriber();
+
+    private RequestBodyPublisher subscribed() {
+        request.startAsync();
+        RequestBodyPublisher publisher = new RequestBodyPublisher(request, pool);
+        publisher.subscribe(subscriber);
+        return publisher;
+    }
+
+    private static byte[] bytes(String content) {
+        return content.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void readsChunksOnlyAsDemanded() {
+        subscribed();
+        request.deliver(bytes("first"));
+        assertTrue(subscriber.chunks.isEmpty());
+
+        subscriber.subscription.request(1);
+        request.deliver(bytes("second"));
+        assertEquals(List.of("first"), subscriber.chunks);
+
+        subscriber.subscription.request(5);
+        assertEquals(List.of("first", "second"), subscriber.chunks);
+        request.deliver(bytes("third"));
+        assertEquals(List.of("first", "second", "third"), subscriber.chunks);
+    }
+
+    @Test
+    void splitsChunksLargerThanBuffer() {
+        subscribed();
+        subscriber.subscription.request(Long.MAX_VALUE);
+
+        request.deliver(bytes("twenty bytes of data"));
+
+        assertEquals(List.of("twenty bytes of ", "data"), subscriber.chunks);
+    }
+
+    @Test
+    void completesAndReleasesBufferOnceBodyIsRead() {
+        subscribed();
+        subscriber.subscription.request(Long.MAX_VALUE);
+        request.deliver(bytes("body"));
+        assertFalse(subscriber.completed);
+
+        request.endBody();
+
+        assertEquals(List.of("body"), subscriber.chunks);
+        assertTrue(subscriber.completed);
+        assertNull(subscriber.error);
+        assertEquals(0, pool.outstanding());
+    }
+
+    @Test
+    void completesWithoutDemandOnceBodyIsEmpty() {
+        subscribed();
+
+        request.endBody();
+
+        assertTrue(subscriber.completed);
+        assertTrue(subscriber.chunks.isEmpty());
+    }
+
+    @Test
+    void signalsReadFailureAndReleasesBuffer() {
+        subscribed();
+        subscriber.subscription.request(Long.MAX_VALUE);
+        request.deliver(bytes("partial"));
+        IOException failure = new IOException("Connection reset");
+
+        request.failBody(failure);
+
+        assertSame(failure, subscriber.error);
+        assertFalse(subscriber.completed);
+        assertEquals(0, pool.outstanding());
+    }
+
+    @Test
+    void stopsReadingOnCancel() {
+        subscribed();
+        subscriber.subscription.request(Long.MAX_VALUE);
+        request.deliver(bytes("first"));
+
+        subscriber.subscription.cancel();
+        request.deliver(bytes("second"));
+        request.endBody();
+
+        assertEquals(List.of("first"), subscriber.chunks);
+        assertFalse(subscriber.completed);
+        assertEquals(0, pool.outstanding());
+    }
+
+    @Test
+    void failsOutsideAsyncMode() {
+        new RequestBodyPublisher(request, pool).subscribe(subscriber);
+
+        assertInstanceOf(IllegalStateException.class, subscriber.error);
+    }
+
+    @Test
+    void rejectsSecondSubscriber() {
+        RequestBodyPublisher publisher = subscribed();
+        ChunkSubscriber second = new ChunkSubscriber();
+
+        publisher.subscribe(second);
+
+        assertInstanceOf(IllegalStateException.class, second.error);
+        assertNull(subscriber.error);
+    }
+
+    @Test
+    void failsOnNonPositiveDemand() {
+        subscribed();
+
+        subscriber.subscription.request(0);
+
+        assertInstanceOf(IllegalArgumentException.class, subscriber.error);
+    }
+
+    private static class ChunkSubscriber implements Flow.Subscriber<ByteBuffer> {
+        final List<String> chunks = new CopyOnWriteArrayList<>();
+        volatile Flow.Subscription subscription;
+        volatile Throwable error;
+        volatile boolean completed;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(ByteBuffer item) {
+            chunks.add(StandardCharsets.UTF_8.decode(item).toString());
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.petros.bringframework.web.servlet.support.body;
+
+import com.petros.bringframework.web.servlet.InMemoryAsyncContext;
+import com.petros.bringframework.web.servlet.InMemoryHttpServletRequest;
+import com.petros.bringframework.web.servlet.InMemoryHttpServletResponse;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RequestBodyReaderTest {
+
+    private final CountingBufferPool pool = new CountingBufferPool(16);
+    private final InMemoryHttpServletRequest request = new InMemoryHttpServletRequest("POST", "/upload");
+    private final InMemoryHttpServletResponse response = new InMemoryHttpServletResponse();
+
+    private InMemoryAsyncContext read(long maxBodySize) throws IOException {
+        RequestBodyReader.readThenDispatch(request, response, pool, maxBodySize, -1);
+        return request.getLastAsyncContext();
+    }
+
+    private static byte[] bytes(String content) {
+        return content.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void detectsAnnouncedBody() {
+        assertFalse(RequestBodyReader.hasBody(new InMemoryHttpServletRequest("POST", "/upload")));
+        assertTrue(RequestBodyReader.hasBody(new InMemoryHttpServletRequest("POST", "/upload").contentLength(1)));
+        assertTrue(RequestBodyReader.hasBody(new InMemoryHttpServletRequest("POST", "/upload")
+                .streamingBody("text/plain")));
+    }
+
+    @Test
+    void readsBodyAsItArrivesThenDispatches() throws IOException {
+        request.streamingBody("text/plain");
+        InMemoryAsyncContext asyncContext = read(1024);
+        assertNotNull(asyncContext);
+        assertFalse(asyncContext.isTimeoutSet());
+
+        request.deliver(bytes("The body arrives "));
+        request.deliver(bytes("in several chunks"));
+        assertFalse(asyncContext.isDispatched());
+        assertNull(BufferedRequestBody.from(request));
+
+        request.endBody();
+
+        assertTrue(asyncContext.isDispatched());
+        BufferedRequestBody body = BufferedRequestBody.from(request);
+        assertNotNull(body);
+        assertEquals(34, body.size());
+        assertEquals("The body arrives in several chunks", body.asString(StandardCharsets.UTF_8));
+        try (InputStream in = body.getInputStream()) {
+            assertEquals("The body arrives in several chunks", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        assertEquals(3, pool.outstanding());
+        body.release();
+        assertEquals(0, pool.outstanding());
+    }
+
+    @Test
+    void readsBodyAvailableAtOnce() throws IOException {
+        request.body("complete", "text/plain");
+
+        InMemoryAsyncContext asyncContext = read(1024);
+
+        assertTrue(asyncContext.isDispatched());
+        assertEquals("complete", BufferedRequestBody.from(request).asString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void answersTooLargeWithoutReadingWhenDeclaredLengthExceedsLimit() throws IOException {
+        request.body(new byte[100], "application/octet-stream");
+
+        assertNull(read(99));
+
+        assertTrue(response.isErrorSent());
+        assertEquals(413, response.getStatus());
+        assertEquals(0, pool.outstanding());
+    }
+
+    @Test
+    void answersTooLargeAndReleasesBuffersOnceStreamedBodyExceedsLimit() throws IOException {
+        request.streamingBody("application/octet-stream");
+        InMemoryAsyncContext asyncContext = read(20);
+
+        request.deliver(new byte[16]);
+        assertFalse(asyncContext.isCompleted());
+        request.deliver(new byte[16]);
+
+        assertTrue(asyncContext.isCompleted());
+        assertFalse(asyncContext.isDispatched());
+        assertEquals(413, response.getStatus());
+        assertEquals(0, pool.outstanding());
+        assertNull(BufferedRequestBody.from(request));
+    }
+
+    @Test
+    void answersBadRequestAndReleasesBuffersWhenReadingFails() throws IOException {
+        request.streamingBody("text/plain");
+        InMemoryAsyncContext asyncContext = read(1024);
+        request.deliver(bytes("partial body"));
+
+        request.failBody(new IOException("Connection reset"));
+
+        assertTrue(asyncContext.isCompleted());
+        assertEquals(400, response.getStatus());
+        assertEquals(0, pool.outstanding());
+    }
+
+    @Test
+    void answersRequestTimeoutAndReleasesBuffersWhenUploadStalls() throws IOException {
+        request.streamingBody("text/plain");
+        RequestBodyReader.readThenDispatch(request, response, pool, 1024, 5000);
+        InMemoryAsyncContext asyncContext = request.getLastAsyncContext();
+        assertEquals(5000, asyncContext.getTimeout());
+        request.deliver(bytes("partial body"));
+
+        asyncContext.timeout();
+
+        assertTrue(asyncContext.isCompleted());
+        assertEquals(408, response.getStatus());
+        assertEquals(0, pool.outstanding());
+    }
+
+    @Test
+    void ignoresDataArrivingAfterFailure() throws IOException {
+        request.streamingBody("text/plain");
+        InMemoryAsyncContext asyncContext = read(1024);
+        asyncContext.timeout();
+
+        request.deliver(bytes("late"));
+        request.endBody();
+
+        assertFalse(asyncContext.isDispatched());
+        assertEquals(408, response.getStatus());
+        assertEquals(0, pool.outstanding());
+    }
+}
@@ -0,0 +1,146 @@
+package com.petros.bringframework.web.servlet.support.cache;
+
+import com.petros.bringframework.web.servlet.InMemoryHttpServletRequest;
+import com.petros.bringframework.web.servlet.InMemoryHttpServletResponse;
+import com.petros.bringframework.web.servlet.support.utils.EntityTags;
+import org.junit.jupiter.api.Test;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CachingResponseWrapperTest {
+
+    private static final CachePolicy POLICY = new CachePolicy(TimeUnit.MINUTES.toNanos(1), List.of());
+    private static final String BODY = "{\"items\":[1,2,3]}";
+
+    private final ResponseCache cache = new ResponseCache();
+    private final InMemoryHttpServletRequest request = new InMemoryHttpServletRequest("GET", "/items");
+    private final InMemoryHttpServletResponse response = new InMemoryHttpServletResponse();
+
+    private HttpServletResponse wrapped() {
+        HttpServletResponse wrapped = cache.lookup(request, response, POLICY);
+        assertNotNull(wrapped);
+        return wrapped;
+    }
+
+    private static void write(HttpServletResponse resp, String body) throws IOException {
+        resp.setContentType("application/json");
+        resp.setContentLength(body.length());
+        ServletOutputStream out = resp.getOutputStream();
+        out.write(body.getBytes(StandardCharsets.UTF_8));
+        out.close();
+    }
+
+    @Test
+    void cachesSuccessfulResponseAndServesItAfterwards() throws IOException {
+        write(wrapped(), BODY);
+
+        String etag = EntityTags.of(BODY.getBytes(StandardCharsets.UTF_8));
+        assertEquals(200, response.getStatus());
+        assertEquals(etag, response.getHeader("ETag"));
+        assertEquals(Integer.toString(BODY.length()), response.getHeader("Content-Length"));
+        assertEquals(BODY, response.getContentAsString());
+        CachedResponse cached = cache.get("/items");
+        assertNotNull(cached);
+        assertEquals("application/json", cached.getContentType());
+
+        InMemoryHttpServletResponse next = new InMemoryHttpServletResponse();
+        assertNull(cache.lookup(new InMemoryHttpServletRequest("GET", "/items"), next, POLICY));
+        assertEquals(etag, next.getHeader("ETag"));
+        assertEquals(BODY, next.getContentAsString());
+    }
+
+    @Test
+    void answersNotModifiedWhenComputedEntityTagMatches() throws IOException {
+        request.header("If-None-Match", EntityTags.of(BODY.getBytes(StandardCharsets.UTF_8)));
+
+        write(wrapped(), BODY);
+
+        assertEquals(304, response.getStatus());
+        assertEquals("", response.getContentAsString());
+        assertNotNull(cache.get("/items"));
+    }
+
+    @Test
+    void cachesBodyCompletedWithoutClosing() throws IOException {
+        HttpServletResponse wrapped = wrapped();
+        wrapped.setContentType("text/plain");
+        wrapped.getWriter().write("written by a writer");
+
+        ResponseCache.finish(wrapped);
+
+        assertEquals("written by a writer", response.getContentAsString());
+        assertEquals("19", response.getHeader("Content-Length"));
+        assertNotNull(cache.get("/items"));
+    }
+
+    @Test
+    void writesButDoesNotCacheOtherStatuses() throws IOException {
+        HttpServletResponse wrapped = wrapped();
+        wrapped.setStatus(HttpServletResponse.SC_CREATED);
+
+        write(wrapped, BODY);
+
+        assertEquals(201, response.getStatus());
+        assertNull(response.getHeader("ETag"));
+        assertEquals(Integer.toString(BODY.length()), response.getHeader("Content-Length"));
+        assertEquals(BODY, response.getContentAsString());
+        assertNull(cache.get("/items"));
+    }
+
+    @Test
+    void doesNotCacheErrors() throws IOException {
+        HttpServletResponse wrapped = wrapped();
+        wrapped.getOutputStream().write("partial".getBytes(StandardCharsets.UTF_8));
+
+        wrapped.sendError(HttpServletResponse.SC_NOT_FOUND);
+        ResponseCache.finish(wrapped);
+
+        assertTrue(response.isErrorSent());
+        assertEquals(404, response.getStatus());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void passesThroughBodyLargerThanMaxEntrySize() throws IOException {
+        cache.setMaxEntrySize(8);
+        HttpServletResponse wrapped = wrapped();
+
+        write(wrapped, BODY);
+
+        assertEquals(BODY, response.getContentAsString());
+        assertEquals(Integer.toString(BODY.length()), response.getHeader("Content-Length"));
+        assertNull(response.getHeader("ETag"));
+        assertNull(cache.get("/items"));
+    }
+
+    @Test
+    void discardsCapturedBodyOnReset() throws IOException {
+        HttpServletResponse wrapped = wrapped();
+        wrapped.getOutputStream().write("discarded".getBytes(StandardCharsets.UTF_8));
+
+        wrapped.resetBuffer();
+        write(wrapped, BODY);
+
+        assertEquals(BODY, response.getContentAsString());
+        assertEquals(BODY.length(), cache.get("/items").size());
+    }
+
+    @Test
+    void rejectsWritesOnceCompleted() throws IOException {
+        HttpServletResponse wrapped = wrapped();
+        write(wrapped, BODY);
+
+        assertThrows(IOException.class, () -> wrapped.getOutputStream().write(1));
+    }
+}
@@ -0,0 +1,160 @@
+package com.petros.bringframework.web.servlet.support.cache;
+
+import com.petros.bringframework.web.servlet.InMemoryHttpServletRequest;
+import com.petros.bringframework.web.servlet.InMemoryHttpServletResponse;
+import com.petros.bringframework.web.servlet.support.utils.EntityTags;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ResponseCacheTest {
+
+    private static final CachePolicy POLICY = new CachePolicy(TimeUnit.MINUTES.toNanos(1), List.of());
+
+    private final ResponseCache cache = new ResponseCache();
+
+    private static CachedResponse response(String body) {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        return new CachedResponse("text/plain", bytes, EntityTags.of(bytes), System.nanoTime() + POLICY.ttlNanos());
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedBeyondMaxEntries() {
+        cache.setMaxEntries(2);
+        cache.put("a", response("a"));
+        cache.put("b", response("b"));
+
+        cache.get("a");
+        cache.put("c", response("c"));
+
+        assertNotNull(cache.get("a"));
+        assertNull(cache.get("b"));
+        assertNotNull(cache.get("c"));
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedBeyondMaxSize() {
+        cache.setMaxSize(10);
+        cache.put("a", response("1234"));
+        cache.put("b", response("1234"));
+        cache.get("a");
+
+        cache.put("c", response("1234"));
+
+        assertNotNull(cache.get("a"));
+        assertNull(cache.get("b"));
+        assertNotNull(cache.get("c"));
+    }
+
+    @Test
+    void accountsForReplacedEntries() {
+        cache.setMaxSize(10);
+        cache.put("a", response("123456789"));
+        cache.put("a", response("1"));
+
+        cache.put("b", response("123456789"));
+
+        assertNotNull(cache.get("a"));
+        assertNotNull(cache.get("b"));
+    }
+
+    @Test
+    void skipsEntriesLargerThanMaxEntrySize() {
+        cache.setMaxEntrySize(4);
+
+        cache.put("a", response("12345"));
+
+        assertNull(cache.get("a"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void dropsExpiredEntries() {
+        byte[] body = "stale".getBytes(StandardCharsets.UTF_8);
+        cache.put("a", new CachedResponse("text/plain", body, EntityTags.of(body), System.nanoTime() - 1));
+
+        assertNull(cache.get("a"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void evictsAndClearsEntries() {
+        cache.put("a", response("a"));
+        cache.put("b", response("b"));
+
+        cache.evict("a");
+        assertNull(cache.get("a"));
+        assertEquals(1, cache.size());
+
+        cache.clear();
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void servesFreshEntryWithItsEntityTag() {
+        CachedResponse cached = response("cached body");
+        cache.put("/items", cached);
+        InMemoryHttpServletResponse resp = new InMemoryHttpServletResponse();
+
+        assertNull(cache.lookup(new InMemoryHttpServletRequest("GET", "/items"), resp, POLICY));
+
+        assertEquals(200, resp.getStatus());
+        assertEquals(cached.getEtag(), resp.getHeader("ETag"));
+        assertEquals("text/plain", resp.getContentType());
+        assertEquals("11", resp.getHeader("Content-Length"));
+        assertEquals("cached body", resp.getContentAsString());
+    }
+
+    @Test
+    void answersNotModifiedWhenIfNoneMatchMatches() {
+        CachedResponse cached = response("cached body");
+        cache.put("/items", cached);
+
+        for (String ifNoneMatch : List.of(cached.getEtag(), "\"other\", " + EntityTags.weaken(cached.getEtag()), "*")) {
+            InMemoryHttpServletResponse resp = new InMemoryHttpServletResponse();
+            InMemoryHttpServletRequest req = new InMemoryHttpServletRequest("GET", "/items")
+                    .header("If-None-Match", ifNoneMatch);
+
+            assertNull(cache.lookup(req, resp, POLICY));
+
+            assertEquals(304, resp.getStatus(), ifNoneMatch);
+            assertEquals(cached.getEtag(), resp.getHeader("ETag"));
+            assertEquals("", resp.getContentAsString());
+        }
+    }
+
+    @Test
+    void wrapsResponseOnMissOrChangedEntityTag() {
+        InMemoryHttpServletResponse resp = new InMemoryHttpServletResponse();
+        InMemoryHttpServletRequest req = new InMemoryHttpServletRequest("GET", "/items");
+
+        assertInstanceOf(CachingResponseWrapper.class, cache.lookup(req, resp, POLICY));
+
+        cache.put("/items", response("new body"));
+        req.header("If-None-Match", "\"old\"");
+        assertNull(cache.lookup(req, resp, POLICY));
+        assertEquals(200, resp.getStatus());
+        assertEquals("new body", resp.getContentAsString());
+    }
+
+    @Test
+    void keysRequestsByPathAndVaryingHeaders() {
+        CachePolicy policy = new CachePolicy(POLICY.ttlNanos(), List.of("Accept-Language"));
+        InMemoryHttpServletRequest english = new InMemoryHttpServletRequest("GET", "/items")
+                .header("Accept-Language", "en");
+
+        assertEquals("/items\nAccept-Language:en", policy.keyOf(english));
+        assertEquals("/items\nAccept-Language:", policy.keyOf(new InMemoryHttpServletRequest("GET", "/items")));
+        assertNotEquals(policy.keyOf(english), policy.keyOf(new InMemoryHttpServletRequest("GET", "/items")
+                .header("Accept-Language", "uk")));
+    }
+}
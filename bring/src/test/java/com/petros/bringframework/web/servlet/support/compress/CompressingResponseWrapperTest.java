@@ -0,0 +1,217 @@
+package com.petros.bringframework.web.servlet.support.compress;
+
+import com.petros.bringframework.web.servlet.InMemoryHttpServletRequest;
+import com.petros.bringframework.web.servlet.InMemoryHttpServletResponse;
+import com.petros.bringframework.web.servlet.support.common.Compression;
+import org.junit.jupiter.api.Test;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintWriter;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CompressingResponseWrapperTest {
+
+    private static final byte[] CONTENT = "A line of text compressing well.\n".repeat(200).getBytes(StandardCharsets.UTF_8);
+
+    private final ResponseCompressor compressor = new ResponseCompressor();
+    private final InMemoryHttpServletResponse response = new InMemoryHttpServletResponse();
+
+    private HttpServletResponse wrap(String acceptEncoding) {
+        InMemoryHttpServletRequest request = new InMemoryHttpServletRequest("GET", "/text");
+        if (acceptEncoding != null) request.header("Accept-Encoding", acceptEncoding);
+        return compressor.wrap(request, response, Compression.ENABLED, -1);
+    }
+
+    private static byte[] gunzip(byte[] compressed) throws IOException {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return in.readAllBytes();
+        }
+    }
+
+    @Test
+    void compressesWithGzipWritingTrailerOnClose() throws IOException {
+        HttpServletResponse wrapped = wrap("gzip, deflate");
+        wrapped.setContentType("text/plain");
+        wrapped.setContentLength(CONTENT.length);
+        ServletOutputStream out = wrapped.getOutputStream();
+
+        out.write(CONTENT);
+        out.flush();
+        byte[] open = response.getContentAsByteArray();
+        assertEquals(0x1f, open[0]);
+        assertEquals((byte) 0x8b, open[1]);
+        assertThrows(EOFException.class, () -> gunzip(open));
+
+        out.close();
+
+        assertEquals("gzip", response.getHeader("Content-Encoding"));
+        assertEquals("Accept-Encoding", response.getHeader("Vary"));
+        assertNull(response.getHeader("Content-Length"));
+        byte[] compressed = response.getContentAsByteArray();
+        assertTrue(compressed.length < CONTENT.length / 4, () -> "compressed to " + compressed.length);
+        assertArrayEquals(CONTENT, gunzip(compressed));
+        ByteBuffer trailer = ByteBuffer.wrap(compressed, compressed.length - 8, 8).order(ByteOrder.LITTLE_ENDIAN);
+        CRC32 crc = new CRC32();
+        crc.update(CONTENT);
+        assertEquals((int) crc.getValue(), trailer.getInt());
+        assertEquals(CONTENT.length, trailer.getInt());
+    }
+
+    @Test
+    void compressesWithDeflateWhenPreferred() throws IOException {
+        HttpServletResponse wrapped = wrap("gzip;q=0.5, deflate");
+        wrapped.setContentType("application/json");
+
+        wrapped.getOutputStream().write(CONTENT);
+        ResponseCompressor.finish(wrapped);
+
+        assertEquals("deflate", response.getHeader("Content-Encoding"));
+        try (InputStream in = new InflaterInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))) {
+            assertArrayEquals(CONTENT, in.readAllBytes());
+        }
+    }
+
+    @Test
+    void compressesWrittenCharactersInSmallWrites() throws IOException {
+        HttpServletResponse wrapped = wrap("gzip");
+        wrapped.setContentType("text/html");
+        PrintWriter writer = wrapped.getWriter();
+
+        String text = new String(CONTENT, StandardCharsets.UTF_8);
+        for (String line : text.split("(?<=\n)")) {
+            writer.write(line);
+        }
+        ResponseCompressor.finish(wrapped);
+
+        assertEquals(text, new String(gunzip(response.getContentAsByteArray()), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void reusesDeflatersAcrossResponses() throws IOException {
+        for (int i = 0; i < 3; i++) {
+            InMemoryHttpServletResponse each = new InMemoryHttpServletResponse();
+            HttpServletResponse wrapped = compressor.wrap(new InMemoryHttpServletRequest("GET", "/text")
+                    .header("Accept-Encoding", "gzip"), each, Compression.ENABLED, -1);
+            wrapped.setContentType("text/plain");
+
+            wrapped.getOutputStream().write(CONTENT, 0, CONTENT.length - i);
+            wrapped.getOutputStream().close();
+
+            assertArrayEquals(Arrays.copyOf(CONTENT, CONTENT.length - i), gunzip(each.getContentAsByteArray()));
+        }
+    }
+
+    @Test
+    void writesSmallBodyAsItIsWithItsLength() throws IOException {
+        HttpServletResponse wrapped = wrap("gzip");
+        wrapped.setContentType("text/plain");
+
+        wrapped.getOutputStream().write("short".getBytes(StandardCharsets.UTF_8));
+        ResponseCompressor.finish(wrapped);
+
+        assertNull(response.getHeader("Content-Encoding"));
+        assertEquals("5", response.getHeader("Content-Length"));
+        assertEquals("short", response.getContentAsString());
+    }
+
+    @Test
+    void passesThroughIncompressibleType() throws IOException {
+        HttpServletResponse wrapped = wrap("gzip");
+        wrapped.setContentType("image/png");
+        wrapped.setContentLength(CONTENT.length);
+
+        wrapped.getOutputStream().write(CONTENT);
+        ResponseCompressor.finish(wrapped);
+
+        assertNull(response.getHeader("Content-Encoding"));
+        assertNull(response.getHeader("Vary"));
+        assertEquals(Integer.toString(CONTENT.length), response.getHeader("Content-Length"));
+        assertArrayEquals(CONTENT, response.getContentAsByteArray());
+    }
+
+    @Test
+    void passesThroughWhenClientAcceptsNoCoding() throws IOException {
+        HttpServletResponse wrapped = wrap("gzip;q=0");
+        wrapped.setContentType("text/plain");
+
+        wrapped.getOutputStream().write(CONTENT);
+        ResponseCompressor.finish(wrapped);
+
+        assertNull(response.getHeader("Content-Encoding"));
+        assertEquals("Accept-Encoding", response.getHeader("Vary"));
+        assertArrayEquals(CONTENT, response.getContentAsByteArray());
+    }
+
+    @Test
+    void weakensEntityTagOfCompressedBody() throws IOException {
+        HttpServletResponse wrapped = wrap("gzip");
+        wrapped.setContentType("text/plain");
+        wrapped.setHeader("ETag", "\"v1\"");
+        wrapped.setHeader("Vary", "Origin");
+
+        wrapped.getOutputStream().write(CONTENT);
+        ResponseCompressor.finish(wrapped);
+
+        assertEquals("W/\"v1\"", response.getHeader("ETag"));
+        assertEquals("Origin, Accept-Encoding", response.getHeader("Vary"));
+    }
+
+    @Test
+    void leavesPartialContentUncompressed() throws IOException {
+        HttpServletResponse wrapped = wrap("gzip");
+        wrapped.setContentType("text/plain");
+        wrapped.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+
+        wrapped.getOutputStream().write(CONTENT);
+        ResponseCompressor.finish(wrapped);
+
+        assertNull(response.getHeader("Content-Encoding"));
+        assertArrayEquals(CONTENT, response.getContentAsByteArray());
+    }
+
+    @Test
+    void discardsCompressedBodyOnError() throws IOException {
+        HttpServletResponse wrapped = wrap("gzip");
+        wrapped.setContentType("text/plain");
+        wrapped.getOutputStream().write(CONTENT, 0, 100);
+
+        wrapped.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+        ResponseCompressor.finish(wrapped);
+
+        assertTrue(response.isErrorSent());
+        assertEquals(0, response.getContentAsByteArray().length);
+        assertThrows(IOException.class, () -> wrapped.getOutputStream().write(CONTENT));
+    }
+
+    @Test
+    void wrapsOnlyWhenCompressionApplies() {
+        InMemoryHttpServletRequest get = new InMemoryHttpServletRequest("GET", "/text").header("Accept-Encoding", "gzip");
+        InMemoryHttpServletRequest head = new InMemoryHttpServletRequest("HEAD", "/text").header("Accept-Encoding", "gzip");
+
+        assertSame(response, compressor.wrap(get, response, Compression.DEFAULT, -1));
+        assertSame(response, compressor.wrap(get, response, Compression.DISABLED, -1));
+        assertSame(response, compressor.wrap(head, response, Compression.ENABLED, -1));
+        assertInstanceOf(CompressingResponseWrapper.class, compressor.wrap(get, response, Compression.ENABLED, -1));
+        compressor.setEnabled(true);
+        assertInstanceOf(CompressingResponseWrapper.class, compressor.wrap(get, response, Compression.DEFAULT, -1));
+    }
+}
@@ -0,0 +1,45 @@
+package com.petros.bringframework.web.servlet.support.compress;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ContentCodingTest {
+
+    @Test
+    void acceptsNothingWithoutHeader() {
+        assertNull(ContentCoding.negotiate(null));
+        assertNull(ContentCoding.negotiate(" "));
+        assertNull(ContentCoding.negotiate("identity, br"));
+    }
+
+    @Test
+    void prefersGzipOnTie() {
+        assertEquals(ContentCoding.GZIP, ContentCoding.negotiate("deflate, gzip"));
+        assertEquals(ContentCoding.GZIP, ContentCoding.negotiate("gzip;q=0.5, deflate;q=0.5"));
+        assertEquals(ContentCoding.GZIP, ContentCoding.negotiate("x-gzip"));
+    }
+
+    @Test
+    void picksCodingWithHighestQuality() {
+        assertEquals(ContentCoding.DEFLATE, ContentCoding.negotiate("gzip;q=0.5, deflate"));
+        assertEquals(ContentCoding.DEFLATE, ContentCoding.negotiate("GZIP ; q=0.2 , Deflate ; q=0.8"));
+        assertEquals(ContentCoding.GZIP, ContentCoding.negotiate("deflate;q=0.1, gzip;level=1;q=0.3"));
+    }
+
+    @Test
+    void excludesCodingsWithZeroQuality() {
+        assertEquals(ContentCoding.DEFLATE, ContentCoding.negotiate("gzip;q=0, deflate;q=0.1"));
+        assertNull(ContentCoding.negotiate("gzip;q=0, deflate;q=0.0"));
+        assertNull(ContentCoding.negotiate("gzip;q=invalid"));
+    }
+
+    @Test
+    void appliesWildcardToUnlistedCodingsOnly() {
+        assertEquals(ContentCoding.GZIP, ContentCoding.negotiate("*"));
+        assertEquals(ContentCoding.DEFLATE, ContentCoding.negotiate("gzip;q=0, *"));
+        assertEquals(ContentCoding.DEFLATE, ContentCoding.negotiate("gzip;q=0.2, *;q=0.5"));
+        assertNull(ContentCoding.negotiate("br, *;q=0"));
+    }
+}
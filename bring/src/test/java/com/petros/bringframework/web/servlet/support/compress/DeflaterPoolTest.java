@@ -0,0 +1,94 @@
+package com.petros.bringframework.web.servlet.support.compress;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DeflaterPoolTest {
+
+    private static byte[] compress(Deflater deflater, String content) {
+        deflater.setInput(content.getBytes(StandardCharsets.UTF_8));
+        deflater.finish();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] chunk = new byte[64];
+        while (!deflater.finished()) {
+            out.write(chunk, 0, deflater.deflate(chunk));
+        }
+        return out.toByteArray();
+    }
+
+    private static String inflate(byte[] compressed, boolean nowrap) throws DataFormatException {
+        Inflater inflater = new Inflater(nowrap);
+        try {
+            inflater.setInput(compressed);
+            byte[] content = new byte[1024];
+            int length = inflater.inflate(content);
+            return new String(content, 0, length, StandardCharsets.UTF_8);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    @Test
+    void resetsDeflaterBeforeReusingIt() throws DataFormatException {
+        DeflaterPool pool = new DeflaterPool(Deflater.BEST_SPEED, true, 1);
+        Deflater deflater = pool.acquire();
+        compress(deflater, "a first body, finished before the deflater returns to the pool");
+
+        pool.release(deflater);
+        Deflater reused = pool.acquire();
+
+        assertSame(deflater, reused);
+        assertFalse(reused.finished());
+        assertEquals(0, reused.getBytesRead());
+        assertEquals("a second body", inflate(compress(reused, "a second body"), true));
+    }
+
+    @Test
+    void resetsDeflaterAbandonedHalfway() throws DataFormatException {
+        DeflaterPool pool = new DeflaterPool(Deflater.DEFAULT_COMPRESSION, false, 1);
+        Deflater deflater = pool.acquire();
+        deflater.setInput(new byte[4096]);
+        deflater.deflate(new byte[16]);
+
+        pool.release(deflater);
+
+        assertEquals("in zlib format", inflate(compress(pool.acquire(), "in zlib format"), false));
+    }
+
+    @Test
+    void endsDeflatersBeyondCapacity() {
+        DeflaterPool pool = new DeflaterPool(Deflater.DEFAULT_COMPRESSION, true, 1);
+        Deflater pooled = pool.acquire();
+        Deflater extra = pool.acquire();
+
+        pool.release(pooled);
+        pool.release(extra);
+
+        assertThrows(NullPointerException.class, () -> extra.deflate(new byte[16]));
+        assertSame(pooled, pool.acquire());
+        assertNotSame(extra, pool.acquire());
+    }
+
+    @Test
+    void endsPooledDeflatersOnClear() {
+        DeflaterPool pool = new DeflaterPool(Deflater.DEFAULT_COMPRESSION, true, 1);
+        Deflater deflater = pool.acquire();
+        pool.release(deflater);
+
+        pool.clear();
+
+        assertThrows(NullPointerException.class, () -> deflater.deflate(new byte[16]));
+        assertNotSame(deflater, pool.acquire());
+    }
+}
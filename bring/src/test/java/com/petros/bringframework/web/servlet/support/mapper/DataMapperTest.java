@@ -0,0 +1,72 @@
+package com.petros.bringframework.web.servlet.support.mapper;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DataMapperTest {
+
+    private static final String ITEMS = "[{\"name\":\"first\"},{\"name\":\"second\"}]";
+
+    private final JsonDataMapper jsonDataMapper = new JsonDataMapper();
+    // Implements the String based methods only, as mappers written before the stream based ones
+    private final DataMapper stringMapper = new DataMapper() {
+        @Override
+        public <T> T readValue(String content, Class<T> valueType) throws JsonProcessingException {
+            return jsonDataMapper.readValue(content, valueType);
+        }
+
+        @Override
+        public String writeValueAsString(Object value) throws JsonProcessingException {
+            return jsonDataMapper.writeValueAsString(value);
+        }
+    };
+
+    private static InputStream content(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Type itemsType() throws NoSuchMethodException {
+        return DataMapperTest.class.getDeclaredMethod("items").getGenericReturnType();
+    }
+
+    @SuppressWarnings("unused")
+    private static List<Item> items() {
+        return List.of();
+    }
+
+    @Test
+    void readsClassThroughStringMethodByDefault() throws IOException {
+        Item item = stringMapper.readValue(content("{\"name\":\"only\"}"), Item.class);
+
+        assertEquals(new Item("only"), item);
+    }
+
+    @Test
+    void rejectsGenericTypeByDefault() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> stringMapper.readValue(content(ITEMS), itemsType()));
+
+        assertTrue(exception.getMessage().contains("List<"), exception::getMessage);
+    }
+
+    @Test
+    void readsGenericTypeWithJsonDataMapper() throws Exception {
+        List<Item> items = jsonDataMapper.readValue(content(ITEMS), itemsType());
+
+        assertEquals(List.of(new Item("first"), new Item("second")), items);
+    }
+
+    record Item(String name) {
+    }
+}
@@ -0,0 +1,86 @@
+package com.petros.bringframework.web.servlet.support.resource;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ByteRangeTest {
+
+    private static final long LENGTH = 1000;
+
+    @Test
+    void parsesClosedRange() {
+        assertEquals(List.of(new ByteRange(0, 499)), ByteRange.parse("bytes=0-499", LENGTH));
+        assertEquals(List.of(new ByteRange(999, 999)), ByteRange.parse("Bytes= 999-999 ", LENGTH));
+    }
+
+    @Test
+    void parsesSuffixRange() {
+        assertEquals(List.of(new ByteRange(500, 999)), ByteRange.parse("bytes=-500", LENGTH));
+        assertEquals(List.of(new ByteRange(0, 999)), ByteRange.parse("bytes=-5000", LENGTH));
+    }
+
+    @Test
+    void parsesOpenRange() {
+        assertEquals(List.of(new ByteRange(900, 999)), ByteRange.parse("bytes=900-", LENGTH));
+        assertEquals(List.of(new ByteRange(900, 999)), ByteRange.parse("bytes=900-5000", LENGTH));
+    }
+
+    @Test
+    void leavesOutUnsatisfiableRanges() {
+        assertTrue(ByteRange.parse("bytes=1000-", LENGTH).isEmpty());
+        assertTrue(ByteRange.parse("bytes=1000-1200", LENGTH).isEmpty());
+        assertTrue(ByteRange.parse("bytes=-0", LENGTH).isEmpty());
+        assertTrue(ByteRange.parse("bytes=0-", 0).isEmpty());
+        assertEquals(List.of(new ByteRange(0, 9)), ByteRange.parse("bytes=0-9, 2000-2010", LENGTH));
+    }
+
+    @Test
+    void parsesMultipleRangesInRequestedOrder() {
+        assertEquals(List.of(new ByteRange(500, 599), new ByteRange(0, 9), new ByteRange(990, 999)),
+                ByteRange.parse("bytes=500-599,0-9, -10", LENGTH));
+        assertEquals(List.of(new ByteRange(0, 9), new ByteRange(10, 19)), ByteRange.parse("bytes=0-9,10-19", LENGTH));
+    }
+
+    @Test
+    void rejectsOverlappingRanges() {
+        assertNull(ByteRange.parse("bytes=0-9,5-14", LENGTH));
+        assertNull(ByteRange.parse("bytes=100-199,0-", LENGTH));
+        assertNull(ByteRange.parse("bytes=990-,-5", LENGTH));
+        assertNull(ByteRange.parse("bytes=0-0,0-0", LENGTH));
+    }
+
+    @Test
+    void rejectsTooManyRanges() {
+        String ranges = IntStream.rangeClosed(0, ByteRange.MAX_RANGES)
+                .mapToObj(i -> i * 10 + "-" + (i * 10 + 1))
+                .collect(Collectors.joining(","));
+
+        assertNull(ByteRange.parse("bytes=" + ranges, LENGTH));
+    }
+
+    @Test
+    void rejectsInvalidHeader() {
+        assertNull(ByteRange.parse("items=0-9", LENGTH));
+        assertNull(ByteRange.parse("bytes=9", LENGTH));
+        assertNull(ByteRange.parse("bytes=a-b", LENGTH));
+        assertNull(ByteRange.parse("bytes=-", LENGTH));
+        assertNull(ByteRange.parse("bytes=9-0", LENGTH));
+        assertNull(ByteRange.parse("bytes=--5", LENGTH));
+        assertNull(ByteRange.parse("bytes=+1-5", LENGTH));
+    }
+
+    @Test
+    void describesRange() {
+        ByteRange range = new ByteRange(10, 19);
+
+        assertEquals(10, range.length());
+        assertEquals("bytes 10-19/1000", range.toContentRange(LENGTH));
+    }
+}
@@ -0,0 +1,230 @@
+package com.petros.bringframework.web.servlet.support.resource;
+
+import com.petros.bringframework.web.servlet.InMemoryHttpServletRequest;
+import com.petros.bringframework.web.servlet.InMemoryHttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ContentResponseWriterTest {
+
+    private static final String CONTENT = "abcdefghijklmnopqrstuvwxyz".repeat(40);
+    private static final Instant LAST_MODIFIED = Instant.parse("2024-03-01T10:15:30Z");
+
+    @TempDir
+    Path directory;
+
+    private final InMemoryHttpServletRequest request = new InMemoryHttpServletRequest("GET", "/download");
+    private final InMemoryHttpServletResponse response = new InMemoryHttpServletResponse();
+
+    private void writeFile() throws IOException {
+        Path file = Files.writeString(directory.resolve("letters.txt"), CONTENT);
+        Files.setLastModifiedTime(file, FileTime.from(LAST_MODIFIED));
+        response.setContentType("text/plain");
+        ContentResponseWriter.write(file, request, response);
+    }
+
+    private void assertWhole() {
+        assertEquals(200, response.getStatus());
+        assertNull(response.getHeader("Content-Range"));
+        assertEquals(Integer.toString(CONTENT.length()), response.getHeader("Content-Length"));
+        assertEquals(CONTENT, response.getContentAsString());
+    }
+
+    @Test
+    void writesWholeFileWithItsLength() throws IOException {
+        writeFile();
+
+        assertWhole();
+        assertEquals("bytes", response.getHeader("Accept-Ranges"));
+        assertTrue(response.isOutputClosed());
+    }
+
+    @Test
+    void writesSingleRange() throws IOException {
+        request.header("Range", "bytes=26-51");
+
+        writeFile();
+
+        assertEquals(206, response.getStatus());
+        assertEquals("bytes 26-51/1040", response.getHeader("Content-Range"));
+        assertEquals("26", response.getHeader("Content-Length"));
+        assertEquals("text/plain", response.getContentType());
+        assertEquals("abcdefghijklmnopqrstuvwxyz", response.getContentAsString());
+    }
+
+    @Test
+    void writesSuffixRange() throws IOException {
+        request.header("Range", "bytes=-3");
+
+        writeFile();
+
+        assertEquals(206, response.getStatus());
+        assertEquals("bytes 1037-1039/1040", response.getHeader("Content-Range"));
+        assertEquals("xyz", response.getContentAsString());
+    }
+
+    @Test
+    void writesOpenRangeToEnd() throws IOException {
+        request.header("Range", "bytes=1030-");
+
+        writeFile();
+
+        assertEquals(206, response.getStatus());
+        assertEquals("bytes 1030-1039/1040", response.getHeader("Content-Range"));
+        assertEquals("qrstuvwxyz", response.getContentAsString());
+    }
+
+    @Test
+    void answersUnsatisfiableRangeWithContentLength() throws IOException {
+        request.header("Range", "bytes=1040-1100");
+
+        writeFile();
+
+        assertEquals(416, response.getStatus());
+        assertEquals("bytes */1040", response.getHeader("Content-Range"));
+        assertEquals("0", response.getHeader("Content-Length"));
+        assertEquals("", response.getContentAsString());
+    }
+
+    @Test
+    void writesMultipleRangesAsMultipartByteranges() throws IOException {
+        request.header("Range", "bytes=0-2, -2");
+
+        writeFile();
+
+        assertEquals(206, response.getStatus());
+        assertNull(response.getHeader("Content-Range"));
+        String contentType = response.getContentType();
+        assertTrue(contentType.startsWith("multipart/byteranges; boundary="), contentType);
+        String boundary = contentType.substring(contentType.indexOf('=') + 1);
+        String expected = "--" + boundary + "\r\n"
+                + "Content-Type: text/plain\r\n"
+                + "Content-Range: bytes 0-2/1040\r\n"
+                + "\r\n"
+                + "abc\r\n"
+                + "--" + boundary + "\r\n"
+                + "Content-Type: text/plain\r\n"
+                + "Content-Range: bytes 1038-1039/1040\r\n"
+                + "\r\n"
+                + "yz\r\n"
+                + "--" + boundary + "--\r\n";
+        assertEquals(expected, response.getContentAsString());
+        assertEquals(Integer.toString(expected.getBytes(StandardCharsets.US_ASCII).length),
+                response.getHeader("Content-Length"));
+    }
+
+    @Test
+    void writesWholeFileForOverlappingRanges() throws IOException {
+        request.header("Range", "bytes=0-99,50-149");
+
+        writeFile();
+
+        assertWhole();
+    }
+
+    @Test
+    void writesWholeFileForInvalidRange() throws IOException {
+        request.header("Range", "bytes=99-0");
+
+        writeFile();
+
+        assertWhole();
+    }
+
+    @Test
+    void ignoresRangeOfOtherMethods() throws IOException {
+        InMemoryHttpServletRequest post = new InMemoryHttpServletRequest("POST", "/download").header("Range", "bytes=0-2");
+        Path file = Files.writeString(directory.resolve("letters.txt"), CONTENT);
+        response.setContentType("text/plain");
+
+        ContentResponseWriter.write(file, post, response);
+
+        assertWhole();
+    }
+
+    @Test
+    void writesRangeWhenIfRangeMatchesEntityTag() throws IOException {
+        response.setHeader("ETag", "\"v1\"");
+        request.header("Range", "bytes=0-2").header("If-Range", "\"v1\"");
+
+        writeFile();
+
+        assertEquals(206, response.getStatus());
+        assertEquals("abc", response.getContentAsString());
+    }
+
+    @Test
+    void writesWholeFileWhenIfRangeIsOutdated() throws IOException {
+        response.setHeader("ETag", "\"v2\"");
+        request.header("Range", "bytes=0-2").header("If-Range", "\"v1\"");
+
+        writeFile();
+
+        assertWhole();
+    }
+
+    @Test
+    void writesWholeFileForWeakIfRange() throws IOException {
+        response.setHeader("ETag", "W/\"v1\"");
+        request.header("Range", "bytes=0-2").header("If-Range", "W/\"v1\"");
+
+        writeFile();
+
+        assertWhole();
+    }
+
+    @Test
+    void comparesIfRangeDateWithLastModification() throws IOException {
+        request.header("Range", "bytes=0-2")
+                .header("If-Range", DateTimeFormatter.RFC_1123_DATE_TIME.format(LAST_MODIFIED.atOffset(ZoneOffset.UTC)));
+
+        writeFile();
+
+        assertEquals(206, response.getStatus());
+        assertEquals("abc", response.getContentAsString());
+    }
+
+    @Test
+    void writesWholeFileWhenIfRangeDateDiffers() throws IOException {
+        request.header("Range", "bytes=0-2").header("If-Range",
+                DateTimeFormatter.RFC_1123_DATE_TIME.format(LAST_MODIFIED.minusSeconds(60).atOffset(ZoneOffset.UTC)));
+
+        writeFile();
+
+        assertWhole();
+    }
+
+    @Test
+    void writesStreamWholeWithoutRanges() throws IOException {
+        request.header("Range", "bytes=0-2");
+        response.setContentType("text/plain");
+
+        ContentResponseWriter.write(new ByteArrayInputStream(CONTENT.getBytes(StandardCharsets.US_ASCII)), request, response);
+
+        assertEquals(200, response.getStatus());
+        assertNull(response.getHeader("Accept-Ranges"));
+        assertEquals(CONTENT, response.getContentAsString());
+    }
+
+    @Test
+    void answersNotFoundForMissingFile() throws IOException {
+        ContentResponseWriter.write(directory.resolve("missing.txt"), request, response);
+
+        assertTrue(response.isErrorSent());
+        assertEquals(404, response.getStatus());
+    }
+}
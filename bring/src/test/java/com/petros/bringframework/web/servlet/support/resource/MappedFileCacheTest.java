@@ -0,0 +1,114 @@
+package com.petros.bringframework.web.servlet.support.resource;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MappedFileCacheTest {
+
+    @TempDir
+    Path directory;
+
+    private final MappedFileCache cache = new MappedFileCache();
+
+    private Path file(String name, byte[] content) throws IOException {
+        return Files.write(directory.resolve(name), content);
+    }
+
+    private static byte[] randomBytes(int length) {
+        byte[] bytes = new byte[length];
+        new Random(length).nextBytes(bytes);
+        return bytes;
+    }
+
+    private byte[] write(Path file) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertTrue(cache.write(file, Files.size(file), Files.getLastModifiedTime(file).toMillis(), out));
+        return out.toByteArray();
+    }
+
+    @Test
+    void writesAndCachesContent() throws IOException {
+        byte[] content = randomBytes(20_000);
+        Path file = file("app.js", content);
+
+        assertArrayEquals(content, write(file));
+        assertTrue(cache.contains(file));
+        assertArrayEquals(content, write(file));
+    }
+
+    @Test
+    void mapsFileAgainOnceItChanged() throws IOException {
+        Path file = file("app.css", "body {}".getBytes());
+        write(file);
+
+        Files.write(file, "body { margin: 0 }".getBytes());
+
+        assertEquals("body { margin: 0 }", new String(write(file)));
+    }
+
+    @Test
+    void skipsFilesLargerThanMaxFileSize() throws IOException {
+        cache.setMaxFileSize(1024);
+        Path file = file("large.bin", randomBytes(1025));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertFalse(cache.write(file, Files.size(file), Files.getLastModifiedTime(file).toMillis(), out));
+
+        assertEquals(0, out.size());
+        assertFalse(cache.contains(file));
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedFiles() throws IOException {
+        cache.setMaxSize(2048);
+        Path first = file("first", randomBytes(1024));
+        Path second = file("second", randomBytes(1024));
+        Path third = file("third", randomBytes(1024));
+
+        write(first);
+        write(second);
+        write(first);
+        write(third);
+
+        assertTrue(cache.contains(first));
+        assertFalse(cache.contains(second));
+        assertTrue(cache.contains(third));
+    }
+
+    @Test
+    void readsFileInsteadOfFaultingMappingOnceTruncated() throws IOException {
+        int length = 512 * 1024;
+        cache.setMaxFileSize(length);
+        byte[] content = randomBytes(length);
+        Path file = file("truncated.bin", content);
+        long lastModified = Files.getLastModifiedTime(file).toMillis();
+        write(file);
+
+        // Truncated in place after the caller validated length and modification time
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(4096);
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        IOException exception = assertThrows(IOException.class, () -> cache.write(file, length, lastModified, out));
+
+        assertTrue(exception.getMessage().contains("truncated"), exception::getMessage);
+        assertFalse(cache.contains(file));
+        assertTrue(out.size() < length, () -> "written " + out.size());
+        assertArrayEquals(Arrays.copyOf(content, 4096), write(file));
+    }
+}
@@ -0,0 +1,274 @@
+package com.petros.bringframework.web.servlet.support.resource;
+
+import com.petros.bringframework.web.servlet.InMemoryHttpServletRequest;
+import com.petros.bringframework.web.servlet.InMemoryHttpServletResponse;
+import com.petros.bringframework.web.servlet.support.common.RequestMethod;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.servlet.ServletContext;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ResourceHandlerTest {
+    private static final String SENDFILE_SUPPORTED_ATTR = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME_ATTR = "org.apache.tomcat.sendfile.filename";
+
+    @TempDir
+    Path directory;
+
+    private final ServletContext servletContext = mock(ServletContext.class);
+    private final InMemoryHttpServletResponse response = new InMemoryHttpServletResponse();
+    private ResourceHandler handler;
+
+    @BeforeEach
+    void setUp() {
+        when(servletContext.getMimeType("site.css")).thenReturn("text/css");
+        handler = new ResourceHandler("/static", directory.toUri().toString());
+    }
+
+    private Path file(String name, byte[] content) throws IOException {
+        Path file = directory.resolve(name);
+        Files.createDirectories(file.getParent());
+        return Files.write(file, content);
+    }
+
+    private static byte[] randomBytes(int length) {
+        byte[] bytes = new byte[length];
+        new Random(length).nextBytes(bytes);
+        return bytes;
+    }
+
+    private InMemoryHttpServletRequest request(String method, String path) {
+        return new InMemoryHttpServletRequest(method, path).servletContext(servletContext);
+    }
+
+    private boolean get(InMemoryHttpServletRequest request) throws IOException {
+        return handler.handle(request, response, RequestMethod.valueOf(request.getMethod()));
+    }
+
+    @Test
+    void servesFileWithTypeLengthAndValidators() throws IOException {
+        byte[] content = "body { color: black }".getBytes();
+        Path file = file("css/site.css", content);
+        handler.setCacheMaxAge(3600);
+
+        assertTrue(get(request("GET", "/static/css/site.css")));
+
+        assertEquals(200, response.getStatus());
+        assertEquals("text/css", response.getContentType());
+        assertEquals(String.valueOf(content.length), response.getHeader("Content-Length"));
+        assertEquals("max-age=3600", response.getHeader("Cache-Control"));
+        long lastModified = Files.getLastModifiedTime(file).toMillis();
+        assertEquals("W/\"" + content.length + "-" + lastModified + "\"", response.getHeader("ETag"));
+        assertEquals(String.valueOf(lastModified), response.getHeader("Last-Modified"));
+        assertArrayEquals(content, response.getContentAsByteArray());
+    }
+
+    @Test
+    void servesUnknownTypeAsOctetStream() throws IOException {
+        file("data.bin", new byte[]{1, 2, 3});
+
+        assertTrue(get(request("GET", "/static/data.bin")));
+
+        assertEquals("application/octet-stream", response.getContentType());
+    }
+
+    @Test
+    void leavesMissingFilesAndOtherPathsToTheDispatcher() throws IOException {
+        file("site.css", new byte[]{1});
+        Files.createDirectory(directory.resolve("css"));
+
+        assertFalse(get(request("GET", "/static/missing.css")));
+        assertFalse(get(request("GET", "/static/css")));
+        assertFalse(get(request("GET", "/other/site.css")));
+        assertFalse(handler.handle(request("POST", "/static/site.css"), response, RequestMethod.POST));
+    }
+
+    @Test
+    void rejectsPathsLeavingTheLocation() throws IOException {
+        file("site.css", new byte[]{1});
+        Files.write(directory.getParent().resolve("secret.txt"), new byte[]{1});
+
+        assertFalse(get(request("GET", "/static/../secret.txt")));
+        assertFalse(get(request("GET", "/static/css/../site.css")));
+        assertFalse(get(request("GET", "/static/./site.css")));
+        assertFalse(get(request("GET", "/static/..\\secret.txt")));
+        assertFalse(get(request("GET", "/static/C:/secret.txt")));
+        assertFalse(get(request("GET", "/static/site.css\0.txt")));
+        assertFalse(get(request("GET", "/static//site.css")));
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void answersNotModifiedForMatchingEntityTag() throws IOException {
+        file("site.css", new byte[]{1, 2});
+        get(request("GET", "/static/site.css"));
+        String etag = response.getHeader("ETag");
+        InMemoryHttpServletResponse first = response;
+
+        var conditional = request("GET", "/static/site.css").header("If-None-Match", etag);
+        var notModified = new InMemoryHttpServletResponse();
+        assertTrue(handler.handle(conditional, notModified, RequestMethod.GET));
+
+        assertEquals(200, first.getStatus());
+        assertEquals(304, notModified.getStatus());
+        assertEquals(0, notModified.getContentAsByteArray().length);
+    }
+
+    @Test
+    void servesFileForOtherEntityTagEvenIfNotModifiedSince() throws IOException {
+        Path file = file("site.css", new byte[]{1, 2});
+        String lastModified = httpDate(Files.getLastModifiedTime(file).toMillis());
+
+        assertTrue(get(request("GET", "/static/site.css")
+                .header("If-None-Match", "W/\"other\"")
+                .header("If-Modified-Since", lastModified)));
+
+        assertEquals(200, response.getStatus());
+        assertEquals(2, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void answersNotModifiedIfNotModifiedSince() throws IOException {
+        Path file = file("site.css", new byte[]{1, 2});
+        long lastModified = Files.getLastModifiedTime(file).toMillis();
+
+        assertTrue(get(request("GET", "/static/site.css").header("If-Modified-Since", httpDate(lastModified))));
+
+        assertEquals(304, response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void servesFileModifiedSince() throws IOException {
+        Path file = file("site.css", new byte[]{1, 2});
+        long lastModified = Files.getLastModifiedTime(file).toMillis();
+
+        assertTrue(get(request("GET", "/static/site.css").header("If-Modified-Since", httpDate(lastModified - 60_000))));
+
+        assertEquals(200, response.getStatus());
+        assertEquals(2, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void answersHeadWithHeadersOnly() throws IOException {
+        file("site.css", new byte[]{1, 2, 3});
+
+        assertTrue(get(request("HEAD", "/static/site.css")));
+
+        assertEquals("3", response.getHeader("Content-Length"));
+        assertEquals("text/css", response.getContentType());
+        assertTrue(response.getHeader("ETag").startsWith("W/"));
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void leavesLargeFileToSendfileWhenSupported() throws IOException {
+        Path file = file("video.bin", randomBytes((int) ResourceHandler.DEFAULT_SENDFILE_MIN_SIZE));
+        var request = request("GET", "/static/video.bin");
+        request.setAttribute(SENDFILE_SUPPORTED_ATTR, true);
+
+        assertTrue(get(request));
+
+        assertEquals(file.toFile().getAbsolutePath(), request.getAttribute(SENDFILE_FILENAME_ATTR));
+        assertEquals(0L, request.getAttribute("org.apache.tomcat.sendfile.start"));
+        assertEquals(Files.size(file), request.getAttribute("org.apache.tomcat.sendfile.end"));
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void mapsOnlyFilesSmallerThanSendfileMinimumWhenSendfileIsSupported() throws IOException {
+        var cache = new MappedFileCache();
+        handler.setMappedFileCache(cache);
+        byte[] small = randomBytes(1024);
+        Path smallFile = file("small.bin", small);
+        Path largeFile = file("large.bin", randomBytes((int) ResourceHandler.DEFAULT_SENDFILE_MIN_SIZE + 1));
+        var smallRequest = request("GET", "/static/small.bin");
+        var largeRequest = request("GET", "/static/large.bin");
+        smallRequest.setAttribute(SENDFILE_SUPPORTED_ATTR, true);
+        largeRequest.setAttribute(SENDFILE_SUPPORTED_ATTR, true);
+
+        assertTrue(get(smallRequest));
+        assertTrue(handler.handle(largeRequest, new InMemoryHttpServletResponse(), RequestMethod.GET));
+
+        assertArrayEquals(small, response.getContentAsByteArray());
+        assertNull(smallRequest.getAttribute(SENDFILE_FILENAME_ATTR));
+        assertTrue(cache.contains(smallFile));
+        assertFalse(cache.contains(largeFile));
+    }
+
+    @Test
+    void servesLargeFileFromMappedCacheWithoutSendfile() throws IOException {
+        var cache = new MappedFileCache();
+        handler.setMappedFileCache(cache);
+        byte[] content = randomBytes((int) ResourceHandler.DEFAULT_SENDFILE_MIN_SIZE);
+        Path file = file("video.bin", content);
+
+        assertTrue(get(request("GET", "/static/video.bin")));
+
+        assertArrayEquals(content, response.getContentAsByteArray());
+        assertTrue(cache.contains(file));
+    }
+
+    @Test
+    void transfersFileWithoutCacheOrSendfile() throws IOException {
+        handler.setMappedFileCache(null);
+        handler.setUseSendfile(false);
+        byte[] content = randomBytes(100_000);
+        file("video.bin", content);
+        var request = request("GET", "/static/video.bin");
+        request.setAttribute(SENDFILE_SUPPORTED_ATTR, true);
+
+        assertTrue(get(request));
+
+        assertNull(request.getAttribute(SENDFILE_FILENAME_ATTR));
+        assertArrayEquals(content, response.getContentAsByteArray());
+    }
+
+    @Test
+    void transfersFileTooLargeToMap() throws IOException {
+        byte[] content = randomBytes(MappedFileCache.DEFAULT_MAX_FILE_SIZE + 1);
+        file("video.bin", content);
+
+        assertTrue(get(request("GET", "/static/video.bin")));
+
+        assertArrayEquals(content, response.getContentAsByteArray());
+    }
+
+    @Test
+    void looksFilesUpInLocationsInOrder() throws IOException {
+        Path first = Files.createDirectory(directory.resolve("first"));
+        Path second = Files.createDirectory(directory.resolve("second"));
+        Files.write(first.resolve("site.css"), new byte[]{1});
+        Files.write(second.resolve("site.css"), new byte[]{2});
+        Files.write(second.resolve("app.js"), new byte[]{3});
+        handler = new ResourceHandler("/static/", first.toUri().toString(), second.toUri().toString());
+
+        assertTrue(get(request("GET", "/static/site.css")));
+        var js = new InMemoryHttpServletResponse();
+        assertTrue(handler.handle(request("GET", "/static/app.js"), js, RequestMethod.GET));
+
+        assertArrayEquals(new byte[]{1}, response.getContentAsByteArray());
+        assertArrayEquals(new byte[]{3}, js.getContentAsByteArray());
+    }
+
+    private static String httpDate(long millis) {
+        return DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneOffset.UTC));
+    }
+}
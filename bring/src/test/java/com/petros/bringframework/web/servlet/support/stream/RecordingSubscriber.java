@@ -0,0 +1,45 @@
+package com.petros.bringframework.web.servlet.support.stream;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Flow;
+
+/**
+ * A subscriber recording the signals it receives, with demand driven by the test through {@link #request(long)}
+ */
+class RecordingSubscriber<T> implements Flow.Subscriber<T> {
+    final List<T> elements = new CopyOnWriteArrayList<>();
+    volatile Flow.Subscription subscription;
+    volatile Throwable error;
+    volatile boolean completed;
+    volatile int onSubscribeCount;
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        this.subscription = subscription;
+        onSubscribeCount++;
+    }
+
+    @Override
+    public void onNext(T item) {
+        elements.add(item);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        error = throwable;
+    }
+
+    @Override
+    public void onComplete() {
+        completed = true;
+    }
+
+    void request(long n) {
+        subscription.request(n);
+    }
+
+    void cancel() {
+        subscription.cancel();
+    }
+}
@@ -0,0 +1,152 @@
+package com.petros.bringframework.web.servlet.support.stream;
+
+import com.petros.bringframework.web.servlet.support.stream.SseEmitter.Event;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SseEmitterTest {
+
+    private static List<Object> data(RecordingSubscriber<Event> subscriber) {
+        return subscriber.elements.stream().map(Event::data).toList();
+    }
+
+    @Test
+    void deliversEventsInOrderAsDemanded() {
+        SseEmitter emitter = new SseEmitter();
+        RecordingSubscriber<Event> subscriber = new RecordingSubscriber<>();
+        emitter.subscribe(subscriber);
+
+        emitter.send("first");
+        emitter.send(Event.named("update", "second"));
+        emitter.send("third");
+        assertTrue(subscriber.elements.isEmpty());
+
+        subscriber.request(2);
+        assertEquals(List.of("first", "second"), data(subscriber));
+        assertEquals("update", subscriber.elements.get(1).name());
+
+        subscriber.request(5);
+        assertEquals(List.of("first", "second", "third"), data(subscriber));
+    }
+
+    @Test
+    void buffersEventsSentBeforeSubscription() {
+        SseEmitter emitter = new SseEmitter();
+        emitter.send("early");
+        RecordingSubscriber<Event> subscriber = new RecordingSubscriber<>();
+
+        emitter.subscribe(subscriber);
+        subscriber.request(1);
+
+        assertEquals(List.of("early"), data(subscriber));
+    }
+
+    @Test
+    void completesOnceBufferedEventsAreDelivered() {
+        SseEmitter emitter = new SseEmitter();
+        RecordingSubscriber<Event> subscriber = new RecordingSubscriber<>();
+        emitter.subscribe(subscriber);
+        emitter.send("last");
+
+        emitter.complete();
+        assertFalse(subscriber.completed);
+        assertTrue(emitter.isClosed());
+
+        subscriber.request(1);
+        assertEquals(List.of("last"), data(subscriber));
+        assertTrue(subscriber.completed);
+        assertNull(subscriber.error);
+    }
+
+    @Test
+    void signalsErrorOnceBufferedEventsAreDelivered() {
+        SseEmitter emitter = new SseEmitter();
+        RecordingSubscriber<Event> subscriber = new RecordingSubscriber<>();
+        emitter.subscribe(subscriber);
+        emitter.send("last");
+        IllegalStateException failure = new IllegalStateException("failing on purpose");
+
+        emitter.completeWithError(failure);
+        assertNull(subscriber.error);
+
+        subscriber.request(1);
+        assertEquals(List.of("last"), data(subscriber));
+        assertSame(failure, subscriber.error);
+        assertFalse(subscriber.completed);
+    }
+
+    @Test
+    void blocksSenderWhileBufferIsFull() throws Exception {
+        SseEmitter emitter = new SseEmitter(1);
+        RecordingSubscriber<Event> subscriber = new RecordingSubscriber<>();
+        emitter.subscribe(subscriber);
+        emitter.send("first");
+
+        CompletableFuture<Void> second = CompletableFuture.runAsync(() -> emitter.send("second"));
+        TimeUnit.MILLISECONDS.sleep(300);
+        assertFalse(second.isDone());
+
+        subscriber.request(2);
+        second.get(5, TimeUnit.SECONDS);
+        assertEquals(List.of("first", "second"), data(subscriber));
+    }
+
+    @Test
+    void failsSendingOnceClientIsGone() throws Exception {
+        SseEmitter emitter = new SseEmitter(1);
+        RecordingSubscriber<Event> subscriber = new RecordingSubscriber<>();
+        emitter.subscribe(subscriber);
+        emitter.send("buffered");
+        CompletableFuture<Void> blocked = CompletableFuture.runAsync(() -> emitter.send("blocked"));
+
+        subscriber.cancel();
+
+        assertTrue(emitter.isClosed());
+        assertThrows(IllegalStateException.class, () -> emitter.send("after"));
+        Exception exception = assertThrows(Exception.class, () -> blocked.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, exception.getCause());
+        assertTrue(subscriber.elements.isEmpty());
+    }
+
+    @Test
+    void failsSendingOnceCompleted() {
+        SseEmitter emitter = new SseEmitter();
+        emitter.complete();
+
+        assertThrows(IllegalStateException.class, () -> emitter.send("late"));
+    }
+
+    @Test
+    void rejectsSecondSubscriber() {
+        SseEmitter emitter = new SseEmitter();
+        emitter.subscribe(new RecordingSubscriber<>());
+        RecordingSubscriber<Event> second = new RecordingSubscriber<>();
+
+        emitter.subscribe(second);
+
+        assertEquals(1, second.onSubscribeCount);
+        assertInstanceOf(IllegalStateException.class, second.error);
+    }
+
+    @Test
+    void failsOnNonPositiveDemand() {
+        SseEmitter emitter = new SseEmitter();
+        RecordingSubscriber<Event> subscriber = new RecordingSubscriber<>();
+        emitter.subscribe(subscriber);
+
+        subscriber.request(-1);
+
+        assertInstanceOf(IllegalArgumentException.class, subscriber.error);
+    }
+}
@@ -0,0 +1,153 @@
+package com.petros.bringframework.web.servlet.support.stream;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StreamPublisherTest {
+
+    private final AtomicInteger pulled = new AtomicInteger();
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    private Stream<Integer> stream(Integer... elements) {
+        return Stream.of(elements).peek(element -> pulled.incrementAndGet()).onClose(() -> closed.set(true));
+    }
+
+    @Test
+    void pullsElementsOnlyAsDemanded() {
+        RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<>();
+        new StreamPublisher<>(stream(1, 2, 3)).subscribe(subscriber);
+        assertEquals(0, pulled.get());
+
+        subscriber.request(2);
+
+        assertEquals(List.of(1, 2), subscriber.elements);
+        assertEquals(2, pulled.get());
+        assertFalse(subscriber.completed);
+        assertFalse(closed.get());
+    }
+
+    @Test
+    void completesAndClosesStreamOnceExhausted() {
+        RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<>();
+        new StreamPublisher<>(stream(1, 2)).subscribe(subscriber);
+
+        subscriber.request(Long.MAX_VALUE);
+
+        assertEquals(List.of(1, 2), subscriber.elements);
+        assertTrue(subscriber.completed);
+        assertNull(subscriber.error);
+        assertTrue(closed.get());
+    }
+
+    @Test
+    void closesStreamOnCancel() {
+        RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<>();
+        new StreamPublisher<>(stream(1, 2, 3)).subscribe(subscriber);
+        subscriber.request(1);
+
+        subscriber.cancel();
+        subscriber.request(5);
+
+        assertEquals(List.of(1), subscriber.elements);
+        assertFalse(subscriber.completed);
+        assertTrue(closed.get());
+    }
+
+    @Test
+    void signalsFailureOfStreamAndClosesIt() {
+        RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<>();
+        Stream<Integer> failing = stream(1, 2).map(element -> {
+            if (element == 2) throw new IllegalStateException("failing on purpose");
+            return element;
+        });
+        new StreamPublisher<>(failing).subscribe(subscriber);
+
+        subscriber.request(5);
+
+        assertEquals(List.of(1), subscriber.elements);
+        assertInstanceOf(IllegalStateException.class, subscriber.error);
+        assertFalse(subscriber.completed);
+        assertTrue(closed.get());
+    }
+
+    @Test
+    void rejectsNonPositiveDemand() {
+        RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<>();
+        new StreamPublisher<>(stream(1)).subscribe(subscriber);
+
+        subscriber.request(0);
+
+        assertInstanceOf(IllegalArgumentException.class, subscriber.error);
+        assertTrue(subscriber.elements.isEmpty());
+        assertTrue(closed.get());
+    }
+
+    @Test
+    void rejectsSecondSubscriber() {
+        StreamPublisher<Integer> publisher = new StreamPublisher<>(stream(1));
+        publisher.subscribe(new RecordingSubscriber<>());
+        RecordingSubscriber<Integer> second = new RecordingSubscriber<>();
+
+        publisher.subscribe(second);
+
+        assertEquals(1, second.onSubscribeCount);
+        assertInstanceOf(IllegalStateException.class, second.error);
+    }
+
+    @Test
+    void requestFromOnNextDoesNotRecurse() {
+        int count = 100_000;
+        AtomicInteger maxDepth = new AtomicInteger();
+        AtomicInteger depth = new AtomicInteger();
+        RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<>() {
+            @Override
+            public void onNext(Integer item) {
+                maxDepth.accumulateAndGet(depth.incrementAndGet(), Math::max);
+                elements.add(item);
+                subscription.request(1);
+                depth.decrementAndGet();
+            }
+        };
+        new StreamPublisher<>(IntStream.range(0, count).boxed()).subscribe(subscriber);
+
+        subscriber.request(1);
+
+        assertEquals(count, subscriber.elements.size());
+        assertEquals(1, maxDepth.get());
+        assertTrue(subscriber.completed);
+    }
+
+    @Test
+    void ignoresSignalsAfterCompletion() {
+        RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<>() {
+            int completions;
+
+            @Override
+            public void onComplete() {
+                assertEquals(1, ++completions);
+                super.onComplete();
+            }
+        };
+        Flow.Publisher<Integer> publisher = new StreamPublisher<>(stream(1));
+        publisher.subscribe(subscriber);
+
+        subscriber.request(5);
+        subscriber.request(5);
+        subscriber.cancel();
+
+        assertEquals(List.of(1), subscriber.elements);
+        assertTrue(subscriber.completed);
+    }
+}
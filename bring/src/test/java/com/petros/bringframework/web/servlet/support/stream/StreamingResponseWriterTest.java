@@ -0,0 +1,219 @@
+package com.petros.bringframework.web.servlet.support.stream;
+
+import com.petros.bringframework.web.servlet.InMemoryAsyncContext;
+import com.petros.bringframework.web.servlet.InMemoryHttpServletRequest;
+import com.petros.bringframework.web.servlet.InMemoryHttpServletResponse;
+import com.petros.bringframework.web.servlet.support.mapper.JsonDataMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StreamingResponseWriterTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private final JsonDataMapper mapper = new JsonDataMapper();
+    private final InMemoryHttpServletRequest request = new InMemoryHttpServletRequest("GET", "/events");
+    private final InMemoryHttpServletResponse response = new InMemoryHttpServletResponse();
+
+    private void write(Object result) throws IOException {
+        StreamingResponseWriter.write(result, request, response, mapper, -1);
+    }
+
+    private InMemoryAsyncContext awaitFinished() throws InterruptedException {
+        InMemoryAsyncContext asyncContext = request.getLastAsyncContext();
+        assertTrue(asyncContext.await(TIMEOUT), "the stream didn't finish");
+        assertTrue(asyncContext.isCompleted());
+        return asyncContext;
+    }
+
+    @Test
+    void writesStreamAsNewlineDelimitedJson() throws Exception {
+        write(Stream.of(1, "two", Map.of("three", 3)));
+
+        awaitFinished();
+        assertEquals(200, response.getStatus());
+        assertEquals("application/x-ndjson", response.getContentType());
+        assertEquals("no-cache", response.getHeader("Cache-Control"));
+        assertEquals("1\n\"two\"\n{\"three\":3}\n", response.getContentAsString());
+    }
+
+    @Test
+    void writesStreamAsServerSentEventsWhenAccepted() throws Exception {
+        request.header("Accept", "text/event-stream");
+
+        write(Stream.of("plain", Map.of("n", 1)));
+
+        awaitFinished();
+        assertEquals("text/event-stream", response.getContentType());
+        assertEquals("data: plain\n\ndata: {\"n\":1}\n\n", response.getContentAsString());
+    }
+
+    @Test
+    void writesEmitterEventsInOrderFromAnotherThread() throws Exception {
+        SseEmitter emitter = new SseEmitter(4);
+        write(emitter);
+
+        Thread producer = new Thread(() -> {
+            for (int i = 0; i < 100; i++) {
+                emitter.send(new SseEmitter.Event(Integer.toString(i), "tick", "line " + i + "\nnext"));
+            }
+            emitter.complete();
+        });
+        producer.start();
+
+        awaitFinished();
+        producer.join(TIMEOUT.toMillis());
+        String expected = IntStream.range(0, 100)
+                .mapToObj(i -> "id: " + i + "\nevent: tick\ndata: line " + i + "\ndata: next\n\n")
+                .collect(Collectors.joining());
+        assertEquals(expected, response.getContentAsString());
+    }
+
+    @Test
+    void pullsNoElementsWhileClientCantTakeMore() throws Exception {
+        AtomicInteger pulled = new AtomicInteger();
+        response.blockWrites();
+
+        write(Stream.of(1, 2, 3).peek(element -> pulled.incrementAndGet()));
+
+        assertEquals(0, pulled.get());
+        assertEquals("", response.getContentAsString());
+
+        response.unblockWrites();
+        awaitFinished();
+        assertEquals(3, pulled.get());
+        assertEquals("1\n2\n3\n", response.getContentAsString());
+    }
+
+    @Test
+    void completesOnlyOncePendingEventsAreWritten() throws Exception {
+        SseEmitter emitter = new SseEmitter();
+        response.blockWrites();
+        write(emitter);
+
+        emitter.send("first");
+        emitter.send("second");
+        emitter.complete();
+        assertFalse(request.getLastAsyncContext().isCompleted());
+
+        response.unblockWrites();
+        awaitFinished();
+        assertEquals("data: first\n\ndata: second\n\n", response.getContentAsString());
+    }
+
+    @Test
+    void answersWithServerErrorWhenStreamFailsBeforeFirstElement() throws Exception {
+        SseEmitter emitter = new SseEmitter();
+        write(emitter);
+
+        emitter.completeWithError(new IllegalStateException("failing on purpose"));
+
+        awaitFinished();
+        assertTrue(response.isErrorSent());
+        assertEquals(500, response.getStatus());
+    }
+
+    @Test
+    void endsCommittedResponseWhenStreamFails() throws Exception {
+        AtomicBoolean closed = new AtomicBoolean();
+        Stream<Integer> failing = Stream.of(1, 2).map(element -> {
+            if (element == 2) throw new IllegalStateException("failing on purpose");
+            return element;
+        }).onClose(() -> closed.set(true));
+
+        write(failing);
+
+        awaitFinished();
+        assertFalse(response.isErrorSent());
+        assertEquals(200, response.getStatus());
+        assertEquals("1\n", response.getContentAsString());
+        assertTrue(closed.get());
+    }
+
+    @Test
+    void answersWithServerErrorWhenElementCantBeEncoded() throws Exception {
+        AtomicBoolean closed = new AtomicBoolean();
+
+        write(Stream.of(new Object(), 2).onClose(() -> closed.set(true)));
+
+        awaitFinished();
+        assertTrue(response.isErrorSent());
+        assertEquals(500, response.getStatus());
+        assertTrue(closed.get());
+    }
+
+    @Test
+    void answersWithServiceUnavailableAndClosesEmitterOnTimeout() throws Exception {
+        SseEmitter emitter = new SseEmitter();
+        write(emitter);
+
+        request.getLastAsyncContext().timeout();
+
+        awaitFinished();
+        assertEquals(503, response.getStatus());
+        assertTrue(emitter.isClosed());
+        assertThrows(IllegalStateException.class, () -> emitter.send("late"));
+    }
+
+    @Test
+    void closesEmitterOnceClientIsGone() throws Exception {
+        SseEmitter emitter = new SseEmitter();
+        write(emitter);
+        emitter.send("delivered");
+
+        response.failWrite(new IOException("Broken pipe"));
+
+        awaitFinished();
+        assertFalse(response.isErrorSent());
+        assertEquals("data: delivered\n\n", response.getContentAsString());
+        assertTrue(emitter.isClosed());
+    }
+
+    @Test
+    void setsRequestedTimeoutOnly() throws Exception {
+        StreamingResponseWriter.write(Stream.of(1), request, response, mapper, 5000);
+
+        InMemoryAsyncContext asyncContext = awaitFinished();
+        assertTrue(asyncContext.isTimeoutSet());
+        assertEquals(5000, asyncContext.getTimeout());
+
+        var other = new InMemoryHttpServletRequest("GET", "/events");
+        StreamingResponseWriter.write(Stream.of(1), other, new InMemoryHttpServletResponse(), mapper, -1);
+        assertFalse(other.getLastAsyncContext().isTimeoutSet());
+    }
+
+    @Test
+    void writesWithBlockingIoWithoutAsyncSupport() throws Exception {
+        request.asyncSupported(false);
+        SseEmitter emitter = new SseEmitter(1);
+        Thread producer = new Thread(() -> {
+            for (int i = 0; i < 10; i++) {
+                emitter.send(Integer.toString(i));
+            }
+            emitter.complete();
+        });
+        producer.start();
+
+        // Returns once the stream ended
+        write(emitter);
+
+        producer.join(TIMEOUT.toMillis());
+        assertNull(request.getLastAsyncContext());
+        String expected = IntStream.range(0, 10).mapToObj(i -> "data: " + i + "\n\n").collect(Collectors.joining());
+        assertEquals(expected, response.getContentAsString());
+    }
+}
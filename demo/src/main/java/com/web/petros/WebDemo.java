@@ -13,6 +13,7 @@ import java.net.URISyntaxException;
 public class WebDemo {
     public static void main(String[] args) throws LifecycleException, URISyntaxException, IOException {
         var servletContainer = ServletContainer.getContainer();
+        servletContainer.setVirtualThreads(Boolean.getBoolean(ServletContainer.VIRTUAL_THREADS_PROPERTY));
         servletContainer.start();
     }
 }
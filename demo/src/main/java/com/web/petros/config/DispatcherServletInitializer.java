@@ -1,8 +1,12 @@
 package com.web.petros.config;
 
+import com.petros.bringframework.util.VirtualThreads;
 import com.petros.bringframework.web.servlet.support.AbstractDispatcherServletInitializer;
+import com.petros.bringframework.web.servlet.support.resource.ResourceHandler;
+import com.web.petros.server.ServletContainer;
 
 import javax.annotation.Nullable;
+import java.util.concurrent.Executor;
 
 /**
  * @author Viktor Basanets
@@ -19,4 +23,34 @@ public class DispatcherServletInitializer extends AbstractDispatcherServletIniti
     protected String[] getServletMappings() {
         return new String[] {"/"};
     }
+
+    @Override
+    protected long getAsyncTimeout() {
+        return 5_000;
+    }
+
+    @Override
+    protected boolean isNonBlockingBodyReading() {
+        return true;
+    }
+
+    @Override
+    protected boolean isCompressionEnabled() {
+        return true;
+    }
+
+    @Override
+    protected ResourceHandler[] getResourceHandlers() {
+        var staticResources = new ResourceHandler("/static/", "classpath:static/");
+        staticResources.setCacheMaxAge(3600);
+        return new ResourceHandler[] {staticResources};
+    }
+
+    @Nullable
+    @Override
+    protected Executor getDispatchExecutor() {
+        return Boolean.getBoolean(ServletContainer.VIRTUAL_THREADS_PROPERTY)
+                ? VirtualThreads.newVirtualThreadPerTaskExecutor()
+                : null;
+    }
 }
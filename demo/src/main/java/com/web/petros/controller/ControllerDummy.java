@@ -1,6 +1,7 @@
 package com.web.petros.controller;
 
 import com.petros.bringframework.context.annotation.Component;
+import com.petros.bringframework.util.VirtualThreads;
 import com.petros.bringframework.web.context.annotation.PathVariable;
 import com.petros.bringframework.web.context.annotation.RequestBody;
 import com.petros.bringframework.web.context.annotation.RequestHeader;
@@ -8,15 +9,33 @@ import com.petros.bringframework.web.context.annotation.RequestMapping;
 import com.petros.bringframework.web.context.annotation.RequestParam;
 import com.petros.bringframework.web.context.annotation.RestController;
 import com.petros.bringframework.web.servlet.support.common.RequestMethod;
+import com.petros.bringframework.web.servlet.support.stream.SseEmitter;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import static com.petros.bringframework.util.StringUtils.hasLength;
 
 @Component
 @RestController
 public class ControllerDummy {
+    // Event producers block while a client reads slowly, so they get threads of their own instead of the common pool
+    private final Executor eventProducers = VirtualThreads.isSupported()
+            ? VirtualThreads.newVirtualThreadPerTaskExecutor()
+            : Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "user-events");
+                thread.setDaemon(true);
+                return thread;
+            });
 
     @RequestMapping(path = "/user", method = RequestMethod.HEAD)
     public void head(HttpServletResponse response){
@@ -70,4 +89,70 @@ public class ControllerDummy {
               """,
                 requestBody, name, location, id, postId, request.getPathInfo(), response.getClass());
     }
+
+    @RequestMapping(path = "/user/{id}/async", method = RequestMethod.GET)
+    public CompletableFuture<String> getUserAsync(@PathVariable(name = "id") String id,
+                                                  @RequestParam(name = "delay") String delay) {
+        var delayMillis = hasLength(delay) ? Long.parseLong(delay) : 100;
+        return CompletableFuture.supplyAsync(() -> "Received path variable " + id + " asynchronously",
+                CompletableFuture.delayedExecutor(delayMillis, TimeUnit.MILLISECONDS));
+    }
+
+    @RequestMapping(path = "/user/{id}/feed", method = RequestMethod.GET)
+    public Stream<Map<String, Object>> getUserFeed(@PathVariable(name = "id") String id,
+                                                   @RequestParam(name = "count") String count) {
+        var size = hasLength(count) ? Integer.parseInt(count) : 10;
+        return IntStream.range(0, size).mapToObj(i -> Map.of("user", id, "post", i));
+    }
+
+    @RequestMapping(path = "/user/{id}/events", method = RequestMethod.GET)
+    public SseEmitter getUserEvents(@PathVariable(name = "id") String id,
+                                    @RequestParam(name = "count") String count) {
+        var size = hasLength(count) ? Integer.parseInt(count) : 10;
+        var emitter = new SseEmitter();
+        eventProducers.execute(() -> {
+            try {
+                for (int i = 0; i < size; i++) {
+                    emitter.send(SseEmitter.Event.named("post", Map.of("user", id, "post", i)));
+                }
+                emitter.complete();
+            } catch (IllegalStateException e) {
+                // the client is gone
+            }
+        });
+        return emitter;
+    }
+
+    @RequestMapping(path = "/user/{id}/upload", method = RequestMethod.POST)
+    public CompletableFuture<String> upload(@PathVariable(name = "id") String id,
+                                            @RequestBody Flow.Publisher<ByteBuffer> body) {
+        var received = new CompletableFuture<String>();
+        body.subscribe(new Flow.Subscriber<>() {
+            private Flow.Subscription subscription;
+            private long size;
+
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                this.subscription = subscription;
+                subscription.request(1);
+            }
+
+            @Override
+            public void onNext(ByteBuffer chunk) {
+                size += chunk.remaining();
+                subscription.request(1);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                received.completeExceptionally(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                received.complete("Received " + size + " bytes for user " + id);
+            }
+        });
+        return received;
+    }
 }
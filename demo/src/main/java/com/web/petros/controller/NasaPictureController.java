@@ -6,10 +6,12 @@ import com.petros.bringframework.context.annotation.Component;
 import com.petros.bringframework.web.context.annotation.RequestMapping;
 import com.petros.bringframework.web.context.annotation.RequestParam;
 import com.petros.bringframework.web.context.annotation.RestController;
+import com.petros.bringframework.web.servlet.support.common.Compression;
 import com.petros.bringframework.web.servlet.support.common.RequestMethod;
 import com.web.petros.service.NasaApiService;
 
-import java.io.IOException;
+import javax.servlet.http.HttpServletResponse;
+import java.io.InputStream;
 
 /**
  * @author Viktor Basanets
@@ -25,8 +27,16 @@ public class NasaPictureController {
     @Value(value = "api.key")
     private String apiKey;
 
-    @RequestMapping(path = "/api/nasa/photos/the-largest", method = RequestMethod.GET)
-    public byte[] getLargestPhoto(@RequestParam(name = "sol") String sol) throws IOException {
-        return service.getLargestPicture(Integer.parseInt(sol), apiKey).bytes();
+    // JPEG images are compressed already
+    @RequestMapping(path = "/api/nasa/photos/the-largest", method = RequestMethod.GET, compression = Compression.DISABLED)
+    public InputStream getLargestPhoto(@RequestParam(name = "sol") String sol, HttpServletResponse response) {
+        var picture = service.getLargestPicture(Integer.parseInt(sol), apiKey);
+        var contentType = picture.contentType();
+        if (contentType != null)
+            response.setContentType(contentType.toString());
+        if (picture.contentLength() >= 0)
+            response.setContentLengthLong(picture.contentLength());
+        // Streamed to the client, the image isn't held in memory
+        return picture.byteStream();
     }
 }
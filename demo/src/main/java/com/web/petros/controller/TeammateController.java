@@ -1,6 +1,7 @@
 package com.web.petros.controller;
 
 import com.petros.bringframework.context.annotation.Component;
+import com.petros.bringframework.web.context.annotation.CacheResponse;
 import com.petros.bringframework.web.context.annotation.PathVariable;
 import com.petros.bringframework.web.context.annotation.RequestBody;
 import com.petros.bringframework.web.context.annotation.RequestMapping;
@@ -23,6 +24,7 @@ public class TeammateController {
     private final Map<Integer, Teammate> team = new HashMap<>();
     private final AtomicInteger counter = new AtomicInteger();
 
+    @CacheResponse(ttl = 5)
     @RequestMapping(path = "/teammate/{id}", method = RequestMethod.GET)
     public Teammate getTeammate(@PathVariable(name = "id") String id) {
             return team.get(Integer.valueOf(id));
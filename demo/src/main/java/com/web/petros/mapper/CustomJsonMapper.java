@@ -1,23 +1,45 @@
 package com.web.petros.mapper;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.petros.bringframework.context.annotation.Component;
 import com.petros.bringframework.web.servlet.support.mapper.DataMapper;
+import lombok.extern.log4j.Log4j2;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+
+@Log4j2
 @Component
 public class CustomJsonMapper implements DataMapper {
-    private final ObjectMapper jsonMapper = new ObjectMapper();
+    // The response stream belongs to the caller, which may write more after the value
+    private final ObjectMapper jsonMapper = new ObjectMapper()
+            .configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
 
     @Override
     public <T> T readValue(String content, Class<T> valueType) throws JsonProcessingException {
-        System.out.println("CustomJsonMapper read");
+        log.debug("CustomJsonMapper read");
         return jsonMapper.readValue(content, valueType);
     }
 
     @Override
     public String writeValueAsString(Object value) throws JsonProcessingException {
-        System.out.println("CustomJsonMapper write");
+        log.debug("CustomJsonMapper write");
         return jsonMapper.writeValueAsString(value);
     }
+
+    @Override
+    public <T> T readValue(InputStream content, Type valueType) throws IOException {
+        log.debug("CustomJsonMapper read");
+        return jsonMapper.readValue(content, jsonMapper.constructType(valueType));
+    }
+
+    @Override
+    public void writeValue(OutputStream out, Object value) throws IOException {
+        log.debug("CustomJsonMapper write");
+        jsonMapper.writeValue(out, value);
+    }
 }
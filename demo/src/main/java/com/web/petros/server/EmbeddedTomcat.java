@@ -1,5 +1,7 @@
 package com.web.petros.server;
 
+import com.petros.bringframework.util.VirtualThreads;
+
 import org.apache.catalina.Context;
 import org.apache.catalina.LifecycleException;
 import org.apache.catalina.startup.Tomcat;
@@ -22,6 +24,13 @@ class EmbeddedTomcat implements ServletContainer {
 
     static final ServletContainer CONTAINER = new EmbeddedTomcat();
 
+    private boolean virtualThreads;
+
+    @Override
+    public void setVirtualThreads(boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
+
     @Override
     public void start() throws LifecycleException, URISyntaxException, IOException {
         var tomcat = createTomcat();
@@ -45,7 +54,13 @@ class EmbeddedTomcat implements ServletContainer {
     private Tomcat createTomcat() throws IOException {
         var tomcat = new Tomcat();
         tomcat.setBaseDir(Files.createTempDirectory(BASE_DIR_NAME).toString());
-        tomcat.getConnector();
+        var connector = tomcat.getConnector();
+        if (virtualThreads) {
+            var executor = VirtualThreads.newVirtualThreadPerTaskExecutor();
+            if (executor != null) {
+                connector.getProtocolHandler().setExecutor(executor);
+            }
+        }
         return tomcat;
     }
 
@@ -13,8 +13,20 @@ import static com.web.petros.server.EmbeddedTomcat.CONTAINER;
  * @Project: bring-framework
  */
 public interface ServletContainer {
+
+    /**
+     * System property that switches the demo to virtual threads, in the container and in the dispatcher
+     */
+    String VIRTUAL_THREADS_PROPERTY = "demo.virtual-threads";
+
     void start() throws LifecycleException, URISyntaxException, IOException;
 
+    /**
+     * Whether the container should process connections on virtual threads instead of its thread pool.
+     * Ignored if the JDK doesn't support virtual threads
+     */
+    void setVirtualThreads(boolean virtualThreads);
+
     static ServletContainer getContainer() {
         return CONTAINER;
     }